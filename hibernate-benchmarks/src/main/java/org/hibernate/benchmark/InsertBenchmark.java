@@ -0,0 +1,101 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Persists and flushes new entities into H2 (rolling back afterwards): covers the action queue and JDBC batching
+ * for different batch sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InsertBenchmark {
+	@Param({ "100", "1000" })
+	private int entityCount;
+
+	@Param({ "0", "1" })
+	private int associationDepth;
+
+	@Param({ "1", "25", "100" })
+	private int batchSize;
+
+	private SessionFactory sessionFactory;
+
+	@Setup
+	public void setUp() {
+		final Map<String,Object> settings = new HashMap<String,Object>();
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, Integer.toString( batchSize ) );
+		settings.put( AvailableSettings.ORDER_INSERTS, "true" );
+		sessionFactory = SessionFactories.buildH2SessionFactory( settings, Node.class );
+	}
+
+	@TearDown
+	public void tearDown() {
+		SessionFactories.close( sessionFactory );
+	}
+
+	@Benchmark
+	public void insertAndRollback() {
+		final Session session = sessionFactory.openSession();
+		try {
+			session.beginTransaction();
+			long nextId = 1;
+			for ( int i = 0; i < entityCount; i++ ) {
+				for ( Node node : Node.chain( nextId, associationDepth ) ) {
+					session.persist( node );
+				}
+				nextId += associationDepth + 1;
+			}
+			session.flush();
+			session.getTransaction().rollback();
+		}
+		finally {
+			session.close();
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loads entities along with their eagerly fetched ancestors from H2: covers {@code Loader.getRowFromResultSet},
+ * hydration and {@code TwoPhaseLoad.initializeEntity}, as well as batch fetching of the associations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LoadBenchmark {
+	@Param({ "100", "1000" })
+	private int entityCount;
+
+	@Param({ "0", "1", "3" })
+	private int associationDepth;
+
+	@Param({ "1", "16" })
+	private int batchSize;
+
+	private SessionFactory sessionFactory;
+
+	@Setup
+	public void setUp() {
+		final Map<String,Object> settings = new HashMap<String,Object>();
+		settings.put( AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, Integer.toString( batchSize ) );
+		sessionFactory = SessionFactories.buildH2SessionFactory( settings, Node.class );
+		Node.populate( sessionFactory, entityCount, associationDepth );
+	}
+
+	@TearDown
+	public void tearDown() {
+		SessionFactories.close( sessionFactory );
+	}
+
+	@Benchmark
+	public List loadLeaves() {
+		final Session session = sessionFactory.openSession();
+		try {
+			return session.createQuery( "from Node n where n.depth = 0" ).list();
+		}
+		finally {
+			session.close();
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+/**
+ * The entity of the benchmarks run against H2: nodes forming chains of eagerly fetched many-to-one associations, from
+ * the leaves (at depth 0) up to their roots.
+ */
+@Entity
+public class Node {
+	@Id
+	private Long id;
+	private String name;
+	private int depth;
+	private int weight;
+	@ManyToOne(fetch = FetchType.EAGER)
+	private Node parent;
+
+	public Node() {
+	}
+
+	public Node(Long id, int depth, Node parent) {
+		this.id = id;
+		this.name = "node " + id;
+		this.depth = depth;
+		this.weight = (int) ( id % 100 );
+		this.parent = parent;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+	public Node getParent() {
+		return parent;
+	}
+
+	/**
+	 * Build a chain of nodes, root first, ending with the leaf.
+	 *
+	 * @param firstId The identifier of the root; the following nodes get the following identifiers
+	 * @param associationDepth The number of ancestors of the leaf
+	 *
+	 * @return The nodes of the chain, root first
+	 */
+	public static List<Node> chain(long firstId, int associationDepth) {
+		final List<Node> chain = new ArrayList<Node>( associationDepth + 1 );
+		Node parent = null;
+		for ( int depth = associationDepth; depth >= 0; depth-- ) {
+			final Node node = new Node( firstId + associationDepth - depth, depth, parent );
+			chain.add( node );
+			parent = node;
+		}
+		return chain;
+	}
+
+	/**
+	 * Store the given number of leaves, each with its own chain of ancestors.
+	 *
+	 * @param sessionFactory The session factory
+	 * @param leafCount The number of leaves
+	 * @param associationDepth The number of ancestors of each leaf
+	 */
+	public static void populate(SessionFactory sessionFactory, int leafCount, int associationDepth) {
+		final Session session = sessionFactory.openSession();
+		try {
+			session.beginTransaction();
+			long nextId = 1;
+			for ( int i = 0; i < leafCount; i++ ) {
+				for ( Node node : chain( nextId, associationDepth ) ) {
+					session.persist( node );
+				}
+				nextId += associationDepth + 1;
+				if ( i % 500 == 0 ) {
+					session.flush();
+					session.clear();
+				}
+			}
+			session.getTransaction().commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+}
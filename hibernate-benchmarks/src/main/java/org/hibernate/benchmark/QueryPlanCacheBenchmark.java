@@ -0,0 +1,90 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Filter;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Looks up cached HQL query plans, cycling through the given number of distinct queries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QueryPlanCacheBenchmark {
+	@Param({ "1", "100" })
+	private int distinctQueries;
+
+	private SessionFactory sessionFactory;
+	private QueryPlanCache queryPlanCache;
+	private String[] queries;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		sessionFactory = SessionFactories.buildH2SessionFactory( Collections.<String,Object>emptyMap(), Node.class );
+		queryPlanCache = ( (SessionFactoryImplementor) sessionFactory ).getQueryPlanCache();
+		queries = new String[distinctQueries];
+		for ( int i = 0; i < distinctQueries; i++ ) {
+			queries[i] = "from Node n where n.weight = " + i;
+			queryPlanCache.getHQLQueryPlan( queries[i], false, Collections.<String,Filter>emptyMap() );
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		SessionFactories.close( sessionFactory );
+	}
+
+	@Benchmark
+	public HQLQueryPlan getHQLQueryPlan() {
+		final String query = queries[next];
+		if ( ++next == queries.length ) {
+			next = 0;
+		}
+		return queryPlanCache.getHQLQueryPlan( query, false, Collections.<String,Filter>emptyMap() );
+	}
+}
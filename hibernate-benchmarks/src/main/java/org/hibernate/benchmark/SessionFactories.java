@@ -0,0 +1,112 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.service.ServiceRegistry;
+
+/**
+ * Builds the session factories the benchmarks run against.
+ */
+public final class SessionFactories {
+	private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+	private SessionFactories() {
+	}
+
+	/**
+	 * Build a session factory against a new H2 in-memory database, whose schema is created from the given entities.
+	 *
+	 * @param settings Additional settings
+	 * @param annotatedClasses The entities
+	 *
+	 * @return The session factory
+	 */
+	public static SessionFactory buildH2SessionFactory(Map<String,Object> settings, Class... annotatedClasses) {
+		final StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.DRIVER, "org.h2.Driver" )
+				.applySetting(
+						AvailableSettings.URL,
+						"jdbc:h2:mem:benchmark" + DATABASE_COUNTER.incrementAndGet() + ";DB_CLOSE_DELAY=-1"
+				)
+				.applySetting( AvailableSettings.USER, "sa" )
+				.applySetting( AvailableSettings.DIALECT, H2Dialect.class.getName() )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySettings( settings );
+		return buildSessionFactory( registryBuilder.build(), annotatedClasses );
+	}
+
+	/**
+	 * Build a session factory using the given connection provider, without accessing any JDBC metadata.
+	 *
+	 * @param connectionProvider The connection provider
+	 * @param settings Additional settings
+	 * @param annotatedClasses The entities
+	 *
+	 * @return The session factory
+	 *
+	 * @see StubJdbcConnectionProvider
+	 */
+	public static SessionFactory buildSessionFactory(
+			ConnectionProvider connectionProvider,
+			Map<String,Object> settings,
+			Class... annotatedClasses) {
+		final StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder()
+				.addService( ConnectionProvider.class, connectionProvider )
+				.applySetting( AvailableSettings.DIALECT, H2Dialect.class.getName() )
+				.applySetting( "hibernate.temp.use_jdbc_metadata_defaults", "false" )
+				.applySettings( settings );
+		return buildSessionFactory( registryBuilder.build(), annotatedClasses );
+	}
+
+	private static SessionFactory buildSessionFactory(StandardServiceRegistry registry, Class... annotatedClasses) {
+		final MetadataSources metadataSources = new MetadataSources( registry );
+		for ( Class annotatedClass : annotatedClasses ) {
+			metadataSources.addAnnotatedClass( annotatedClass );
+		}
+		return metadataSources.buildMetadata().buildSessionFactory();
+	}
+
+	/**
+	 * Close the given session factory, along with its service registry.
+	 *
+	 * @param sessionFactory The session factory
+	 */
+	public static void close(SessionFactory sessionFactory) {
+		final ServiceRegistry registry = ( (SessionFactoryImplementor) sessionFactory ).getServiceRegistry()
+				.getParentServiceRegistry();
+		sessionFactory.close();
+		StandardServiceRegistryBuilder.destroy( registry );
+	}
+}
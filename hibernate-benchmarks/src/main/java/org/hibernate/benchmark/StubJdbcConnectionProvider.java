@@ -0,0 +1,183 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/**
+ * A connection provider handing out stubbed JDBC connections: no SQL is executed, every query returns a result set
+ * of the configured number of rows, and updates report one affected row.
+ * <p/>
+ * The result sets answer {@code getLong} with the row number, {@code getInt} with the row number and
+ * {@code getString} with a constant; so mapped state is limited to columns of these types, and {@code long}
+ * columns are taken to be the (unique) identifier.  This takes the database and the driver out of the measurement of
+ * result set processing.
+ */
+public class StubJdbcConnectionProvider implements ConnectionProvider {
+	private final int rowCount;
+
+	/**
+	 * Create a provider whose result sets return the given number of rows.
+	 *
+	 * @param rowCount The number of rows of each result set
+	 */
+	public StubJdbcConnectionProvider(int rowCount) {
+		this.rowCount = rowCount;
+	}
+
+	@Override
+	public Connection getConnection() {
+		return stub( Connection.class, new StubHandler() );
+	}
+
+	@Override
+	public void closeConnection(Connection conn) {
+	}
+
+	@Override
+	public boolean supportsAggressiveRelease() {
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public boolean isUnwrappableAs(Class unwrapType) {
+		return false;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> unwrapType) {
+		throw new UnsupportedOperationException();
+	}
+
+	private static <T> T stub(Class<T> type, InvocationHandler handler) {
+		return type.cast(
+				Proxy.newProxyInstance( StubJdbcConnectionProvider.class.getClassLoader(), new Class[] { type }, handler )
+		);
+	}
+
+	/**
+	 * Stubs connections and statements; statements hand out stubbed result sets.
+	 */
+	private class StubHandler implements InvocationHandler {
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			final String name = method.getName();
+			if ( name.startsWith( "prepare" ) ) {
+				return stub( PreparedStatement.class, this );
+			}
+			else if ( name.equals( "createStatement" ) ) {
+				return stub( Statement.class, this );
+			}
+			else if ( name.equals( "executeQuery" ) || name.equals( "getResultSet" ) ) {
+				return stub( ResultSet.class, new ResultSetHandler( rowCount ) );
+			}
+			else if ( name.equals( "executeUpdate" ) ) {
+				return 1;
+			}
+			else if ( name.equals( "executeBatch" ) ) {
+				return new int[0];
+			}
+			return defaultResult( proxy, method, args );
+		}
+	}
+
+	/**
+	 * Stubs a result set of the given number of rows.
+	 */
+	private static class ResultSetHandler implements InvocationHandler {
+		private final int rowCount;
+		private int row;
+
+		private ResultSetHandler(int rowCount) {
+			this.rowCount = rowCount;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			final String name = method.getName();
+			if ( name.equals( "next" ) ) {
+				return ++row <= rowCount;
+			}
+			else if ( name.equals( "getLong" ) ) {
+				return (long) row;
+			}
+			else if ( name.equals( "getInt" ) ) {
+				return row;
+			}
+			else if ( name.equals( "getString" ) ) {
+				return "stubbed";
+			}
+			else if ( name.equals( "findColumn" ) ) {
+				return 1;
+			}
+			return defaultResult( proxy, method, args );
+		}
+	}
+
+	private static Object defaultResult(Object proxy, Method method, Object[] args) {
+		final String name = method.getName();
+		if ( name.equals( "equals" ) ) {
+			return proxy == args[0];
+		}
+		else if ( name.equals( "hashCode" ) ) {
+			return System.identityHashCode( proxy );
+		}
+		else if ( name.equals( "toString" ) ) {
+			return "stubbed " + method.getDeclaringClass().getSimpleName();
+		}
+
+		final Class<?> returnType = method.getReturnType();
+		if ( returnType == boolean.class ) {
+			return false;
+		}
+		else if ( returnType == int.class ) {
+			return 0;
+		}
+		else if ( returnType == long.class ) {
+			return 0L;
+		}
+		else if ( returnType == short.class ) {
+			return (short) 0;
+		}
+		else if ( returnType == byte.class ) {
+			return (byte) 0;
+		}
+		else if ( returnType == float.class ) {
+			return 0f;
+		}
+		else if ( returnType == double.class ) {
+			return 0d;
+		}
+		return null;
+	}
+}
@@ -23,12 +23,14 @@
  */
 package org.hibernate;
 
+import java.util.Collection;
 import java.util.Iterator;
 
 import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.HibernateIterator;
+import org.hibernate.engine.internal.AssociationPathInitializer;
 import org.hibernate.engine.jdbc.LobCreator;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.proxy.HibernateProxy;
@@ -79,6 +81,29 @@ public final class Hibernate {
 		}
 	}
 
+	/**
+	 * Force initialization of the lazy associations along the given property paths of many entities at once.
+	 * <p/>
+	 * Each step of a path is initialized for all of the entities together, with a single query per entity type,
+	 * rather than with a round trip per proxy or collection.  For example, the orders of some customers and the
+	 * lines of these orders take two queries:
+	 * <pre>
+	 * Hibernate.initializeAll( session, customers, "orders.lines" );
+	 * </pre>
+	 *
+	 * @param session The session the entities are associated with
+	 * @param entities The persistable objects or proxies
+	 * @param paths The dot separated names of the association properties to initialize
+	 * @throws HibernateException if a property of a path is not an association, or we can't initialize the
+	 * associations at this time, eg. the <tt>Session</tt> was closed
+	 */
+	public static void initializeAll(Session session, Collection<?> entities, String... paths) throws HibernateException {
+		final AssociationPathInitializer initializer = new AssociationPathInitializer( (SessionImplementor) session );
+		for ( String path : paths ) {
+			initializer.initialize( entities, path );
+		}
+	}
+
 	/**
 	 * Check if the proxy or persistent collection is initialized.
 	 *
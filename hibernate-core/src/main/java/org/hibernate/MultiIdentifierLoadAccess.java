@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Loads multiple entities at once by identifiers, ultimately via one of the
+ * {@link #multiLoad} methods, using the various options specified (if any)
+ */
+public interface MultiIdentifierLoadAccess {
+	/**
+	 * Specify the {@link LockOptions} to use when retrieving the entity.
+	 *
+	 * @param lockOptions The lock options to use.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess with(LockOptions lockOptions);
+
+	/**
+	 * Specify the {@link CacheMode} to use when retrieving the entity.
+	 *
+	 * @param cacheMode The CacheMode to use.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess with(CacheMode cacheMode);
+
+	/**
+	 * Specify a batch size for loading the entities from the database.  If none is specified, the
+	 * batch size is derived from {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit()}.
+	 *
+	 * @param batchSize The batch size
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess withBatchSize(int batchSize);
+
+	/**
+	 * Specify whether we should check the Session (and the second-level cache) to see whether it already
+	 * contains any of the entities to be loaded in a managed state.  Enabled by default.
+	 *
+	 * @param enabled {@code true} enables checking; {@code false} disables it.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess enableSessionCheck(boolean enabled);
+
+	/**
+	 * Should the multi-load operation be allowed to return entities that are locally
+	 * deleted?  A locally deleted entity is one which has been passed to this
+	 * Session's {@link Session#delete} method, but not yet flushed.  The default
+	 * behavior is to handle them as null in the return (see {@link #enableOrderedReturn}).
+	 *
+	 * @param enabled {@code true} enables returning the deleted entities;
+	 * {@code false} disables it.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess enableReturnOfDeletedEntities(boolean enabled);
+
+	/**
+	 * Should the return List be ordered and positional in relation to the
+	 * incoming ids?  If enabled (the default), the return List is ordered and
+	 * positional relative to the incoming ids.  In other words, a request to
+	 * {@code multiLoad([2,1,3])} will return {@code [Entity#2, Entity#1, Entity#3]}.
+	 * <p/>
+	 * An important distinction is made here in regards to the handling of
+	 * unknown entities depending on this "ordered return" setting.  If enabled
+	 * a null is inserted into the List at the proper position(s).  If disabled,
+	 * the nulls are not put into the return List.  In other words, consumers of
+	 * the returned ordered List would need to be able to handle null elements.
+	 *
+	 * @param enabled {@code true} enables ordered returns; {@code false} disables it.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess enableOrderedReturn(boolean enabled);
+
+	/**
+	 * Perform a load of multiple entities by identifiers.  See {@link #enableOrderedReturn}
+	 * and {@link #enableReturnOfDeletedEntities} for options which effect
+	 * the size and "shape" of the return list.
+	 *
+	 * @param ids The ids to load
+	 *
+	 * @return The persistent entities.
+	 */
+	public List multiLoad(Serializable... ids);
+
+	/**
+	 * Perform a load of multiple entities by identifiers.  See {@link #enableOrderedReturn}
+	 * and {@link #enableReturnOfDeletedEntities} for options which effect
+	 * the size and "shape" of the return list.
+	 *
+	 * @param ids The ids to load
+	 *
+	 * @return The persistent entities.
+	 */
+	public List multiLoad(List<? extends Serializable> ids);
+}
@@ -0,0 +1,51 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+/**
+ * A {@link SessionEventListener} which is also notified of the execution of queries.  Kept apart from
+ * SessionEventListener so that its existing implementations remain valid.
+ * <p/>
+ * NOTE : Consider this an incubating API, likely to change as wider usage indicates changes that need to be made
+ */
+public interface QueryExecutionSessionEventListener extends SessionEventListener {
+	/**
+	 * Notification of a query starting to execute.  The JDBC operations up to the matching
+	 * {@link #queryExecutionEnd} are performed on behalf of that query.
+	 *
+	 * @param query The query string (HQL or SQL), as reported to {@link org.hibernate.stat.Statistics}
+	 */
+	public void queryExecutionStart(String query);
+
+	/**
+	 * Notification of a query having executed, or having failed to.  Every {@link #queryExecutionStart} is
+	 * followed by exactly one such notification.
+	 *
+	 * @param query The query string, as passed to the matching {@link #queryExecutionStart}
+	 * @param rows The number of rows returned; 0 for scrolled or iterated results, whose rows are not known yet, and
+	 * for failed executions
+	 * @param successful Whether the query executed successfully
+	 */
+	public void queryExecutionEnd(String query, int rows, boolean successful);
+}
@@ -84,6 +84,15 @@ public class EntityDeleteAction extends EntityAction {
 		);
 	}
 
+	/**
+	 * The entity state at the time of deletion.
+	 *
+	 * @return the entity state.
+	 */
+	public Object[] getState() {
+		return state;
+	}
+
 	@Override
 	public void execute() throws HibernateException {
 		final Serializable id = getId();
@@ -41,6 +41,7 @@ import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.hql.spi.QueryTranslatorFactory;
 import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.proxy.EntityNotFoundDelegate;
+import org.hibernate.stat.spi.MetricsRecorder;
 import org.hibernate.tuple.entity.EntityTuplizer;
 import org.hibernate.tuple.entity.EntityTuplizerFactory;
 
@@ -120,6 +121,30 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyAutoFlushing(boolean enabled);
 
+	/**
+	 * Applies whether flushes should skip the entities enhanced for dirty tracking which are known to be unmodified.
+	 *
+	 * @param enabled {@code true} indicates that only tracked changes should be flushed; {@code false} indicates
+	 * that all managed entities should be visited.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_TRACKED_CHANGES_ONLY
+	 */
+	public SessionFactoryBuilder applyTrackedChangesOnlyFlushing(boolean enabled);
+
+	/**
+	 * Applies whether flushes should skip read-only entities which do not own collections.
+	 *
+	 * @param enabled {@code true} indicates that such read-only entities should be skipped; {@code false}
+	 * indicates that flushes should visit them as well.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_SKIP_READ_ONLY_ENTITIES
+	 */
+	public SessionFactoryBuilder applyReadOnlyEntitiesFlushSkipping(boolean enabled);
+
 	/**
 	 * Applies whether statistics gathering is enabled.
 	 *
@@ -290,6 +315,42 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyDefaultBatchFetchSize(int size);
 
+	/**
+	 * Should the number of keys batch fetched at once adapt to how many of the batch fetched
+	 * entities and collections are actually used?
+	 *
+	 * @param enabled {@code true} indicates that it should; {@code false} indicates it should not.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#ADAPTIVE_BATCH_FETCH
+	 */
+	public SessionFactoryBuilder applyAdaptiveBatchFetch(boolean enabled);
+
+	/**
+	 * Should the entity loaders for pessimistic and optimistic lock modes be built on first use?
+	 *
+	 * @param enabled {@code true} indicates they should be built on first use; {@code false} indicates they should
+	 * be built along with the SessionFactory.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#LAZY_LOCK_MODE_LOADERS
+	 */
+	public SessionFactoryBuilder applyLazyLockModeLoaders(boolean enabled);
+
+	/**
+	 * Apply the number of threads used to complete the instantiation of the persisters, generating their SQL and
+	 * loaders.
+	 *
+	 * @param threads The number of threads; {@code 1} does all the work on the building thread.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PERSISTER_INSTANTIATION_THREADS
+	 */
+	public SessionFactoryBuilder applyPersisterInstantiationThreads(int threads);
+
 	/**
 	 * Apply a limit to the depth Hibernate will use for outer joins.  Note that this is different than an
 	 * overall limit on the number of joins...
@@ -340,6 +401,19 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyOrderingOfUpdates(boolean enabled);
 
+	/**
+	 * Apply whether ordering of deletes should be enabled.  This allows more efficient SQL
+	 * generation via the use of batching for the deletes; the cost is that the determination of the
+	 * ordering is far more inefficient than not ordering.
+	 *
+	 * @param enabled {@code true} indicates that ordering should be enabled; {@code false} indicates not
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#ORDER_DELETES
+	 */
+	public SessionFactoryBuilder applyOrderingOfDeletes(boolean enabled);
+
 	/**
 	 * Apply the form of multi-tenancy used by the application
 	 *
@@ -419,6 +493,29 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyNamedQueryCheckingOnStartup(boolean enabled);
 
+	/**
+	 * Should the values bound to a parameter list be padded to the next power of two, so that queries
+	 * differing only by the size of the list share query plans and prepared statements?
+	 *
+	 * @param enabled {@code true} indicates that they should; {@code false} indicates they should not.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#IN_CLAUSE_PARAMETER_PADDING
+	 */
+	public SessionFactoryBuilder applyInClauseParameterPadding(boolean enabled);
+
+	/**
+	 * Should the values of {@code IN} lists be bound as a single array parameter, where the dialect supports it?
+	 *
+	 * @param enabled {@code true} indicates that they should; {@code false} indicates they should not.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#IN_CLAUSE_ARRAY_BINDING
+	 */
+	public SessionFactoryBuilder applyInClauseArrayBinding(boolean enabled);
+
 	/**
 	 * Should second level caching support be enabled?
 	 *
@@ -516,6 +613,42 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyDirectReferenceCaching(boolean enabled);
 
+	/**
+	 * Should the last update timestamps of the query spaces invalidated by this SessionFactory be kept locally, so
+	 * that up-to-date checks of cached query results need not access the update timestamps region for them?
+	 * <p/>
+	 * Only appropriate if no other SessionFactory updates the tables of these query spaces.
+	 *
+	 * @param enabled {@code true} indicates the local copy should be kept.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_TIMESTAMPS_NEAR_CACHE
+	 */
+	public SessionFactoryBuilder applyTimestampsNearCache(boolean enabled);
+
+	/**
+	 * Should cached query results be stored in a compact, columnar form?
+	 *
+	 * @param enabled {@code true} indicates the compact form should be used.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_COMPACT_QUERY_CACHE_ENTRIES
+	 */
+	public SessionFactoryBuilder applyCompactQueryCacheEntries(boolean enabled);
+
+	/**
+	 * Names the recorder to report the timings of the operations performed by sessions to.
+	 *
+	 * @param metricsRecorder The metrics recorder
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#METRICS_RECORDER
+	 */
+	public SessionFactoryBuilder applyMetricsRecorder(MetricsRecorder metricsRecorder);
+
 	/**
 	 * When using bi-directional many-to-one associations and caching the one-to-many side
 	 * it is expected that both sides of the association are managed (actually that is true of
@@ -547,6 +680,18 @@ public interface SessionFactoryBuilder {
 	 */
 	public SessionFactoryBuilder applyJdbcBatchSize(int size);
 
+	/**
+	 * Specifies the maximum number of collection rows to remove using a single statement naming the rows in an
+	 * {@code IN} list.  A number greater than one enables such statements.
+	 *
+	 * @param size The maximum number of rows per statement.
+	 *
+	 * @return {@code this}, for method chaining
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#MULTI_ROW_DELETE_SIZE
+	 */
+	public SessionFactoryBuilder applyMultiRowDeleteSize(int size);
+
 	/**
 	 * This setting controls whether versioned entities will be included in JDBC batching.  The reason
 	 * being that some JDBC drivers have a problems returning "accurate" update counts from batch statements.
@@ -67,6 +67,7 @@ import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.proxy.EntityNotFoundDelegate;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.stat.spi.MetricsRecorder;
 import org.hibernate.tuple.entity.EntityTuplizer;
 import org.hibernate.tuple.entity.EntityTuplizerFactory;
 
@@ -75,6 +76,7 @@ import org.jboss.logging.Logger;
 import static org.hibernate.cfg.AvailableSettings.AUTO_CLOSE_SESSION;
 import static org.hibernate.cfg.AvailableSettings.AUTO_EVICT_COLLECTION_CACHE;
 import static org.hibernate.cfg.AvailableSettings.AUTO_SESSION_EVENTS_LISTENER;
+import static org.hibernate.cfg.AvailableSettings.ADAPTIVE_BATCH_FETCH;
 import static org.hibernate.cfg.AvailableSettings.BATCH_FETCH_STYLE;
 import static org.hibernate.cfg.AvailableSettings.BATCH_VERSIONED_DATA;
 import static org.hibernate.cfg.AvailableSettings.CACHE_REGION_PREFIX;
@@ -84,16 +86,25 @@ import static org.hibernate.cfg.AvailableSettings.DEFAULT_BATCH_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.DEFAULT_ENTITY_MODE;
 import static org.hibernate.cfg.AvailableSettings.ENABLE_LAZY_LOAD_NO_TRANS;
 import static org.hibernate.cfg.AvailableSettings.FLUSH_BEFORE_COMPLETION;
+import static org.hibernate.cfg.AvailableSettings.FLUSH_SKIP_READ_ONLY_ENTITIES;
+import static org.hibernate.cfg.AvailableSettings.FLUSH_TRACKED_CHANGES_ONLY;
 import static org.hibernate.cfg.AvailableSettings.GENERATE_STATISTICS;
 import static org.hibernate.cfg.AvailableSettings.HQL_BULK_ID_STRATEGY;
+import static org.hibernate.cfg.AvailableSettings.IN_CLAUSE_ARRAY_BINDING;
+import static org.hibernate.cfg.AvailableSettings.IN_CLAUSE_PARAMETER_PADDING;
 import static org.hibernate.cfg.AvailableSettings.INTERCEPTOR;
 import static org.hibernate.cfg.AvailableSettings.JPAQL_STRICT_COMPLIANCE;
 import static org.hibernate.cfg.AvailableSettings.JTA_TRACK_BY_THREAD;
+import static org.hibernate.cfg.AvailableSettings.LAZY_LOCK_MODE_LOADERS;
 import static org.hibernate.cfg.AvailableSettings.LOG_SESSION_METRICS;
 import static org.hibernate.cfg.AvailableSettings.MAX_FETCH_DEPTH;
+import static org.hibernate.cfg.AvailableSettings.METRICS_RECORDER;
 import static org.hibernate.cfg.AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER;
+import static org.hibernate.cfg.AvailableSettings.ORDER_DELETES;
+import static org.hibernate.cfg.AvailableSettings.MULTI_ROW_DELETE_SIZE;
 import static org.hibernate.cfg.AvailableSettings.ORDER_INSERTS;
 import static org.hibernate.cfg.AvailableSettings.ORDER_UPDATES;
+import static org.hibernate.cfg.AvailableSettings.PERSISTER_INSTANTIATION_THREADS;
 import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_FACTORY;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECKING;
 import static org.hibernate.cfg.AvailableSettings.QUERY_SUBSTITUTIONS;
@@ -102,7 +113,9 @@ import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME;
 import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME_IS_JNDI;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_BATCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_FETCH_SIZE;
+import static org.hibernate.cfg.AvailableSettings.USE_COMPACT_QUERY_CACHE_ENTRIES;
 import static org.hibernate.cfg.AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES;
+import static org.hibernate.cfg.AvailableSettings.USE_TIMESTAMPS_NEAR_CACHE;
 import static org.hibernate.cfg.AvailableSettings.USE_GET_GENERATED_KEYS;
 import static org.hibernate.cfg.AvailableSettings.USE_IDENTIFIER_ROLLBACK;
 import static org.hibernate.cfg.AvailableSettings.USE_MINIMAL_PUTS;
@@ -171,6 +184,18 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyTrackedChangesOnlyFlushing(boolean enabled) {
+		this.options.flushTrackedChangesOnlyEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyReadOnlyEntitiesFlushSkipping(boolean enabled) {
+		this.options.flushSkipReadOnlyEntitiesEnabled = enabled;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applyStatisticsSupport(boolean enabled) {
 		this.options.statisticsEnabled = enabled;
@@ -264,6 +289,24 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyAdaptiveBatchFetch(boolean enabled) {
+		this.options.adaptiveBatchFetchEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyLazyLockModeLoaders(boolean enabled) {
+		this.options.lazyLockModeLoadersEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyPersisterInstantiationThreads(int threads) {
+		this.options.persisterInstantiationThreads = threads;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applyMaximumFetchDepth(int depth) {
 		this.options.maximumFetchDepth = depth;
@@ -288,6 +331,12 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyOrderingOfDeletes(boolean enabled) {
+		this.options.orderDeletesEnabled = enabled;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applyMultiTenancyStrategy(MultiTenancyStrategy strategy) {
 		this.options.multiTenancyStrategy = strategy;
@@ -325,6 +374,18 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyInClauseParameterPadding(boolean enabled) {
+		this.options.inClauseParameterPaddingEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyInClauseArrayBinding(boolean enabled) {
+		this.options.inClauseArrayBindingEnabled = enabled;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applySecondLevelCacheSupport(boolean enabled) {
 		this.options.secondLevelCacheEnabled = enabled;
@@ -367,6 +428,25 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyTimestampsNearCache(boolean enabled) {
+		this.options.timestampsNearCacheEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyCompactQueryCacheEntries(boolean enabled) {
+		this.options.compactQueryCacheEntriesEnabled = enabled;
+		return this;
+	}
+
+	@Override
+	public SessionFactoryBuilder applyMetricsRecorder(MetricsRecorder metricsRecorder) {
+		this.options.metricsRecorder = metricsRecorder;
+		this.options.baselineSessionEventsListenerBuilder.setMetricsRecorder( metricsRecorder );
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applyAutomaticEvictionOfCollectionCaches(boolean enabled) {
 		this.options.autoEvictCollectionCache = enabled;
@@ -380,6 +460,12 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		return this;
 	}
 
+	@Override
+	public SessionFactoryBuilder applyMultiRowDeleteSize(int size) {
+		this.options.multiRowDeleteSize = size;
+		return this;
+	}
+
 	@Override
 	public SessionFactoryBuilder applyJdbcBatchingForVersionedEntities(boolean enabled) {
 		this.options.jdbcBatchVersionedData = enabled;
@@ -456,6 +542,8 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 
 		// Session behavior
 		private boolean flushBeforeCompletionEnabled;
+		private boolean flushTrackedChangesOnlyEnabled;
+		private boolean flushSkipReadOnlyEntitiesEnabled;
 		private boolean autoCloseSessionEnabled;
 
 		// Statistics/Interceptor/observers
@@ -463,6 +551,7 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		private Interceptor interceptor;
 		private List<SessionFactoryObserver> sessionFactoryObserverList = new ArrayList<SessionFactoryObserver>();
 		private BaselineSessionEventsListenerBuilder baselineSessionEventsListenerBuilder;	// not exposed on builder atm
+		private MetricsRecorder metricsRecorder;
 
 		// persistence behavior
 		private CustomEntityDirtinessStrategy customEntityDirtinessStrategy;
@@ -476,10 +565,14 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		private MultiTableBulkIdStrategy multiTableBulkIdStrategy;
 		private BatchFetchStyle batchFetchStyle;
 		private int defaultBatchFetchSize;
+		private boolean adaptiveBatchFetchEnabled;
+		private boolean lazyLockModeLoadersEnabled;
+		private int persisterInstantiationThreads;
 		private Integer maximumFetchDepth;
 		private NullPrecedence defaultNullPrecedence;
 		private boolean orderUpdatesEnabled;
 		private boolean orderInsertsEnabled;
+		private boolean orderDeletesEnabled;
 
 		// multi-tenancy
 		private MultiTenancyStrategy multiTenancyStrategy;
@@ -492,6 +585,8 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		private Map querySubstitutions;
 		private boolean strictJpaQueryLanguageCompliance;
 		private boolean namedQueryStartupCheckingEnabled;
+		private boolean inClauseParameterPaddingEnabled;
+		private boolean inClauseArrayBindingEnabled;
 
 		// Caching
 		private boolean secondLevelCacheEnabled;
@@ -501,6 +596,8 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		private boolean minimalPutsEnabled;
 		private boolean structuredCacheEntriesEnabled;
 		private boolean directReferenceCacheEntriesEnabled;
+		private boolean timestampsNearCacheEnabled;
+		private boolean compactQueryCacheEntriesEnabled;
 		private boolean autoEvictCollectionCache;
 
 		// Schema tooling
@@ -512,6 +609,7 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 		private boolean getGeneratedKeysEnabled;
 		private int jdbcBatchSize;
 		private boolean jdbcBatchVersionedData;
+		private int multiRowDeleteSize;
 		private Integer jdbcFetchSize;
 		private boolean scrollableResultSetsEnabled;
 		private boolean commentsEnabled;
@@ -548,6 +646,8 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			);
 
 			this.flushBeforeCompletionEnabled = cfgService.getSetting( FLUSH_BEFORE_COMPLETION, BOOLEAN, false );
+			this.flushTrackedChangesOnlyEnabled = cfgService.getSetting( FLUSH_TRACKED_CHANGES_ONLY, BOOLEAN, false );
+			this.flushSkipReadOnlyEntitiesEnabled = cfgService.getSetting( FLUSH_SKIP_READ_ONLY_ENTITIES, BOOLEAN, false );
 			this.autoCloseSessionEnabled = cfgService.getSetting( AUTO_CLOSE_SESSION, BOOLEAN, false );
 
 			this.statisticsEnabled = cfgService.getSetting( GENERATE_STATISTICS, BOOLEAN, false );
@@ -566,6 +666,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 
 			final boolean logSessionMetrics = cfgService.getSetting( LOG_SESSION_METRICS, BOOLEAN, statisticsEnabled );
 			this.baselineSessionEventsListenerBuilder = new BaselineSessionEventsListenerBuilder( logSessionMetrics, autoSessionEventsListener );
+			this.metricsRecorder = strategySelector.resolveStrategy(
+					MetricsRecorder.class,
+					configurationSettings.get( METRICS_RECORDER )
+			);
+			this.baselineSessionEventsListenerBuilder.setMetricsRecorder( metricsRecorder );
 
 			this.customEntityDirtinessStrategy = strategySelector.resolveDefaultableStrategy(
 					CustomEntityDirtinessStrategy.class,
@@ -597,6 +702,9 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 
 			this.batchFetchStyle = BatchFetchStyle.interpret( configurationSettings.get( BATCH_FETCH_STYLE ) );
 			this.defaultBatchFetchSize = ConfigurationHelper.getInt( DEFAULT_BATCH_FETCH_SIZE, configurationSettings, -1 );
+			this.adaptiveBatchFetchEnabled = cfgService.getSetting( ADAPTIVE_BATCH_FETCH, BOOLEAN, false );
+			this.lazyLockModeLoadersEnabled = cfgService.getSetting( LAZY_LOCK_MODE_LOADERS, BOOLEAN, false );
+			this.persisterInstantiationThreads = ConfigurationHelper.getInt( PERSISTER_INSTANTIATION_THREADS, configurationSettings, 1 );
 			this.maximumFetchDepth = ConfigurationHelper.getInteger( MAX_FETCH_DEPTH, configurationSettings );
 			final String defaultNullPrecedence = ConfigurationHelper.getString(
 					AvailableSettings.DEFAULT_NULL_ORDERING, configurationSettings, "none", "first", "last"
@@ -604,12 +712,15 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			this.defaultNullPrecedence = NullPrecedence.parse( defaultNullPrecedence );
 			this.orderUpdatesEnabled = ConfigurationHelper.getBoolean( ORDER_UPDATES, configurationSettings );
 			this.orderInsertsEnabled = ConfigurationHelper.getBoolean( ORDER_INSERTS, configurationSettings );
+			this.orderDeletesEnabled = ConfigurationHelper.getBoolean( ORDER_DELETES, configurationSettings );
 
 			this.jtaTrackByThread = cfgService.getSetting( JTA_TRACK_BY_THREAD, BOOLEAN, true );
 
 			this.querySubstitutions = ConfigurationHelper.toMap( QUERY_SUBSTITUTIONS, " ,=;:\n\t\r\f", configurationSettings );
 			this.strictJpaQueryLanguageCompliance = cfgService.getSetting( JPAQL_STRICT_COMPLIANCE, BOOLEAN, false );
 			this.namedQueryStartupCheckingEnabled = cfgService.getSetting( QUERY_STARTUP_CHECKING, BOOLEAN, true );
+			this.inClauseParameterPaddingEnabled = cfgService.getSetting( IN_CLAUSE_PARAMETER_PADDING, BOOLEAN, false );
+			this.inClauseArrayBindingEnabled = cfgService.getSetting( IN_CLAUSE_ARRAY_BINDING, BOOLEAN, false );
 
 			this.secondLevelCacheEnabled = cfgService.getSetting( USE_SECOND_LEVEL_CACHE, BOOLEAN, true );
 			this.queryCacheEnabled = cfgService.getSetting( USE_QUERY_CACHE, BOOLEAN, false );
@@ -629,6 +740,8 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			);
 			this.structuredCacheEntriesEnabled = cfgService.getSetting( USE_STRUCTURED_CACHE, BOOLEAN, false );
 			this.directReferenceCacheEntriesEnabled = cfgService.getSetting( USE_DIRECT_REFERENCE_CACHE_ENTRIES,BOOLEAN, false );
+			this.timestampsNearCacheEnabled = cfgService.getSetting( USE_TIMESTAMPS_NEAR_CACHE, BOOLEAN, false );
+			this.compactQueryCacheEntriesEnabled = cfgService.getSetting( USE_COMPACT_QUERY_CACHE_ENTRIES, BOOLEAN, false );
 			this.autoEvictCollectionCache = cfgService.getSetting( AUTO_EVICT_COLLECTION_CACHE, BOOLEAN, false );
 
 			try {
@@ -649,6 +762,7 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			}
 
 			this.jdbcBatchVersionedData = ConfigurationHelper.getBoolean( BATCH_VERSIONED_DATA, configurationSettings, false );
+			this.multiRowDeleteSize = ConfigurationHelper.getInt( MULTI_ROW_DELETE_SIZE, configurationSettings, 0 );
 			this.scrollableResultSetsEnabled = ConfigurationHelper.getBoolean(
 					USE_SCROLLABLE_RESULTSET,
 					configurationSettings,
@@ -707,6 +821,16 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			return flushBeforeCompletionEnabled;
 		}
 
+		@Override
+		public boolean isFlushTrackedChangesOnlyEnabled() {
+			return flushTrackedChangesOnlyEnabled;
+		}
+
+		@Override
+		public boolean isFlushSkipReadOnlyEntitiesEnabled() {
+			return flushSkipReadOnlyEntitiesEnabled;
+		}
+
 		@Override
 		public boolean isAutoCloseSessionEnabled() {
 			return autoCloseSessionEnabled;
@@ -727,6 +851,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			return baselineSessionEventsListenerBuilder;
 		}
 
+		@Override
+		public MetricsRecorder getMetricsRecorder() {
+			return metricsRecorder;
+		}
+
 		@Override
 		public SessionFactoryObserver[] getSessionFactoryObservers() {
 			return sessionFactoryObserverList.toArray( new SessionFactoryObserver[sessionFactoryObserverList.size()] );
@@ -771,6 +900,21 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			return defaultBatchFetchSize;
 		}
 
+		@Override
+		public boolean isAdaptiveBatchFetchEnabled() {
+			return adaptiveBatchFetchEnabled;
+		}
+
+		@Override
+		public boolean isLazyLockModeLoadersEnabled() {
+			return lazyLockModeLoadersEnabled;
+		}
+
+		@Override
+		public int getPersisterInstantiationThreads() {
+			return persisterInstantiationThreads;
+		}
+
 		@Override
 		public Integer getMaximumFetchDepth() {
 			return maximumFetchDepth;
@@ -791,6 +935,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			return orderInsertsEnabled;
 		}
 
+		@Override
+		public boolean isOrderDeletesEnabled() {
+			return orderDeletesEnabled;
+		}
+
 		@Override
 		public MultiTenancyStrategy getMultiTenancyStrategy() {
 			return multiTenancyStrategy;
@@ -821,6 +970,16 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			return namedQueryStartupCheckingEnabled;
 		}
 
+		@Override
+		public boolean isInClauseParameterPaddingEnabled() {
+			return inClauseParameterPaddingEnabled;
+		}
+
+		@Override
+		public boolean isInClauseArrayBindingEnabled() {
+			return inClauseArrayBindingEnabled;
+		}
+
 		@Override
 		public boolean isSecondLevelCacheEnabled() {
 			return secondLevelCacheEnabled;
@@ -856,6 +1015,16 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			return directReferenceCacheEntriesEnabled;
 		}
 
+		@Override
+		public boolean isTimestampsNearCacheEnabled() {
+			return timestampsNearCacheEnabled;
+		}
+
+		@Override
+		public boolean isCompactQueryCacheEntriesEnabled() {
+			return compactQueryCacheEntriesEnabled;
+		}
+
 		public boolean isAutoEvictCollectionCache() {
 			return autoEvictCollectionCache;
 		}
@@ -885,6 +1054,11 @@ public class SessionFactoryBuilderImpl implements SessionFactoryBuilder {
 			return jdbcBatchVersionedData;
 		}
 
+		@Override
+		public int getMultiRowDeleteSize() {
+			return multiRowDeleteSize;
+		}
+
 		@Override
 		public boolean isScrollableResultSetsEnabled() {
 			return scrollableResultSetsEnabled;
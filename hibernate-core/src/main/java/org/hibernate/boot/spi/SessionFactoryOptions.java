@@ -42,6 +42,7 @@ import org.hibernate.dialect.function.SQLFunction;
 import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.proxy.EntityNotFoundDelegate;
+import org.hibernate.stat.spi.MetricsRecorder;
 import org.hibernate.tuple.entity.EntityTuplizerFactory;
 
 /**
@@ -81,6 +82,10 @@ public interface SessionFactoryOptions {
 
 	public boolean isFlushBeforeCompletionEnabled();
 
+	public boolean isFlushTrackedChangesOnlyEnabled();
+
+	public boolean isFlushSkipReadOnlyEntitiesEnabled();
+
 	public boolean isAutoCloseSessionEnabled();
 
 	public boolean isStatisticsEnabled();
@@ -96,6 +101,13 @@ public interface SessionFactoryOptions {
 
 	public BaselineSessionEventsListenerBuilder getBaselineSessionEventsListenerBuilder();
 
+	/**
+	 * Get the recorder the timings of the operations performed by sessions are reported to.
+	 *
+	 * @return The metrics recorder.  May be {@code null}
+	 */
+	public MetricsRecorder getMetricsRecorder();
+
 	public boolean isIdentifierRollbackEnabled();
 
 	public EntityMode getDefaultEntityMode();
@@ -112,6 +124,12 @@ public interface SessionFactoryOptions {
 
 	public int getDefaultBatchFetchSize();
 
+	public boolean isAdaptiveBatchFetchEnabled();
+
+	public boolean isLazyLockModeLoadersEnabled();
+
+	public int getPersisterInstantiationThreads();
+
 	public Integer getMaximumFetchDepth();
 
 	public NullPrecedence getDefaultNullPrecedence();
@@ -120,6 +138,8 @@ public interface SessionFactoryOptions {
 
 	public boolean isOrderInsertsEnabled();
 
+	public boolean isOrderDeletesEnabled();
+
 	public MultiTenancyStrategy getMultiTenancyStrategy();
 
 	public CurrentTenantIdentifierResolver getCurrentTenantIdentifierResolver();
@@ -132,6 +152,10 @@ public interface SessionFactoryOptions {
 
 	public boolean isNamedQueryStartupCheckingEnabled();
 
+	public boolean isInClauseParameterPaddingEnabled();
+
+	public boolean isInClauseArrayBindingEnabled();
+
 	public boolean isSecondLevelCacheEnabled();
 
 	public boolean isQueryCacheEnabled();
@@ -146,6 +170,10 @@ public interface SessionFactoryOptions {
 
 	public boolean isDirectReferenceCacheEntriesEnabled();
 
+	public boolean isTimestampsNearCacheEnabled();
+
+	public boolean isCompactQueryCacheEntriesEnabled();
+
 	public boolean isAutoEvictCollectionCache();
 
 	public SchemaAutoTooling getSchemaAutoTooling();
@@ -158,6 +186,8 @@ public interface SessionFactoryOptions {
 
 	public boolean isJdbcBatchVersionedData();
 
+	public int getMultiRowDeleteSize();
+
 	public boolean isScrollableResultSetsEnabled();
 
 	public boolean isWrapResultSetsEnabled();
@@ -34,7 +34,8 @@ import org.hibernate.bytecode.enhance.spi.EnhancementContext;
 import org.hibernate.bytecode.enhance.spi.EnhancementException;
 import org.hibernate.bytecode.enhance.spi.Enhancer;
 import org.hibernate.bytecode.enhance.spi.EnhancerConstants;
-import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.internal.ManagedEntityChangeNotifier;
+import org.hibernate.engine.spi.ChangeNotifyingSelfDirtinessTracker;
 
 import java.util.Collection;
 import java.util.LinkedList;
@@ -54,6 +55,9 @@ public class EntityEnhancer extends Enhancer {
 	// for very small sizes SimpleDirtyTracker implementation ends up being faster
 	private static final String TRACKER_IMPL = SimpleDirtyTracker.class.getName();
 
+	// registers the entity with its persistence context once it becomes dirty
+	private static final String CHANGE_NOTIFIER = ManagedEntityChangeNotifier.class.getName();
+
 	public void enhance(CtClass managedCtClass) {
 		// add the ManagedEntity interface
 		managedCtClass.addInterface( managedEntityCtClass );
@@ -110,7 +114,7 @@ public class EntityEnhancer extends Enhancer {
 
 	private void addInLineDirtyHandling(CtClass managedCtClass) {
 		try {
-			managedCtClass.addInterface( classPool.get( SelfDirtinessTracker.class.getName() ) );
+			managedCtClass.addInterface( classPool.get( ChangeNotifyingSelfDirtinessTracker.class.getName() ) );
 
 			FieldWriter.addField( managedCtClass, classPool.get( TRACKER_IMPL ), EnhancerConstants.TRACKER_FIELD_NAME );
 			FieldWriter.addField( managedCtClass, classPool.get( CollectionTracker.class.getName() ), EnhancerConstants.TRACKER_COLLECTION_NAME );
@@ -127,11 +131,13 @@ public class EntityEnhancer extends Enhancer {
 			MethodWriter.write( managedCtClass, "" +
 							"public void %1$s(String name) {%n" +
 							"  if (%2$s == null) { %2$s = new %3$s(); }%n" +
+							"  if (%2$s.isEmpty()) { %4$s.entityChanged(this); }%n" +
 							"  %2$s.add(name);%n" +
 							"}",
 					EnhancerConstants.TRACKER_CHANGER_NAME,
 					EnhancerConstants.TRACKER_FIELD_NAME,
-					TRACKER_IMPL );
+					TRACKER_IMPL,
+					CHANGE_NOTIFIER );
 
 			/* --- */
 
@@ -0,0 +1,198 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.List;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.type.Type;
+import org.hibernate.type.TypeHelper;
+
+/**
+ * A compact representation of cached query results, used by {@link StandardQueryCache} in place of a list of
+ * disassembled rows when {@link org.hibernate.cfg.AvailableSettings#USE_COMPACT_QUERY_CACHE_ENTRIES} is enabled.
+ * <p/>
+ * The disassembled values are stored by column.  Columns whose values all disassemble to {@link Long} or
+ * {@link Integer} (identifiers of entity results, most commonly) are stored as primitive arrays; all other columns
+ * as arrays of their disassembled values.  Neither a row array nor a boxed value is kept per row for the former.
+ * The rows are only re-created one at a time, while being assembled.
+ */
+public final class QueryResultsCacheEntry implements Serializable {
+	private final long timestamp;
+	private final int rowCount;
+	private final boolean singleResult;
+
+	// per column, either a long[], an int[] or a Serializable[]
+	private final Object[] columns;
+	// per column, the rows whose value is null; null if a column has no null value or is a Serializable[]
+	private final BitSet[] nulls;
+
+	private QueryResultsCacheEntry(long timestamp, int rowCount, boolean singleResult, Object[] columns, BitSet[] nulls) {
+		this.timestamp = timestamp;
+		this.rowCount = rowCount;
+		this.singleResult = singleResult;
+		this.columns = columns;
+		this.nulls = nulls;
+	}
+
+	/**
+	 * Disassembles the given query results into a compact cache entry.
+	 *
+	 * @param timestamp The timestamp of the results
+	 * @param result The query results; single values if there is a single return type, {@code Object[]} tuples
+	 * otherwise
+	 * @param returnTypes The return types of the query
+	 * @param session The session
+	 *
+	 * @return The cache entry
+	 */
+	public static QueryResultsCacheEntry disassemble(
+			long timestamp,
+			List result,
+			Type[] returnTypes,
+			SessionImplementor session) {
+		final int rowCount = result.size();
+		final int columnCount = returnTypes.length;
+		final boolean singleResult = columnCount == 1;
+
+		final Serializable[][] values = new Serializable[columnCount][rowCount];
+		int row = 0;
+		for ( Object aResult : result ) {
+			if ( singleResult ) {
+				values[0][row] = returnTypes[0].disassemble( aResult, session, null );
+			}
+			else {
+				final Serializable[] tuple = TypeHelper.disassemble( (Object[]) aResult, returnTypes, null, session, null );
+				for ( int column = 0; column < columnCount; column++ ) {
+					values[column][row] = tuple[column];
+				}
+			}
+			row++;
+		}
+
+		final Object[] columns = new Object[columnCount];
+		final BitSet[] nulls = new BitSet[columnCount];
+		for ( int column = 0; column < columnCount; column++ ) {
+			columns[column] = compact( values[column], column, nulls );
+		}
+		return new QueryResultsCacheEntry( timestamp, rowCount, singleResult, columns, nulls );
+	}
+
+	private static Object compact(Serializable[] values, int column, BitSet[] nulls) {
+		Class valueClass = null;
+		for ( Serializable value : values ) {
+			if ( value != null ) {
+				if ( valueClass == null ) {
+					valueClass = value.getClass();
+				}
+				else if ( valueClass != value.getClass() ) {
+					return values;
+				}
+			}
+		}
+
+		if ( valueClass == Long.class ) {
+			final long[] longs = new long[values.length];
+			for ( int row = 0; row < values.length; row++ ) {
+				if ( values[row] == null ) {
+					markNull( nulls, column, row );
+				}
+				else {
+					longs[row] = (Long) values[row];
+				}
+			}
+			return longs;
+		}
+		else if ( valueClass == Integer.class ) {
+			final int[] ints = new int[values.length];
+			for ( int row = 0; row < values.length; row++ ) {
+				if ( values[row] == null ) {
+					markNull( nulls, column, row );
+				}
+				else {
+					ints[row] = (Integer) values[row];
+				}
+			}
+			return ints;
+		}
+		return values;
+	}
+
+	private static void markNull(BitSet[] nulls, int column, int row) {
+		if ( nulls[column] == null ) {
+			nulls[column] = new BitSet();
+		}
+		nulls[column].set( row );
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Get the disassembled state of a row, in the form {@link Type#beforeAssemble} / {@link Type#assemble} (for a
+	 * single return type) or {@link org.hibernate.type.TypeHelper#beforeAssemble} /
+	 * {@link org.hibernate.type.TypeHelper#assemble} (for several return types) expect it.
+	 *
+	 * @param row The row index
+	 * @param buffer The array to fill with the row state if there are several return types; may be re-used
+	 * between calls as long as the previously returned row state is not needed anymore
+	 *
+	 * @return The disassembled value if there is a single return type, the filled {@code buffer} otherwise
+	 */
+	public Serializable getDisassembledRow(int row, Serializable[] buffer) {
+		if ( singleResult ) {
+			return getValue( 0, row );
+		}
+		for ( int column = 0; column < columns.length; column++ ) {
+			buffer[column] = getValue( column, row );
+		}
+		return buffer;
+	}
+
+	private Serializable getValue(int column, int row) {
+		final Object values = columns[column];
+		if ( values instanceof Serializable[] ) {
+			return ( (Serializable[]) values )[row];
+		}
+		if ( nulls[column] != null && nulls[column].get( row ) ) {
+			return null;
+		}
+		if ( values instanceof long[] ) {
+			return ( (long[]) values )[row];
+		}
+		return ( (int[]) values )[row];
+	}
+
+	@Override
+	public String toString() {
+		return "QueryResultsCacheEntry(timestamp=" + timestamp + ", rows=" + rowCount + ')';
+	}
+}
@@ -50,6 +50,10 @@ import org.jboss.logging.Logger;
  * implementation is very good at recognizing stale query results and
  * and re-running queries when it detects this condition, re-caching the new
  * results.
+ * <p/>
+ * The results are cached either as a list holding the timestamp followed by the disassembled rows, or, if
+ * {@link org.hibernate.cfg.AvailableSettings#USE_COMPACT_QUERY_CACHE_ENTRIES} is enabled, as a
+ * {@link QueryResultsCacheEntry}.  Both forms are understood when reading cached results.
  *
  * @author Gavin King
  * @author Steve Ebersole
@@ -65,6 +69,7 @@ public class StandardQueryCache implements QueryCache {
 
 	private QueryResultsRegion cacheRegion;
 	private UpdateTimestampsCache updateTimestampsCache;
+	private final boolean compactEntries;
 
 	/**
 	 * Constructs a StandardQueryCache instance
@@ -91,6 +96,7 @@ public class StandardQueryCache implements QueryCache {
 
 		this.cacheRegion = settings.getRegionFactory().buildQueryResultsRegion( regionNameToUse, props );
 		this.updateTimestampsCache = updateTimestampsCache;
+		this.compactEntries = settings.isCompactQueryCacheEntriesEnabled();
 	}
 
 	@Override
@@ -130,17 +136,29 @@ public class StandardQueryCache implements QueryCache {
 			LOG.debugf( "Caching query results in region: %s; timestamp=%s", cacheRegion.getName(), ts );
 		}
 
-		final List cacheable = new ArrayList( result.size() + 1 );
-		logCachedResultDetails( key, null, returnTypes, cacheable );
-		cacheable.add( ts );
-
-		final boolean isSingleResult = returnTypes.length == 1;
-		for ( Object aResult : result ) {
-			final Serializable cacheItem = isSingleResult
-					? returnTypes[0].disassemble( aResult, session, null )
-					: TypeHelper.disassemble( (Object[]) aResult, returnTypes, null, session, null );
-			cacheable.add( cacheItem );
-			logCachedResultRowDetails( returnTypes, aResult );
+		logCachedResultDetails( key, null, returnTypes, result.size() );
+		final Object cacheable;
+		if ( compactEntries ) {
+			cacheable = QueryResultsCacheEntry.disassemble( ts, result, returnTypes, session );
+			if ( TRACING ) {
+				for ( Object aResult : result ) {
+					logCachedResultRowDetails( returnTypes, aResult );
+				}
+			}
+		}
+		else {
+			final List cacheableList = new ArrayList( result.size() + 1 );
+			cacheableList.add( ts );
+
+			final boolean isSingleResult = returnTypes.length == 1;
+			for ( Object aResult : result ) {
+				final Serializable cacheItem = isSingleResult
+						? returnTypes[0].disassemble( aResult, session, null )
+						: TypeHelper.disassemble( (Object[]) aResult, returnTypes, null, session, null );
+				cacheableList.add( cacheItem );
+				logCachedResultRowDetails( returnTypes, aResult );
+			}
+			cacheable = cacheableList;
 		}
 
 		try {
@@ -166,17 +184,25 @@ public class StandardQueryCache implements QueryCache {
 			LOG.debugf( "Checking cached query results in region: %s", cacheRegion.getName() );
 		}
 
-		final List cacheable = getCachedResults( key, session );
-		logCachedResultDetails( key, spaces, returnTypes, cacheable );
+		final Object cached = getCachedResults( key, session );
 
-		if ( cacheable == null ) {
+		if ( cached == null ) {
+			logCachedResultDetails( key, spaces, returnTypes, null );
 			if ( DEBUGGING ) {
 				LOG.debug( "Query results were not found in cache" );
 			}
 			return null;
 		}
 
-		final Long timestamp = (Long) cacheable.get( 0 );
+		// either the compact form, or the list of the timestamp followed by the rows
+		final QueryResultsCacheEntry entry = cached instanceof QueryResultsCacheEntry
+				? (QueryResultsCacheEntry) cached
+				: null;
+		final List cacheable = entry == null ? (List) cached : null;
+		final int rowCount = entry == null ? cacheable.size() - 1 : entry.getRowCount();
+		logCachedResultDetails( key, spaces, returnTypes, rowCount );
+
+		final Long timestamp = entry == null ? (Long) cacheable.get( 0 ) : entry.getTimestamp();
 		if ( !isNaturalKeyLookup && !isUpToDate( spaces, timestamp, session ) ) {
 			if ( DEBUGGING ) {
 				LOG.debug( "Cached query results were not up-to-date" );
@@ -188,27 +214,29 @@ public class StandardQueryCache implements QueryCache {
 			LOG.debug( "Returning cached query results" );
 		}
 		final boolean singleResult = returnTypes.length == 1;
-		for ( int i = 1; i < cacheable.size(); i++ ) {
+		// the compact form re-creates each row into this array
+		final Serializable[] rowBuffer = entry == null || singleResult ? null : new Serializable[returnTypes.length];
+		for ( int i = 0; i < rowCount; i++ ) {
+			final Serializable row = getDisassembledRow( cacheable, entry, i, rowBuffer );
 			if ( singleResult ) {
-				returnTypes[0].beforeAssemble( (Serializable) cacheable.get( i ), session );
+				returnTypes[0].beforeAssemble( row, session );
 			}
 			else {
-				TypeHelper.beforeAssemble( (Serializable[]) cacheable.get( i ), returnTypes, session );
+				TypeHelper.beforeAssemble( (Serializable[]) row, returnTypes, session );
 			}
 		}
 
-		final List result = new ArrayList( cacheable.size() - 1 );
-		for ( int i = 1; i < cacheable.size(); i++ ) {
+		final List result = new ArrayList( rowCount );
+		for ( int i = 0; i < rowCount; i++ ) {
 			try {
+				final Serializable row = getDisassembledRow( cacheable, entry, i, rowBuffer );
 				if ( singleResult ) {
-					result.add( returnTypes[0].assemble( (Serializable) cacheable.get( i ), session, null ) );
+					result.add( returnTypes[0].assemble( row, session, null ) );
 				}
 				else {
-					result.add(
-							TypeHelper.assemble( (Serializable[]) cacheable.get( i ), returnTypes, session, null )
-					);
+					result.add( TypeHelper.assemble( (Serializable[]) row, returnTypes, session, null ) );
 				}
-				logCachedResultRowDetails( returnTypes, result.get( i - 1 ) );
+				logCachedResultRowDetails( returnTypes, result.get( i ) );
 			}
 			catch ( RuntimeException ex ) {
 				if ( isNaturalKeyLookup ) {
@@ -230,11 +258,21 @@ public class StandardQueryCache implements QueryCache {
 		return result;
 	}
 
-	private List getCachedResults(QueryKey key, SessionImplementor session) {
-		List cacheable = null;
+	private static Serializable getDisassembledRow(
+			List cacheable,
+			QueryResultsCacheEntry entry,
+			int row,
+			Serializable[] rowBuffer) {
+		return entry == null
+				? (Serializable) cacheable.get( row + 1 )
+				: entry.getDisassembledRow( row, rowBuffer );
+	}
+
+	private Object getCachedResults(QueryKey key, SessionImplementor session) {
+		Object cacheable = null;
 		try {
 			session.getEventListenerManager().cacheGetStart();
-			cacheable = (List) cacheRegion.get( key );
+			cacheable = cacheRegion.get( key );
 		}
 		finally {
 			session.getEventListenerManager().cacheGetEnd( cacheable != null );
@@ -255,7 +293,7 @@ public class StandardQueryCache implements QueryCache {
 		return "StandardQueryCache(" + cacheRegion.getName() + ')';
 	}
 
-	private static void logCachedResultDetails(QueryKey key, Set querySpaces, Type[] returnTypes, List result) {
+	private static void logCachedResultDetails(QueryKey key, Set querySpaces, Type[] returnTypes, Integer resultSize) {
 		if ( !TRACING ) {
 			return;
 		}
@@ -265,7 +303,7 @@ public class StandardQueryCache implements QueryCache {
 			LOG.trace(
 					"Unexpected returnTypes is "
 							+ ( returnTypes == null ? "null" : "empty" ) + "! result"
-							+ ( result == null ? " is null" : ".size()=" + result.size() )
+							+ ( resultSize == null ? " is null" : ".size()=" + resultSize )
 			);
 		}
 		else {
@@ -0,0 +1,50 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Optional contract for {@link GeneralDataRegion} implementations able to read multiple items in a single
+ * operation (a single round trip for remote or clustered caches).
+ * <p/>
+ * Hibernate uses this operation where it reads several items of a region at once; most notably when checking the
+ * last update timestamps of all the query spaces of a cached query result (see {@link UpdateTimestampsCache}).
+ * Regions not implementing this contract are accessed item by item instead.
+ */
+public interface BulkGeneralDataRegion extends GeneralDataRegion {
+	/**
+	 * Get multiple items from the cache.
+	 *
+	 * @param keys The keys of the items to be retrieved.
+	 *
+	 * @return the cached objects, positionally matching the keys; an element is <tt>null</tt> if its item is not
+	 * cached
+	 *
+	 * @throws CacheException Indicates a problem accessing the items or region.
+	 *
+	 * @see #get(Object)
+	 */
+	public Object[] getAll(Object[] keys) throws CacheException;
+}
@@ -26,6 +26,8 @@ package org.hibernate.cache.spi;
 import java.io.Serializable;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cfg.Settings;
@@ -41,6 +43,12 @@ import org.jboss.logging.Logger;
  * to a higher value than the timeouts of any of the query caches. In fact, we
  * recommend that the the underlying cache not be configured for expiry at all.
  * Note, in particular, that an LRU cache expiry policy is never appropriate.
+ * <p/>
+ * The timestamps of all the spaces of a query are read in a single operation if the region supports it (see
+ * {@link BulkGeneralDataRegion}).  Optionally, the timestamps written by this SessionFactory are kept in a local
+ * near cache as well, in which case they need not be read from the region again; timestamps read from the region are
+ * not kept, as another SessionFactory may update them at any time.  See
+ * {@link org.hibernate.cfg.AvailableSettings#USE_TIMESTAMPS_NEAR_CACHE}.
  *
  * @author Gavin King
  * @author Mikheil Kapanadze
@@ -56,6 +64,7 @@ public class UpdateTimestampsCache {
 
 	private final SessionFactoryImplementor factory;
 	private final TimestampsRegion region;
+	private final ConcurrentMap<Serializable,Long> nearCache;
 
 	/**
 	 * Constructs an UpdateTimestampsCache.
@@ -71,6 +80,7 @@ public class UpdateTimestampsCache {
 
 		LOG.startingUpdateTimestampsCache( regionName );
 		this.region = settings.getRegionFactory().buildTimestampsRegion( regionName, props );
+		this.nearCache = settings.isTimestampsNearCacheEnabled() ? new ConcurrentHashMap<Serializable,Long>() : null;
 	}
 
 	/**
@@ -109,6 +119,9 @@ public class UpdateTimestampsCache {
 				//put() has nowait semantics, is this really appropriate?
 				//note that it needs to be async replication, never local or sync
 				region.put( space, ts );
+				if ( nearCache != null ) {
+					nearCache.put( space, ts );
+				}
 			}
 			finally {
 				session.getEventListenerManager().cachePutEnd();
@@ -145,6 +158,9 @@ public class UpdateTimestampsCache {
 				//put() has nowait semantics, is this really appropriate?
 				//note that it needs to be async replication, never local or sync
 				region.put( space, ts );
+				if ( nearCache != null ) {
+					nearCache.put( space, ts );
+				}
 			}
 			finally {
 				session.getEventListenerManager().cachePutEnd();
@@ -171,8 +187,10 @@ public class UpdateTimestampsCache {
 	public boolean isUpToDate(Set<Serializable> spaces, Long timestamp, SessionImplementor session) throws CacheException {
 		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
-		for ( Serializable space : spaces ) {
-			final Long lastUpdate = getLastUpdateTimestampForSpace( space, session );
+		final Serializable[] spaceArray = spaces.toArray( new Serializable[spaces.size()] );
+		final Long[] lastUpdates = getLastUpdateTimestampsForSpaces( spaceArray, session );
+		for ( int i = 0; i < spaceArray.length; i++ ) {
+			final Long lastUpdate = lastUpdates[i];
 			if ( lastUpdate == null ) {
 				if ( stats ) {
 					factory.getStatisticsImplementor().updateTimestampsCacheMiss();
@@ -186,7 +204,7 @@ public class UpdateTimestampsCache {
 				if ( DEBUG_ENABLED ) {
 					LOG.debugf(
 							"[%s] last update timestamp: %s",
-							space,
+							spaceArray[i],
 							lastUpdate + ", result set timestamp: " + timestamp
 					);
 				}
@@ -201,6 +219,50 @@ public class UpdateTimestampsCache {
 		return true;
 	}
 
+	private Long[] getLastUpdateTimestampsForSpaces(Serializable[] spaces, SessionImplementor session) {
+		final Long[] lastUpdates = new Long[spaces.length];
+
+		// the positions of the spaces to read from the region
+		final int[] positions = new int[spaces.length];
+		int numberOfMisses = 0;
+		for ( int i = 0; i < spaces.length; i++ ) {
+			final Long lastUpdate = nearCache == null ? null : nearCache.get( spaces[i] );
+			if ( lastUpdate == null ) {
+				positions[numberOfMisses++] = i;
+			}
+			else {
+				lastUpdates[i] = lastUpdate;
+			}
+		}
+
+		if ( numberOfMisses == 0 ) {
+			return lastUpdates;
+		}
+		else if ( numberOfMisses == 1 || !( region instanceof BulkGeneralDataRegion ) ) {
+			for ( int i = 0; i < numberOfMisses; i++ ) {
+				lastUpdates[positions[i]] = getLastUpdateTimestampForSpace( spaces[positions[i]], session );
+			}
+		}
+		else {
+			final Serializable[] missedSpaces = new Serializable[numberOfMisses];
+			for ( int i = 0; i < numberOfMisses; i++ ) {
+				missedSpaces[i] = spaces[positions[i]];
+			}
+			Object[] timestamps = null;
+			try {
+				session.getEventListenerManager().cacheGetStart();
+				timestamps = ( (BulkGeneralDataRegion) region ).getAll( missedSpaces );
+			}
+			finally {
+				session.getEventListenerManager().cacheGetEnd( timestamps != null );
+			}
+			for ( int i = 0; i < numberOfMisses; i++ ) {
+				lastUpdates[positions[i]] = (Long) timestamps[i];
+			}
+		}
+		return lastUpdates;
+	}
+
 	private Long getLastUpdateTimestampForSpace(Serializable space, SessionImplementor session) {
 		Long ts = null;
 		try {
@@ -219,6 +281,9 @@ public class UpdateTimestampsCache {
 	 * @throws CacheException Indicates problem delegating call to underlying region.
 	 */
 	public void clear() throws CacheException {
+		if ( nearCache != null ) {
+			nearCache.clear();
+		}
 		region.evictAll();
 	}
 
@@ -0,0 +1,75 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.access;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Optional contract for {@link RegionAccessStrategy} implementations able to read or write multiple items in a
+ * single operation (a single round trip for remote or clustered caches).
+ * <p/>
+ * Hibernate uses these operations where it accesses several items of a region at once; most notably when batch
+ * fetching entities and collections, and when caching the entities and collections loaded by a single query.
+ * Strategies not implementing this contract are accessed item by item instead.
+ *
+ * @see org.hibernate.engine.internal.CacheHelper
+ */
+public interface BulkRegionAccessStrategy extends RegionAccessStrategy {
+	/**
+	 * Attempt to retrieve multiple objects from the cache.
+	 *
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 *
+	 * @return the cached objects, positionally matching the keys; an element is <tt>null</tt> if its item is not
+	 * cached
+	 *
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 *
+	 * @see #get(Object, long)
+	 */
+	Object[] getAll(Object[] keys, long txTimestamp) throws CacheException;
+
+	/**
+	 * Attempt to cache multiple objects, after loading them from the database.
+	 *
+	 * @param keys The item keys
+	 * @param values The items, positionally matching the keys
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @param versions the item version numbers, positionally matching the keys
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 *
+	 * @return for each item, whether it was successfully cached
+	 *
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 *
+	 * @see #putFromLoad(Object, Object, long, Object, boolean)
+	 */
+	boolean[] putFromLoadAll(
+			Object[] keys,
+			Object[] values,
+			long txTimestamp,
+			Object[] versions,
+			boolean minimalPutOverride) throws CacheException;
+}
@@ -201,6 +201,29 @@ public interface AvailableSettings {
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
 	String STATEMENT_BATCH_SIZE = "hibernate.jdbc.batch_size";
+	/**
+	 * Should full JDBC batches be executed by a background thread of the session, letting the flush go on with
+	 * binding the rows of the next batch while the batch is sent to the database?  The Connection itself is never
+	 * used concurrently.  Only has an effect when {@link #STATEMENT_BATCH_SIZE} enables batching.  Default is
+	 * <tt>false</tt>.
+	 */
+	String STATEMENT_BATCH_PIPELINED = "hibernate.jdbc.batch_pipelined";
+	/**
+	 * Should batched inserts into the same table be combined into multi-row inserts, a single statement listing
+	 * the values of several rows?  Only has an effect when {@link #STATEMENT_BATCH_SIZE} enables batching and the
+	 * dialect supports multi-row inserts (see {@link org.hibernate.dialect.Dialect#supportsMultiRowInsert()}).  This
+	 * takes precedence over {@link #STATEMENT_BATCH_PIPELINED}.  Default is <tt>false</tt>.
+	 */
+	String MULTI_ROW_INSERT = "hibernate.jdbc.multi_row_insert";
+	/**
+	 * The maximum number of collection rows removed by a single statement naming the rows in an {@code IN} list
+	 * (or, for one-to-many associations, the number of rows whose foreign key a single statement sets to null).
+	 * Only collections whose rows are identified by a single column besides the collection key, and which do not
+	 * use custom SQL, are handled that way.  The dialect's limit on the size of {@code IN} lists applies as well.
+	 * A value greater than <tt>1</tt> enables such statements; the default is <tt>0</tt>, deleting one row per
+	 * statement.
+	 */
+	String MULTI_ROW_DELETE_SIZE = "hibernate.jdbc.multi_row_delete_size";
 	/**
 	 * Select a custom batcher.
 	 */
@@ -272,6 +295,24 @@ public interface AvailableSettings {
 	 * Enable automatic flush during the JTA <tt>beforeCompletion()</tt> callback
 	 */
 	String FLUSH_BEFORE_COMPLETION = "hibernate.transaction.flush_before_completion";
+	/**
+	 * Should flushes skip the dirty checking of entities enhanced for dirty tracking which are known to be
+	 * unmodified?  When enabled, such entities register themselves with their session once they are changed, and a
+	 * flush dirty checks only those, the entities being saved or deleted, and all other entities: those not enhanced
+	 * for dirty tracking, enhanced by earlier versions which do not register their changes, or owning collections.
+	 * Flush-time cascades likewise start from these entities only.  Note that custom
+	 * {@link org.hibernate.event.spi.FlushEntityEventListener}s then do not see the skipped entities.  Default is
+	 * {@code false}.
+	 */
+	String FLUSH_TRACKED_CHANGES_ONLY = "hibernate.flush.tracked_changes_only";
+	/**
+	 * Should flushes skip read-only entities which do not own collections?  Read-only entities (those loaded by
+	 * read-only sessions or queries, and instances of immutable entities) keep no snapshot of their loaded state and
+	 * are never updated, so visiting them during flush only costs time and garbage.  Note that custom
+	 * {@link org.hibernate.event.spi.FlushEntityEventListener}s then do not see the skipped entities, and changes to
+	 * their identifier go unnoticed.  Default is {@code false}.
+	 */
+	String FLUSH_SKIP_READ_ONLY_ENTITIES = "hibernate.flush.skip_read_only_entities";
 	/**
 	 * Specifies how Hibernate should release JDBC connections.
 	 */
@@ -373,6 +414,24 @@ public interface AvailableSettings {
 	 */
 	String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * Should the values bound to a parameter list be padded to the next power of two (repeating the last value)
+	 * when the list is expanded into the query?  Queries then differ only by a handful of {@code IN} list
+	 * lengths, which lets them share query plans and prepared statements.  The padding never exceeds the
+	 * dialect's limit on the size of {@code IN} lists.  The default is disabled.
+	 */
+	String IN_CLAUSE_PARAMETER_PADDING = "hibernate.query.in_clause_parameter_padding";
+
+	/**
+	 * Should the values of {@code IN} lists be bound as a single array parameter where the dialect supports it
+	 * (see {@link org.hibernate.dialect.Dialect#supportsArrayInList()})?  This applies to parameter lists of
+	 * queries, to {@link org.hibernate.criterion.Restrictions#in} and to batch fetching with the
+	 * {@link org.hibernate.loader.BatchFetchStyle#DYNAMIC dynamic} batch fetch style, as long as the
+	 * values are of a single-column basic type such as {@code Long} or {@code String}.  The SQL then no longer
+	 * depends on the number of values.  The default is disabled.
+	 */
+	String IN_CLAUSE_ARRAY_BINDING = "hibernate.query.in_clause_array_binding";
+
 	/**
 	 * Auto export/update schema using hbm2ddl tool. Valid values are <tt>update</tt>,
 	 * <tt>create</tt>, <tt>create-drop</tt> and <tt>validate</tt>.
@@ -409,7 +468,8 @@ public interface AvailableSettings {
 
 	/**
 	 * Enable wrapping of JDBC result sets in order to speed up column name lookups for
-	 * broken JDBC drivers
+	 * broken JDBC drivers.  The loaders then read all columns by position, the column aliases
+	 * of each loader being resolved into column indexes once.
 	 */
 	String WRAP_RESULT_SETS = "hibernate.jdbc.wrap_result_sets";
 
@@ -423,6 +483,13 @@ public interface AvailableSettings {
 	 */
 	String ORDER_INSERTS = "hibernate.order_inserts";
 
+	/**
+	 * Enable ordering of delete statements for the purpose of more efficient JDBC batching.  Deletes are
+	 * ordered such that rows referencing other rows (through many-to-one and constrained one-to-one
+	 * associations) are deleted first.
+	 */
+	String ORDER_DELETES = "hibernate.order_deletes";
+
 	/**
 	 * Default precedence of null values in {@code ORDER BY} clause.  Supported options: {@code none} (default),
 	 * {@code first}, {@code last}.
@@ -458,6 +525,17 @@ public interface AvailableSettings {
 	 */
 	String PREFER_POOLED_VALUES_LO = "hibernate.id.optimizer.pooled.prefer_lo";
 
+	/**
+	 * The name of the pooled {@link org.hibernate.id.enhanced.Optimizer optimizer} (or the name of a custom
+	 * optimizer class) to use when a generator does not explicitly name one and its increment size is greater
+	 * than one.  Use {@code pooled-lotl} for instance to have each thread use its own block of values, which avoids
+	 * contention when many threads generate identifiers concurrently.  Takes precedence over
+	 * {@link #PREFER_POOLED_VALUES_LO}.
+	 *
+	 * @see org.hibernate.id.enhanced.StandardOptimizerDescriptor
+	 */
+	String PREFERRED_POOLED_OPTIMIZER = "hibernate.id.optimizer.pooled.preferred";
+
 	/**
 	 * The maximum number of strong references maintained by {@link org.hibernate.engine.query.spi.QueryPlanCache}. Default is 128.
 	 * @deprecated in favor of {@link #QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE}
@@ -672,12 +750,64 @@ public interface AvailableSettings {
 	 */
 	String BATCH_FETCH_STYLE = "hibernate.batch_fetch_style";
 
+	/**
+	 * Should the number of keys batch fetched at once adapt to how many of the batch fetched entities and
+	 * collections the sessions actually go on to use?  The batch size of each entity and collection role then
+	 * shrinks when most of the speculatively fetched keys are never used, and grows back (up to the configured
+	 * batch size) when they are.  The sizes are tracked per session, so different units of work settle on
+	 * different sizes for the same association; a session starts out with the sizes the sessions before it last
+	 * settled on.  Default is {@code false}.
+	 */
+	String ADAPTIVE_BATCH_FETCH = "hibernate.adaptive_batch_fetch";
+
+	/**
+	 * Should the entity loaders for pessimistic and optimistic lock modes be built on first use, rather than
+	 * when the SessionFactory is built?  Most applications only ever load entities using a few of the lock modes,
+	 * so this saves building (and holding on to) most of these loaders.  Default is {@code false}.
+	 */
+	String LAZY_LOCK_MODE_LOADERS = "hibernate.lazy_lock_mode_loaders";
+
+	/**
+	 * The number of threads used to complete the instantiation of the entity and collection persisters (generating
+	 * their SQL and loaders) when the SessionFactory is built.  Doing so in parallel can markedly reduce the start up
+	 * time for a large domain model.  The persisters themselves are still constructed by the thread building the
+	 * SessionFactory, as constructing them reads the mapping model, which is not thread-safe.  The persisters of
+	 * supertypes are completed before those of their subtypes, and all entity persisters before the collection
+	 * persisters.  Default is {@code 1}, meaning the thread building the SessionFactory does all the work.
+	 */
+	String PERSISTER_INSTANTIATION_THREADS = "hibernate.persister_instantiation_threads";
+
 	/**
 	 * Enable direct storage of entity references into the second level cache when applicable (immutable data, etc).
 	 * Default is to not store direct references.
 	 */
 	String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
+	/**
+	 * Keep a local copy of the last update timestamps of the query spaces this SessionFactory invalidated, so that
+	 * checking whether a cached query result is up to date does not access the update timestamps region for these
+	 * spaces.  Only appropriate if no other SessionFactory (on this or another node) updates the tables of these
+	 * query spaces.  Default is {@code false}.
+	 *
+	 * @see org.hibernate.cache.spi.UpdateTimestampsCache
+	 */
+	String USE_TIMESTAMPS_NEAR_CACHE = "hibernate.cache.use_timestamps_near_cache";
+
+	/**
+	 * Store cached query results in a compact, columnar form rather than as a list of disassembled rows.  Reduces
+	 * the memory used by large cached results, as well as the cost of serializing them.  Default is {@code false}.
+	 *
+	 * @see org.hibernate.cache.internal.QueryResultsCacheEntry
+	 */
+	String USE_COMPACT_QUERY_CACHE_ENTRIES = "hibernate.cache.use_compact_query_cache_entries";
+
+	/**
+	 * Names a {@link org.hibernate.stat.spi.MetricsRecorder} receiving the timings of the operations performed by
+	 * sessions.  Can reference a MetricsRecorder instance, {@link Class} reference or {@link Class} name.  Use
+	 * {@link org.hibernate.stat.internal.InMemoryMetricsRecorder} to keep these timings in memory.  Default is none.
+	 */
+	String METRICS_RECORDER = "hibernate.metrics.recorder";
+
 	/**
 	 * Enable nationalized character support on all string / clob based attribute ( string, char, clob, text etc ).
 	 *
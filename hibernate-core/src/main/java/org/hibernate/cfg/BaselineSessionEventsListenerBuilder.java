@@ -28,7 +28,9 @@ import java.util.List;
 
 import org.hibernate.HibernateException;
 import org.hibernate.SessionEventListener;
+import org.hibernate.engine.internal.MetricsSessionEventListener;
 import org.hibernate.engine.internal.StatisticalLoggingSessionEventListener;
+import org.hibernate.stat.spi.MetricsRecorder;
 
 /**
  * @author Steve Ebersole
@@ -36,6 +38,7 @@ import org.hibernate.engine.internal.StatisticalLoggingSessionEventListener;
 public class BaselineSessionEventsListenerBuilder {
 	private boolean logSessionMetrics;
 	private Class<? extends SessionEventListener> autoListener;
+	private MetricsRecorder metricsRecorder;
 
 	public BaselineSessionEventsListenerBuilder(
 			boolean logSessionMetrics,
@@ -64,11 +67,22 @@ public class BaselineSessionEventsListenerBuilder {
 		this.autoListener = autoListener;
 	}
 
+	public MetricsRecorder getMetricsRecorder() {
+		return metricsRecorder;
+	}
+
+	public void setMetricsRecorder(MetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder;
+	}
+
 	public List<SessionEventListener> buildBaselineList() {
 		List<SessionEventListener> list = new ArrayList<SessionEventListener>();
 		if ( logSessionMetrics && StatisticalLoggingSessionEventListener.isLoggingEnabled() ) {
 			list.add( new StatisticalLoggingSessionEventListener() );
 		}
+		if ( metricsRecorder != null ) {
+			list.add( new MetricsSessionEventListener( metricsRecorder ) );
+		}
 		if ( autoListener != null ) {
 			try {
 				list.add( autoListener.newInstance() );
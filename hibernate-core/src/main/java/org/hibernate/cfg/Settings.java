@@ -39,6 +39,7 @@ import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
 import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.hql.spi.QueryTranslatorFactory;
 import org.hibernate.loader.BatchFetchStyle;
+import org.hibernate.stat.spi.MetricsRecorder;
 import org.hibernate.tuple.entity.EntityTuplizerFactory;
 
 import org.jboss.logging.Logger;
@@ -85,6 +86,8 @@ public final class Settings {
 		if ( debugEnabled ) {
 			LOG.debugf( "SessionFactory name : %s", sessionFactoryOptions.getSessionFactoryName() );
 			LOG.debugf( "Automatic flush during beforeCompletion(): %s", enabledDisabled( sessionFactoryOptions.isFlushBeforeCompletionEnabled() ) );
+			LOG.debugf( "Flush tracked changes only: %s", enabledDisabled( sessionFactoryOptions.isFlushTrackedChangesOnlyEnabled() ) );
+			LOG.debugf( "Skip read-only entities on flush: %s", enabledDisabled( sessionFactoryOptions.isFlushSkipReadOnlyEntitiesEnabled() ) );
 			LOG.debugf( "Automatic session close at end of transaction: %s", enabledDisabled( sessionFactoryOptions.isAutoCloseSessionEnabled() ) );
 
 			LOG.debugf( "Statistics: %s", enabledDisabled( sessionFactoryOptions.isStatisticsEnabled() ) );
@@ -96,10 +99,14 @@ public final class Settings {
 
 			LOG.debugf( "Using BatchFetchStyle : " + sessionFactoryOptions.getBatchFetchStyle().name() );
 			LOG.debugf( "Default batch fetch size: %s", sessionFactoryOptions.getDefaultBatchFetchSize() );
+			LOG.debugf( "Adaptive batch fetch size: %s", enabledDisabled( sessionFactoryOptions.isAdaptiveBatchFetchEnabled() ) );
+			LOG.debugf( "Lazy lock mode loaders: %s", enabledDisabled( sessionFactoryOptions.isLazyLockModeLoadersEnabled() ) );
+			LOG.debugf( "Persister instantiation threads: %s", sessionFactoryOptions.getPersisterInstantiationThreads() );
 			LOG.debugf( "Maximum outer join fetch depth: %s", sessionFactoryOptions.getMaximumFetchDepth() );
 			LOG.debugf( "Default null ordering: %s", sessionFactoryOptions.getDefaultNullPrecedence() );
 			LOG.debugf( "Order SQL updates by primary key: %s", enabledDisabled( sessionFactoryOptions.isOrderUpdatesEnabled() ) );
 			LOG.debugf( "Order SQL inserts for batching: %s", enabledDisabled( sessionFactoryOptions.isOrderInsertsEnabled() ) );
+			LOG.debugf( "Order SQL deletes for batching: %s", enabledDisabled( sessionFactoryOptions.isOrderDeletesEnabled() ) );
 
 			LOG.debugf( "multi-tenancy strategy : %s", sessionFactoryOptions.getMultiTenancyStrategy() );
 
@@ -108,6 +115,8 @@ public final class Settings {
 			LOG.debugf( "Query language substitutions: %s", sessionFactoryOptions.getQuerySubstitutions() );
 			LOG.debugf( "JPA query language strict compliance: %s", enabledDisabled( sessionFactoryOptions.isStrictJpaQueryLanguageCompliance() ) );
 			LOG.debugf( "Named query checking : %s", enabledDisabled( sessionFactoryOptions.isNamedQueryStartupCheckingEnabled() ) );
+			LOG.debugf( "IN clause parameter padding : %s", enabledDisabled( sessionFactoryOptions.isInClauseParameterPaddingEnabled() ) );
+			LOG.debugf( "IN clause array binding : %s", enabledDisabled( sessionFactoryOptions.isInClauseArrayBindingEnabled() ) );
 
 			LOG.debugf( "Second-level cache: %s", enabledDisabled( sessionFactoryOptions.isSecondLevelCacheEnabled() ) );
 			LOG.debugf( "Second-level query cache: %s", enabledDisabled( sessionFactoryOptions.isQueryCacheEnabled() ) );
@@ -116,10 +125,13 @@ public final class Settings {
 			LOG.debugf( "Optimize second-level cache for minimal puts: %s", enabledDisabled( sessionFactoryOptions.isMinimalPutsEnabled() ) );
 			LOG.debugf( "Structured second-level cache entries: %s", enabledDisabled( sessionFactoryOptions.isStructuredCacheEntriesEnabled() ) );
 			LOG.debugf( "Second-level cache direct-reference entries: %s", enabledDisabled( sessionFactoryOptions.isDirectReferenceCacheEntriesEnabled() ) );
+			LOG.debugf( "Update timestamps near cache: %s", enabledDisabled( sessionFactoryOptions.isTimestampsNearCacheEnabled() ) );
+			LOG.debugf( "Compact query cache entries: %s", enabledDisabled( sessionFactoryOptions.isCompactQueryCacheEntriesEnabled() ) );
 			LOG.debugf( "Automatic eviction of collection cache: %s", enabledDisabled( sessionFactoryOptions.isAutoEvictCollectionCache() ) );
 
 			LOG.debugf( "JDBC batch size: %s", sessionFactoryOptions.getJdbcBatchSize() );
 			LOG.debugf( "JDBC batch updates for versioned data: %s", enabledDisabled( sessionFactoryOptions.isJdbcBatchVersionedData() ) );
+			LOG.debugf( "Multi-row delete size: %s", sessionFactoryOptions.getMultiRowDeleteSize() );
 			LOG.debugf( "Scrollable result sets: %s", enabledDisabled( sessionFactoryOptions.isScrollableResultSetsEnabled() ) );
 			LOG.debugf( "Wrap result sets: %s", enabledDisabled( sessionFactoryOptions.isWrapResultSetsEnabled() ) );
 			LOG.debugf( "JDBC3 getGeneratedKeys(): %s", enabledDisabled( sessionFactoryOptions.isGetGeneratedKeysEnabled() ) );
@@ -153,6 +165,14 @@ public final class Settings {
 		return sessionFactoryOptions.isFlushBeforeCompletionEnabled();
 	}
 
+	public boolean isFlushTrackedChangesOnlyEnabled() {
+		return sessionFactoryOptions.isFlushTrackedChangesOnlyEnabled();
+	}
+
+	public boolean isFlushSkipReadOnlyEntitiesEnabled() {
+		return sessionFactoryOptions.isFlushSkipReadOnlyEntitiesEnabled();
+	}
+
 	public boolean isAutoCloseSessionEnabled() {
 		return sessionFactoryOptions.isAutoCloseSessionEnabled();
 	}
@@ -165,6 +185,10 @@ public final class Settings {
 		return sessionFactoryOptions.getBaselineSessionEventsListenerBuilder();
 	}
 
+	public MetricsRecorder getMetricsRecorder() {
+		return sessionFactoryOptions.getMetricsRecorder();
+	}
+
 	public boolean isIdentifierRollbackEnabled() {
 		return sessionFactoryOptions.isIdentifierRollbackEnabled();
 	}
@@ -197,6 +221,18 @@ public final class Settings {
 		return sessionFactoryOptions.getDefaultBatchFetchSize();
 	}
 
+	public boolean isAdaptiveBatchFetchEnabled() {
+		return sessionFactoryOptions.isAdaptiveBatchFetchEnabled();
+	}
+
+	public boolean isLazyLockModeLoadersEnabled() {
+		return sessionFactoryOptions.isLazyLockModeLoadersEnabled();
+	}
+
+	public int getPersisterInstantiationThreads() {
+		return sessionFactoryOptions.getPersisterInstantiationThreads();
+	}
+
 	public Integer getMaximumFetchDepth() {
 		return sessionFactoryOptions.getMaximumFetchDepth();
 	}
@@ -213,6 +249,10 @@ public final class Settings {
 		return sessionFactoryOptions.isOrderInsertsEnabled();
 	}
 
+	public boolean isOrderDeletesEnabled() {
+		return sessionFactoryOptions.isOrderDeletesEnabled();
+	}
+
 	public MultiTenancyStrategy getMultiTenancyStrategy() {
 		return sessionFactoryOptions.getMultiTenancyStrategy();
 	}
@@ -232,6 +272,14 @@ public final class Settings {
 		return sessionFactoryOptions.isNamedQueryStartupCheckingEnabled();
 	}
 
+	public boolean isInClauseParameterPaddingEnabled() {
+		return sessionFactoryOptions.isInClauseParameterPaddingEnabled();
+	}
+
+	public boolean isInClauseArrayBindingEnabled() {
+		return sessionFactoryOptions.isInClauseArrayBindingEnabled();
+	}
+
 	public boolean isSecondLevelCacheEnabled() {
 		return sessionFactoryOptions.isSecondLevelCacheEnabled();
 	}
@@ -260,6 +308,14 @@ public final class Settings {
 		return sessionFactoryOptions.isDirectReferenceCacheEntriesEnabled();
 	}
 
+	public boolean isTimestampsNearCacheEnabled() {
+		return sessionFactoryOptions.isTimestampsNearCacheEnabled();
+	}
+
+	public boolean isCompactQueryCacheEntriesEnabled() {
+		return sessionFactoryOptions.isCompactQueryCacheEntriesEnabled();
+	}
+
 	public boolean isAutoEvictCollectionCache() {
 		return sessionFactoryOptions.isAutoEvictCollectionCache();
 	}
@@ -297,6 +353,10 @@ public final class Settings {
 		return sessionFactoryOptions.isJdbcBatchVersionedData();
 	}
 
+	public int getMultiRowDeleteSize() {
+		return sessionFactoryOptions.getMultiRowDeleteSize();
+	}
+
 	public Integer getJdbcFetchSize() {
 		return sessionFactoryOptions.getJdbcFetchSize();
 	}
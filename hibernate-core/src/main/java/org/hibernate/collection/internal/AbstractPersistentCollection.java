@@ -77,6 +77,7 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	private transient List<DelayedOperation> operationQueue;
 	private transient boolean directlyAccessible;
 	private transient boolean initializing;
+	private transient boolean batchFetched;
 	private Object owner;
 	private int cachedSize = -1;
 
@@ -189,6 +190,9 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 				}
 			}
 		}
+		else if ( batchFetched ) {
+			batchFetchedCollectionAccessed();
+		}
 		return false;
 	}
 
@@ -554,6 +558,9 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	 */
 	protected final void initialize(final boolean writing) {
 		if ( initialized ) {
+			if ( batchFetched ) {
+				batchFetchedCollectionAccessed();
+			}
 			return;
 		}
 
@@ -568,6 +575,23 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 		);
 	}
 
+	/**
+	 * Mark whether this collection is being batch fetched on behalf of another collection, in which case its first
+	 * read is reported to the {@link org.hibernate.engine.spi.BatchFetchQueue} of the session.
+	 *
+	 * @param batchFetched {@code true} if the collection is being batch fetched on behalf of another collection
+	 */
+	public final void setBatchFetched(boolean batchFetched) {
+		this.batchFetched = batchFetched;
+	}
+
+	private void batchFetchedCollectionAccessed() {
+		batchFetched = false;
+		if ( isConnectedToSession() ) {
+			session.getPersistenceContext().getBatchFetchQueue().notifyBatchFetchedCollectionAccessed( role );
+		}
+	}
+
 	private void throwLazyInitializationExceptionIfNotConnected() {
 		if ( !isConnectedToSession() ) {
 			throwLazyInitializationException( "no session or session was closed" );
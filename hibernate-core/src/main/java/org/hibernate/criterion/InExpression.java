@@ -30,6 +30,7 @@ import org.hibernate.EntityMode;
 import org.hibernate.engine.spi.TypedValue;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.type.CompositeType;
+import org.hibernate.type.InListArrayType;
 import org.hibernate.type.Type;
 
 /**
@@ -58,6 +59,11 @@ public class InExpression implements Criterion {
 	@Override
 	public String toSqlString( Criteria criteria, CriteriaQuery criteriaQuery ) {
 		final String[] columns = criteriaQuery.findColumns( propertyName, criteria );
+		if ( isArrayBound( criteria, criteriaQuery ) ) {
+			final Type type = criteriaQuery.getTypeUsingProjection( criteria, propertyName );
+			final int sqlType = type.sqlTypes( criteriaQuery.getFactory() )[0];
+			return columns[0] + " in (" + criteriaQuery.getFactory().getDialect().getArrayElementsSubselect( sqlType ) + ')';
+		}
 		if ( criteriaQuery.getFactory().getDialect().supportsRowValueConstructorSyntaxInInList() || columns.length <= 1 ) {
 			String singleValueParam = StringHelper.repeat( "?, ", columns.length - 1 ) + "?";
 			if ( columns.length > 1 ) {
@@ -86,7 +92,10 @@ public class InExpression implements Criterion {
 	public TypedValue[] getTypedValues(Criteria criteria, CriteriaQuery criteriaQuery) {
 		final ArrayList<TypedValue> list = new ArrayList<TypedValue>();
 		final Type type = criteriaQuery.getTypeUsingProjection( criteria, propertyName );
-		if ( type.isComponentType() ) {
+		if ( isArrayBound( criteria, criteriaQuery ) ) {
+			list.add( new TypedValue( new InListArrayType( type, criteriaQuery.getFactory() ), values ) );
+		}
+		else if ( type.isComponentType() ) {
 			final CompositeType compositeType = (CompositeType) type;
 			final Type[] subTypes = compositeType.getSubtypes();
 			for ( Object value : values ) {
@@ -107,6 +116,14 @@ public class InExpression implements Criterion {
 		return list.toArray( new TypedValue[ list.size() ] );
 	}
 
+	/**
+	 * Are the values bound as a single array parameter (see {@link InListArrayType})?
+	 */
+	private boolean isArrayBound(Criteria criteria, CriteriaQuery criteriaQuery) {
+		return values.length > 1
+				&& InListArrayType.isApplicable( criteriaQuery.getTypeUsingProjection( criteria, propertyName ), criteriaQuery.getFactory() );
+	}
+
 	@Override
 	public String toString() {
 		return propertyName + " in (" + StringHelper.toString( values ) + ')';
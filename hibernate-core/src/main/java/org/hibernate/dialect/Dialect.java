@@ -102,6 +102,7 @@ import java.sql.Blob;
 import java.sql.CallableStatement;
 import java.sql.Clob;
 import java.sql.NClob;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -2677,6 +2678,79 @@ public abstract class Dialect implements ConversionContext {
 		return 0;
 	}
 
+	/**
+	 * Return the limit that the underlying database (or its JDBC driver) places on the number of parameters of a
+	 * single statement.  If the database defines no such limits, simply return zero or less-than-zero.
+	 *
+	 * @return int The limit, or zero-or-less to indicate no limit.
+	 */
+	public int getParameterCountLimit() {
+		return 0;
+	}
+
+	/**
+	 * Does this dialect support inserting several rows into a table by a single statement listing a values tuple
+	 * per row, as in {@code insert into t (a, b) values (?, ?), (?, ?)}?
+	 *
+	 * @return True if multi-row inserts are supported; false otherwise.
+	 */
+	public boolean supportsMultiRowInsert() {
+		return false;
+	}
+
+	/**
+	 * Return the limit that the underlying database places on the number of rows inserted by a single multi-row
+	 * insert (see {@link #supportsMultiRowInsert()}).  If the database defines no such limits, simply return zero
+	 * or less-than-zero.
+	 *
+	 * @return int The limit, or zero-or-less to indicate no limit.
+	 */
+	public int getMultiRowInsertLimit() {
+		return 0;
+	}
+
+	/**
+	 * Does this dialect support {@code IN} lists selecting the elements of an array bound to a single parameter, as
+	 * in {@code col in (select unnest(?))}?  The SQL of such a predicate does not depend on the number of values.
+	 *
+	 * @return True if array parameters in {@code IN} lists are supported; false otherwise.
+	 *
+	 * @see #getArrayElementsSubselect(int)
+	 * @see #bindArray(PreparedStatement, int, int, Object[])
+	 */
+	public boolean supportsArrayInList() {
+		return false;
+	}
+
+	/**
+	 * Get the sub-select (without the enclosing parentheses) selecting the elements of an array bound to a single
+	 * parameter, for use as an {@code IN} list.
+	 *
+	 * @param sqlType The JDBC type code of the array elements.
+	 *
+	 * @return The sub-select.
+	 *
+	 * @throws UnsupportedOperationException If array parameters in {@code IN} lists are not supported.
+	 */
+	public String getArrayElementsSubselect(int sqlType) {
+		throw new UnsupportedOperationException( getClass().getName() + " does not support array parameters in IN lists" );
+	}
+
+	/**
+	 * Bind the given values as an array to the parameter of the sub-select returned by
+	 * {@link #getArrayElementsSubselect(int)}.
+	 *
+	 * @param st The statement
+	 * @param index The index of the parameter
+	 * @param sqlType The JDBC type code of the array elements.
+	 * @param values The values, already of the Java type corresponding to the JDBC type.
+	 *
+	 * @throws SQLException Indicates problems binding the array
+	 */
+	public void bindArray(PreparedStatement st, int index, int sqlType, Object[] values) throws SQLException {
+		throw new UnsupportedOperationException( getClass().getName() + " does not support array parameters in IN lists" );
+	}
+
 	/**
 	 * HHH-4635
 	 * Oracle expects all Lob values to be last in inserts and updates.
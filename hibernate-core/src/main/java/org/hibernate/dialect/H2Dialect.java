@@ -23,6 +23,7 @@
  */
 package org.hibernate.dialect;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
 
@@ -473,4 +474,31 @@ public class H2Dialect extends Dialect {
 		// messages about missing tables when we don't have a schema in the database
 		return false;
 	}	
+
+	@Override
+	public boolean supportsMultiRowInsert() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsArrayInList() {
+		return true;
+	}
+
+	@Override
+	public String getArrayElementsSubselect(int sqlType) {
+		// the column of the table function has the base type, without length or precision
+		String typeName = getCastTypeName( sqlType );
+		final int paren = typeName.indexOf( '(' );
+		if ( paren > 0 ) {
+			typeName = typeName.substring( 0, paren );
+		}
+		return "select x from table(x " + typeName + " = ?)";
+	}
+
+	@Override
+	public void bindArray(PreparedStatement st, int index, int sqlType, Object[] values) throws SQLException {
+		// the H2 driver binds Object[] as ARRAY (and does not implement Connection.createArrayOf())
+		st.setObject( index, values );
+	}
 }
@@ -702,4 +702,9 @@ public class HSQLDialect extends Dialect {
 	public boolean supportsTupleDistinctCounts() {
 		return false;
 	}
+
+	@Override
+	public boolean supportsMultiRowInsert() {
+		return hsqldbVersion >= 20;
+	}
 }
@@ -482,4 +482,14 @@ public class MySQLDialect extends Dialect {
 	public String getNotExpression(String expression) {
 		return "not (" + expression + ")";
 	}
+
+	@Override
+	public boolean supportsMultiRowInsert() {
+		return true;
+	}
+
+	@Override
+	public int getParameterCountLimit() {
+		return 65535;
+	}
 }
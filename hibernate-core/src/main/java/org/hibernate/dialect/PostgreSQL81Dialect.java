@@ -569,4 +569,10 @@ public class PostgreSQL81Dialect extends Dialect {
 	public ResultSet getResultSet(CallableStatement statement, String name) throws SQLException {
 		throw new UnsupportedOperationException( "PostgreSQL only supports accessing REF_CURSOR parameters by name" );
 	}
+
+	@Override
+	public int getParameterCountLimit() {
+		// the JDBC driver sends the number of parameters as a 2 byte integer
+		return 32767;
+	}
 }
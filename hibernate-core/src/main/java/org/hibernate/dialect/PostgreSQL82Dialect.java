@@ -23,12 +23,15 @@
  */
 package org.hibernate.dialect;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
 import org.hibernate.boot.model.TypeContributions;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.type.PostgresUUIDType;
 
 /**
- * An SQL dialect for Postgres 8.2 and later, adds support for "if exists" when dropping tables
+ * An SQL dialect for Postgres 8.2 and later, adds support for "if exists" when dropping tables and multi-row inserts
  * 
  * @author edalquist
  */
@@ -38,6 +41,11 @@ public class PostgreSQL82Dialect extends PostgreSQL81Dialect {
 		return true;
 	}
 
+	@Override
+	public boolean supportsMultiRowInsert() {
+		return true;
+	}
+
 	@Override
 	public void contributeTypes(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
 		super.contributeTypes( typeContributions, serviceRegistry );
@@ -45,4 +53,30 @@ public class PostgreSQL82Dialect extends PostgreSQL81Dialect {
 		// HHH-9562
 		typeContributions.contributeType( PostgresUUIDType.INSTANCE );
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * The elements of the array are selected with {@code unnest}, which requires PostgreSQL 8.4 or later.
+	 */
+	@Override
+	public boolean supportsArrayInList() {
+		return true;
+	}
+
+	@Override
+	public String getArrayElementsSubselect(int sqlType) {
+		return "select unnest(?)";
+	}
+
+	@Override
+	public void bindArray(PreparedStatement st, int index, int sqlType, Object[] values) throws SQLException {
+		// the array is created from the base type name, without length or precision
+		String typeName = getCastTypeName( sqlType );
+		final int paren = typeName.indexOf( '(' );
+		if ( paren > 0 ) {
+			typeName = typeName.substring( 0, paren );
+		}
+		st.setArray( index, st.getConnection().createArrayOf( typeName, values ) );
+	}
 }
@@ -46,4 +46,14 @@ public class SQLServer2008Dialect extends SQLServer2005Dialect {
 				"current_timestamp", new NoArgSQLFunction( "current_timestamp", StandardBasicTypes.TIMESTAMP, false )
 		);
 	}
+
+	@Override
+	public boolean supportsMultiRowInsert() {
+		return true;
+	}
+
+	@Override
+	public int getMultiRowInsertLimit() {
+		return 1000;
+	}
 }
@@ -0,0 +1,248 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Hibernate;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.collections.IdentitySet;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.Type;
+
+/**
+ * Initializes the lazy associations along property paths of many entities at once.  Rather than a round trip per
+ * proxy or collection (or per batch of them), each step of a path takes a single query per entity type: the
+ * collections are fetch joined to their owners, and the proxies are loaded by identifier.  Owners beyond the
+ * dialect's limits on {@code IN} predicate elements or statement parameters are split across several queries.
+ *
+ * @see org.hibernate.Hibernate#initializeAll
+ */
+public final class AssociationPathInitializer {
+	private static final String OWNERS_PARAMETER = "owners";
+
+	private final SessionImplementor session;
+
+	/**
+	 * Constructs an AssociationPathInitializer
+	 *
+	 * @param session The session the entities are associated with
+	 */
+	public AssociationPathInitializer(SessionImplementor session) {
+		this.session = session;
+	}
+
+	/**
+	 * Initialize the associations along the given path of each of the given entities.
+	 *
+	 * @param entities The entities (or proxies), which may be of different types
+	 * @param path The dot separated names of the association properties to initialize, such as
+	 * {@code "orders.lines"}
+	 *
+	 * @throws HibernateException If a property of the path is not an association
+	 */
+	public void initialize(Collection<?> entities, String path) throws HibernateException {
+		List<Object> current = unproxy( entities );
+		for ( String property : StringHelper.split( ".", path ) ) {
+			if ( current.isEmpty() ) {
+				return;
+			}
+			current = initialize( current, property.trim(), path );
+		}
+	}
+
+	/**
+	 * Initialize a property of the given entities.
+	 *
+	 * @return The entities the property refers to
+	 */
+	private List<Object> initialize(List<Object> entities, String property, String path) {
+		// each type of entity resolves the property by itself
+		final Map<EntityPersister, List<Object>> entitiesByPersister = new LinkedHashMap<EntityPersister, List<Object>>();
+		for ( Object entity : entities ) {
+			add( entitiesByPersister, session.getEntityPersister( null, entity ), entity );
+		}
+
+		final List<Object> values = new ArrayList<Object>();
+		for ( Map.Entry<EntityPersister, List<Object>> entry : entitiesByPersister.entrySet() ) {
+			final EntityPersister persister = entry.getKey();
+			final Type type = persister.getPropertyType( property );
+			if ( type.isCollectionType() ) {
+				initializeCollections( persister, entry.getValue(), property, (CollectionType) type, values );
+			}
+			else if ( type.isEntityType() ) {
+				for ( Object entity : entry.getValue() ) {
+					final Object value = persister.getPropertyValue( entity, property );
+					if ( value != null ) {
+						values.add( value );
+					}
+				}
+			}
+			else {
+				throw new HibernateException(
+						"Property [" + property + "] of " + persister.getEntityName() + " in path [" + path
+								+ "] is not an association"
+				);
+			}
+		}
+		return unproxy( values );
+	}
+
+	private void initializeCollections(
+			EntityPersister persister,
+			List<Object> owners,
+			String property,
+			CollectionType type,
+			List<Object> elements) {
+		final List<Object> uninitializedOwners = new ArrayList<Object>();
+		for ( Object owner : owners ) {
+			final Object collection = persister.getPropertyValue( owner, property );
+			if ( collection != null && !Hibernate.isInitialized( collection ) ) {
+				uninitializedOwners.add( owner );
+			}
+		}
+		if ( !uninitializedOwners.isEmpty() ) {
+			// the owners are already associated with the session, so only their collections get initialized
+			load(
+					"select e from " + persister.getEntityName() + " e left join fetch e." + property
+							+ " where e in (:" + OWNERS_PARAMETER + ")",
+					persister.getEntityName(),
+					uninitializedOwners
+			);
+		}
+
+		final boolean entityElements = type.getElementType( session.getFactory() ).isEntityType();
+		for ( Object owner : owners ) {
+			final Object collection = persister.getPropertyValue( owner, property );
+			if ( collection != null ) {
+				// should the query not have initialized it, fall back to initializing it by itself
+				Hibernate.initialize( collection );
+				if ( entityElements ) {
+					final Iterator itr = type.getElementsIterator( collection, session );
+					while ( itr.hasNext() ) {
+						elements.add( itr.next() );
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolve the entities underlying the given entities and proxies, initializing the proxies (a single query per
+	 * entity type).
+	 *
+	 * @return The distinct entities
+	 */
+	private List<Object> unproxy(Collection<?> values) {
+		final Map<String, List<Object>> proxiesByEntityName = new LinkedHashMap<String, List<Object>>();
+		for ( Object value : values ) {
+			if ( value instanceof HibernateProxy ) {
+				final LazyInitializer initializer = ( (HibernateProxy) value ).getHibernateLazyInitializer();
+				if ( initializer.isUninitialized() ) {
+					add( proxiesByEntityName, initializer.getEntityName(), value );
+				}
+			}
+		}
+		for ( Map.Entry<String, List<Object>> entry : proxiesByEntityName.entrySet() ) {
+			load(
+					"from " + entry.getKey() + " e where e in (:" + OWNERS_PARAMETER + ")",
+					entry.getKey(),
+					entry.getValue()
+			);
+		}
+
+		final IdentitySet seen = new IdentitySet();
+		final List<Object> entities = new ArrayList<Object>( values.size() );
+		for ( Object value : values ) {
+			if ( value == null ) {
+				continue;
+			}
+			// the proxies now resolve their implementation from the persistence context
+			final Object entity = value instanceof HibernateProxy
+					? ( (HibernateProxy) value ).getHibernateLazyInitializer().getImplementation()
+					: value;
+			if ( seen.add( entity ) ) {
+				entities.add( entity );
+			}
+		}
+		return entities;
+	}
+
+	private void load(String hql, String entityName, List<Object> owners) {
+		final Type ownerType = session.getFactory().getTypeHelper().entity( entityName );
+		final int chunkSize = determineChunkSize( entityName );
+		for ( int start = 0; start < owners.size(); start += chunkSize ) {
+			( (Session) session ).createQuery( hql )
+					.setParameterList(
+							OWNERS_PARAMETER,
+							owners.subList( start, Math.min( start + chunkSize, owners.size() ) ),
+							ownerType
+					)
+					.setFlushMode( FlushMode.MANUAL )
+					.list();
+		}
+	}
+
+	/**
+	 * The number of owners a single query may list, bounded by the dialect's limits on the number of elements of an
+	 * {@code IN} predicate and on the number of parameters of a statement.
+	 */
+	private int determineChunkSize(String entityName) {
+		final Dialect dialect = session.getFactory().getDialect();
+		int chunkSize = Integer.MAX_VALUE;
+		if ( dialect.getInExpressionCountLimit() > 0 ) {
+			chunkSize = dialect.getInExpressionCountLimit();
+		}
+		if ( dialect.getParameterCountLimit() > 0 ) {
+			// each owner is bound as its identifier columns
+			final int identifierColumnSpan = session.getFactory().getEntityPersister( entityName )
+					.getIdentifierType()
+					.getColumnSpan( session.getFactory() );
+			chunkSize = Math.min( chunkSize, Math.max( 1, dialect.getParameterCountLimit() / identifierColumnSpan ) );
+		}
+		return chunkSize;
+	}
+
+	private static <K> void add(Map<K, List<Object>> map, K key, Object value) {
+		List<Object> list = map.get( key );
+		if ( list == null ) {
+			list = new ArrayList<Object>();
+			map.put( key, list );
+		}
+		list.add( value );
+	}
+}
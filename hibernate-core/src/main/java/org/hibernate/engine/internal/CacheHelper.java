@@ -27,6 +27,7 @@ import java.io.Serializable;
 
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.NaturalIdCacheKey;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.access.RegionAccessStrategy;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -66,4 +67,44 @@ public final class CacheHelper {
 			RegionAccessStrategy cacheAccessStrategy) {
 		return fromSharedCache( session, (Object) cacheKey, cacheAccessStrategy );
 	}
+
+	/**
+	 * Resolve multiple items from the shared cache; in a single operation if the access strategy is a
+	 * {@link BulkRegionAccessStrategy}, item by item otherwise.
+	 *
+	 * @param session The session
+	 * @param cacheKeys The keys of the items
+	 * @param cacheAccessStrategy The access strategy of the region
+	 *
+	 * @return The cached items, positionally matching the keys ({@code null} for items not cached)
+	 */
+	public static Serializable[] fromSharedCache(
+			SessionImplementor session,
+			CacheKey[] cacheKeys,
+			RegionAccessStrategy cacheAccessStrategy) {
+		final Serializable[] cachedValues = new Serializable[cacheKeys.length];
+		if ( cacheKeys.length > 1 && cacheAccessStrategy instanceof BulkRegionAccessStrategy ) {
+			boolean hit = false;
+			try {
+				session.getEventListenerManager().cacheGetStart();
+				final Object[] values = ( (BulkRegionAccessStrategy) cacheAccessStrategy ).getAll(
+						cacheKeys,
+						session.getTimestamp()
+				);
+				for ( int i = 0; i < cachedValues.length; i++ ) {
+					cachedValues[i] = (Serializable) values[i];
+					hit = hit || cachedValues[i] != null;
+				}
+			}
+			finally {
+				session.getEventListenerManager().cacheGetEnd( hit );
+			}
+		}
+		else {
+			for ( int i = 0; i < cacheKeys.length; i++ ) {
+				cachedValues[i] = fromSharedCache( session, (Object) cacheKeys[i], cacheAccessStrategy );
+			}
+		}
+		return cachedValues;
+	}
 }
@@ -0,0 +1,191 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.RegionAccessStrategy;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Collects the second-level cache puts of the entities or collections initialized together (the results of a
+ * single load), so that they can be performed per region in a single operation where the region access strategy
+ * is a {@link BulkRegionAccessStrategy}.
+ */
+public final class CachePutBatch {
+	private final SessionImplementor session;
+	private final List<RegionPuts> regionPuts = new ArrayList<RegionPuts>( 4 );
+
+	/**
+	 * Constructs a CachePutBatch
+	 *
+	 * @param session The session performing the load
+	 */
+	public CachePutBatch(SessionImplementor session) {
+		this.session = session;
+	}
+
+	/**
+	 * Add a put from load of an entity to the batch.
+	 *
+	 * @param cacheAccessStrategy The access strategy of the entity region to put to
+	 * @param cacheKey The item key
+	 * @param value The item
+	 * @param version The item version
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 */
+	public void add(
+			EntityRegionAccessStrategy cacheAccessStrategy,
+			Object cacheKey,
+			Object value,
+			Object version,
+			boolean minimalPutOverride) {
+		addPut( cacheAccessStrategy, cacheKey, value, version, minimalPutOverride );
+	}
+
+	/**
+	 * Add a put from load of a collection to the batch.
+	 *
+	 * @param cacheAccessStrategy The access strategy of the collection region to put to
+	 * @param cacheKey The item key
+	 * @param value The item
+	 * @param version The item version
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 */
+	public void add(
+			CollectionRegionAccessStrategy cacheAccessStrategy,
+			Object cacheKey,
+			Object value,
+			Object version,
+			boolean minimalPutOverride) {
+		addPut( cacheAccessStrategy, cacheKey, value, version, minimalPutOverride );
+	}
+
+	private void addPut(
+			RegionAccessStrategy cacheAccessStrategy,
+			Object cacheKey,
+			Object value,
+			Object version,
+			boolean minimalPutOverride) {
+		RegionPuts puts = null;
+		for ( RegionPuts candidate : regionPuts ) {
+			if ( candidate.cacheAccessStrategy == cacheAccessStrategy && candidate.minimalPutOverride == minimalPutOverride ) {
+				puts = candidate;
+				break;
+			}
+		}
+		if ( puts == null ) {
+			puts = new RegionPuts( cacheAccessStrategy, minimalPutOverride );
+			regionPuts.add( puts );
+		}
+		puts.keys.add( cacheKey );
+		puts.values.add( value );
+		puts.versions.add( version );
+	}
+
+	/**
+	 * Perform the collected puts.
+	 */
+	public void execute() {
+		for ( RegionPuts puts : regionPuts ) {
+			if ( puts.keys.size() > 1 && puts.cacheAccessStrategy instanceof BulkRegionAccessStrategy ) {
+				executeBulk( puts );
+			}
+			else {
+				for ( int i = 0; i < puts.keys.size(); i++ ) {
+					executeSingle( puts, i );
+				}
+			}
+		}
+		regionPuts.clear();
+	}
+
+	private void executeBulk(RegionPuts puts) {
+		try {
+			session.getEventListenerManager().cachePutStart();
+			final boolean[] put = ( (BulkRegionAccessStrategy) puts.cacheAccessStrategy ).putFromLoadAll(
+					puts.keys.toArray(),
+					puts.values.toArray(),
+					session.getTimestamp(),
+					puts.versions.toArray(),
+					puts.minimalPutOverride
+			);
+			for ( boolean itemPut : put ) {
+				recordPut( puts, itemPut );
+			}
+		}
+		finally {
+			session.getEventListenerManager().cachePutEnd();
+		}
+	}
+
+	private void executeSingle(RegionPuts puts, int index) {
+		try {
+			session.getEventListenerManager().cachePutStart();
+			final boolean put = puts.cacheAccessStrategy.putFromLoad(
+					puts.keys.get( index ),
+					puts.values.get( index ),
+					session.getTimestamp(),
+					puts.versions.get( index ),
+					puts.minimalPutOverride
+			);
+			recordPut( puts, put );
+		}
+		finally {
+			session.getEventListenerManager().cachePutEnd();
+		}
+	}
+
+	private void recordPut(RegionPuts puts, boolean put) {
+		final SessionFactoryImplementor factory = session.getFactory();
+		if ( put && factory.getStatistics().isStatisticsEnabled() ) {
+			factory.getStatisticsImplementor().secondLevelCachePut( puts.regionName() );
+		}
+	}
+
+	private static final class RegionPuts {
+		private final RegionAccessStrategy cacheAccessStrategy;
+		private final boolean minimalPutOverride;
+		private final List<Object> keys = new ArrayList<Object>();
+		private final List<Object> values = new ArrayList<Object>();
+		private final List<Object> versions = new ArrayList<Object>();
+
+		private RegionPuts(RegionAccessStrategy cacheAccessStrategy, boolean minimalPutOverride) {
+			this.cacheAccessStrategy = cacheAccessStrategy;
+			this.minimalPutOverride = minimalPutOverride;
+		}
+
+		private String regionName() {
+			if ( cacheAccessStrategy instanceof EntityRegionAccessStrategy ) {
+				return ( (EntityRegionAccessStrategy) cacheAccessStrategy ).getRegion().getName();
+			}
+			return ( (CollectionRegionAccessStrategy) cacheAccessStrategy ).getRegion().getName();
+		}
+	}
+}
@@ -0,0 +1,368 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.internal.util.collections.LongObjectHashMap;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.ShortType;
+
+/**
+ * The map of the entity instances (or the proxies) of a persistence context, by {@link EntityKey}.
+ * <p/>
+ * Entities with {@code long}, {@code int} or {@code short} identifiers (by far the most common case) are kept in
+ * {@link LongObjectHashMap}s keyed by the primitive identifier value, one per entity hierarchy.  This avoids the
+ * per-entry allocations of a {@link HashMap}, and allows looking up such entities by identifier and persister
+ * without creating an {@link EntityKey} at all (see {@link #get(Serializable, EntityPersister)}).  All other
+ * entities are kept in a regular {@link HashMap}.
+ * <p/>
+ * The values may be {@link #EntitiesByKeyMap(PersistenceContext, int, boolean) weakly referenced}, as proxies are:
+ * entries whose value was garbage collected are purged on the next modification of the map, until then they are
+ * iterated with a {@code null} value.
+ * <p/>
+ * When iterating this map, the keys of the entities held by identifier value are obtained from their
+ * {@link EntityEntry}.  Removal through the views of this map is not supported.
+ */
+final class EntitiesByKeyMap extends AbstractMap<EntityKey, Object> {
+	private final PersistenceContext persistenceContext;
+	// non-null if values are weakly referenced
+	private final ReferenceQueue<Object> referenceQueue;
+
+	// entities whose identifier is not integral
+	private final HashMap<EntityKey, Object> entitiesByKey;
+	// entities whose identifier is integral, by root entity name
+	private final HashMap<String, EntitiesById> entitiesByIdByRootEntityName = new HashMap<String, EntitiesById>();
+
+	// the most recently used entry of entitiesByIdByRootEntityName, as the same entity is usually accessed repeatedly
+	private EntitiesById lastEntitiesById;
+
+	private Set<Entry<EntityKey, Object>> entrySet;
+
+	EntitiesByKeyMap(PersistenceContext persistenceContext, int initialCapacity) {
+		this( persistenceContext, initialCapacity, false );
+	}
+
+	EntitiesByKeyMap(PersistenceContext persistenceContext, int initialCapacity, boolean weakValues) {
+		this.persistenceContext = persistenceContext;
+		this.referenceQueue = weakValues ? new ReferenceQueue<Object>() : null;
+		this.entitiesByKey = new HashMap<EntityKey, Object>( initialCapacity );
+	}
+
+	/**
+	 * The entities of a single hierarchy, by integral identifier value.
+	 */
+	private static final class EntitiesById {
+		private final String rootEntityName;
+		private final EntityPersister persister;
+		private final LongObjectHashMap<Object> entities = new LongObjectHashMap<Object>();
+
+		private EntitiesById(EntityPersister persister) {
+			this.rootEntityName = persister.getRootEntityName();
+			this.persister = persister;
+		}
+
+		private Serializable toIdentifier(long id) {
+			final Class idClass = persister.getIdentifierType().getReturnedClass();
+			if ( idClass == Long.class ) {
+				return id;
+			}
+			else if ( idClass == Integer.class ) {
+				return (int) id;
+			}
+			else {
+				return (short) id;
+			}
+		}
+	}
+
+	/**
+	 * A weakly referenced value, which remembers its key for the purge.
+	 */
+	private static final class ValueReference extends WeakReference<Object> {
+		private final EntityKey key;
+
+		private ValueReference(EntityKey key, Object value, ReferenceQueue<Object> referenceQueue) {
+			super( value, referenceQueue );
+			this.key = key;
+		}
+	}
+
+	private static Object unwrap(Object stored) {
+		return stored instanceof ValueReference ? ( (ValueReference) stored ).get() : stored;
+	}
+
+	/**
+	 * Is the identifier integral, and the persister's identifier type one whose equality is that of the identifier
+	 * value?  In other words, can we use the {@code long} value of the identifier as key?
+	 */
+	private static boolean isIntegral(Serializable id, EntityPersister persister) {
+		final Class idClass = id.getClass();
+		if ( idClass == Long.class ) {
+			return persister.getIdentifierType() instanceof LongType;
+		}
+		else if ( idClass == Integer.class ) {
+			return persister.getIdentifierType() instanceof IntegerType;
+		}
+		else if ( idClass == Short.class ) {
+			return persister.getIdentifierType() instanceof ShortType;
+		}
+		return false;
+	}
+
+	private EntitiesById locateEntitiesById(EntityPersister persister, boolean create) {
+		final String rootEntityName = persister.getRootEntityName();
+		final EntitiesById last = lastEntitiesById;
+		if ( last != null && last.rootEntityName.equals( rootEntityName ) ) {
+			return last;
+		}
+		EntitiesById entitiesById = entitiesByIdByRootEntityName.get( rootEntityName );
+		if ( entitiesById == null ) {
+			if ( !create ) {
+				return null;
+			}
+			entitiesById = new EntitiesById( persister );
+			entitiesByIdByRootEntityName.put( rootEntityName, entitiesById );
+		}
+		lastEntitiesById = entitiesById;
+		return entitiesById;
+	}
+
+	private Object getStored(Serializable id, EntityPersister persister) {
+		final EntitiesById entitiesById = locateEntitiesById( persister, false );
+		return entitiesById == null ? null : entitiesById.entities.get( ( (Number) id ).longValue() );
+	}
+
+	private Object getStored(EntityKey key) {
+		if ( isIntegral( key.getIdentifier(), key.getPersister() ) ) {
+			return getStored( key.getIdentifier(), key.getPersister() );
+		}
+		return entitiesByKey.get( key );
+	}
+
+	private Object removeStored(EntityKey key) {
+		if ( isIntegral( key.getIdentifier(), key.getPersister() ) ) {
+			final EntitiesById entitiesById = locateEntitiesById( key.getPersister(), false );
+			return entitiesById == null
+					? null
+					: entitiesById.entities.remove( ( (Number) key.getIdentifier() ).longValue() );
+		}
+		return entitiesByKey.remove( key );
+	}
+
+	/**
+	 * Removes the entries whose (weakly referenced) value was garbage collected.
+	 */
+	private void purgeClearedValues() {
+		if ( referenceQueue == null ) {
+			return;
+		}
+		Object cleared;
+		while ( ( cleared = referenceQueue.poll() ) != null ) {
+			final EntityKey key = ( (ValueReference) cleared ).key;
+			// unless the entry was replaced in the meantime
+			if ( getStored( key ) == cleared ) {
+				removeStored( key );
+			}
+		}
+	}
+
+	/**
+	 * Get the entity with the given identifier, without the need to create an {@link EntityKey}.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 *
+	 * @return The entity, or {@code null} if none
+	 */
+	Object get(Serializable id, EntityPersister persister) {
+		if ( isIntegral( id, persister ) ) {
+			return unwrap( getStored( id, persister ) );
+		}
+		return unwrap( entitiesByKey.get( new EntityKey( id, persister ) ) );
+	}
+
+	/**
+	 * Get the key of the entity with the given identifier, if the entity is held by identifier value.  This is the
+	 * key the entity was put with (or the key of its {@link EntityEntry}), so no key is created.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 *
+	 * @return The key, or {@code null} if there is no such entity, or it is not held by identifier value
+	 */
+	EntityKey getKey(Serializable id, EntityPersister persister) {
+		if ( !isIntegral( id, persister ) ) {
+			return null;
+		}
+		final Object stored = getStored( id, persister );
+		if ( stored instanceof ValueReference ) {
+			return ( (ValueReference) stored ).key;
+		}
+		if ( stored == null ) {
+			return null;
+		}
+		final EntityEntry entry = persistenceContext.getEntry( stored );
+		return entry == null ? null : entry.getEntityKey();
+	}
+
+	@Override
+	public Object get(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		return unwrap( getStored( (EntityKey) key ) );
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get( key ) != null;
+	}
+
+	@Override
+	public Object put(EntityKey key, Object entity) {
+		purgeClearedValues();
+		final Object stored = referenceQueue == null ? entity : new ValueReference( key, entity, referenceQueue );
+		if ( isIntegral( key.getIdentifier(), key.getPersister() ) ) {
+			return unwrap(
+					locateEntitiesById( key.getPersister(), true ).entities.put(
+							( (Number) key.getIdentifier() ).longValue(),
+							stored
+					)
+			);
+		}
+		return unwrap( entitiesByKey.put( key, stored ) );
+	}
+
+	@Override
+	public Object remove(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		purgeClearedValues();
+		return unwrap( removeStored( (EntityKey) key ) );
+	}
+
+	@Override
+	public int size() {
+		int size = entitiesByKey.size();
+		for ( EntitiesById entitiesById : entitiesByIdByRootEntityName.values() ) {
+			size += entitiesById.entities.size();
+		}
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		entitiesByKey.clear();
+		entitiesByIdByRootEntityName.clear();
+		lastEntitiesById = null;
+		if ( referenceQueue != null ) {
+			// drain the queue, its references are gone anyway
+			while ( referenceQueue.poll() != null ) {
+				// nothing to do
+			}
+		}
+	}
+
+	@Override
+	public Set<Entry<EntityKey, Object>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new AbstractSet<Entry<EntityKey, Object>>() {
+				@Override
+				public Iterator<Entry<EntityKey, Object>> iterator() {
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size() {
+					return EntitiesByKeyMap.this.size();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	private class EntryIterator implements Iterator<Entry<EntityKey, Object>> {
+		private final Iterator<Entry<EntityKey, Object>> entitiesByKeyIterator = entitiesByKey.entrySet().iterator();
+		private final Iterator<EntitiesById> entitiesByIdIterator = entitiesByIdByRootEntityName.values().iterator();
+		private EntitiesById currentEntitiesById;
+		private Iterator<LongObjectHashMap.Cursor<Object>> currentIterator;
+
+		@Override
+		public boolean hasNext() {
+			if ( entitiesByKeyIterator.hasNext() ) {
+				return true;
+			}
+			while ( currentIterator == null || !currentIterator.hasNext() ) {
+				if ( !entitiesByIdIterator.hasNext() ) {
+					return false;
+				}
+				currentEntitiesById = entitiesByIdIterator.next();
+				currentIterator = currentEntitiesById.entities.iterator();
+			}
+			return true;
+		}
+
+		@Override
+		public Entry<EntityKey, Object> next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			if ( entitiesByKeyIterator.hasNext() ) {
+				final Entry<EntityKey, Object> entry = entitiesByKeyIterator.next();
+				return new SimpleImmutableEntry<EntityKey, Object>( entry.getKey(), unwrap( entry.getValue() ) );
+			}
+			final LongObjectHashMap.Cursor<Object> cursor = currentIterator.next();
+			final Object stored = cursor.getValue();
+			if ( stored instanceof ValueReference ) {
+				final ValueReference reference = (ValueReference) stored;
+				return new SimpleImmutableEntry<EntityKey, Object>( reference.key, reference.get() );
+			}
+			final EntityEntry entry = persistenceContext.getEntry( stored );
+			final EntityKey key = entry == null
+					? new EntityKey( currentEntitiesById.toIdentifier( cursor.getKey() ), currentEntitiesById.persister )
+					: entry.getEntityKey();
+			return new SimpleImmutableEntry<EntityKey, Object>( key, stored );
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.hibernate.engine.spi.PersistenceContext;
+
+/**
+ * Called from the dirty tracking code of enhanced entities once they become dirty, registering the entity as
+ * modified with the persistence context managing it (if any).
+ *
+ * @see PersistenceContext#registerModifiedEntity
+ */
+public final class ManagedEntityChangeNotifier {
+	private ManagedEntityChangeNotifier() {
+	}
+
+	/**
+	 * Notify the persistence context managing the given entity (if any) of a change to the entity.
+	 *
+	 * @param entity The changed entity
+	 */
+	public static void entityChanged(Object entity) {
+		if ( !( entity instanceof ManagedEntity ) ) {
+			return;
+		}
+		final EntityEntry entry = ( (ManagedEntity) entity ).$$_hibernate_getEntityEntry();
+		if ( entry instanceof MutableEntityEntry ) {
+			final PersistenceContext persistenceContext = ( (MutableEntityEntry) entry ).getPersistenceContext();
+			if ( persistenceContext != null ) {
+				persistenceContext.registerModifiedEntity( entity );
+			}
+		}
+	}
+}
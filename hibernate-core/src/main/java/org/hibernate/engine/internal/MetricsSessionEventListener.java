@@ -0,0 +1,187 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.QueryExecutionSessionEventListener;
+import org.hibernate.stat.spi.MetricsRecorder;
+import org.hibernate.stat.spi.MetricsRecorder.Operation;
+
+/**
+ * Times the operations of a session, reporting each timing to a {@link MetricsRecorder}.
+ * <p/>
+ * The operations performed while a query executes are attributed to that query (the innermost one, should the
+ * execution of a query trigger that of another).
+ *
+ * @see org.hibernate.cfg.AvailableSettings#METRICS_RECORDER
+ */
+public class MetricsSessionEventListener extends BaseSessionEventListener implements QueryExecutionSessionEventListener {
+	private final transient MetricsRecorder metricsRecorder;
+
+	private long jdbcConnectionAcquisitionStart = -1;
+	private long jdbcPrepareStatementStart = -1;
+	private long jdbcExecuteStatementStart = -1;
+	private long jdbcExecuteBatchStart = -1;
+	private long cachePutStart = -1;
+	private long cacheGetStart = -1;
+	private long flushStart = -1;
+	private long partialFlushStart = -1;
+
+	// the queries being executed, innermost last
+	private String[] queries = new String[4];
+	private long[] queryStarts = new long[4];
+	private int queryDepth;
+
+	public MetricsSessionEventListener(MetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder;
+	}
+
+	private void record(Operation operation, long start) {
+		// the recorder is not serialized along with the session
+		if ( start >= 0 && metricsRecorder != null ) {
+			final String query = queryDepth == 0 ? null : queries[queryDepth - 1];
+			metricsRecorder.recordOperation( operation, query, System.nanoTime() - start );
+		}
+	}
+
+	@Override
+	public void jdbcConnectionAcquisitionStart() {
+		jdbcConnectionAcquisitionStart = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcConnectionAcquisitionEnd() {
+		record( Operation.JDBC_CONNECTION_ACQUISITION, jdbcConnectionAcquisitionStart );
+		jdbcConnectionAcquisitionStart = -1;
+	}
+
+	@Override
+	public void jdbcPrepareStatementStart() {
+		jdbcPrepareStatementStart = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcPrepareStatementEnd() {
+		record( Operation.JDBC_PREPARE_STATEMENT, jdbcPrepareStatementStart );
+		jdbcPrepareStatementStart = -1;
+	}
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		jdbcExecuteStatementStart = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		record( Operation.JDBC_EXECUTE_STATEMENT, jdbcExecuteStatementStart );
+		jdbcExecuteStatementStart = -1;
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		jdbcExecuteBatchStart = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		record( Operation.JDBC_EXECUTE_BATCH, jdbcExecuteBatchStart );
+		jdbcExecuteBatchStart = -1;
+	}
+
+	@Override
+	public void cachePutStart() {
+		cachePutStart = System.nanoTime();
+	}
+
+	@Override
+	public void cachePutEnd() {
+		record( Operation.CACHE_PUT, cachePutStart );
+		cachePutStart = -1;
+	}
+
+	@Override
+	public void cacheGetStart() {
+		cacheGetStart = System.nanoTime();
+	}
+
+	@Override
+	public void cacheGetEnd(boolean hit) {
+		record( hit ? Operation.CACHE_HIT : Operation.CACHE_MISS, cacheGetStart );
+		cacheGetStart = -1;
+	}
+
+	@Override
+	public void flushStart() {
+		flushStart = System.nanoTime();
+	}
+
+	@Override
+	public void flushEnd(int numberOfEntities, int numberOfCollections) {
+		record( Operation.FLUSH, flushStart );
+		flushStart = -1;
+	}
+
+	@Override
+	public void partialFlushStart() {
+		partialFlushStart = System.nanoTime();
+	}
+
+	@Override
+	public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+		record( Operation.PARTIAL_FLUSH, partialFlushStart );
+		partialFlushStart = -1;
+	}
+
+	@Override
+	public void queryExecutionStart(String query) {
+		if ( queryDepth == queries.length ) {
+			final String[] newQueries = new String[queryDepth * 2];
+			System.arraycopy( queries, 0, newQueries, 0, queryDepth );
+			queries = newQueries;
+			final long[] newQueryStarts = new long[queryDepth * 2];
+			System.arraycopy( queryStarts, 0, newQueryStarts, 0, queryDepth );
+			queryStarts = newQueryStarts;
+		}
+		queries[queryDepth] = query;
+		queryStarts[queryDepth] = System.nanoTime();
+		queryDepth++;
+	}
+
+	@Override
+	public void queryExecutionEnd(String query, int rows, boolean successful) {
+		for ( int i = queryDepth - 1; i >= 0; i-- ) {
+			if ( queries[i] == query ) {
+				final long time = System.nanoTime() - queryStarts[i];
+				for ( int j = i; j < queryDepth; j++ ) {
+					queries[j] = null;
+				}
+				queryDepth = i;
+				if ( successful && metricsRecorder != null ) {
+					metricsRecorder.recordQueryExecution( query, rows, time );
+				}
+				return;
+			}
+		}
+	}
+}
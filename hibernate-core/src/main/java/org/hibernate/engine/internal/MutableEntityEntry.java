@@ -262,6 +262,10 @@ public final class MutableEntityEntry implements Serializable, EntityEntry {
 		return persister;
 	}
 
+	PersistenceContext getPersistenceContext() {
+		return persistenceContext;
+	}
+
 	@Override
 	public EntityKey getEntityKey() {
 		if ( cachedEntityKey == null ) {
@@ -361,8 +365,9 @@ public final class MutableEntityEntry implements Serializable, EntityEntry {
 	@SuppressWarnings( {"SimplifiableIfStatement"})
 	private boolean isUnequivocallyNonDirty(Object entity) {
 
-		if(entity instanceof SelfDirtinessTracker)
-			return ((SelfDirtinessTracker) entity).$$_hibernate_hasDirtyAttributes();
+		if ( entity instanceof SelfDirtinessTracker ) {
+			return !( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+		}
 
 		final CustomEntityDirtinessStrategy customEntityDirtinessStrategy =
 				persistenceContext.getSession().getFactory().getCustomEntityDirtinessStrategy();
@@ -27,6 +27,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.QueryExecutionSessionEventListener;
 import org.hibernate.SessionEventListener;
 import org.hibernate.engine.spi.SessionEventListenerManager;
 
@@ -275,6 +276,32 @@ public class SessionEventListenerManagerImpl implements SessionEventListenerMana
 		}
 	}
 
+	@Override
+	public void queryExecutionStart(String query) {
+		if ( listenerList == null ) {
+			return;
+		}
+
+		for ( SessionEventListener listener : listenerList ) {
+			if ( listener instanceof QueryExecutionSessionEventListener ) {
+				( (QueryExecutionSessionEventListener) listener ).queryExecutionStart( query );
+			}
+		}
+	}
+
+	@Override
+	public void queryExecutionEnd(String query, int rows, boolean successful) {
+		if ( listenerList == null ) {
+			return;
+		}
+
+		for ( SessionEventListener listener : listenerList ) {
+			if ( listener instanceof QueryExecutionSessionEventListener ) {
+				( (QueryExecutionSessionEventListener) listener ).queryExecutionEnd( query, rows, successful );
+			}
+		}
+	}
+
 	@Override
 	public void end() {
 		if ( listenerList == null ) {
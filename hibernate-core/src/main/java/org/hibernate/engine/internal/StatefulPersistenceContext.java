@@ -37,7 +37,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentMap;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.Hibernate;
@@ -56,19 +55,21 @@ import org.hibernate.engine.loading.internal.LoadContexts;
 import org.hibernate.engine.spi.AssociationKey;
 import org.hibernate.engine.spi.BatchFetchQueue;
 import org.hibernate.engine.spi.CachedNaturalIdValueSource;
+import org.hibernate.engine.spi.ChangeNotifyingSelfDirtinessTracker;
 import org.hibernate.engine.spi.CollectionEntry;
 import org.hibernate.engine.spi.CollectionKey;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityEntryFactory;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.EntityUniqueKey;
+import org.hibernate.engine.spi.ManagedEntity;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
-import org.hibernate.internal.util.collections.ConcurrentReferenceHashMap;
 import org.hibernate.internal.util.collections.IdentityMap;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
@@ -102,7 +103,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	private SessionImplementor session;
 
 	// Loaded entity instances, by EntityKey
-	private Map<EntityKey, Object> entitiesByKey;
+	private EntitiesByKeyMap entitiesByKey;
 
 	// Loaded entity instances, by EntityUniqueKey
 	private Map<EntityUniqueKey, Object> entitiesByUniqueKey;
@@ -110,8 +111,14 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	private EntityEntryContext entityEntryContext;
 //	private Map<Object,EntityEntry> entityEntries;
 
+	// The entities the next flush has to visit, when flushing tracked changes only (null otherwise): all entities
+	// which are not dirty tracked, and the dirty tracked entities which may have been modified since the last flush
+	private IdentityMap<Object,EntityEntry> entitiesToFlush;
+	// whether flushes skip read-only entities which do not own collections
+	private final boolean skipReadOnlyEntitiesOnFlush;
+
 	// Entity proxies, by EntityKey
-	private ConcurrentMap<EntityKey, Object> proxiesByKey;
+	private EntitiesByKeyMap proxiesByKey;
 
 	// Snapshots of current database state for entities
 	// that have *not* been loaded
@@ -164,10 +171,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public StatefulPersistenceContext(SessionImplementor session) {
 		this.session = session;
 
-		entitiesByKey = new HashMap<EntityKey, Object>( INIT_COLL_SIZE );
+		entitiesByKey = new EntitiesByKeyMap( this, INIT_COLL_SIZE );
 		entitiesByUniqueKey = new HashMap<EntityUniqueKey, Object>( INIT_COLL_SIZE );
-		//noinspection unchecked
-		proxiesByKey = new ConcurrentReferenceHashMap<EntityKey, Object>( INIT_COLL_SIZE, .75f, 1, ConcurrentReferenceHashMap.ReferenceType.STRONG, ConcurrentReferenceHashMap.ReferenceType.WEAK, null );
+		proxiesByKey = new EntitiesByKeyMap( this, INIT_COLL_SIZE, true );
 		entitySnapshotsByKey = new HashMap<EntityKey, Object>( INIT_COLL_SIZE );
 
 		entityEntryContext = new EntityEntryContext();
@@ -180,6 +186,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 		nullifiableEntityKeys = new HashSet<EntityKey>();
 
+		if ( session.getFactory().getSettings().isFlushTrackedChangesOnlyEnabled() ) {
+			entitiesToFlush = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
+		}
+		skipReadOnlyEntitiesOnFlush = session.getFactory().getSettings().isFlushSkipReadOnlyEntitiesEnabled();
+
 		initTransientState();
 	}
 
@@ -244,6 +255,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		entitiesByUniqueKey.clear();
 		entityEntryContext.clear();
 //		entityEntries.clear();
+		if ( entitiesToFlush != null ) {
+			entitiesToFlush.clear();
+		}
 		parentsByChild.clear();
 		entitySnapshotsByKey.clear();
 		collectionsByKey.clear();
@@ -400,6 +414,22 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		return entitiesByKey.containsKey( key );
 	}
 
+	@Override
+	public Object getEntity(Serializable id, EntityPersister persister) {
+		return entitiesByKey.get( id, persister );
+	}
+
+	@Override
+	public boolean containsEntity(Serializable id, EntityPersister persister) {
+		return entitiesByKey.get( id, persister ) != null;
+	}
+
+	@Override
+	public EntityKey resolveEntityKey(Serializable id, EntityPersister persister) {
+		final EntityKey key = entitiesByKey.getKey( id, persister );
+		return key == null ? session.generateEntityKey( id, persister ) : key;
+	}
+
 	@Override
 	public Object removeEntity(EntityKey key) {
 		final Object entity = entitiesByKey.remove( key );
@@ -435,6 +465,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	@Override
 	public EntityEntry removeEntry(Object entity) {
+		if ( entitiesToFlush != null ) {
+			entitiesToFlush.remove( entity );
+		}
 		return entityEntryContext.removeEntityEntry( entity );
 	}
 
@@ -508,6 +541,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		entityEntryContext.addEntityEntry( entity, e );
 //		entityEntries.put(entity, e);
 
+		// entities being loaded are unmodified, unless they register a change later on
+		if ( entitiesToFlush != null && ( status != Status.LOADING || !isDirtyTracked( entity, persister ) ) ) {
+			entitiesToFlush.put( entity, e );
+		}
+
 		setHasNonReadOnlyEnties( status );
 		return e;
 	}
@@ -565,7 +603,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			final EntityPersister persister = session.getFactory().getEntityPersister( li.getEntityName() );
 			final EntityKey key = session.generateEntityKey( li.getIdentifier(), persister );
 		  	// any earlier proxy takes precedence
-			proxiesByKey.putIfAbsent( key, proxy );
+			if ( !proxiesByKey.containsKey( key ) ) {
+				proxiesByKey.put( key, proxy );
+			}
 			proxy.getHibernateLazyInitializer().setSession( session );
 		}
 	}
@@ -1100,6 +1140,91 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		return entityEntryContext.reentrantSafeEntityEntries();
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public Entry<Object,EntityEntry>[] reentrantSafeEntityEntriesToFlush() {
+		if ( entitiesToFlush == null && !skipReadOnlyEntitiesOnFlush ) {
+			return reentrantSafeEntityEntries();
+		}
+
+		final Entry<Object,EntityEntry>[] candidates = entitiesToFlush == null
+				? reentrantSafeEntityEntries()
+				: entitiesToFlush.entryArray();
+		final List<Entry<Object,EntityEntry>> entries = new ArrayList<Entry<Object,EntityEntry>>( candidates.length );
+		for ( Entry<Object,EntityEntry> me : candidates ) {
+			if ( skipReadOnlyEntitiesOnFlush && isSkippedOnFlush( me.getValue() ) ) {
+				if ( entitiesToFlush != null && isDirtyTracked( me.getKey(), me.getValue().getPersister() ) ) {
+					// until it registers a change, or is made modifiable or deleted (the others are kept for the
+					// flush-time cascades)
+					entitiesToFlush.remove( me.getKey() );
+				}
+			}
+			else if ( entitiesToFlush != null && isKnownUnmodified( me.getKey(), me.getValue() ) ) {
+				// until it registers a change again
+				entitiesToFlush.remove( me.getKey() );
+			}
+			else {
+				entries.add( me );
+			}
+		}
+		return entries.size() == candidates.length ? candidates : entries.toArray( new Entry[entries.size()] );
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Entry<Object,EntityEntry>[] reentrantSafeEntityEntriesToCascadeOnFlush() {
+		if ( entitiesToFlush == null ) {
+			return reentrantSafeEntityEntries();
+		}
+
+		final Entry<Object,EntityEntry>[] candidates = entitiesToFlush.entryArray();
+		final List<Entry<Object,EntityEntry>> entries = new ArrayList<Entry<Object,EntityEntry>>( candidates.length );
+		for ( Entry<Object,EntityEntry> me : candidates ) {
+			// left in the entities to flush until they are dirty checked
+			if ( !isKnownUnmodified( me.getKey(), me.getValue() ) ) {
+				entries.add( me );
+			}
+		}
+		return entries.size() == candidates.length ? candidates : entries.toArray( new Entry[entries.size()] );
+	}
+
+	@Override
+	public void registerModifiedEntity(Object entity) {
+		if ( entitiesToFlush == null ) {
+			return;
+		}
+		final EntityEntry entry = entityEntryContext.getEntityEntry( entity );
+		if ( entry != null ) {
+			entitiesToFlush.put( entity, entry );
+		}
+	}
+
+	/**
+	 * Can changes to the given entity be determined by its dirty tracking alone?  Only entities whose dirty tracking
+	 * registers their changes qualify, which entities enhanced by earlier versions do not.  The collections owned by
+	 * an entity are only found by visiting their owner during flush, so owners of collections do not qualify either.
+	 */
+	private static boolean isDirtyTracked(Object entity, EntityPersister persister) {
+		return entity instanceof ChangeNotifyingSelfDirtinessTracker
+				&& entity instanceof ManagedEntity
+				&& !persister.hasCollections();
+	}
+
+	/**
+	 * Read-only entities are never updated, so a flush has nothing to do for them unless they own collections (which
+	 * are only found by visiting their owner, and are flushed even for read-only owners).
+	 */
+	private static boolean isSkippedOnFlush(EntityEntry entry) {
+		return entry.getStatus() == Status.READ_ONLY && !entry.getPersister().hasCollections();
+	}
+
+	private static boolean isKnownUnmodified(Object entity, EntityEntry entry) {
+		final Status status = entry.getStatus();
+		return ( status == Status.MANAGED || status == Status.READ_ONLY )
+				&& isDirtyTracked( entity, entry.getPersister() )
+				&& !( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+	}
+
 	@Override
 	public Serializable getOwnerId(String entityName, String propertyName, Object childEntity, Map mergeMap) {
 		final String collectionRole = entityName + '.' + propertyName;
@@ -1373,6 +1498,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		}
 		entry.setReadOnly( readOnly, entity );
 		hasNonReadOnlyEntities = hasNonReadOnlyEntities || ! readOnly;
+		if ( !readOnly && skipReadOnlyEntitiesOnFlush ) {
+			// it may have been left out of flushes so far
+			registerModifiedEntity( entity );
+		}
 	}
 
 	@Override
@@ -1523,7 +1652,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitiesByKey entries" );
 			}
-			rtn.entitiesByKey = new HashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitiesByKey = new EntitiesByKeyMap( rtn, count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitiesByKey.put( EntityKey.deserialize( ois, sfi ), ois.readObject() );
 			}
@@ -1541,15 +1670,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] proxiesByKey entries" );
 			}
-			//noinspection unchecked
-			rtn.proxiesByKey = new ConcurrentReferenceHashMap<EntityKey, Object>(
-					count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count,
-					.75f,
-					1,
-					ConcurrentReferenceHashMap.ReferenceType.STRONG,
-					ConcurrentReferenceHashMap.ReferenceType.WEAK,
-					null
-			);
+			rtn.proxiesByKey = new EntitiesByKeyMap( rtn, count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count, true );
 			for ( int i = 0; i < count; i++ ) {
 				final EntityKey ek = EntityKey.deserialize( ois, sfi );
 				final Object proxy = ois.readObject();
@@ -1575,6 +1696,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			}
 
 			rtn.entityEntryContext = EntityEntryContext.deserialize( ois, rtn );
+			if ( rtn.entitiesToFlush != null ) {
+				for ( Entry<Object,EntityEntry> me : rtn.entityEntryContext.reentrantSafeEntityEntries() ) {
+					rtn.entitiesToFlush.put( me.getKey(), me.getValue() );
+				}
+			}
 
 			count = ois.readInt();
 			if ( tracing ) {
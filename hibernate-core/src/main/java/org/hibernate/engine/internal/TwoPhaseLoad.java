@@ -136,12 +136,31 @@ public final class TwoPhaseLoad {
 			final boolean readOnly,
 			final SessionImplementor session,
 			final PreLoadEvent preLoadEvent) {
+		initializeEntity( entity, readOnly, session, preLoadEvent, null );
+	}
+
+	/**
+	 * Perform the second step of 2-phase load, like {@link #initializeEntity(Object, boolean, SessionImplementor, PreLoadEvent)};
+	 * but rather than putting the entity into the second-level cache right away, add that put to the given batch.
+	 *
+	 * @param entity The entity being loaded
+	 * @param readOnly Is the entity being loaded as read-only
+	 * @param session The Session
+	 * @param preLoadEvent The (re-used) pre-load event
+	 * @param cachePuts The batch of second-level cache puts of the entities being loaded; may be {@code null}
+	 */
+	public static void initializeEntity(
+			final Object entity,
+			final boolean readOnly,
+			final SessionImplementor session,
+			final PreLoadEvent preLoadEvent,
+			final CachePutBatch cachePuts) {
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		final EntityEntry entityEntry = persistenceContext.getEntry( entity );
 		if ( entityEntry == null ) {
 			throw new AssertionFailure( "possible non-threadsafe access to the session" );
 		}
-		doInitializeEntity( entity, entityEntry, readOnly, session, preLoadEvent );
+		doInitializeEntity( entity, entityEntry, readOnly, session, preLoadEvent, cachePuts );
 	}
 
 	private static void doInitializeEntity(
@@ -149,7 +168,8 @@ public final class TwoPhaseLoad {
 			final EntityEntry entityEntry,
 			final boolean readOnly,
 			final SessionImplementor session,
-			final PreLoadEvent preLoadEvent) throws HibernateException {
+			final PreLoadEvent preLoadEvent,
+			final CachePutBatch cachePuts) throws HibernateException {
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		final EntityPersister persister = entityEntry.getPersister();
 		final Serializable id = entityEntry.getId();
@@ -215,6 +235,15 @@ public final class TwoPhaseLoad {
 						version
 				);
 			}
+			else if ( cachePuts != null ) {
+				cachePuts.add(
+						persister.getCacheAccessStrategy(),
+						cacheKey,
+						persister.getCacheEntryStructure().structure( entry ),
+						version,
+						useMinimalPuts( session, entityEntry )
+				);
+			}
 			else {
 				try {
 					session.getEventListenerManager().cachePutStart();
@@ -24,18 +24,30 @@
 package org.hibernate.engine.jdbc;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HashMap;
+import java.util.Locale;
 
 /**
  * Cache of column-name -> column-index resolutions
+ * <p/>
+ * When built from the {@link ResultSetMetaData} of the first ResultSet (see
+ * {@link #ColumnNameCache(ResultSetMetaData)}), the position of each column label is known up front, and
+ * resolving a column name is a lookup in an immutable map.  Names not known up front (the label case differs
+ * from the one reported by the driver, for example) are resolved through {@link ResultSet#findColumn} once and
+ * published as a new copy of the map; so after the first row no resolution ever locks or calls into the driver.
+ * <p/>
+ * The loaders pass the same column alias instances for every row, so {@link #getColumnIndex} first looks the name
+ * up by identity, which neither hashes the name nor boxes the index.
  *
  * @author Steve Ebersole
  */
 public final class ColumnNameCache {
 	private static final float LOAD_FACTOR = .75f;
 
-	private final ConcurrentHashMap<String, Integer> columnNameToIndexCache;
+	private volatile HashMap<String, Integer> columnNameToIndexCache;
+	private volatile ResolvedColumnNames resolvedColumnNames;
 
 	/**
 	 * Constructs a ColumnNameCache
@@ -44,10 +56,43 @@ public final class ColumnNameCache {
 	 */
 	public ColumnNameCache(int columnCount) {
 		// should *not* need to grow beyond the size of the total number of columns in the rs
-		this.columnNameToIndexCache = new ConcurrentHashMap<String, Integer>(
-				columnCount + (int)( columnCount * LOAD_FACTOR ) + 1,
-				LOAD_FACTOR
-		);
+		this.columnNameToIndexCache = new HashMap<String, Integer>( capacityFor( columnCount ), LOAD_FACTOR );
+		this.resolvedColumnNames = new ResolvedColumnNames( columnCount );
+	}
+
+	/**
+	 * Constructs a ColumnNameCache, pre-computing the index of all column labels of the given ResultSet metadata.
+	 *
+	 * @param metaData The metadata of the ResultSet
+	 *
+	 * @throws SQLException Indicates a problems accessing the metadata
+	 */
+	public ColumnNameCache(ResultSetMetaData metaData) throws SQLException {
+		final int columnCount = metaData.getColumnCount();
+		final HashMap<String, Integer> cache = new HashMap<String, Integer>( capacityFor( columnCount * 3 ), LOAD_FACTOR );
+		for ( int i = 1; i <= columnCount; i++ ) {
+			final String label = metaData.getColumnLabel( i );
+			if ( label == null ) {
+				continue;
+			}
+			// like findColumn, resolve labels case-insensitively, and to the first matching column
+			final Integer index = Integer.valueOf( i );
+			putIfAbsent( cache, label, index );
+			putIfAbsent( cache, label.toLowerCase( Locale.ROOT ), index );
+			putIfAbsent( cache, label.toUpperCase( Locale.ROOT ), index );
+		}
+		this.columnNameToIndexCache = cache;
+		this.resolvedColumnNames = new ResolvedColumnNames( columnCount );
+	}
+
+	private static int capacityFor(int columnCount) {
+		return columnCount + (int)( columnCount * LOAD_FACTOR ) + 1;
+	}
+
+	private static void putIfAbsent(HashMap<String, Integer> cache, String columnName, Integer index) {
+		if ( !cache.containsKey( columnName ) ) {
+			cache.put( columnName, index );
+		}
 	}
 
 	/**
@@ -67,8 +112,90 @@ public final class ColumnNameCache {
 		}
 		else {
 			final Integer index = Integer.valueOf( rs.findColumn( columnName ) );
-			columnNameToIndexCache.put( columnName, index);
+			synchronized ( this ) {
+				// copy-on-write, so that lookups never see a map being modified
+				final HashMap<String, Integer> copy = new HashMap<String, Integer>( columnNameToIndexCache );
+				copy.put( columnName, index );
+				columnNameToIndexCache = copy;
+			}
 			return index;
 		}
 	}
+
+	/**
+	 * Resolve the column name/alias to its index, like {@link #getIndexForColumnName}, looking the name up by
+	 * identity first.
+	 *
+	 * @param columnName The name/alias of the column
+	 * @param rs The ResultSet
+	 *
+	 * @return The index
+	 *
+	 * @throws SQLException Indicates a problems accessing the underlying JDBC ResultSet
+	 */
+	public int getColumnIndex(String columnName, ResultSet rs) throws SQLException {
+		final int resolved = resolvedColumnNames.get( columnName );
+		if ( resolved > 0 ) {
+			return resolved;
+		}
+		final int index = getIndexForColumnName( columnName, rs );
+		synchronized ( this ) {
+			resolvedColumnNames = resolvedColumnNames.with( columnName, index );
+		}
+		return index;
+	}
+
+	/**
+	 * An immutable open addressing table of column names, compared by identity, and their indexes.  Its size is
+	 * bounded, as the names passed by other callers than the loaders may be new instances every time.
+	 */
+	private static final class ResolvedColumnNames {
+		private final String[] names;
+		private final int[] indexes;
+		private final int size;
+		private final int maxSize;
+
+		private ResolvedColumnNames(int columnCount) {
+			// a few names per column at most, and the table kept at most half full so that probing ends
+			this.maxSize = columnCount * 4 + 16;
+			this.names = new String[Integer.highestOneBit( maxSize ) * 4];
+			this.indexes = new int[names.length];
+			this.size = 0;
+		}
+
+		private ResolvedColumnNames(int maxSize, String[] names, int[] indexes, int size) {
+			this.maxSize = maxSize;
+			this.names = names;
+			this.indexes = indexes;
+			this.size = size;
+		}
+
+		private int slot(String name) {
+			return System.identityHashCode( name ) & ( names.length - 1 );
+		}
+
+		int get(String name) {
+			for ( int i = slot( name ); names[i] != null; i = ( i + 1 ) & ( names.length - 1 ) ) {
+				if ( names[i] == name ) {
+					return indexes[i];
+				}
+			}
+			return 0;
+		}
+
+		ResolvedColumnNames with(String name, int index) {
+			if ( size == maxSize || get( name ) > 0 ) {
+				return this;
+			}
+			final String[] newNames = names.clone();
+			final int[] newIndexes = indexes.clone();
+			int i = slot( name );
+			while ( newNames[i] != null ) {
+				i = ( i + 1 ) & ( newNames.length - 1 );
+			}
+			newNames[i] = name;
+			newIndexes[i] = index;
+			return new ResolvedColumnNames( maxSize, newNames, newIndexes, size + 1 );
+		}
+	}
 }
@@ -29,6 +29,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.internal.CoreMessageLogger;
@@ -38,7 +40,9 @@ import org.jboss.logging.Logger;
 
 /**
  * A proxy for a ResultSet delegate, responsible for locally caching the columnName-to-columnIndex resolution that
- * has been found to be inefficient in a few vendor's drivers (i.e., Oracle and Postgres).
+ * has been found to be inefficient in a few vendor's drivers (i.e., Oracle and Postgres).  The methods passed a
+ * column label are redirected to their column index counterparts, so that the delegate is only ever read by
+ * position; all other methods are passed through as they are, whichever version of the JDBC API they belong to.
  *
  * @author Steve Ebersole
  * @author Gail Badner
@@ -51,6 +55,9 @@ public class ResultSetWrapperProxy implements InvocationHandler {
 	private static final Class[] PROXY_INTERFACES = new Class[] { ResultSet.class };
 	private static final SqlExceptionHelper SQL_EXCEPTION_HELPER = new SqlExceptionHelper();
 
+	// the column-index counterparts of the ResultSet methods passed a column label, resolved once up front
+	private static final Map<Method, Method> COLUMN_INDEX_METHODS = buildColumnIndexMethods();
+
 	private final ResultSet rs;
 	private final ColumnNameCache columnNameCache;
 
@@ -94,13 +101,11 @@ public class ResultSetWrapperProxy implements InvocationHandler {
 			return findColumn( (String) args[0] );
 		}
 
-		if ( isFirstArgColumnLabel( method, args ) ) {
+		final Method columnIndexMethod = COLUMN_INDEX_METHODS.get( method );
+		if ( columnIndexMethod != null && args[0] instanceof String ) {
 			try {
 				final Integer columnIndex = findColumn( (String) args[0] );
-				return invokeMethod(
-						locateCorrespondingColumnIndexMethod( method ),
-						buildColumnIndexMethodArgs( args, columnIndex )
-				);
+				return invokeMethod( columnIndexMethod, buildColumnIndexMethodArgs( args, columnIndex ) );
 			}
 			catch ( SQLException ex ) {
 				final String msg = "Exception getting column index for column: [" + args[0] +
@@ -108,9 +113,6 @@ public class ResultSetWrapperProxy implements InvocationHandler {
 						"] as first argument for method: [" + method + "]";
 				SQL_EXCEPTION_HELPER.logExceptions( ex, msg );
 			}
-			catch ( NoSuchMethodException ex ) {
-				LOG.unableToSwitchToMethodUsingColumnIndex( method );
-			}
 		}
 		return invokeMethod( method, args );
 	}
@@ -123,23 +125,34 @@ public class ResultSetWrapperProxy implements InvocationHandler {
 	 * @throws SQLException if the ResultSet object does not contain columnName or a database access error occurs
 	 */
 	private Integer findColumn(String columnName) throws SQLException {
-		return columnNameCache.getIndexForColumnName( columnName, rs );
+		return columnNameCache.getColumnIndex( columnName, rs );
 	}
 
-	private boolean isFirstArgColumnLabel(Method method, Object[] args) {
-		// method name should start with either get or update
-		if ( ! ( method.getName().startsWith( "get" ) || method.getName().startsWith( "update" ) ) ) {
-			return false;
+	private static Map<Method, Method> buildColumnIndexMethods() {
+		final Map<Method, Method> columnIndexMethods = new HashMap<Method, Method>();
+		for ( Method method : ResultSet.class.getMethods() ) {
+			if ( isColumnLabelMethod( method ) ) {
+				try {
+					columnIndexMethods.put( method, locateCorrespondingColumnIndexMethod( method ) );
+				}
+				catch ( NoSuchMethodException ex ) {
+					LOG.unableToSwitchToMethodUsingColumnIndex( method );
+				}
+			}
 		}
+		return columnIndexMethods;
+	}
 
-		// method should have arguments, and have same number as incoming arguments
-		if ( ! ( method.getParameterTypes().length > 0 && args.length == method.getParameterTypes().length ) ) {
+	private static boolean isColumnLabelMethod(Method method) {
+		// method name should start with either get or update
+		if ( ! ( method.getName().startsWith( "get" ) || method.getName().startsWith( "update" ) ) ) {
 			return false;
 		}
 
 		// The first argument should be a String (the column name)
+		final Class[] parameterTypes = method.getParameterTypes();
 		//noinspection RedundantIfStatement
-		if ( ! ( String.class.isInstance( args[0] ) && method.getParameterTypes()[0].equals( String.class ) ) ) {
+		if ( ! ( parameterTypes.length > 0 && parameterTypes[0].equals( String.class ) ) ) {
 			return false;
 		}
 
@@ -154,7 +167,7 @@ public class ResultSetWrapperProxy implements InvocationHandler {
 	 * @return The corresponding method passed the column index.
 	 * @throws NoSuchMethodException Should never happen, but...
 	 */
-	private Method locateCorrespondingColumnIndexMethod(Method columnNameMethod) throws NoSuchMethodException {
+	private static Method locateCorrespondingColumnIndexMethod(Method columnNameMethod) throws NoSuchMethodException {
 		final Class[] actualParameterTypes = new Class[columnNameMethod.getParameterTypes().length];
 		actualParameterTypes[0] = int.class;
 		System.arraycopy(
@@ -37,6 +37,7 @@ import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
 import org.hibernate.engine.transaction.spi.TransactionContext;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 import org.jboss.logging.Logger;
 
@@ -108,6 +109,18 @@ public abstract class AbstractBatchImpl implements Batch {
 		return sqlStatementLogger;
 	}
 
+	/**
+	 * Record the execution of a JDBC batch with the statistics (if enabled).
+	 *
+	 * @param numberOfStatements The number of statements contained in the executed batch
+	 */
+	protected void recordBatchExecution(int numberOfStatements) {
+		final StatisticsImplementor statistics = transactionContext.getTransactionEnvironment().getStatisticsImplementor();
+		if ( statistics.isStatisticsEnabled() ) {
+			statistics.jdbcBatchExecuted( numberOfStatements );
+		}
+	}
+
 	protected void abortBatch() {
 		jdbcCoordinator.abortBatch();
 	}
@@ -26,9 +26,11 @@ package org.hibernate.engine.jdbc.batch.internal;
 import java.util.Map;
 
 import org.hibernate.cfg.Environment;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.internal.JdbcCoordinatorImpl;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.config.ConfigurationHelper;
@@ -48,6 +50,8 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 	);
 
 	private int size;
+	private boolean pipelined;
+	private boolean multiRowInsert;
 
 	/**
 	 * Constructs a BatchBuilderImpl
@@ -67,6 +71,8 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 	@Override
 	public void configure(Map configurationValues) {
 		size = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, size );
+		pipelined = ConfigurationHelper.getBoolean( Environment.STATEMENT_BATCH_PIPELINED, configurationValues, pipelined );
+		multiRowInsert = ConfigurationHelper.getBoolean( Environment.MULTI_ROW_INSERT, configurationValues, multiRowInsert );
 	}
 
 	@SuppressWarnings("UnusedDeclaration")
@@ -77,9 +83,23 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable {
 	@Override
 	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
 		LOG.tracef( "Building batch [size=%s]", size );
-		return size > 1
-				? new BatchingBatch( key, jdbcCoordinator, size )
-				: new NonBatchingBatch( key, jdbcCoordinator );
+		if ( size <= 1 ) {
+			return new NonBatchingBatch( key, jdbcCoordinator );
+		}
+		if ( multiRowInsert ) {
+			final Dialect dialect = jdbcCoordinator.getTransactionCoordinator()
+					.getTransactionContext()
+					.getTransactionEnvironment()
+					.getJdbcServices()
+					.getDialect();
+			if ( dialect.supportsMultiRowInsert() ) {
+				return new MultiRowInsertBatchingBatch( key, jdbcCoordinator, size, dialect );
+			}
+		}
+		// the pipelined batch executes on a thread owned by the coordinator
+		return pipelined && jdbcCoordinator instanceof JdbcCoordinatorImpl
+				? new PipelinedBatchingBatch( key, (JdbcCoordinatorImpl) jdbcCoordinator, size )
+				: new BatchingBatch( key, jdbcCoordinator, size );
 	}
 
 	@Override
@@ -130,6 +130,7 @@ public class BatchingBatch extends AbstractBatchImpl {
 						transactionContext().endBatchExecution();
 					}
 					checkRowCounts( rowCounts, statement );
+					recordBatchExecution( batchPosition );
 				}
 				catch ( SQLException e ) {
 					abortBatch();
@@ -0,0 +1,391 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.ExecuteUpdateResultCheckStyle;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.jdbc.Expectations;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which, like {@link BatchingBatch}, executes
+ * the batch once the batch size is reached; but combines the batched inserts into a table into multi-row inserts,
+ * single statements listing the values of several rows, rather than relying on the JDBC driver to do so.
+ * <p/>
+ * To that end the statements handed out for inserts only record the parameter values bound to them, which are
+ * then bound to the multi-row insert at execution.  The full batch is inserted by statements of the batch size,
+ * a remainder by statements of decreasing powers of two rows, which keeps the number of distinct statements low.
+ * Statements other than plain inserts (and inserts exceeding the limits of the dialect) are batched as usual.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#MULTI_ROW_INSERT
+ */
+public class MultiRowInsertBatchingBatch extends AbstractBatchImpl {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			MultiRowInsertBatchingBatch.class.getName()
+	);
+
+	private static final String VALUES = " values (";
+
+	private final JdbcCoordinator jdbcCoordinator;
+	private final int batchSize;
+	private final Dialect dialect;
+
+	private int batchPosition;
+	private boolean batchExecuted;
+	private int statementPosition;
+
+	private String currentStatementSql;
+	private PreparedStatement currentStatement;
+
+	// the inserts being combined, by SQL, and the SQL of the statements batched as usual
+	private final Map<String,MultiRowInsert> multiRowInserts = new HashMap<String,MultiRowInsert>();
+	private final HashSet<String> singleRowSql = new HashSet<String>();
+
+	/**
+	 * Constructs a MultiRowInsertBatchingBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 * @param dialect The dialect, which must support multi-row inserts.
+	 */
+	public MultiRowInsertBatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			Dialect dialect) {
+		super( key, jdbcCoordinator );
+		if ( ! key.getExpectation().canBeBatched() ) {
+			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
+		}
+		this.jdbcCoordinator = jdbcCoordinator;
+		this.batchSize = batchSize;
+		this.dialect = dialect;
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		final PreparedStatement statement = super.getBatchStatement( sql, callable );
+		currentStatementSql = sql;
+		currentStatement = statement;
+		if ( !callable && !singleRowSql.contains( sql ) ) {
+			MultiRowInsert insert = multiRowInserts.get( sql );
+			if ( insert == null ) {
+				insert = createMultiRowInsert( sql, statement );
+				if ( insert == null ) {
+					singleRowSql.add( sql );
+					return statement;
+				}
+				multiRowInserts.put( sql, insert );
+			}
+			currentStatement = insert.recorder;
+		}
+		return currentStatement;
+	}
+
+	/**
+	 * Creates the means to combine the inserts of the given SQL, if it is a plain insert listing the values of a
+	 * single row (as generated for entities and collections).
+	 *
+	 * @return The multi-row insert, or {@code null} if the given SQL cannot be combined
+	 */
+	private MultiRowInsert createMultiRowInsert(String sql, PreparedStatement statement) {
+		// only the row count of the standard expectations can be verified for several rows at once
+		if ( getKey().getExpectation() != Expectations.BASIC && getKey().getExpectation() != Expectations.NONE ) {
+			return null;
+		}
+		final int valuesIndex = sql.lastIndexOf( VALUES );
+		if ( valuesIndex < 0 || !sql.endsWith( ")" ) || !sql.contains( "insert into " ) ) {
+			return null;
+		}
+		final String prefix = sql.substring( 0, valuesIndex + VALUES.length() - 1 );
+		final String values = sql.substring( valuesIndex + VALUES.length() - 1 );
+		if ( prefix.indexOf( '?' ) >= 0 || !isSingleTuple( values ) ) {
+			return null;
+		}
+
+		int parameterCount = 0;
+		for ( int i = 0; i < values.length(); i++ ) {
+			if ( values.charAt( i ) == '?' ) {
+				parameterCount++;
+			}
+		}
+		int maxRows = batchSize;
+		if ( dialect.getMultiRowInsertLimit() > 0 ) {
+			maxRows = Math.min( maxRows, dialect.getMultiRowInsertLimit() );
+		}
+		if ( dialect.getParameterCountLimit() > 0 && parameterCount > 0 ) {
+			maxRows = Math.min( maxRows, dialect.getParameterCountLimit() / parameterCount );
+		}
+		if ( maxRows < 2 ) {
+			return null;
+		}
+		return new MultiRowInsert( prefix, values, maxRows, statement );
+	}
+
+	/**
+	 * Is the given text a single parenthesized tuple, without literals possibly containing parameter markers?
+	 */
+	private static boolean isSingleTuple(String values) {
+		int depth = 0;
+		for ( int i = 0; i < values.length(); i++ ) {
+			final char c = values.charAt( i );
+			if ( c == '\'' || c == '"' ) {
+				return false;
+			}
+			else if ( c == '(' ) {
+				depth++;
+			}
+			else if ( c == ')' ) {
+				depth--;
+				if ( depth == 0 && i < values.length() - 1 ) {
+					return false;
+				}
+			}
+		}
+		return depth == 0;
+	}
+
+	@Override
+	public void addToBatch() {
+		try {
+			currentStatement.addBatch();
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "SQLException escaped proxy", e );
+			throw sqlExceptionHelper().convert( e, "could not perform addBatch", currentStatementSql );
+		}
+		statementPosition++;
+		if ( statementPosition >= getKey().getBatchedStatementCount() ) {
+			batchPosition++;
+			if ( batchPosition == batchSize ) {
+				notifyObserversImplicitExecution();
+				performExecution();
+				batchPosition = 0;
+				batchExecuted = true;
+			}
+			statementPosition = 0;
+		}
+	}
+
+	@Override
+	protected void doExecuteBatch() {
+		if ( batchPosition == 0 ) {
+			if ( !batchExecuted ) {
+				LOG.debug( "No batched statements to execute" );
+			}
+		}
+		else {
+			performExecution();
+		}
+	}
+
+	private void performExecution() {
+		LOG.debugf( "Executing batch size: %s", batchPosition );
+		try {
+			// in the order the statements were first batched, as the inserts into joined tables depend on each other
+			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
+				try {
+					transactionContext().startBatchExecution();
+					try {
+						final MultiRowInsert insert = multiRowInserts.get( entry.getKey() );
+						if ( insert == null ) {
+							final PreparedStatement statement = entry.getValue();
+							checkRowCounts( statement.executeBatch(), statement );
+						}
+						else {
+							insert.execute();
+						}
+					}
+					finally {
+						transactionContext().endBatchExecution();
+					}
+					recordBatchExecution( batchPosition );
+				}
+				catch ( SQLException e ) {
+					abortBatch();
+					throw sqlExceptionHelper().convert( e, "could not execute batch", entry.getKey() );
+				}
+			}
+		}
+		catch ( RuntimeException re ) {
+			LOG.unableToExecuteBatch( re.getMessage() );
+			throw re;
+		}
+		finally {
+			batchPosition = 0;
+		}
+	}
+
+	private void checkRowCounts(int[] rowCounts, PreparedStatement ps) throws SQLException, HibernateException {
+		final int numberOfRowCounts = rowCounts.length;
+		if ( numberOfRowCounts != batchPosition ) {
+			LOG.unexpectedRowCounts();
+		}
+		for ( int i = 0; i < numberOfRowCounts; i++ ) {
+			getKey().getExpectation().verifyOutcome( rowCounts[i], ps, i );
+		}
+	}
+
+	@Override
+	protected void releaseStatements() {
+		for ( MultiRowInsert insert : multiRowInserts.values() ) {
+			insert.rows.clear();
+		}
+		multiRowInserts.clear();
+		singleRowSql.clear();
+		super.releaseStatements();
+	}
+
+	/**
+	 * The batched inserts of a single SQL statement, and the statement recording their parameter values.
+	 */
+	private final class MultiRowInsert implements InvocationHandler {
+		private final String prefix;
+		private final String values;
+		private final int parameterCount;
+		private final int maxRows;
+		private final PreparedStatement statement;
+		private final PreparedStatement recorder;
+
+		private final Map<Integer,String> sqlByRowCount = new HashMap<Integer,String>();
+		private final List<List<RecordedBinding>> rows = new ArrayList<List<RecordedBinding>>();
+		private List<RecordedBinding> currentRow = new ArrayList<RecordedBinding>();
+
+		private MultiRowInsert(String prefix, String values, int maxRows, PreparedStatement statement) {
+			this.prefix = prefix;
+			this.values = values;
+			this.maxRows = maxRows;
+			this.statement = statement;
+			int parameterCount = 0;
+			for ( int i = 0; i < values.length(); i++ ) {
+				if ( values.charAt( i ) == '?' ) {
+					parameterCount++;
+				}
+			}
+			this.parameterCount = parameterCount;
+			this.recorder = (PreparedStatement) Proxy.newProxyInstance(
+					MultiRowInsertBatchingBatch.class.getClassLoader(),
+					new Class[] { PreparedStatement.class },
+					this
+			);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String name = method.getName();
+			if ( method.getDeclaringClass() == PreparedStatement.class
+					&& name.startsWith( "set" )
+					&& args != null
+					&& args[0] instanceof Integer ) {
+				currentRow.add( new RecordedBinding( method, args ) );
+				return null;
+			}
+			else if ( "addBatch".equals( name ) && args == null ) {
+				rows.add( currentRow );
+				currentRow = new ArrayList<RecordedBinding>( currentRow.size() );
+				return null;
+			}
+			else if ( "clearParameters".equals( name ) ) {
+				currentRow.clear();
+				return null;
+			}
+			else if ( "clearBatch".equals( name ) ) {
+				rows.clear();
+				currentRow.clear();
+			}
+
+			// anything else is up to the actual statement
+			try {
+				return method.invoke( statement, args );
+			}
+			catch ( InvocationTargetException e ) {
+				throw e.getCause();
+			}
+		}
+
+		private String getSql(int rowCount) {
+			String sql = sqlByRowCount.get( rowCount );
+			if ( sql == null ) {
+				final StringBuilder buffer = new StringBuilder( prefix.length() + ( values.length() + 2 ) * rowCount );
+				buffer.append( prefix ).append( values );
+				for ( int i = 1; i < rowCount; i++ ) {
+					buffer.append( ", " ).append( values );
+				}
+				sql = buffer.toString();
+				sqlByRowCount.put( rowCount, sql );
+			}
+			return sql;
+		}
+
+		private void execute() throws SQLException {
+			int position = 0;
+			while ( position < rows.size() ) {
+				final int remaining = rows.size() - position;
+				final int rowCount = remaining >= maxRows ? maxRows : Integer.highestOneBit( remaining );
+				final PreparedStatement multiRowStatement = rowCount == 1
+						? statement
+						// the single-argument form does not implicitly execute the current batch
+						: jdbcCoordinator.getStatementPreparer().prepareStatement( getSql( rowCount ) );
+				try {
+					for ( int i = 0; i < rowCount; i++ ) {
+						for ( RecordedBinding binding : rows.get( position + i ) ) {
+							binding.bind( multiRowStatement, i * parameterCount );
+						}
+					}
+					final int insertedRows = jdbcCoordinator.getResultSetReturn().executeUpdate( multiRowStatement );
+					if ( getKey().getExpectation() == Expectations.BASIC ) {
+						Expectations.appropriateExpectation( ExecuteUpdateResultCheckStyle.COUNT, rowCount )
+								.verifyOutcome( insertedRows, multiRowStatement, -1 );
+					}
+				}
+				finally {
+					if ( multiRowStatement != statement ) {
+						jdbcCoordinator.release( multiRowStatement );
+					}
+				}
+				position += rowCount;
+			}
+			rows.clear();
+		}
+	}
+}
@@ -0,0 +1,353 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.internal.JdbcCoordinatorImpl;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which, like {@link BatchingBatch}, executes
+ * the batch once the batch size is reached; but hands the full batch to the thread its
+ * {@link JdbcCoordinatorImpl} owns for that purpose, rather than executing it on the flushing thread.  While the
+ * batch is sent to the database, the flushing thread goes on with the flush, binding the rows of the next batch.
+ * <p/>
+ * To that end the statements handed out only record the parameter values bound to them (much like
+ * {@link MultiRowInsertBatchingBatch} does), which never involves the Connection.  A full batch is handed off
+ * together with its recorded rows; the background thread binds them to the actual statements, adds them to the
+ * JDBC batch and executes it, while the rows of the next batch are recorded anew.
+ * <p/>
+ * The Connection is never used concurrently: any other use of a statement, the preparation of a statement and
+ * the dispatch of the next batch await the in-flight batch first.  So at most one batch is in flight, and
+ * statements reach the database in the order they were batched.  A failure of an in-flight batch is reported on
+ * the flushing thread no later than the next use of the Connection.  Callable statements are not recorded, as
+ * their parameters may be bound by name; they are handed out only once the in-flight batch completed.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#STATEMENT_BATCH_PIPELINED
+ */
+public class PipelinedBatchingBatch extends AbstractBatchImpl {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PipelinedBatchingBatch.class.getName()
+	);
+
+	private final JdbcCoordinatorImpl jdbcCoordinator;
+	private final int batchSize;
+
+	private final Map<String,RecordingStatement> recordingStatements = new HashMap<String,RecordingStatement>();
+
+	private int batchPosition;
+	private boolean batchExecuted;
+	private int statementPosition;
+
+	private String currentStatementSql;
+	private PreparedStatement currentStatement;
+
+	/**
+	 * Constructs a PipelinedBatchingBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator, which executes full batches
+	 * @param batchSize The batch size.
+	 */
+	public PipelinedBatchingBatch(
+			BatchKey key,
+			JdbcCoordinatorImpl jdbcCoordinator,
+			int batchSize) {
+		super( key, jdbcCoordinator );
+		if ( ! key.getExpectation().canBeBatched() ) {
+			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
+		}
+		this.jdbcCoordinator = jdbcCoordinator;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		currentStatementSql = sql;
+		if ( callable ) {
+			// the actual statement is about to be bound
+			awaitInFlightExecution();
+			currentStatement = super.getBatchStatement( sql, true );
+			return currentStatement;
+		}
+
+		// preparing a statement awaits the in-flight batch, reusing one does not
+		final PreparedStatement statement = super.getBatchStatement( sql, false );
+		RecordingStatement recordingStatement = recordingStatements.get( sql );
+		if ( recordingStatement == null ) {
+			recordingStatement = new RecordingStatement( statement );
+			recordingStatements.put( sql, recordingStatement );
+		}
+		currentStatement = recordingStatement.recorder;
+		return currentStatement;
+	}
+
+	@Override
+	public void addToBatch() {
+		try {
+			currentStatement.addBatch();
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "SQLException escaped proxy", e );
+			throw sqlExceptionHelper().convert( e, "could not perform addBatch", currentStatementSql );
+		}
+		statementPosition++;
+		if ( statementPosition >= getKey().getBatchedStatementCount() ) {
+			batchPosition++;
+			if ( batchPosition == batchSize ) {
+				notifyObserversImplicitExecution();
+				dispatchExecution();
+				batchPosition = 0;
+				batchExecuted = true;
+			}
+			statementPosition = 0;
+		}
+	}
+
+	/**
+	 * Hands the current (full) batch to the coordinator for execution in the background.
+	 */
+	private void dispatchExecution() {
+		final int numberOfRows = batchPosition;
+		LOG.debugf( "Dispatching batch size: %s", numberOfRows );
+		// taken on this thread, from here on the recorders collect the rows of the next batch
+		final List<StatementRows> batch = takeRows();
+		try {
+			jdbcCoordinator.executeBatchInBackground(
+					new Callable<Void>() {
+						@Override
+						public Void call() throws Exception {
+							performExecution( batch, numberOfRows );
+							return null;
+						}
+					}
+			);
+		}
+		catch ( RuntimeException e ) {
+			abortBatch();
+			throw e;
+		}
+	}
+
+	/**
+	 * Waits for the in-flight batch (if one) to complete, re-throwing any failure it ran into on this thread.
+	 */
+	private void awaitInFlightExecution() {
+		try {
+			jdbcCoordinator.awaitBatchExecution();
+		}
+		catch ( RuntimeException e ) {
+			abortBatch();
+			throw e;
+		}
+	}
+
+	@Override
+	protected void doExecuteBatch() {
+		awaitInFlightExecution();
+		if ( batchPosition == 0 ) {
+			if ( !batchExecuted ) {
+				LOG.debug( "No batched statements to execute" );
+			}
+		}
+		else {
+			// no sense in handing the remainder off, we'd only wait for it
+			try {
+				transactionContext().startBatchExecution();
+				performExecution( takeRows(), batchPosition );
+			}
+			catch ( RuntimeException e ) {
+				abortBatch();
+				throw e;
+			}
+			finally {
+				transactionContext().endBatchExecution();
+				batchPosition = 0;
+			}
+		}
+	}
+
+	/**
+	 * Takes the rows recorded so far for each statement of the batch, in the order the statements were prepared.
+	 *
+	 * @return The statements along with their recorded rows
+	 */
+	private List<StatementRows> takeRows() {
+		final List<StatementRows> batch = new ArrayList<StatementRows>( getStatements().size() );
+		for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
+			final RecordingStatement recordingStatement = recordingStatements.get( entry.getKey() );
+			batch.add(
+					new StatementRows(
+							entry.getKey(),
+							entry.getValue(),
+							recordingStatement == null ? null : recordingStatement.takeRows()
+					)
+			);
+		}
+		return batch;
+	}
+
+	private void performExecution(List<StatementRows> batch, int numberOfRows) {
+		LOG.debugf( "Executing batch size: %s", numberOfRows );
+		try {
+			for ( StatementRows statementRows : batch ) {
+				try {
+					final PreparedStatement statement = statementRows.statement;
+					if ( statementRows.rows != null ) {
+						for ( List<RecordedBinding> row : statementRows.rows ) {
+							for ( RecordedBinding binding : row ) {
+								binding.bind( statement, 0 );
+							}
+							statement.addBatch();
+						}
+					}
+					checkRowCounts( statement.executeBatch(), statement, numberOfRows );
+					recordBatchExecution( numberOfRows );
+				}
+				catch ( SQLException e ) {
+					throw sqlExceptionHelper().convert( e, "could not execute batch", statementRows.sql );
+				}
+			}
+		}
+		catch ( RuntimeException re ) {
+			LOG.unableToExecuteBatch( re.getMessage() );
+			throw re;
+		}
+	}
+
+	private void checkRowCounts(int[] rowCounts, PreparedStatement ps, int numberOfRows) throws SQLException, HibernateException {
+		final int numberOfRowCounts = rowCounts.length;
+		if ( numberOfRowCounts != numberOfRows ) {
+			LOG.unexpectedRowCounts();
+		}
+		for ( int i = 0; i < numberOfRowCounts; i++ ) {
+			getKey().getExpectation().verifyOutcome( rowCounts[i], ps, i );
+		}
+	}
+
+	@Override
+	protected void releaseStatements() {
+		// never release statements in use by the in-flight batch; we are either done or aborting anyway
+		try {
+			jdbcCoordinator.awaitBatchExecution();
+		}
+		catch ( RuntimeException e ) {
+			LOG.debug( "In-flight batch failed during release of the batch" );
+		}
+		recordingStatements.clear();
+		super.releaseStatements();
+	}
+
+	/**
+	 * The rows recorded for a statement of the batch, taken for execution.
+	 */
+	private static final class StatementRows {
+		private final String sql;
+		private final PreparedStatement statement;
+		private final List<List<RecordedBinding>> rows;
+
+		private StatementRows(String sql, PreparedStatement statement, List<List<RecordedBinding>> rows) {
+			this.sql = sql;
+			this.statement = statement;
+			this.rows = rows;
+		}
+	}
+
+	/**
+	 * Records the rows bound to a statement of the batch, handing anything else to the actual statement once the
+	 * in-flight batch completed.
+	 */
+	private final class RecordingStatement implements InvocationHandler {
+		private final PreparedStatement statement;
+		private final PreparedStatement recorder;
+
+		private List<List<RecordedBinding>> rows = new ArrayList<List<RecordedBinding>>();
+		private List<RecordedBinding> currentRow = new ArrayList<RecordedBinding>();
+
+		private RecordingStatement(PreparedStatement statement) {
+			this.statement = statement;
+			this.recorder = (PreparedStatement) Proxy.newProxyInstance(
+					PipelinedBatchingBatch.class.getClassLoader(),
+					new Class[] { PreparedStatement.class },
+					this
+			);
+		}
+
+		private List<List<RecordedBinding>> takeRows() {
+			final List<List<RecordedBinding>> taken = rows;
+			rows = new ArrayList<List<RecordedBinding>>( taken.size() );
+			return taken;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String name = method.getName();
+			if ( method.getDeclaringClass() == PreparedStatement.class
+					&& name.startsWith( "set" )
+					&& args != null
+					&& args[0] instanceof Integer ) {
+				currentRow.add( new RecordedBinding( method, args ) );
+				return null;
+			}
+			else if ( "addBatch".equals( name ) && args == null ) {
+				rows.add( currentRow );
+				currentRow = new ArrayList<RecordedBinding>( currentRow.size() );
+				return null;
+			}
+			else if ( "clearParameters".equals( name ) ) {
+				currentRow.clear();
+				return null;
+			}
+			else if ( "clearBatch".equals( name ) ) {
+				rows.clear();
+				currentRow.clear();
+			}
+
+			// anything else is up to the actual statement
+			awaitInFlightExecution();
+			try {
+				return method.invoke( statement, args );
+			}
+			catch ( InvocationTargetException e ) {
+				throw e.getCause();
+			}
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.hibernate.HibernateException;
+
+/**
+ * A parameter value bound to a statement handed out by a batch, recorded as the setter called and its arguments
+ * so that it can be bound to the actual statement later on.
+ */
+final class RecordedBinding {
+	private final Method setter;
+	private final Object[] arguments;
+
+	RecordedBinding(Method setter, Object[] arguments) {
+		this.setter = setter;
+		this.arguments = arguments;
+	}
+
+	/**
+	 * Binds the recorded value to the given statement.
+	 *
+	 * @param statement The statement to bind to
+	 * @param parameterOffset The offset added to the recorded parameter position
+	 *
+	 * @throws SQLException Indicates the setter failed
+	 */
+	void bind(PreparedStatement statement, int parameterOffset) throws SQLException {
+		final Object[] shiftedArguments;
+		if ( parameterOffset == 0 ) {
+			shiftedArguments = arguments;
+		}
+		else {
+			shiftedArguments = arguments.clone();
+			shiftedArguments[0] = (Integer) arguments[0] + parameterOffset;
+		}
+		try {
+			setter.invoke( statement, shiftedArguments );
+		}
+		catch ( IllegalAccessException e ) {
+			throw new HibernateException( "Unable to bind recorded parameter", e );
+		}
+		catch ( InvocationTargetException e ) {
+			if ( e.getCause() instanceof SQLException ) {
+				throw (SQLException) e.getCause();
+			}
+			throw new HibernateException( "Unable to bind recorded parameter", e.getCause() );
+		}
+	}
+}
@@ -28,7 +28,6 @@ import java.sql.Driver;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -48,12 +47,12 @@ import org.hibernate.service.spi.ServiceException;
 import org.hibernate.service.spi.ServiceRegistryAwareService;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
 import org.hibernate.service.spi.Stoppable;
+import org.hibernate.stat.ConnectionPoolStatistics;
 
 /**
  * A connection provider that uses the {@link java.sql.DriverManager} directly to open connections and provides
- * a very rudimentary connection pool.
- * <p/>
- * IMPL NOTE : not intended for production use!
+ * a simple, bounded connection pool (see {@link PooledConnections}).  Statistics of the pool are available through
+ * {@link org.hibernate.stat.Statistics#getConnectionPoolStatistics()}.
  * <p/>
  * Thanks to Oleg Varaksin and his article on object pooling using the {@link java.util.concurrent} package, from
  * which much of the pooling code here is derived.  See http://ovaraksin.blogspot.com/2013/08/simple-and-lightweight-pool.html
@@ -70,10 +69,19 @@ public class DriverManagerConnectionProviderImpl
 	public static final String INITIAL_SIZE = "hibernate.connection.initial_pool_size";
 	// in TimeUnit.SECONDS
 	public static final String VALIDATION_INTERVAL = "hibernate.connection.pool_validation_interval";
+	// in TimeUnit.MILLISECONDS
+	public static final String ACQUIRE_TIMEOUT = "hibernate.connection.pool_acquire_timeout";
+	// in TimeUnit.SECONDS; 0 means connections are never retired because of their age
+	public static final String MAX_LIFETIME = "hibernate.connection.pool_max_lifetime";
+	public static final String VALIDATE_ON_BORROW = "hibernate.connection.pool_validate_on_borrow";
+	// in TimeUnit.SECONDS
+	public static final String VALIDATION_TIMEOUT = "hibernate.connection.pool_validation_timeout";
+	// in TimeUnit.SECONDS; 0 disables leak detection
+	public static final String LEAK_DETECTION_THRESHOLD = "hibernate.connection.pool_leak_detection_threshold";
 
 	private boolean active = true;
 
-	private ConcurrentLinkedQueue<Connection> connections = new ConcurrentLinkedQueue<Connection>();
+	private PooledConnections pool;
 	private ConnectionCreator connectionCreator;
 	private ScheduledExecutorService executorService;
 
@@ -99,48 +107,34 @@ public class DriverManagerConnectionProviderImpl
 		final int initialSize = ConfigurationHelper.getInt( INITIAL_SIZE, configurationValues, minSize );
 		final long validationInterval = ConfigurationHelper.getLong( VALIDATION_INTERVAL, configurationValues, 30 );
 
+		final long acquireTimeout = ConfigurationHelper.getLong( ACQUIRE_TIMEOUT, configurationValues, 30000 );
+		final long maxLifetime = ConfigurationHelper.getLong( MAX_LIFETIME, configurationValues, 0 );
+		final boolean validateOnBorrow = ConfigurationHelper.getBoolean( VALIDATE_ON_BORROW, configurationValues, false );
+		final int validationTimeout = ConfigurationHelper.getInt( VALIDATION_TIMEOUT, configurationValues, 5 );
+		final long leakDetectionThreshold = ConfigurationHelper.getLong( LEAK_DETECTION_THRESHOLD, configurationValues, 0 );
+
 		log.hibernateConnectionPoolSize( maxSize, minSize );
 
+		pool = new PooledConnections(
+				connectionCreator,
+				minSize,
+				maxSize,
+				acquireTimeout,
+				TimeUnit.SECONDS.toMillis( maxLifetime ),
+				validateOnBorrow,
+				validationTimeout,
+				TimeUnit.SECONDS.toMillis( leakDetectionThreshold )
+		);
+
 		log.debugf( "Initializing Connection pool with %s Connections", initialSize );
-		for ( int i = 0; i < initialSize; i++ ) {
-			connections.add( connectionCreator.createConnection() );
-		}
+		pool.addIdleConnections( Math.min( initialSize, maxSize ) );
 
 		executorService = Executors.newSingleThreadScheduledExecutor();
 		executorService.scheduleWithFixedDelay(
 				new Runnable() {
-					private boolean primed;
 					@Override
 					public void run() {
-						int size = connections.size();
-
-						if ( !primed && size >= minSize ) {
-							// IMPL NOTE : the purpose of primed is to allow the pool to lazily reach its
-							// defined min-size.
-							log.debug( "Connection pool now considered primed; min-size will be maintained" );
-							primed = true;
-						}
-
-						if ( size < minSize && primed ) {
-							int numberToBeAdded = minSize - size;
-							log.debugf( "Adding %s Connections to the pool", numberToBeAdded );
-							for (int i = 0; i < numberToBeAdded; i++) {
-								connections.add( connectionCreator.createConnection() );
-							}
-						}
-						else if ( size > maxSize ) {
-							int numberToBeRemoved = size - maxSize;
-							log.debugf( "Removing %s Connections from the pool", numberToBeRemoved );
-							for ( int i = 0; i < numberToBeRemoved; i++ ) {
-								Connection connection = connections.poll();
-								try {
-									connection.close();
-								}
-								catch (SQLException e) {
-									log.unableToCloseConnection( e );
-								}
-							}
-						}
+						pool.maintain();
 					}
 				},
 				validationInterval,
@@ -228,12 +222,7 @@ public class DriverManagerConnectionProviderImpl
 			throw new HibernateException( "Connection pool is no longer active" );
 		}
 
-		Connection connection;
-		if ( (connection = connections.poll()) == null ) {
-			connection = connectionCreator.createConnection();
-		}
-
-		return connection;
+		return pool.borrow();
 	}
 
 	@Override
@@ -242,7 +231,7 @@ public class DriverManagerConnectionProviderImpl
 			return;
 		}
 
-		this.connections.offer( conn );
+		pool.release( conn );
 	}
 
 
@@ -254,7 +243,8 @@ public class DriverManagerConnectionProviderImpl
 	@Override
 	public boolean isUnwrappableAs(Class unwrapType) {
 		return ConnectionProvider.class.equals( unwrapType ) ||
-				DriverManagerConnectionProviderImpl.class.isAssignableFrom( unwrapType );
+				DriverManagerConnectionProviderImpl.class.isAssignableFrom( unwrapType ) ||
+				ConnectionPoolStatistics.class.equals( unwrapType );
 	}
 
 	@Override
@@ -264,6 +254,9 @@ public class DriverManagerConnectionProviderImpl
 				DriverManagerConnectionProviderImpl.class.isAssignableFrom( unwrapType ) ) {
 			return (T) this;
 		}
+		else if ( ConnectionPoolStatistics.class.equals( unwrapType ) ) {
+			return (T) pool;
+		}
 		else {
 			throw new UnknownUnwrapTypeException( unwrapType );
 		}
@@ -287,13 +280,8 @@ public class DriverManagerConnectionProviderImpl
 		}
 		executorService = null;
 
-		for ( Connection connection : connections ) {
-			try {
-				connection.close();
-			}
-			catch (SQLException e) {
-				log.unableToClosePooledConnection( e );
-			}
+		if ( pool != null ) {
+			pool.close();
 		}
 	}
 
@@ -0,0 +1,443 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.connections.internal;
+
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.HibernateException;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.ConnectionPoolStatistics;
+
+/**
+ * The connection pool of {@link DriverManagerConnectionProviderImpl}.
+ * <p/>
+ * The number of connections handed out at any time is bounded by a fair {@link Semaphore}: once the pool is
+ * exhausted, requesting threads wait (in order of arrival) for a connection to be returned, up to the configured
+ * timeout.  A thread preferably re-uses the connection it used last, which can be claimed without touching any
+ * shared structure; otherwise the most recently returned idle connection is used.
+ * <p/>
+ * Connections are retired once they exceed their maximum lifetime or fail validation, which happens on borrow
+ * (if enabled) and periodically for idle connections (see {@link #maintain()}).  The periodic maintenance also
+ * reports connections in use for longer than the leak detection threshold.
+ */
+final class PooledConnections implements ConnectionPoolStatistics {
+	private static final CoreMessageLogger log = CoreLogging.messageLogger( PooledConnections.class );
+
+	private static final int IDLE = 0;
+	private static final int IN_USE = 1;
+	private static final int RETIRED = 2;
+
+	private final ConnectionCreator connectionCreator;
+	private final int minSize;
+	private final int maxSize;
+	private final long acquireTimeout;
+	private final long maxLifetime;
+	private final boolean validateOnBorrow;
+	private final int validationTimeout;
+	private final long leakDetectionThreshold;
+
+	private final Semaphore permits;
+	private final ConcurrentHashMap<Connection,PooledConnection> connections = new ConcurrentHashMap<Connection,PooledConnection>();
+	// the idle connections, most recently returned first; may hold connections claimed through lastUsed meanwhile
+	private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<PooledConnection>();
+	private final ThreadLocal<WeakReference<PooledConnection>> lastUsed = new ThreadLocal<WeakReference<PooledConnection>>();
+
+	private final AtomicLong acquireCount = new AtomicLong();
+	private final AtomicLong createCount = new AtomicLong();
+	private final AtomicLong retireCount = new AtomicLong();
+	private final AtomicLong timeoutCount = new AtomicLong();
+	private final AtomicLong leakCount = new AtomicLong();
+	private final AtomicLong maxWaitTime = new AtomicLong();
+
+	private volatile boolean active = true;
+	private boolean primed;
+
+	/**
+	 * Constructs the pool.
+	 *
+	 * @param connectionCreator The creator of the physical connections
+	 * @param minSize The number of connections maintained once reached
+	 * @param maxSize The maximum number of connections
+	 * @param acquireTimeout The time (in milliseconds) to wait for a connection when the pool is exhausted
+	 * @param maxLifetime The time (in milliseconds) after which a connection is retired, or {@code 0} to keep
+	 * connections indefinitely
+	 * @param validateOnBorrow Whether connections are validated before being handed out
+	 * @param validationTimeout The time (in seconds) to wait for a connection to be validated
+	 * @param leakDetectionThreshold The time (in milliseconds) after which a connection still in use is reported
+	 * as possibly leaked, or {@code 0} to disable leak detection
+	 */
+	PooledConnections(
+			ConnectionCreator connectionCreator,
+			int minSize,
+			int maxSize,
+			long acquireTimeout,
+			long maxLifetime,
+			boolean validateOnBorrow,
+			int validationTimeout,
+			long leakDetectionThreshold) {
+		this.connectionCreator = connectionCreator;
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.acquireTimeout = acquireTimeout;
+		this.maxLifetime = TimeUnit.MILLISECONDS.toNanos( maxLifetime );
+		this.validateOnBorrow = validateOnBorrow;
+		this.validationTimeout = validationTimeout;
+		this.leakDetectionThreshold = TimeUnit.MILLISECONDS.toNanos( leakDetectionThreshold );
+		this.permits = new Semaphore( maxSize, true );
+	}
+
+	/**
+	 * A pooled connection along with its bookkeeping.
+	 */
+	private static final class PooledConnection {
+		private final Connection connection;
+		private final long createdAt = System.nanoTime();
+		private final AtomicInteger state;
+		// is this connection (still) contained in idleConnections?
+		private final AtomicBoolean queued = new AtomicBoolean();
+
+		private volatile long borrowedAt;
+		private volatile Throwable borrowedFrom;
+		private volatile boolean leakReported;
+
+		private PooledConnection(Connection connection, int state) {
+			this.connection = connection;
+			this.state = new AtomicInteger( state );
+		}
+	}
+
+	/**
+	 * Add idle connections to the pool.
+	 *
+	 * @param numberOfConnections The number of connections to add
+	 */
+	void addIdleConnections(int numberOfConnections) {
+		for ( int i = 0; i < numberOfConnections; i++ ) {
+			makeIdle( create( IDLE ) );
+		}
+	}
+
+	/**
+	 * Obtain a connection, waiting for one to be returned if the pool is exhausted.
+	 *
+	 * @return The connection
+	 *
+	 * @throws SQLException Indicates no connection could be obtained in time
+	 */
+	Connection borrow() throws SQLException {
+		if ( !active ) {
+			throw new HibernateException( "Connection pool is no longer active" );
+		}
+
+		final long start = System.nanoTime();
+		try {
+			if ( !permits.tryAcquire( acquireTimeout, TimeUnit.MILLISECONDS ) ) {
+				timeoutCount.incrementAndGet();
+				throw new SQLTransientConnectionException(
+						"Unable to obtain a pooled connection within " + acquireTimeout + "ms (pool size " + maxSize + ")"
+				);
+			}
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException( "Interrupted while waiting for a pooled connection", e );
+		}
+		recordWaitTime( TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ) );
+
+		final PooledConnection pooledConnection;
+		try {
+			pooledConnection = claim();
+		}
+		catch ( RuntimeException e ) {
+			permits.release();
+			throw e;
+		}
+
+		pooledConnection.borrowedAt = System.nanoTime();
+		pooledConnection.leakReported = false;
+		if ( leakDetectionThreshold > 0 ) {
+			pooledConnection.borrowedFrom = new Throwable( "Connection obtained from the pool" );
+		}
+		final WeakReference<PooledConnection> lastUsedReference = lastUsed.get();
+		if ( lastUsedReference == null || lastUsedReference.get() != pooledConnection ) {
+			lastUsed.set( new WeakReference<PooledConnection>( pooledConnection ) );
+		}
+		acquireCount.incrementAndGet();
+		return pooledConnection.connection;
+	}
+
+	private void recordWaitTime(long waitTime) {
+		long max;
+		while ( waitTime > ( max = maxWaitTime.get() ) ) {
+			if ( maxWaitTime.compareAndSet( max, waitTime ) ) {
+				break;
+			}
+		}
+	}
+
+	private PooledConnection claim() {
+		PooledConnection pooledConnection;
+		while ( ( pooledConnection = claimIdle() ) != null ) {
+			if ( isExpired( pooledConnection ) || ( validateOnBorrow && !isValid( pooledConnection ) ) ) {
+				retire( pooledConnection );
+			}
+			else {
+				return pooledConnection;
+			}
+		}
+		return create( IN_USE );
+	}
+
+	private PooledConnection claimIdle() {
+		final WeakReference<PooledConnection> lastUsedReference = lastUsed.get();
+		PooledConnection pooledConnection = lastUsedReference == null ? null : lastUsedReference.get();
+		if ( pooledConnection != null && pooledConnection.state.compareAndSet( IDLE, IN_USE ) ) {
+			return pooledConnection;
+		}
+
+		while ( ( pooledConnection = idleConnections.pollFirst() ) != null ) {
+			// clear the flag *before* claiming, so that a connection in use is re-queued when it is returned
+			pooledConnection.queued.set( false );
+			if ( pooledConnection.state.compareAndSet( IDLE, IN_USE ) ) {
+				return pooledConnection;
+			}
+		}
+		return null;
+	}
+
+	private PooledConnection create(int state) {
+		final Connection connection = connectionCreator.createConnection();
+		final PooledConnection pooledConnection = new PooledConnection( connection, state );
+		connections.put( connection, pooledConnection );
+		createCount.incrementAndGet();
+		return pooledConnection;
+	}
+
+	private void makeIdle(PooledConnection pooledConnection) {
+		pooledConnection.state.set( IDLE );
+		if ( pooledConnection.queued.compareAndSet( false, true ) ) {
+			idleConnections.offerFirst( pooledConnection );
+		}
+	}
+
+	private boolean isExpired(PooledConnection pooledConnection) {
+		return maxLifetime > 0 && System.nanoTime() - pooledConnection.createdAt > maxLifetime;
+	}
+
+	private boolean isValid(PooledConnection pooledConnection) {
+		try {
+			return pooledConnection.connection.isValid( validationTimeout );
+		}
+		catch ( SQLException e ) {
+			log.debugf( "Validation of pooled connection failed: %s", e.getMessage() );
+			return false;
+		}
+	}
+
+	private void retire(PooledConnection pooledConnection) {
+		pooledConnection.state.set( RETIRED );
+		connections.remove( pooledConnection.connection );
+		retireCount.incrementAndGet();
+		closeQuietly( pooledConnection.connection );
+	}
+
+	private static void closeQuietly(Connection connection) {
+		try {
+			connection.close();
+		}
+		catch ( SQLException e ) {
+			log.unableToClosePooledConnection( e );
+		}
+	}
+
+	/**
+	 * Return a connection obtained through {@link #borrow()} to the pool.
+	 *
+	 * @param connection The connection
+	 */
+	void release(Connection connection) {
+		final PooledConnection pooledConnection = connections.get( connection );
+		if ( pooledConnection == null ) {
+			// not (or no longer) one of ours
+			closeQuietly( connection );
+			return;
+		}
+		if ( pooledConnection.state.get() != IN_USE ) {
+			log.debug( "Ignoring the release of a pooled connection which is not in use" );
+			return;
+		}
+
+		pooledConnection.borrowedFrom = null;
+		if ( !active || isExpired( pooledConnection ) ) {
+			retire( pooledConnection );
+		}
+		else {
+			makeIdle( pooledConnection );
+		}
+		permits.release();
+	}
+
+	/**
+	 * Periodic maintenance: retires idle connections which exceeded their lifetime or fail validation, reports
+	 * possibly leaked connections and keeps the pool at its minimum size (once it reached it).
+	 */
+	void maintain() {
+		if ( !active ) {
+			return;
+		}
+
+		for ( PooledConnection pooledConnection : connections.values() ) {
+			final int state = pooledConnection.state.get();
+			if ( state == IN_USE ) {
+				checkForLeak( pooledConnection );
+			}
+			else if ( state == IDLE && permits.tryAcquire() ) {
+				// holding a permit, the connection we claim here does not count against the other threads
+				try {
+					if ( pooledConnection.state.compareAndSet( IDLE, IN_USE ) ) {
+						if ( isExpired( pooledConnection ) || !isValid( pooledConnection ) ) {
+							log.debug( "Retiring idle pooled connection" );
+							retire( pooledConnection );
+						}
+						else {
+							makeIdle( pooledConnection );
+						}
+					}
+				}
+				finally {
+					permits.release();
+				}
+			}
+		}
+
+		final int size = connections.size();
+		if ( !primed && size >= minSize ) {
+			// IMPL NOTE : the purpose of primed is to allow the pool to lazily reach its
+			// defined min-size.
+			log.debug( "Connection pool now considered primed; min-size will be maintained" );
+			primed = true;
+		}
+		if ( primed && size < minSize ) {
+			final int numberToBeAdded = Math.min( minSize, maxSize ) - size;
+			log.debugf( "Adding %s Connections to the pool", numberToBeAdded );
+			addIdleConnections( numberToBeAdded );
+		}
+	}
+
+	private void checkForLeak(PooledConnection pooledConnection) {
+		if ( leakDetectionThreshold > 0
+				&& !pooledConnection.leakReported
+				&& System.nanoTime() - pooledConnection.borrowedAt > leakDetectionThreshold ) {
+			pooledConnection.leakReported = true;
+			leakCount.incrementAndGet();
+			log.possibleConnectionLeak(
+					TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - pooledConnection.borrowedAt ),
+					pooledConnection.borrowedFrom
+			);
+		}
+	}
+
+	/**
+	 * Closes the idle connections; connections in use are closed when released.
+	 */
+	void close() {
+		active = false;
+		for ( PooledConnection pooledConnection : connections.values() ) {
+			if ( pooledConnection.state.compareAndSet( IDLE, RETIRED ) ) {
+				connections.remove( pooledConnection.connection );
+				closeQuietly( pooledConnection.connection );
+			}
+		}
+		idleConnections.clear();
+	}
+
+
+	// ConnectionPoolStatistics ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public int getTotalCount() {
+		return connections.size();
+	}
+
+	@Override
+	public int getActiveCount() {
+		return maxSize - permits.availablePermits();
+	}
+
+	@Override
+	public int getIdleCount() {
+		return Math.max( getTotalCount() - getActiveCount(), 0 );
+	}
+
+	@Override
+	public int getWaitingThreadCount() {
+		return permits.getQueueLength();
+	}
+
+	@Override
+	public long getAcquireCount() {
+		return acquireCount.get();
+	}
+
+	@Override
+	public long getCreateCount() {
+		return createCount.get();
+	}
+
+	@Override
+	public long getRetireCount() {
+		return retireCount.get();
+	}
+
+	@Override
+	public long getTimeoutCount() {
+		return timeoutCount.get();
+	}
+
+	@Override
+	public long getLeakCount() {
+		return leakCount.get();
+	}
+
+	@Override
+	public long getMaxWaitTime() {
+		return maxWaitTime.get();
+	}
+}
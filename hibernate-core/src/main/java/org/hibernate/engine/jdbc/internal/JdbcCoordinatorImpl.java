@@ -35,6 +35,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.HibernateException;
@@ -80,6 +87,10 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 
 	private transient Batch currentBatch;
 
+	// the thread executing pipelined batches (see executeBatchInBackground), created on first use
+	private transient ThreadPoolExecutor batchExecutor;
+	private transient Future<Void> batchExecution;
+
 	private transient long transactionTimeOutInstant = -1;
 
 	/**
@@ -201,6 +212,10 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 			LOG.closingUnreleasedBatch();
 			currentBatch.release();
 		}
+		if ( batchExecutor != null ) {
+			batchExecutor.shutdown();
+			batchExecutor = null;
+		}
 		cleanup();
 		return logicalConnection.close();
 	}
@@ -236,6 +251,80 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		}
 	}
 
+	/**
+	 * Executes the given batch on a thread owned by this coordinator, so that the session can go on with work not
+	 * involving the Connection in the meantime.  At most one batch execution is in flight: a previous one is
+	 * awaited first.  Any further use of the Connection through this coordinator must be preceded by a call to
+	 * {@link #awaitBatchExecution()}, since JDBC drivers generally do not support concurrent use of a Connection.
+	 *
+	 * @param execution The execution of the batch
+	 */
+	public void executeBatchInBackground(Callable<Void> execution) {
+		awaitBatchExecution();
+		if ( batchExecutor == null ) {
+			batchExecutor = new ThreadPoolExecutor(
+					1,
+					1,
+					60,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(),
+					BatchExecutionThreadFactory.INSTANCE
+			);
+			batchExecutor.allowCoreThreadTimeOut( true );
+		}
+		transactionCoordinator.getTransactionContext().startBatchExecution();
+		try {
+			batchExecution = batchExecutor.submit( execution );
+		}
+		catch ( RuntimeException e ) {
+			transactionCoordinator.getTransactionContext().endBatchExecution();
+			throw e;
+		}
+	}
+
+	/**
+	 * Waits for the batch execution started by {@link #executeBatchInBackground}, if any, re-throwing its failure.
+	 */
+	public void awaitBatchExecution() {
+		if ( batchExecution == null ) {
+			return;
+		}
+
+		final Future<Void> execution = batchExecution;
+		batchExecution = null;
+		try {
+			execution.get();
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while waiting for batch execution", e );
+		}
+		catch ( ExecutionException e ) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new HibernateException( "Unexpected failure executing batch", cause );
+		}
+		finally {
+			transactionCoordinator.getTransactionContext().endBatchExecution();
+		}
+	}
+
+	private static class BatchExecutionThreadFactory implements ThreadFactory {
+		private static final BatchExecutionThreadFactory INSTANCE = new BatchExecutionThreadFactory();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "Hibernate JDBC batch execution" );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+
 	private transient StatementPreparer statementPreparer;
 
 	@Override
@@ -308,6 +397,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 
 	@Override
 	public <T> T coordinateWork(WorkExecutorVisitable<T> work) {
+		awaitBatchExecution();
 		final Connection connection = getLogicalConnection().getConnection();
 		try {
 			final T result = work.accept( new WorkExecutor<T>(), connection );
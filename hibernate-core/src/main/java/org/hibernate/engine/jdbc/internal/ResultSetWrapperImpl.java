@@ -31,7 +31,7 @@ import org.hibernate.engine.jdbc.spi.ResultSetWrapper;
 
 /**
  * Standard Hibernate implementation for wrapping a {@link ResultSet} in a
- " column name cache" wrapper.
+ " column name cache" wrapper, which reads all columns by position.
  *
  * @author Steve Ebersole
  * @author Gail Badner
@@ -75,6 +75,7 @@ class StatementPreparerImpl implements StatementPreparer {
 	
 	@Override
 	public Statement createStatement() {
+		jdbcCoordinator.awaitBatchExecution();
 		try {
 			final Statement statement = connection().createStatement();
 			jdbcCoordinator.register( statement );
@@ -177,6 +178,8 @@ class StatementPreparerImpl implements StatementPreparer {
 		}
 
 		public PreparedStatement prepareStatement() {
+			// the Connection is not used concurrently with a pipelined batch
+			jdbcCoordinator.awaitBatchExecution();
 			try {
 				jdbcCoordinator.getLogicalConnection().getJdbcServices().getSqlStatementLogger().logStatement( sql );
 
@@ -37,6 +37,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.entry.CollectionCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.internal.CachePutBatch;
 import org.hibernate.engine.spi.CollectionEntry;
 import org.hibernate.engine.spi.CollectionKey;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -234,8 +235,13 @@ public class CollectionLoadContext {
 			LOG.debugf( "%s collections were found in result set for role: %s", count, persister.getRole() );
 		}
 
+		// put the collections into the second-level cache together, allowing a single operation for the region
+		final CachePutBatch cachePuts = count > 1 ? new CachePutBatch( getLoadContext().getPersistenceContext().getSession() ) : null;
 		for ( LoadingCollectionEntry matchedCollectionEntry : matchedCollectionEntries ) {
-			endLoadingCollection( matchedCollectionEntry, persister );
+			endLoadingCollection( matchedCollectionEntry, persister, cachePuts );
+		}
+		if ( cachePuts != null ) {
+			cachePuts.execute();
 		}
 
 		if ( debugEnabled ) {
@@ -243,7 +249,10 @@ public class CollectionLoadContext {
 		}
 	}
 
-	private void endLoadingCollection(LoadingCollectionEntry lce, CollectionPersister persister) {
+	private void endLoadingCollection(
+			LoadingCollectionEntry lce,
+			CollectionPersister persister,
+			CachePutBatch cachePuts) {
 		LOG.tracev( "Ending loading collection [{0}]", lce );
 		final SessionImplementor session = getLoadContext().getPersistenceContext().getSession();
 
@@ -275,7 +284,7 @@ public class CollectionLoadContext {
 				// and this is not a forced initialization during flush
 				&& session.getCacheMode().isPutEnabled() && !ce.isDoremove();
 		if ( addToCache ) {
-			addCollectionToCache( lce, persister );
+			addCollectionToCache( lce, persister, cachePuts );
 		}
 
 		if ( LOG.isDebugEnabled() ) {
@@ -294,8 +303,12 @@ public class CollectionLoadContext {
 	 *
 	 * @param lce The entry representing the collection to add
 	 * @param persister The persister
+	 * @param cachePuts The batch to add the put to, if one
 	 */
-	private void addCollectionToCache(LoadingCollectionEntry lce, CollectionPersister persister) {
+	private void addCollectionToCache(
+			LoadingCollectionEntry lce,
+			CollectionPersister persister,
+			CachePutBatch cachePuts) {
 		final SessionImplementor session = getLoadContext().getPersistenceContext().getSession();
 		final SessionFactoryImplementor factory = session.getFactory();
 
@@ -363,7 +376,16 @@ public class CollectionLoadContext {
 		}
 
 		// CollectionRegionAccessStrategy has no update, so avoid putting uncommitted data via putFromLoad
-		if (isPutFromLoad) {
+		if ( isPutFromLoad && cachePuts != null ) {
+			cachePuts.add(
+					persister.getCacheAccessStrategy(),
+					cacheKey,
+					persister.getCacheEntryStructure().structure( entry ),
+					version,
+					factory.getSettings().isMinimalPutsEnabled() && session.getCacheMode()!= CacheMode.REFRESH
+			);
+		}
+		else if (isPutFromLoad) {
 			try {
 				session.getEventListenerManager().cachePutStart();
 				final boolean put = persister.getCacheAccessStrategy().putFromLoad(
@@ -30,11 +30,12 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -47,6 +48,7 @@ import org.hibernate.action.internal.BulkOperationCleanupAction;
 import org.hibernate.action.internal.CollectionRecreateAction;
 import org.hibernate.action.internal.CollectionRemoveAction;
 import org.hibernate.action.internal.CollectionUpdateAction;
+import org.hibernate.action.internal.EntityAction;
 import org.hibernate.action.internal.EntityDeleteAction;
 import org.hibernate.action.internal.EntityIdentityInsertAction;
 import org.hibernate.action.internal.EntityInsertAction;
@@ -63,6 +65,9 @@ import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.ForeignKeyDirection;
 import org.hibernate.type.Type;
 
 /**
@@ -120,7 +125,7 @@ public class ActionQueue {
 		unresolvedInsertions = new UnresolvedEntityInsertActions();
 
 		insertions = new ExecutableList<AbstractEntityInsertAction>( new InsertActionSorter() );
-		deletions = new ExecutableList<EntityDeleteAction>();
+		deletions = new ExecutableList<EntityDeleteAction>( new DeleteActionSorter() );
 		updates = new ExecutableList<EntityUpdateAction>();
 
 		collectionCreations = new ExecutableList<CollectionRecreateAction>();
@@ -590,6 +595,9 @@ public class ActionQueue {
 		if ( session.getFactory().getSettings().isOrderInsertsEnabled() ) {
 			insertions.sort();
 		}
+		if ( session.getFactory().getSettings().isOrderDeletesEnabled() ) {
+			deletions.sort();
+		}
 	}
 
 	public void clearFromFlushNeededCheck(int previousCollectionRemovalSize) {
@@ -785,129 +793,229 @@ public class ActionQueue {
 	}
 
 	/**
-	 * Order the {@link #insertions} queue such that we group inserts against the same entity together (without
-	 * violating constraints). The original order is generated by cascade order, which in turn is based on the
-	 * directionality of foreign-keys. So even though we will be changing the ordering here, we need to make absolutely
-	 * certain that we do not circumvent this FK ordering to the extent of causing constraint violations.
-	 * <p>
-	 * Sorts the insert actions using more hashes.
-	 * </p>
+	 * Orders entity actions such that actions against the same entity are grouped together (allowing larger JDBC
+	 * batches), without violating the foreign keys between the affected rows.
+	 * <p/>
+	 * The foreign keys are derived from the entity state and identifier: an action whose state or identifier
+	 * references the entity of another action through a many-to-one or constrained one-to-one association (directly
+	 * or from within a component) has its row referencing the row of that other action.  The actions are then topologically sorted, continuing with
+	 * actions against the same entity for as long as any of those are free of pending dependencies.  Beyond that,
+	 * the original (cascade) order is retained.  Should the dependencies be cyclic (which cascading never produces),
+	 * the remaining actions are left in their original order.
+	 * <p/>
 	 * NOTE: this class is not thread-safe.
-	 * 
-	 * @author Jay Erb
+	 *
+	 * @param <T> The type of entity actions being sorted
 	 */
-	private static class InsertActionSorter implements ExecutableList.Sorter<AbstractEntityInsertAction> {
+	private abstract static class EntityActionSorter<T extends EntityAction> implements ExecutableList.Sorter<T> {
+		private final boolean referencedFirst;
+
+		// the position of each action in the list being sorted, keyed by the action's entity instance
+		private Map<Object, Integer> positions;
+		// for each action, the positions of the actions which have to be executed after it
+		private List<List<Integer>> successors;
+		// for each action, the number of actions which have to be executed before it
+		private int[] predecessorCounts;
+
+		/**
+		 * @param referencedFirst Whether the rows referenced by other rows have to be processed first (inserts),
+		 * or last (deletes)
+		 */
+		protected EntityActionSorter(boolean referencedFirst) {
+			this.referencedFirst = referencedFirst;
+		}
+
 		/**
-		 * Singleton access
+		 * Access to the entity state of the given action, used to determine the references to other entities.
+		 *
+		 * @param action The action
+		 *
+		 * @return The entity state; may be {@code null}
 		 */
-		public static final InsertActionSorter INSTANCE = new InsertActionSorter();
+		protected abstract Object[] getState(T action);
 
-		// the mapping of entity names to their latest batch numbers.
-		private Map<String, Integer> latestBatches;
-		private Map<Object, Integer> entityBatchNumber;
+		@Override
+		public void sort(List<T> actions) {
+			final int size = actions.size();
+			if ( size < 2 ) {
+				return;
+			}
 
-		// the map of batch numbers to EntityInsertAction lists
-		private Map<Integer, List<AbstractEntityInsertAction>> actionBatches;
+			this.positions = new IdentityHashMap<Object, Integer>( size );
+			this.successors = new ArrayList<List<Integer>>( size );
+			this.predecessorCounts = new int[size];
+			for ( int i = 0; i < size; i++ ) {
+				positions.put( actions.get( i ).getInstance(), i );
+				successors.add( null );
+			}
 
-		public InsertActionSorter() {
+			for ( int i = 0; i < size; i++ ) {
+				final T action = actions.get( i );
+				final Object[] state = getState( action );
+				if ( state != null ) {
+					addDependencies( i, state, action.getPersister().getPropertyTypes(), action.getSession() );
+				}
+				// associations within the identifier (key-many-to-one, derived identifiers) are foreign keys as well
+				final Serializable id = action.getId();
+				if ( id != null ) {
+					addDependencies(
+							i,
+							new Object[] { id },
+							new Type[] { action.getPersister().getIdentifierType() },
+							action.getSession()
+					);
+				}
+			}
+
+			// the actions free of pending dependencies, per entity name and in original order
+			final Map<String, Queue<Integer>> ready = new LinkedHashMap<String, Queue<Integer>>();
+			for ( int i = 0; i < size; i++ ) {
+				if ( predecessorCounts[i] == 0 ) {
+					markReady( ready, actions, i );
+				}
+			}
+
+			final List<T> sorted = new ArrayList<T>( size );
+			final boolean[] done = new boolean[size];
+			Queue<Integer> current = null;
+			while ( sorted.size() < size ) {
+				if ( current == null || current.isEmpty() ) {
+					current = nextBatch( ready );
+					if ( current == null ) {
+						LOG.debug( "Cyclic dependencies between entity actions; retaining the order of the remaining actions" );
+						for ( int i = 0; i < size; i++ ) {
+							if ( !done[i] ) {
+								sorted.add( actions.get( i ) );
+							}
+						}
+						break;
+					}
+				}
+
+				final int position = current.poll();
+				done[position] = true;
+				sorted.add( actions.get( position ) );
+
+				final List<Integer> successorPositions = successors.get( position );
+				if ( successorPositions != null ) {
+					for ( Integer successor : successorPositions ) {
+						if ( --predecessorCounts[successor] == 0 ) {
+							markReady( ready, actions, successor );
+						}
+					}
+				}
+			}
+
+			this.positions = null;
+			this.successors = null;
+			this.predecessorCounts = null;
+
+			actions.clear();
+			actions.addAll( sorted );
 		}
 
-		/**
-		 * Sort the insert actions.
-		 */
-		public void sort(List<AbstractEntityInsertAction> insertions) {
-			// optimize the hash size to eliminate a rehash.
-			this.latestBatches = new HashMap<String, Integer>();
-			this.entityBatchNumber = new HashMap<Object, Integer>( insertions.size() + 1, 1.0f );
-			this.actionBatches = new HashMap<Integer, List<AbstractEntityInsertAction>>();
-
-			// the list of entity names that indicate the batch number
-			for ( AbstractEntityInsertAction action : insertions ) {
-				// remove the current element from insertions. It will be added back later.
-				String entityName = action.getEntityName();
-
-				// the entity associated with the current action.
-				Object currentEntity = action.getInstance();
-
-				Integer batchNumber;
-				if ( latestBatches.containsKey( entityName ) ) {
-					// There is already an existing batch for this type of entity.
-					// Check to see if the latest batch is acceptable.
-					batchNumber = findBatchNumber( action, entityName );
+		private void addDependencies(int position, Object[] values, Type[] types, SessionImplementor session) {
+			for ( int i = 0; i < types.length; i++ ) {
+				final Object value = values[i];
+				if ( value == null ) {
+					continue;
 				}
-				else {
-					// add an entry for this type of entity.
-					// we can be assured that all referenced entities have already
-					// been processed,
-					// so specify that this entity is with the latest batch.
-					// doing the batch number before adding the name to the list is
-					// a faster way to get an accurate number.
-
-					batchNumber = actionBatches.size();
-					latestBatches.put( entityName, batchNumber );
+				final Type type = types[i];
+				if ( type.isEntityType() ) {
+					if ( ( (EntityType) type ).getForeignKeyDirection() == ForeignKeyDirection.FROM_PARENT ) {
+						final Integer referenced = positions.get( unproxy( value ) );
+						if ( referenced != null && referenced != position ) {
+							if ( referencedFirst ) {
+								addDependency( referenced, position );
+							}
+							else {
+								addDependency( position, referenced );
+							}
+						}
+					}
+				}
+				else if ( type.isComponentType() && !type.isAnyType() ) {
+					final CompositeType componentType = (CompositeType) type;
+					addDependencies(
+							position,
+							componentType.getPropertyValues( value, session ),
+							componentType.getSubtypes(),
+							session
+					);
 				}
-				entityBatchNumber.put( currentEntity, batchNumber );
-				addToBatch( batchNumber, action );
 			}
-			insertions.clear();
+		}
+
+		private Object unproxy(Object value) {
+			if ( value instanceof HibernateProxy ) {
+				final LazyInitializer initializer = ( (HibernateProxy) value ).getHibernateLazyInitializer();
+				// an uninitialized proxy cannot be the instance of any of the actions
+				return initializer.isUninitialized() ? null : initializer.getImplementation();
+			}
+			return value;
+		}
 
-			// now rebuild the insertions list. There is a batch for each entry in the name list.
-			for ( int i = 0; i < actionBatches.size(); i++ ) {
-				List<AbstractEntityInsertAction> batch = actionBatches.get( i );
-				insertions.addAll( batch );
+		private void addDependency(int before, int after) {
+			List<Integer> successorPositions = successors.get( before );
+			if ( successorPositions == null ) {
+				successorPositions = new ArrayList<Integer>();
+				successors.set( before, successorPositions );
 			}
+			successorPositions.add( after );
+			predecessorCounts[after]++;
+		}
+
+		private void markReady(Map<String, Queue<Integer>> ready, List<T> actions, int position) {
+			final String entityName = actions.get( position ).getEntityName();
+			Queue<Integer> queue = ready.get( entityName );
+			if ( queue == null ) {
+				queue = new PriorityQueue<Integer>();
+				ready.put( entityName, queue );
+			}
+			queue.add( position );
 		}
 
 		/**
-		 * Finds an acceptable batch for this entity to be a member as part of the {@link InsertActionSorter}
-		 * 
-		 * @param action The action being sorted
-		 * @param entityName The name of the entity affected by the action
-		 * @return An appropriate batch number; todo document this process better
+		 * Picks the entity whose actions are executed next: the one with the earliest (in original order) action
+		 * which is free of pending dependencies.
 		 */
-		private Integer findBatchNumber(AbstractEntityInsertAction action, String entityName) {
-			// loop through all the associated entities and make sure they have been
-			// processed before the latest
-			// batch associated with this entity type.
-
-			// the current batch number is the latest batch for this entity type.
-			Integer latestBatchNumberForType = latestBatches.get( entityName );
-
-			// loop through all the associations of the current entity and make sure that they are processed
-			// before the current batch number
-			Object[] propertyValues = action.getState();
-			Type[] propertyTypes = action.getPersister().getClassMetadata().getPropertyTypes();
-
-			for ( int i = 0; i < propertyValues.length; i++ ) {
-				Object value = propertyValues[i];
-				Type type = propertyTypes[i];
-				if ( type.isEntityType() && value != null ) {
-					// find the batch number associated with the current association, if any.
-					Integer associationBatchNumber = entityBatchNumber.get( value );
-					if ( associationBatchNumber != null && associationBatchNumber.compareTo( latestBatchNumberForType ) > 0 ) {
-						// create a new batch for this type. The batch number is the number of current batches.
-						latestBatchNumberForType = actionBatches.size();
-						latestBatches.put( entityName, latestBatchNumberForType );
-						// since this entity will now be processed in the latest possible batch,
-						// we can be assured that it will come after all other associations,
-						// there's not need to continue checking.
-						break;
-					}
+		private Queue<Integer> nextBatch(Map<String, Queue<Integer>> ready) {
+			Queue<Integer> next = null;
+			for ( Queue<Integer> queue : ready.values() ) {
+				if ( !queue.isEmpty() && ( next == null || queue.peek() < next.peek() ) ) {
+					next = queue;
 				}
 			}
-			return latestBatchNumberForType;
+			return next;
 		}
+	}
 
-		private void addToBatch(Integer batchNumber, AbstractEntityInsertAction action) {
-			List<AbstractEntityInsertAction> actions = actionBatches.get( batchNumber );
+	/**
+	 * Order the {@link #insertions} queue such that rows are inserted before the rows referencing them.
+	 */
+	private static class InsertActionSorter extends EntityActionSorter<AbstractEntityInsertAction> {
+		public InsertActionSorter() {
+			super( true );
+		}
 
-			if ( actions == null ) {
-				actions = new LinkedList<AbstractEntityInsertAction>();
-				actionBatches.put( batchNumber, actions );
-			}
-			actions.add( action );
+		@Override
+		protected Object[] getState(AbstractEntityInsertAction action) {
+			return action.getState();
+		}
+	}
+
+	/**
+	 * Order the {@link #deletions} queue such that rows are deleted before the rows they reference.
+	 */
+	private static class DeleteActionSorter extends EntityActionSorter<EntityDeleteAction> {
+		public DeleteActionSorter() {
+			super( false );
 		}
 
+		@Override
+		protected Object[] getState(EntityDeleteAction action) {
+			return action.getState();
+		}
 	}
 
 }
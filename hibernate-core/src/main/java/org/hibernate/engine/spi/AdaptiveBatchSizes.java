@@ -0,0 +1,70 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.spi;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The batch sizes the sessions of a factory start out with for the entity names and collection roles, when batch
+ * sizes adapt to the use of the batch fetched entities and collections, see
+ * {@link org.hibernate.cfg.AvailableSettings#ADAPTIVE_BATCH_FETCH}.
+ * <p/>
+ * Each session adapts its batch sizes on its own (see {@link BatchFetchQueue}), so that different units of work
+ * settle on different sizes for the same association.  The size a session last settled on is recorded here as the
+ * starting size of the sessions after it, so that even short units of work benefit from what was learned before.
+ */
+public final class AdaptiveBatchSizes {
+	private final ConcurrentMap<String, Integer> startingBatchSizes = new ConcurrentHashMap<String, Integer>();
+
+	/**
+	 * Get the batch size a session starts out with for the given entity name or collection role.
+	 *
+	 * @param name The entity name or collection role
+	 * @param batchSize The configured batch size, which is the largest batch size
+	 *
+	 * @return The batch size to start out with
+	 */
+	public int getStartingBatchSize(String name, int batchSize) {
+		final Integer startingBatchSize = startingBatchSizes.get( name );
+		return startingBatchSize == null ? batchSize : Math.min( startingBatchSize, batchSize );
+	}
+
+	/**
+	 * Notification that a session settled on a new batch size for the given entity name or collection role.
+	 *
+	 * @param name The entity name or collection role
+	 * @param batchSize The new batch size
+	 */
+	public void batchSizeAdapted(String name, int batchSize) {
+		startingBatchSizes.put( name, batchSize );
+	}
+
+	/**
+	 * Forget the batch sizes the sessions settled on, so that sessions start out with the configured batch sizes.
+	 */
+	public void clear() {
+		startingBatchSizes.clear();
+	}
+}
@@ -24,19 +24,23 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 
 import org.hibernate.EntityMode;
 import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
+import org.hibernate.cache.spi.access.RegionAccessStrategy;
+import org.hibernate.collection.internal.AbstractPersistentCollection;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.Loadable;
 
 import org.jboss.logging.Logger;
 
@@ -67,14 +71,41 @@ public class BatchFetchQueue {
 	 * A Map structure is used to segment the keys by entity type since loading can only be done for a particular entity
 	 * type at a time.
 	 */
-	private final Map <String,LinkedHashSet<EntityKey>> batchLoadableEntityKeys = new HashMap <String,LinkedHashSet<EntityKey>>(8);
-	
+	private final Map<String, KeyQueue<EntityKey, EntityKey>> batchLoadableEntityKeys =
+			new HashMap<String, KeyQueue<EntityKey, EntityKey>>(8);
+
 	/**
 	 * Used to hold information about the collections that are currently eligible for batch-fetching.  Ultimately
 	 * used by {@link #getCollectionBatch} to build collection load batches.
 	 */
-	private final Map<String, LinkedHashMap<CollectionEntry, PersistentCollection>> batchLoadableCollections =
-			new HashMap<String, LinkedHashMap <CollectionEntry, PersistentCollection>>(8);
+	private final Map<String, KeyQueue<CollectionEntry, PersistentCollection>> batchLoadableCollections =
+			new HashMap<String, KeyQueue<CollectionEntry, PersistentCollection>>(8);
+
+	/**
+	 * The batch sizes the sessions of the factory start out with, or {@code null} unless
+	 * {@link org.hibernate.cfg.AvailableSettings#ADAPTIVE_BATCH_FETCH} is enabled.
+	 */
+	private final AdaptiveBatchSizes startingBatchSizes;
+
+	/**
+	 * The batch sizes of this session adapted to the use of the batch fetched entities and collections, keyed by
+	 * entity name or collection role.
+	 */
+	private final Map<String, AdaptiveBatchSize> adaptiveBatchSizes = new HashMap<String, AdaptiveBatchSize>(8);
+
+	/**
+	 * The keys of the entities batch fetched on behalf of another entity which were not accessed yet, mapped to
+	 * the entity name of the batch.  Collections track this themselves, see
+	 * {@link AbstractPersistentCollection#setBatchFetched}.
+	 */
+	private final Map<EntityKey, String> batchFetchedEntityKeys = new HashMap<EntityKey, String>(8);
+
+	/**
+	 * The second-level cache entries of batch loadable entities read from the cache along with other entries, which
+	 * were not loaded yet.  Used by {@link #getCachedEntityEntry} to serve the load of these entities without reading
+	 * the cache again.
+	 */
+	private final Map<EntityKey, Serializable> cachedEntityEntries = new HashMap<EntityKey, Serializable>(8);
 
 	/**
 	 * Constructs a queue for the given context.
@@ -83,17 +114,31 @@ public class BatchFetchQueue {
 	 */
 	public BatchFetchQueue(PersistenceContext context) {
 		this.context = context;
+		final SessionFactoryImplementor factory = context.getSession().getFactory();
+		this.startingBatchSizes = factory.getSettings().isAdaptiveBatchFetchEnabled()
+				? factory.getAdaptiveBatchSizes()
+				: null;
 	}
 
 	/**
 	 * Clears all entries from this fetch queue.
 	 * <p/>
-	 * Called after flushing or clearing the session.
+	 * Called after flushing or clearing the session.  The adaptive batch sizes are kept, along with the batch
+	 * fetched entities still associated with the context.
 	 */
 	public void clear() {
 		batchLoadableEntityKeys.clear();
 		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
+		cachedEntityEntries.clear();
+		if ( !batchFetchedEntityKeys.isEmpty() ) {
+			final Iterator<EntityKey> keys = batchFetchedEntityKeys.keySet().iterator();
+			while ( keys.hasNext() ) {
+				if ( !context.containsEntity( keys.next() ) ) {
+					keys.remove();
+				}
+			}
+		}
 	}
 
 
@@ -144,12 +189,12 @@ public class BatchFetchQueue {
 	 */
 	public void addBatchLoadableEntityKey(EntityKey key) {
 		if ( key.isBatchLoadable() ) {
-			LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( key.getEntityName());
-			if (set == null) {
-				set = new LinkedHashSet<EntityKey>(8);
-				batchLoadableEntityKeys.put( key.getEntityName(), set);
+			KeyQueue<EntityKey, EntityKey> queue = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( queue == null ) {
+				queue = new KeyQueue<EntityKey, EntityKey>();
+				batchLoadableEntityKeys.put( key.getEntityName(), queue );
 			}
-			set.add(key);
+			queue.add( key, key );
 		}
 	}
 	
@@ -161,17 +206,90 @@ public class BatchFetchQueue {
 	 */
 	public void removeBatchLoadableEntityKey(EntityKey key) {
 		if ( key.isBatchLoadable() ) {
-			LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( key.getEntityName());
-			if (set != null) {
-				set.remove(key);
+			KeyQueue<EntityKey, EntityKey> queue = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( queue != null ) {
+				queue.remove( key );
+			}
+			if ( !cachedEntityEntries.isEmpty() ) {
+				cachedEntityEntries.remove( key );
 			}
 		}
 	}
 
 	/**
-	 * Get a batch of unloaded identifiers for this class, using a slightly
-	 * complex algorithm that tries to grab keys registered immediately after
-	 * the given key.
+	 * Resolve the second-level cache entry of an entity being loaded.
+	 * <p/>
+	 * When the entity is batch loadable and the cache supports bulk access, the entries of the batch loadable
+	 * entities queued around it are read along with it, in a single operation, and kept for when these entities are
+	 * loaded in turn.
+	 *
+	 * @param persister The persister for the entity being loaded
+	 * @param id The identifier of the entity being loaded
+	 * @param cacheKey The cache key of the entity being loaded
+	 *
+	 * @return The cache entry, or {@code null} if the entity is not cached
+	 */
+	public Serializable getCachedEntityEntry(EntityPersister persister, Serializable id, CacheKey cacheKey) {
+		EntityKey key = null;
+		if ( !cachedEntityEntries.isEmpty() ) {
+			key = context.getSession().generateEntityKey( id, persister );
+			final Serializable cachedEntry = cachedEntityEntries.remove( key );
+			if ( cachedEntry != null ) {
+				return cachedEntry;
+			}
+		}
+
+		final KeyQueue<EntityKey, EntityKey> queue = batchLoadableEntityKeys.get( persister.getEntityName() );
+		if ( queue == null
+				|| !persister.isBatchLoadable()
+				|| !( persister instanceof Loadable )
+				|| !( persister.getCacheAccessStrategy() instanceof BulkRegionAccessStrategy ) ) {
+			return CacheHelper.fromSharedCache( context.getSession(), cacheKey, persister.getCacheAccessStrategy() );
+		}
+
+		if ( key == null ) {
+			key = context.getSession().generateEntityKey( id, persister );
+		}
+
+		final int batchSize = ( (Loadable) persister ).getBatchSize();
+		final EntityKey[] entityKeys = new EntityKey[batchSize];
+		final CacheKey[] cacheKeys = new CacheKey[batchSize];
+		entityKeys[0] = key;
+		cacheKeys[0] = cacheKey;
+		int count = 1;
+		final Iterator<KeyQueue.Entry<EntityKey, EntityKey>> entries = queue.neighbours( key );
+		while ( count < batchSize && entries.hasNext() ) {
+			final EntityKey entityKey = entries.next().getKey();
+			if ( !cachedEntityEntries.containsKey( entityKey ) ) {
+				entityKeys[count] = entityKey;
+				cacheKeys[count++] = context.getSession().generateCacheKey(
+						entityKey.getIdentifier(),
+						persister.getIdentifierType(),
+						persister.getRootEntityName()
+				);
+			}
+		}
+
+		final Serializable[] cachedEntries = CacheHelper.fromSharedCache(
+				context.getSession(),
+				count == batchSize ? cacheKeys : Arrays.copyOf( cacheKeys, count ),
+				persister.getCacheAccessStrategy()
+		);
+		for ( int i = 1; i < count; i++ ) {
+			if ( cachedEntries[i] != null ) {
+				cachedEntityEntries.put( entityKeys[i], cachedEntries[i] );
+			}
+		}
+		return cachedEntries[0];
+	}
+
+	/**
+	 * Get a batch of unloaded identifiers for this class, preferring the keys
+	 * registered immediately after the given key, then those registered
+	 * immediately before it.
+	 * <p/>
+	 * When the batch size is adaptive, fewer keys than the given batch size
+	 * may be returned even though more are available.
 	 *
 	 * @param persister The persister for the entities being loaded.
 	 * @param id The identifier of the entity currently demanding load.
@@ -186,47 +304,108 @@ public class BatchFetchQueue {
 		Serializable[] ids = new Serializable[batchSize];
 		ids[0] = id; //first element of array is reserved for the actual instance we are loading!
 		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
 
 		// TODO: this needn't exclude subclasses...
 
-		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( persister.getEntityName() );
-		if ( set != null ) {
-			for ( EntityKey key : set ) {
-				if ( checkForEnd && i == end ) {
-					//the first id found after the given id
-					return ids;
-				}
-				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
-					end = i;
-				}
-				else {
-					if ( !isCached( key, persister ) ) {
-						ids[i++] = key.getIdentifier();
-					}
+		final KeyQueue<EntityKey, EntityKey> queue = batchLoadableEntityKeys.get( persister.getEntityName() );
+		if ( queue != null ) {
+			final EntityKey key = context.getSession().generateEntityKey( id, persister );
+			final int size;
+			if ( startingBatchSizes != null ) {
+				// the entity demanding load was evidently not loaded by an earlier batch
+				batchFetchedEntityKeys.remove( key );
+				size = getAdaptiveBatchSize( persister.getEntityName() ).resize( batchSize );
+			}
+			else {
+				size = batchSize;
+			}
+
+			// whether keys are cached is resolved a chunk of keys at a time, when the cache supports bulk access
+			final EntityKey[] chunk = new EntityKey[ chunkSize( persister.hasCache(), persister.getCacheAccessStrategy(), size ) ];
+			final Iterator<KeyQueue.Entry<EntityKey, EntityKey>> entries = queue.neighbours( key );
+			while ( i < size && entries.hasNext() ) {
+				int chunkLength = 0;
+				while ( chunkLength < chunk.length && entries.hasNext() ) {
+					chunk[chunkLength++] = entries.next().getKey();
 				}
-				if ( i == batchSize ) {
-					i = 1; // end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
+				final boolean[] cached = areCached( chunk, chunkLength, id, persister );
+				for ( int j = 0; j < chunkLength && i < size; j++ ) {
+					if ( !cached[j] ) {
+						ids[i++] = chunk[j].getIdentifier();
+						if ( startingBatchSizes != null ) {
+							batchFetchedEntityKeys.put( chunk[j], persister.getEntityName() );
+						}
 					}
 				}
 			}
+			if ( startingBatchSizes != null ) {
+				getAdaptiveBatchSize( persister.getEntityName() ).fetched( i - 1 );
+			}
 		}
 		return ids; //we ran out of ids to try
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
+	/**
+	 * Notification that an entity was accessed through the context, which tells whether batch fetching it on behalf
+	 * of another entity was worthwhile.  Only relevant when the batch size is adaptive.
+	 *
+	 * @param key The key of the accessed entity
+	 */
+	public void notifyBatchFetchedEntityAccessed(EntityKey key) {
+		if ( !batchFetchedEntityKeys.isEmpty() ) {
+			final String entityName = batchFetchedEntityKeys.remove( key );
+			if ( entityName != null ) {
+				getAdaptiveBatchSize( entityName ).accessed();
+			}
+		}
+	}
+
+	private static int chunkSize(boolean hasCache, RegionAccessStrategy cacheAccessStrategy, int batchSize) {
+		return hasCache && cacheAccessStrategy instanceof BulkRegionAccessStrategy ? batchSize : 1;
+	}
+
+	private boolean[] areCached(EntityKey[] entityKeys, int length, Serializable id, EntityPersister persister) {
+		final boolean[] cached = new boolean[length];
 		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			final CacheKey key = context.getSession().generateCacheKey(
-					entityKey.getIdentifier(),
-					persister.getIdentifierType(),
-					entityKey.getEntityName()
-			);
-			return CacheHelper.fromSharedCache( context.getSession(), key, persister.getCacheAccessStrategy() ) != null;
+			final CacheKey[] keys = new CacheKey[length];
+			final int[] positions = new int[length];
+			int count = 0;
+			for ( int i = 0; i < length; i++ ) {
+				final EntityKey entityKey = entityKeys[i];
+				// the requested id is being loaded anyway
+				if ( persister.getIdentifierType().isEqual( id, entityKey.getIdentifier() ) ) {
+					continue;
+				}
+				// read along with another entry already
+				if ( cachedEntityEntries.containsKey( entityKey ) ) {
+					cached[i] = true;
+					continue;
+				}
+				positions[count] = i;
+				keys[count++] = context.getSession().generateCacheKey(
+						entityKey.getIdentifier(),
+						persister.getIdentifierType(),
+						persister.getRootEntityName()
+				);
+			}
+			final Serializable[] cachedValues = readCached( keys, count, persister.getCacheAccessStrategy() );
+			for ( int i = 0; i < count; i++ ) {
+				if ( cachedValues[i] != null ) {
+					cached[ positions[i] ] = true;
+					// kept for when the entity is loaded, see getCachedEntityEntry
+					cachedEntityEntries.put( entityKeys[ positions[i] ], cachedValues[i] );
+				}
+			}
+		}
+		return cached;
+	}
+
+	private Serializable[] readCached(CacheKey[] keys, int count, RegionAccessStrategy cacheAccessStrategy) {
+		if ( count == 0 ) {
+			return new Serializable[0];
 		}
-		return false;
+		final CacheKey[] cacheKeys = count == keys.length ? keys : Arrays.copyOf( keys, count );
+		return CacheHelper.fromSharedCache( context.getSession(), cacheKeys, cacheAccessStrategy );
 	}
 	
 
@@ -239,12 +418,12 @@ public class BatchFetchQueue {
 	public void addBatchLoadableCollection(PersistentCollection collection, CollectionEntry ce) {
 		final CollectionPersister persister = ce.getLoadedPersister();
 
-		LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( persister.getRole() );
-		if ( map == null ) {
-			map = new LinkedHashMap<CollectionEntry, PersistentCollection>( 16 );
-			batchLoadableCollections.put( persister.getRole(), map );
+		KeyQueue<CollectionEntry, PersistentCollection> queue = batchLoadableCollections.get( persister.getRole() );
+		if ( queue == null ) {
+			queue = new KeyQueue<CollectionEntry, PersistentCollection>();
+			batchLoadableCollections.put( persister.getRole(), queue );
 		}
-		map.put( ce, collection );
+		queue.add( ce, collection );
 	}
 	
 	/**
@@ -253,14 +432,19 @@ public class BatchFetchQueue {
 	 * if necessary
 	 */
 	public void removeBatchLoadableCollection(CollectionEntry ce) {
-		LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( ce.getLoadedPersister().getRole() );
-		if ( map != null ) {
-			map.remove( ce );
+		KeyQueue<CollectionEntry, PersistentCollection> queue = batchLoadableCollections.get( ce.getLoadedPersister().getRole() );
+		if ( queue != null ) {
+			queue.remove( ce );
 		}
 	}
 
 	/**
-	 * Get a batch of uninitialized collection keys for a given role
+	 * Get a batch of uninitialized collection keys for a given role, preferring
+	 * the collections registered immediately after the collection of the given
+	 * key, then those registered immediately before it.
+	 * <p/>
+	 * When the batch size is adaptive, fewer keys than the given batch size
+	 * may be returned even though more are available.
 	 *
 	 * @param collectionPersister The persister for the collection role.
 	 * @param id A key that must be included in the batch fetch
@@ -276,69 +460,301 @@ public class BatchFetchQueue {
 		keys[0] = id;
 
 		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
-
-		final LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( collectionPersister.getRole() );
-		if ( map != null ) {
-			for ( Entry<CollectionEntry, PersistentCollection> me : map.entrySet() ) {
-				final CollectionEntry ce = me.getKey();
-				final PersistentCollection collection = me.getValue();
-				
-				if ( ce.getLoadedKey() == null ) {
-					// the loadedKey of the collectionEntry might be null as it might have been reset to null
-					// (see for example Collections.processDereferencedCollection()
-					// and CollectionEntry.afterAction())
-					// though we clear the queue on flush, it seems like a good idea to guard
-					// against potentially null loadedKeys (which leads to various NPEs as demonstrated in HHH-7821).
-					continue;
-				}
 
-				if ( collection.wasInitialized() ) {
-					// should never happen
-					LOG.warn( "Encountered initialized collection in BatchFetchQueue, this should not happen." );
-					continue;
-				}
+		final KeyQueue<CollectionEntry, PersistentCollection> queue = batchLoadableCollections.get( collectionPersister.getRole() );
+		if ( queue != null ) {
+			final PersistentCollection demanding = context.getCollection( new CollectionKey( collectionPersister, id ) );
+			final int size;
+			if ( startingBatchSizes != null ) {
+				// the collection demanding load was evidently not loaded by an earlier batch
+				setBatchFetched( demanding, false );
+				size = getAdaptiveBatchSize( collectionPersister.getRole() ).resize( batchSize );
+			}
+			else {
+				size = batchSize;
+			}
 
-				if ( checkForEnd && i == end ) {
-					return keys; //the first key found after the given key
-				}
+			// whether keys are cached is resolved a chunk of keys at a time, when the cache supports bulk access
+			final CollectionEntry[] chunk = new CollectionEntry[
+					chunkSize( collectionPersister.hasCache(), collectionPersister.getCacheAccessStrategy(), size )
+			];
+			final PersistentCollection[] chunkCollections = new PersistentCollection[chunk.length];
+			final Iterator<KeyQueue.Entry<CollectionEntry, PersistentCollection>> entries = queue.neighbours(
+					demanding == null ? null : context.getCollectionEntry( demanding )
+			);
+			while ( i < size && entries.hasNext() ) {
+				int chunkLength = 0;
+				while ( chunkLength < chunk.length && entries.hasNext() ) {
+					final KeyQueue.Entry<CollectionEntry, PersistentCollection> me = entries.next();
+					final CollectionEntry ce = me.getKey();
+					final PersistentCollection collection = me.getValue();
+
+					if ( ce.getLoadedKey() == null ) {
+						// the loadedKey of the collectionEntry might be null as it might have been reset to null
+						// (see for example Collections.processDereferencedCollection()
+						// and CollectionEntry.afterAction())
+						// though we clear the queue on flush, it seems like a good idea to guard
+						// against potentially null loadedKeys (which leads to various NPEs as demonstrated in HHH-7821).
+						continue;
+					}
 
-				final boolean isEqual = collectionPersister.getKeyType().isEqual(
-						id,
-						ce.getLoadedKey(),
-						collectionPersister.getFactory()
-				);
+					if ( collection.wasInitialized() ) {
+						// should never happen
+						LOG.warn( "Encountered initialized collection in BatchFetchQueue, this should not happen." );
+						continue;
+					}
 
-				if ( isEqual ) {
-					end = i;
-					//checkForEnd = false;
-				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
-					keys[i++] = ce.getLoadedKey();
-					//count++;
-				}
+					if ( collectionPersister.getKeyType().isEqual( id, ce.getLoadedKey(), collectionPersister.getFactory() ) ) {
+						// the requested key is being loaded anyway
+						continue;
+					}
 
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
+					chunkCollections[chunkLength] = collection;
+					chunk[chunkLength++] = ce;
+				}
+				final boolean[] cached = areCached( chunk, chunkLength, id, collectionPersister );
+				for ( int j = 0; j < chunkLength && i < size; j++ ) {
+					if ( !cached[j] ) {
+						keys[i++] = chunk[j].getLoadedKey();
+						if ( startingBatchSizes != null ) {
+							setBatchFetched( chunkCollections[j], true );
+						}
 					}
 				}
 			}
+			if ( startingBatchSizes != null ) {
+				getAdaptiveBatchSize( collectionPersister.getRole() ).fetched( i - 1 );
+			}
 		}
 		return keys; //we ran out of keys to try
 	}
 
-	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
+	/**
+	 * Notification that a collection batch fetched on behalf of another collection was accessed, which tells that
+	 * batch fetching it was worthwhile.  Only relevant when the batch size is adaptive.
+	 *
+	 * @param role The role of the accessed collection
+	 */
+	public void notifyBatchFetchedCollectionAccessed(String role) {
+		final AdaptiveBatchSize adaptiveBatchSize = adaptiveBatchSizes.get( role );
+		if ( adaptiveBatchSize != null ) {
+			adaptiveBatchSize.accessed();
+		}
+	}
+
+	private static void setBatchFetched(PersistentCollection collection, boolean batchFetched) {
+		if ( collection instanceof AbstractPersistentCollection ) {
+			( (AbstractPersistentCollection) collection ).setBatchFetched( batchFetched );
+		}
+	}
+
+	private boolean[] areCached(
+			CollectionEntry[] collectionEntries,
+			int length,
+			Serializable id,
+			CollectionPersister persister) {
+		final boolean[] cached = new boolean[length];
 		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			CacheKey cacheKey = context.getSession().generateCacheKey(
-					collectionKey,
-					persister.getKeyType(),
-					persister.getRole()
-			);
-			return CacheHelper.fromSharedCache( context.getSession(), cacheKey, persister.getCacheAccessStrategy() ) != null;
+			final CacheKey[] keys = new CacheKey[length];
+			final int[] positions = new int[length];
+			int count = 0;
+			for ( int i = 0; i < length; i++ ) {
+				final Serializable collectionKey = collectionEntries[i].getLoadedKey();
+				// the requested key is being loaded anyway
+				if ( !persister.getKeyType().isEqual( id, collectionKey, persister.getFactory() ) ) {
+					positions[count] = i;
+					keys[count++] = context.getSession().generateCacheKey(
+							collectionKey,
+							persister.getKeyType(),
+							persister.getRole()
+					);
+				}
+			}
+			final Serializable[] cachedValues = readCached( keys, count, persister.getCacheAccessStrategy() );
+			for ( int i = 0; i < count; i++ ) {
+				cached[ positions[i] ] = cachedValues[i] != null;
+			}
+		}
+		return cached;
+	}
+
+
+	// adaptive batch size support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	private AdaptiveBatchSize getAdaptiveBatchSize(String name) {
+		AdaptiveBatchSize adaptiveBatchSize = adaptiveBatchSizes.get( name );
+		if ( adaptiveBatchSize == null ) {
+			adaptiveBatchSize = new AdaptiveBatchSize( name, startingBatchSizes );
+			adaptiveBatchSizes.put( name, adaptiveBatchSize );
+		}
+		return adaptiveBatchSize;
+	}
+
+	/**
+	 * The batch size of an entity name or collection role, adapted to the share of the keys fetched on behalf of
+	 * other entities or collections which are then accessed.  It starts at the size the sessions before settled on
+	 * (at first the configured batch size), halves while fewer than a quarter of these keys are accessed and doubles
+	 * (up to the configured batch size) while at least three quarters of them are.
+	 */
+	private static final class AdaptiveBatchSize {
+		/**
+		 * The smallest batch size an adaptive batch size shrinks to; a batch must keep fetching at least one key on
+		 * behalf of other entities or collections to find out whether it should grow again.
+		 */
+		private static final int MIN_BATCH_SIZE = 2;
+
+		private final String name;
+		private final AdaptiveBatchSizes startingBatchSizes;
+
+		private int size;
+		private int fetched;
+		private int accessed;
+
+		private AdaptiveBatchSize(String name, AdaptiveBatchSizes startingBatchSizes) {
+			this.name = name;
+			this.startingBatchSizes = startingBatchSizes;
+		}
+
+		/**
+		 * Adapt the batch size to the keys accessed since it last changed, once at least a batch worth of keys
+		 * were fetched.
+		 *
+		 * @param batchSize The configured batch size, which is the largest batch size
+		 *
+		 * @return The batch size to use
+		 */
+		private int resize(int batchSize) {
+			if ( size == 0 ) {
+				size = startingBatchSizes.getStartingBatchSize( name, batchSize );
+			}
+			else if ( size > batchSize ) {
+				size = batchSize;
+			}
+			else if ( fetched >= size - 1 ) {
+				final int previousSize = size;
+				if ( accessed * 4 >= fetched * 3 ) {
+					size = Math.min( size * 2, batchSize );
+				}
+				else if ( accessed * 4 < fetched ) {
+					size = Math.min( Math.max( size / 2, MIN_BATCH_SIZE ), batchSize );
+				}
+				fetched = 0;
+				accessed = 0;
+				if ( size != previousSize ) {
+					startingBatchSizes.batchSizeAdapted( name, size );
+				}
+			}
+			return size;
+		}
+
+		private void fetched(int count) {
+			fetched += count;
+		}
+
+		private void accessed() {
+			accessed++;
+		}
+	}
+
+	/**
+	 * The keys eligible for batch fetching of an entity name or collection role, in the order they were registered.
+	 * Keys are indexed, so that adding and removing a key and finding the keys registered around a given key do not
+	 * scan the whole queue.
+	 */
+	private static final class KeyQueue<K, V> {
+		private final Map<K, Entry<K, V>> entries = new HashMap<K, Entry<K, V>>( 16 );
+		private Entry<K, V> tail;
+
+		private void add(K key, V value) {
+			final Entry<K, V> existing = entries.get( key );
+			if ( existing != null ) {
+				// keeps its place in the queue
+				existing.value = value;
+				return;
+			}
+			final Entry<K, V> entry = new Entry<K, V>( key, value );
+			entry.previous = tail;
+			if ( tail != null ) {
+				tail.next = entry;
+			}
+			tail = entry;
+			entries.put( key, entry );
+		}
+
+		private void remove(K key) {
+			final Entry<K, V> entry = entries.remove( key );
+			if ( entry == null ) {
+				return;
+			}
+			if ( entry.previous != null ) {
+				entry.previous.next = entry.next;
+			}
+			if ( entry.next != null ) {
+				entry.next.previous = entry.previous;
+			}
+			else {
+				tail = entry.previous;
+			}
+		}
+
+		/**
+		 * Iterate the entries registered after the entry of the given key, then those registered before it, nearest
+		 * first.  When the key is not queued, iterate all entries starting with the last one registered.  The entry
+		 * of the given key itself is skipped.
+		 */
+		private Iterator<Entry<K, V>> neighbours(K key) {
+			final Entry<K, V> origin = key == null ? null : entries.get( key );
+			return new Iterator<Entry<K, V>>() {
+				private Entry<K, V> next = origin == null ? null : origin.next;
+				private Entry<K, V> previous = origin == null ? tail : origin.previous;
+
+				@Override
+				public boolean hasNext() {
+					return next != null || previous != null;
+				}
+
+				@Override
+				public Entry<K, V> next() {
+					final Entry<K, V> entry;
+					if ( next != null ) {
+						entry = next;
+						next = next.next;
+					}
+					else if ( previous != null ) {
+						entry = previous;
+						previous = previous.previous;
+					}
+					else {
+						throw new NoSuchElementException();
+					}
+					return entry;
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		private static final class Entry<K, V> {
+			private final K key;
+			private V value;
+			private Entry<K, V> previous;
+			private Entry<K, V> next;
+
+			private Entry(K key, V value) {
+				this.key = key;
+				this.value = value;
+			}
+
+			private K getKey() {
+				return key;
+			}
+
+			private V getValue() {
+				return value;
+			}
 		}
-		return false;
 	}
 }
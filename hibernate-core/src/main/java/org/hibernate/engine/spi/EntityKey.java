@@ -49,8 +49,9 @@ import org.hibernate.pretty.MessageHelper;
 public final class EntityKey implements Serializable {
 
 	private final Serializable identifier;
-	private final int hashCode;
 	private final EntityPersister persister;
+	// lazily computed, as many keys are only ever used for lookups not needing it
+	private int hashCode;
 
 	/**
 	 * Construct a unique identifier for an entity class instance.
@@ -68,7 +69,6 @@ public final class EntityKey implements Serializable {
 			throw new AssertionFailure( "null identifier" );
 		}
 		this.identifier = id;
-		this.hashCode = generateHashCode();
 	}
 
 	private int generateHashCode() {
@@ -89,6 +89,10 @@ public final class EntityKey implements Serializable {
 		return persister.getEntityName();
 	}
 
+	public EntityPersister getPersister() {
+		return persister;
+	}
+
 	@Override
 	public boolean equals(Object other) {
 		if ( this == other ) {
@@ -119,7 +123,12 @@ public final class EntityKey implements Serializable {
 
 	@Override
 	public int hashCode() {
-		return hashCode;
+		int result = hashCode;
+		if ( result == 0 ) {
+			result = generateHashCode();
+			hashCode = result;
+		}
+		return result;
 	}
 
 	@Override
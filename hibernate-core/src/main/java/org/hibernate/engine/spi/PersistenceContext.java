@@ -189,6 +189,41 @@ public interface PersistenceContext {
 	 */
 	public boolean containsEntity(EntityKey key);
 
+	/**
+	 * Get the entity instance with the given identifier.  Equivalent to {@link #getEntity(EntityKey)}, but
+	 * avoids the creation of an {@link EntityKey} where possible.
+	 *
+	 * @param id The identifier of the entity
+	 * @param persister The persister of the entity
+	 *
+	 * @return The matching entity, or {@code null}
+	 */
+	public Object getEntity(Serializable id, EntityPersister persister);
+
+	/**
+	 * Is there an entity with the given identifier in the persistence context?  Equivalent to
+	 * {@link #containsEntity(EntityKey)}, but avoids the creation of an {@link EntityKey} where possible.
+	 *
+	 * @param id The identifier of the entity
+	 * @param persister The persister of the entity
+	 *
+	 * @return {@code true} indicates an entity was found; otherwise {@code false}
+	 */
+	public boolean containsEntity(Serializable id, EntityPersister persister);
+
+	/**
+	 * Get the key of the entity with the given identifier.  For an entity in the persistence context this is
+	 * (where possible) its existing key, looked up by identifier and persister; otherwise a new key.  So a key is
+	 * only created for an entity not yet associated, as opposed to
+	 * {@link SessionImplementor#generateEntityKey(Serializable, EntityPersister)}.
+	 *
+	 * @param id The identifier of the entity
+	 * @param persister The persister of the entity
+	 *
+	 * @return The key
+	 */
+	public EntityKey resolveEntityKey(Serializable id, EntityPersister persister);
+
 	/**
 	 * Remove an entity.  Also clears up all other state associated with the entity aside from the {@link EntityEntry}
 	 *
@@ -506,6 +541,44 @@ public interface PersistenceContext {
 	 */
 	public Map.Entry<Object,EntityEntry>[] reentrantSafeEntityEntries();
 
+	/**
+	 * Provides access to the entity/EntityEntry combos a flush has to dirty check, in the same reentrant safe manner as
+	 * {@link #reentrantSafeEntityEntries}.  Unless flushing of tracked changes only is enabled, these are all
+	 * the entity/EntityEntry combos.  Otherwise entities enhanced for dirty tracking which are known to be
+	 * unmodified since the last flush are left out.  Likewise read-only entities which do not own collections are
+	 * left out if so configured.
+	 *
+	 * @return The entity/EntityEntry combos to flush
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_TRACKED_CHANGES_ONLY
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_SKIP_READ_ONLY_ENTITIES
+	 */
+	public Map.Entry<Object,EntityEntry>[] reentrantSafeEntityEntriesToFlush();
+
+	/**
+	 * Provides access to the entity/EntityEntry combos the flush-time cascades start from, in the same reentrant
+	 * safe manner as {@link #reentrantSafeEntityEntries}.  Unless flushing of tracked changes only is enabled, these
+	 * are all the entity/EntityEntry combos.  Otherwise entities enhanced for dirty tracking which are known to be
+	 * unmodified since the last flush are left out: their associations did not change since they were loaded or
+	 * last flushed, so they only reach entities which were associated with the persistence context by then.
+	 *
+	 * @return The entity/EntityEntry combos to cascade from
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#FLUSH_TRACKED_CHANGES_ONLY
+	 */
+	public Map.Entry<Object,EntityEntry>[] reentrantSafeEntityEntriesToCascadeOnFlush();
+
+	/**
+	 * Register a managed entity as (potentially) modified, so the next flush visits it even when flushing only
+	 * tracked changes.  Called by entities enhanced for dirty tracking once they are changed, and when an entity
+	 * is deleted.
+	 *
+	 * @param entity The modified entity
+	 *
+	 * @see #reentrantSafeEntityEntriesToFlush
+	 */
+	public void registerModifiedEntity(Object entity);
+
 	/**
 	 * Get the mapping from entity instance to entity entry
 	 *
@@ -23,10 +23,10 @@
  */
 package org.hibernate.engine.spi;
 
-import org.hibernate.SessionEventListener;
+import org.hibernate.QueryExecutionSessionEventListener;
 
 /**
  * @author Steve Ebersole
  */
-public interface SessionEventListenerManager extends SessionEventListener {
+public interface SessionEventListenerManager extends QueryExecutionSessionEventListener {
 }
@@ -291,4 +291,12 @@ public interface SessionFactoryImplementor extends Mapping, SessionFactory {
 	public NamedQueryRepository getNamedQueryRepository();
 
 	Iterable<EntityNameResolver> iterateEntityNameResolvers();
+
+	/**
+	 * Get the batch sizes the sessions of this factory start out with, as the sessions before them settled on.
+	 * Only used when {@link org.hibernate.cfg.AvailableSettings#ADAPTIVE_BATCH_FETCH} is enabled.
+	 *
+	 * @return The starting adaptive batch sizes
+	 */
+	public AdaptiveBatchSizes getAdaptiveBatchSizes();
 }
@@ -23,6 +23,8 @@
  */
 package org.hibernate.event.internal;
 
+import java.util.concurrent.TimeUnit;
+
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.event.spi.AutoFlushEvent;
@@ -58,6 +60,8 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 				// Need to get the number of collection removals before flushing to executions
 				// (because flushing to executions can add collection removal actions to the action queue).
 				final int oldSize = source.getActionQueue().numberOfCollectionRemovals();
+				final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+				final long startTime = stats ? System.nanoTime() : 0;
 				flushEverythingToExecutions(event);
 				if ( flushIsReallyNeeded(event, source) ) {
 					LOG.trace( "Need to execute flush" );
@@ -69,8 +73,10 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 
 					postPostFlush( source );
 
-					if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
-						source.getFactory().getStatisticsImplementor().flush();
+					if ( stats ) {
+						source.getFactory().getStatisticsImplementor().flush(
+								TimeUnit.MICROSECONDS.convert( System.nanoTime() - startTime, TimeUnit.NANOSECONDS )
+						);
 					}
 				}
 				else {
@@ -270,6 +270,7 @@ public class DefaultDeleteEventListener implements DeleteEventListener {
 
 		// before any callbacks, etc, so subdeletions see that this deletion happened first
 		persistenceContext.setEntryStatus( entityEntry, Status.DELETED );
+		persistenceContext.registerModifiedEntity( entity );
 		final EntityKey key = session.generateEntityKey( entityEntry.getId(), persister );
 
 		cascadeBeforeDelete( session, persister, entity, entityEntry, transientEntities );
@@ -36,7 +36,6 @@ import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
-import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.EntityEntry;
@@ -304,6 +303,10 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 		if ( !options.isAllowProxyCreation() ) {
 			impl = load( event, persister, keyToLoad, options );
 			if ( impl == null ) {
+				if ( !options.isDatasourceLoadAllowed() ) {
+					// not resolvable from the caches; leave the proxy untouched
+					return null;
+				}
 				event.getSession()
 						.getFactory()
 						.getEntityNotFoundDelegate()
@@ -343,6 +346,7 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 					return null;
 				}
 			}
+			notifyBatchFetchedEntityAccessed( event, keyToLoad );
 			return existing;
 		}
 		LOG.trace( "Creating new proxy for entity" );
@@ -353,6 +357,12 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 		return proxy;
 	}
 
+	private void notifyBatchFetchedEntityAccessed(LoadEvent event, EntityKey keyToLoad) {
+		if ( event.getSession().getFactory().getSettings().isAdaptiveBatchFetchEnabled() ) {
+			event.getSession().getPersistenceContext().getBatchFetchQueue().notifyBatchFetchedEntityAccessed( keyToLoad );
+		}
+	}
+
 	/**
 	 * If the class to be loaded has been configured with a cache, then lock
 	 * given id in that cache and then perform the load.
@@ -446,6 +456,7 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 						MessageHelper.infoString( persister, event.getEntityId(), event.getSession().getFactory() )
 				);
 			}
+			notifyBatchFetchedEntityAccessed( event, keyToLoad );
 			return entity;
 		}
 
@@ -465,6 +476,9 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 						MessageHelper.infoString( persister, event.getEntityId(), event.getSession().getFactory() )
 				);
 			}
+			if ( !options.isDatasourceLoadAllowed() ) {
+				return null;
+			}
 			entity = loadFromDatasource( event, persister, keyToLoad, options );
 		}
 
@@ -595,7 +609,12 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				persister.getRootEntityName()
 		);
 
-		final Object ce = CacheHelper.fromSharedCache( source, ck, persister.getCacheAccessStrategy() );
+		// entries of batch loadable entities are read along with those of the entities queued around them
+		final Object ce = source.getPersistenceContext().getBatchFetchQueue().getCachedEntityEntry(
+				persister,
+				event.getEntityId(),
+				ck
+		);
 		if ( factory.getStatistics().isStatisticsEnabled() ) {
 			if ( ce == null ) {
 				factory.getStatisticsImplementor().secondLevelCacheMiss(
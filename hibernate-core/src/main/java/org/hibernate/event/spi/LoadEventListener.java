@@ -85,6 +85,17 @@ public interface LoadEventListener extends Serializable {
 			.setCheckDeleted( false )
 			.setNakedEntityReturned( false );
 
+	/**
+	 * Resolves the entity from the persistence context or the second-level cache only, never hitting the
+	 * database; used to pre-resolve entities ahead of a multi-id load.
+	 */
+	public static final LoadType CACHE_ONLY = new LoadType( "CACHE_ONLY" )
+			.setAllowNulls( true )
+			.setAllowProxyCreation( false )
+			.setCheckDeleted( true )
+			.setNakedEntityReturned( false )
+			.setDatasourceLoadAllowed( false );
+
 	public static final class LoadType {
 		private String name;
 
@@ -92,6 +103,7 @@ public interface LoadEventListener extends Serializable {
 		private boolean allowNulls;
 		private boolean checkDeleted;
 		private boolean allowProxyCreation;
+		private boolean datasourceLoadAllowed = true;
 
 		private LoadType(String name) {
 			this.name = name;
@@ -133,6 +145,15 @@ public interface LoadEventListener extends Serializable {
 			return this;
 		}
 
+		public boolean isDatasourceLoadAllowed() {
+			return datasourceLoadAllowed;
+		}
+
+		private LoadType setDatasourceLoadAllowed(boolean datasourceLoadAllowed) {
+			this.datasourceLoadAllowed = datasourceLoadAllowed;
+			return this;
+		}
+
 		public String getName() {
 			return name;
 		}
@@ -33,7 +33,9 @@ import antlr.collections.AST;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.hql.internal.antlr.HqlSqlTokenTypes;
 import org.hibernate.hql.internal.antlr.HqlTokenTypes;
+import org.hibernate.param.NamedParameterSpecification;
 import org.hibernate.param.ParameterSpecification;
+import org.hibernate.type.InListArrayType;
 import org.hibernate.type.Type;
 
 /**
@@ -79,6 +81,11 @@ public class InLogicOperatorNode extends BinaryLogicOperatorNode implements Bina
 		}
 
 		final SessionFactoryImplementor sessionFactory = getSessionFactoryHelper().getFactory();
+		if ( isArrayParameterInList( inList ) ) {
+			mutateArrayParameterInList( lhs, inList, sessionFactory );
+			return;
+		}
+
 		if ( sessionFactory.getDialect().supportsRowValueConstructorSyntaxInInList() ) {
 			return;
 		}
@@ -114,6 +121,40 @@ public class InLogicOperatorNode extends BinaryLogicOperatorNode implements Bina
 		}
 	}
 
+	/**
+	 * Is the in-list a single parameter list bound as an array (see {@link InListArrayType#PARAMETER_NAME_SUFFIX})?
+	 */
+	private static boolean isArrayParameterInList(Node inList) {
+		final AST rhsNode = inList.getFirstChild();
+		if ( !ParameterNode.class.isInstance( rhsNode ) || rhsNode.getNextSibling() != null ) {
+			return false;
+		}
+		final ParameterSpecification specification = ( (ParameterNode) rhsNode ).getHqlParameterSpecification();
+		return specification instanceof NamedParameterSpecification
+				&& ( (NamedParameterSpecification) specification ).getName().endsWith( InListArrayType.PARAMETER_NAME_SUFFIX );
+	}
+
+	/**
+	 * Replace the array parameter by the Dialect's sub-select selecting the array elements.
+	 * <p/>
+	 * For example, here we'd mutate "... where e.id in (:ids_array_) ..." to
+	 * "... where e.id in (select unnest(?)) ..."
+	 */
+	private void mutateArrayParameterInList(Node lhs, Node inList, SessionFactoryImplementor sessionFactory)
+			throws SemanticException {
+		final Type lhsType = extractDataType( lhs );
+		if ( lhsType == null || lhsType.getColumnSpan( sessionFactory ) != 1 ) {
+			throw new SemanticException( "left-hand operand of in operator with an array parameter must be of a single-column type" );
+		}
+		final ParameterNode parameterNode = (ParameterNode) inList.getFirstChild();
+		final SqlFragment subselect = (SqlFragment) getASTFactory().create(
+				HqlSqlTokenTypes.SQL_TOKEN,
+				sessionFactory.getDialect().getArrayElementsSubselect( lhsType.sqlTypes( sessionFactory )[0] )
+		);
+		subselect.addEmbeddedParameter( parameterNode.getHqlParameterSpecification() );
+		inList.setFirstChild( subselect );
+	}
+
 	/**
 	 * this is possible for parameter lists and explicit lists. It is completely unreasonable for sub-queries.
 	 */
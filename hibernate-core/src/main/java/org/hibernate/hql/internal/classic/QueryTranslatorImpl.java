@@ -951,9 +951,18 @@ public class QueryTranslatorImpl extends BasicLoader implements FilterTranslator
 		long startTime = 0;
 		if ( stats ) startTime = System.nanoTime();
 
+		final String queryIdentifier = "HQL: " + queryString;
+		session.getEventListenerManager().queryExecutionStart( queryIdentifier );
+
 		try {
 			final List<AfterLoadAction> afterLoadActions = new ArrayList<AfterLoadAction>();
-			final SqlStatementWrapper wrapper = executeQueryStatement( queryParameters, false, afterLoadActions, session );
+			SqlStatementWrapper wrapper = null;
+			try {
+				wrapper = executeQueryStatement( queryParameters, false, afterLoadActions, session );
+			}
+			finally {
+				session.getEventListenerManager().queryExecutionEnd( queryIdentifier, 0, wrapper != null );
+			}
 			final ResultSet rs = wrapper.getResultSet();
 			final PreparedStatement st = (PreparedStatement) wrapper.getStatement();
 			HolderInstantiator hi = HolderInstantiator.createClassicHolderInstantiator(holderConstructor, queryParameters.getResultTransformer());
@@ -963,7 +972,7 @@ public class QueryTranslatorImpl extends BasicLoader implements FilterTranslator
 				final long endTime = System.nanoTime();
 				final long milliseconds = TimeUnit.MILLISECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
 				session.getFactory().getStatisticsImplementor().queryExecuted(
-						"HQL: " + queryString,
+						queryIdentifier,
 						0,
 						milliseconds
 					);
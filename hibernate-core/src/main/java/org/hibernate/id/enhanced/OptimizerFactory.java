@@ -24,9 +24,14 @@
 package org.hibernate.id.enhanced;
 
 import java.lang.reflect.Constructor;
+import java.util.Properties;
+
+import org.hibernate.cfg.AvailableSettings;
 
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.jboss.logging.Logger;
 
 /**
@@ -116,6 +121,32 @@ public class OptimizerFactory {
 		return optimizer;
 	}
 
+	/**
+	 * Determine the optimizer to use when there was not one explicitly specified: no optimization if the increment
+	 * size is one, otherwise the preferred pooled optimizer (see {@link AvailableSettings#PREFERRED_POOLED_OPTIMIZER}
+	 * and {@link AvailableSettings#PREFER_POOLED_VALUES_LO}).
+	 *
+	 * @param incrementSize The increment size
+	 * @param configSettings The generator configuration
+	 *
+	 * @return The optimizer strategy (name)
+	 */
+	public static String determineImplicitOptimizerName(int incrementSize, Properties configSettings) {
+		if ( incrementSize <= 1 ) {
+			return StandardOptimizerDescriptor.NONE.getExternalName();
+		}
+
+		// if the increment size is greater than one, we prefer pooled optimization; but we first
+		// need to see if the user prefers a specific pooled optimizer (or at least POOL_LO over POOL)...
+		final String preferredPooledOptimizerStrategy = configSettings.getProperty( AvailableSettings.PREFERRED_POOLED_OPTIMIZER );
+		if ( StringHelper.isNotEmpty( preferredPooledOptimizerStrategy ) ) {
+			return preferredPooledOptimizerStrategy;
+		}
+		return ConfigurationHelper.getBoolean( AvailableSettings.PREFER_POOLED_VALUES_LO, configSettings, false )
+				? StandardOptimizerDescriptor.POOLED_LO.getExternalName()
+				: StandardOptimizerDescriptor.POOLED.getExternalName();
+	}
+
 	/**
 	 * Deprecated!
 	 *
@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Variation of {@link PooledLoOptimizer} which leases each block of values to a single thread.  The database value
+ * is interpreted as the lo value of the block, as for {@link PooledLoOptimizer}, so both can be used against the
+ * same database structure.
+ * <p/>
+ * Values are generated from the block of the calling thread without any synchronization; only obtaining a new
+ * block from the database (through {@link AccessCallback#getNextValue()}) is synchronized.  This avoids the
+ * contention of the other (synchronized) optimizers when many threads generate identifiers concurrently.
+ * <p/>
+ * The price is that values are not handed out in ascending order across threads, and that the values left in the
+ * block of a thread which stops generating identifiers (or ends) are never used.
+ *
+ * @see PooledLoOptimizer
+ */
+public class PooledLoThreadLocalOptimizer extends AbstractOptimizer {
+	private static final CoreMessageLogger log = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PooledLoThreadLocalOptimizer.class.getName()
+	);
+
+	private static class GenerationState {
+		// the current generator value
+		private IntegralDataTypeHolder value;
+		// the value at which we'll hit the db again
+		private IntegralDataTypeHolder upperLimitValue;
+	}
+
+	private final ThreadLocal<GenerationState> noTenantState = new ThreadLocal<GenerationState>();
+	private final ThreadLocal<Map<String,GenerationState>> tenantSpecificState = new ThreadLocal<Map<String,GenerationState>>();
+
+	// last value read from db source, by any thread
+	private volatile IntegralDataTypeHolder lastSourceValue;
+
+	/**
+	 * Constructs a PooledLoThreadLocalOptimizer.
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public PooledLoThreadLocalOptimizer(Class returnClass, int incrementSize) {
+		super( returnClass, incrementSize );
+		if ( incrementSize < 1 ) {
+			throw new HibernateException( "increment size cannot be less than 1" );
+		}
+		if ( log.isTraceEnabled() ) {
+			log.tracev(
+					"Creating thread-local pooled optimizer (lo) with [incrementSize={0}; returnClass={1}]",
+					incrementSize,
+					returnClass.getName()
+			);
+		}
+	}
+
+	@Override
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
+
+		if ( generationState.value == null || ! generationState.value.lt( generationState.upperLimitValue ) ) {
+			final IntegralDataTypeHolder sourceValue = obtainNextSourceValue( callback );
+			generationState.upperLimitValue = sourceValue.copy().add( incrementSize );
+			generationState.value = sourceValue.copy();
+			// handle cases where initial-value is less that one (hsqldb for instance).
+			while ( generationState.value.lt( 1 ) ) {
+				generationState.value.increment();
+			}
+		}
+		return generationState.value.makeValueThenIncrement();
+	}
+
+	private synchronized IntegralDataTypeHolder obtainNextSourceValue(AccessCallback callback) {
+		final IntegralDataTypeHolder sourceValue = callback.getNextValue();
+		lastSourceValue = sourceValue;
+		return sourceValue;
+	}
+
+	private GenerationState locateGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			GenerationState state = noTenantState.get();
+			if ( state == null ) {
+				state = new GenerationState();
+				noTenantState.set( state );
+			}
+			return state;
+		}
+		else {
+			Map<String,GenerationState> states = tenantSpecificState.get();
+			if ( states == null ) {
+				states = new HashMap<String,GenerationState>();
+				tenantSpecificState.set( states );
+			}
+			GenerationState state = states.get( tenantIdentifier );
+			if ( state == null ) {
+				state = new GenerationState();
+				states.put( tenantIdentifier, state );
+			}
+			return state;
+		}
+	}
+
+	@Override
+	public IntegralDataTypeHolder getLastSourceValue() {
+		if ( lastSourceValue == null ) {
+			throw new IllegalStateException( "Could not locate previous generation state" );
+		}
+		return lastSourceValue;
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+}
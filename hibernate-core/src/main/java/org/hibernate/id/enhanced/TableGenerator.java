@@ -42,7 +42,6 @@ import org.hibernate.boot.model.relational.Database;
 import org.hibernate.boot.model.relational.QualifiedName;
 import org.hibernate.boot.model.relational.QualifiedNameParser;
 import org.hibernate.boot.model.relational.Schema;
-import org.hibernate.cfg.Environment;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
@@ -381,14 +380,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 		this.updateQuery = buildUpdateQuery();
 		this.insertQuery = buildInsertQuery();
 
-		// if the increment size is greater than one, we prefer pooled optimization; but we
-		// need to see if the user prefers POOL or POOL_LO...
-		final String defaultPooledOptimizerStrategy = ConfigurationHelper.getBoolean( Environment.PREFER_POOLED_VALUES_LO, params, false )
-				? StandardOptimizerDescriptor.POOLED_LO.getExternalName()
-				: StandardOptimizerDescriptor.POOLED.getExternalName();
-		final String defaultOptimizerStrategy = incrementSize <= 1
-				? StandardOptimizerDescriptor.NONE.getExternalName()
-				: defaultPooledOptimizerStrategy;
+		final String defaultOptimizerStrategy = OptimizerFactory.determineImplicitOptimizerName( incrementSize, params );
 		final String optimizationStrategy = ConfigurationHelper.getString( OPT_PARAM, params, defaultOptimizerStrategy );
 		optimizer = OptimizerFactory.buildOptimizer(
 				optimizationStrategy,
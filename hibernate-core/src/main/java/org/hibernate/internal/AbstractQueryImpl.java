@@ -38,6 +38,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
@@ -56,6 +58,7 @@ import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.hql.internal.ast.ASTQueryTranslatorFactory;
 import org.hibernate.hql.internal.classic.ParserHelper;
 import org.hibernate.internal.util.MarkerObject;
 import org.hibernate.internal.util.ReflectHelper;
@@ -64,6 +67,7 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.property.Getter;
 import org.hibernate.proxy.HibernateProxyHelper;
 import org.hibernate.transform.ResultTransformer;
+import org.hibernate.type.InListArrayType;
 import org.hibernate.type.SerializableType;
 import org.hibernate.type.StandardBasicTypes;
 import org.hibernate.type.Type;
@@ -85,6 +89,15 @@ public abstract class AbstractQueryImpl implements Query {
 	private static final Object UNSET_PARAMETER = new MarkerObject("<unset parameter>");
 	private static final Object UNSET_TYPE = new MarkerObject("<unset type>");
 
+	// a path, followed by [not] in [(], ending the text before a list parameter
+	private static final Pattern IN_PREDICATE_PATTERN = Pattern.compile(
+			"([\\w.]+)\\s+(not\\s+)?in\\s*(\\()?\\s*$",
+			Pattern.CASE_INSENSITIVE
+	);
+	private static final Set<String> PREDICATE_KEYWORDS = new HashSet<String>(
+			Arrays.asList( "where", "and", "or", "not", "on", "with", "having", "when" )
+	);
+
 	private final String queryString;
 	protected final SessionImplementor session;
 	protected final ParameterMetadata parameterMetadata;
@@ -812,14 +825,9 @@ public abstract class AbstractQueryImpl implements Query {
 	 */
 	private String expandParameterList(String query, String name, TypedValue typedList, Map namedParamsCopy) {
 		Collection vals = (Collection) typedList.getValue();
-		
-		// HHH-1123
-		// Some DBs limit number of IN expressions.  For now, warn...
+
 		final Dialect dialect = session.getFactory().getDialect();
 		final int inExprLimit = dialect.getInExpressionCountLimit();
-		if ( inExprLimit > 0 && vals.size() > inExprLimit ) {
-			log.tooManyInExpressions( dialect.getClass().getName(), inExprLimit, name, vals.size() );
-		}
 
 		Type type = typedList.getType();
 
@@ -855,31 +863,223 @@ public abstract class AbstractQueryImpl implements Query {
 			return query;
 		}
 
-		StringBuilder list = new StringBuilder( 16 );
+		if ( vals.size() > 1
+				&& supportsArrayParameterList()
+				&& InListArrayType.isApplicable( type, session.getFactory() )
+				&& isInListOperand( query, placeholder ) ) {
+			final InListArrayType arrayType = new InListArrayType( type, session.getFactory() );
+			final String alias = ( isJpaPositionalParam ? 'x' + name : name ) + InListArrayType.PARAMETER_NAME_SUFFIX;
+			namedParamsCopy.put( alias, new TypedValue( arrayType, vals.toArray() ) );
+			return StringHelper.replace(
+					beforePlaceholder,
+					afterPlaceholder,
+					placeholder,
+					renderArrayParameterList( alias, arrayType ),
+					true,
+					true
+			);
+		}
+
+		final List<String> aliases = new ArrayList<String>( vals.size() );
+		Object value = null;
 		Iterator iter = vals.iterator();
-		int i = 0;
 		while ( iter.hasNext() ) {
-			// Variable 'name' can represent a number or contain digit at the end. Surrounding it with
-			// characters to avoid ambiguous definition after concatenating value of 'i' counter.
-			String alias = ( isJpaPositionalParam ? 'x' + name : name ) + '_' + i++ + '_';
-			if ( namedParamsCopy.put( alias, new TypedValue( type, iter.next() ) ) != null ) {
-				throw new HibernateException( "Repeated usage of alias '" + alias + "' while expanding list parameter." );
+			value = iter.next();
+			aliases.add( bindListValue( name, isJpaPositionalParam, aliases.size(), type, value, namedParamsCopy ) );
+		}
+		if ( session.getFactory().getSettings().isInClauseParameterPaddingEnabled() ) {
+			// repeat the last value, so that lists of similar sizes render the same query (and so share the
+			// query plan and the prepared statement)
+			final int paddedSize = paddedListSize( aliases.size(), inExprLimit );
+			while ( aliases.size() < paddedSize ) {
+				aliases.add( bindListValue( name, isJpaPositionalParam, aliases.size(), type, value, namedParamsCopy ) );
 			}
-			list.append( ParserHelper.HQL_VARIABLE_PREFIX ).append( alias );
-			if ( iter.hasNext() ) {
-				list.append( ", " );
+		}
+
+		// HHH-1123
+		// Some DBs limit number of IN expressions.  Split the list into several IN predicates where the
+		// expression can be recognized; otherwise warn...
+		if ( inExprLimit > 0 && vals.size() > inExprLimit ) {
+			final String splitQuery = splitInPredicates( query, placeholder, aliases, inExprLimit );
+			if ( splitQuery != null ) {
+				return splitQuery;
 			}
+			log.tooManyInExpressions( dialect.getClass().getName(), inExprLimit, name, vals.size() );
 		}
+
 		return StringHelper.replace(
 				beforePlaceholder,
 				afterPlaceholder,
 				placeholder.toString(),
-				list.toString(),
+				renderParameterList( aliases, 0, aliases.size() ),
 				true,
 				true
 		);
 	}
 
+	private static String bindListValue(
+			String name,
+			boolean isJpaPositionalParam,
+			int index,
+			Type type,
+			Object value,
+			Map namedParamsCopy) {
+		// Variable 'name' can represent a number or contain digit at the end. Surrounding it with
+		// characters to avoid ambiguous definition after concatenating value of 'i' counter.
+		String alias = ( isJpaPositionalParam ? 'x' + name : name ) + '_' + index + '_';
+		if ( namedParamsCopy.put( alias, new TypedValue( type, value ) ) != null ) {
+			throw new HibernateException( "Repeated usage of alias '" + alias + "' while expanding list parameter." );
+		}
+		return alias;
+	}
+
+	/**
+	 * The number of values to bind for a parameter list of the given size when padding is enabled: the next power
+	 * of two, but no more than the limit on the size of IN lists.  Lists above that limit are split into IN lists
+	 * of the maximum size, and only the last one is padded.
+	 */
+	static int paddedListSize(int size, int inExprLimit) {
+		int fullLists = 0;
+		int remainder = size;
+		if ( inExprLimit > 0 && size > inExprLimit ) {
+			remainder = size % inExprLimit;
+			fullLists = size - remainder;
+		}
+		if ( remainder <= 1 ) {
+			return size;
+		}
+		int padded = Integer.highestOneBit( remainder - 1 ) << 1;
+		if ( inExprLimit > 0 && padded > inExprLimit ) {
+			padded = inExprLimit;
+		}
+		return fullLists + padded;
+	}
+
+	private static String renderParameterList(List<String> aliases, int from, int to) {
+		StringBuilder list = new StringBuilder( 16 );
+		for ( int i = from; i < to; i++ ) {
+			if ( i > from ) {
+				list.append( ", " );
+			}
+			list.append( ParserHelper.HQL_VARIABLE_PREFIX ).append( aliases.get( i ) );
+		}
+		return list.toString();
+	}
+
+	/**
+	 * Replace each {@code path [not] in (placeholder)} predicate by a disjunction (or, for {@code not in}, a
+	 * conjunction) of predicates over IN lists of at most {@code inExprLimit} values.
+	 *
+	 * @return The rewritten query, or {@code null} if some use of the placeholder is not such a predicate
+	 */
+	private static String splitInPredicates(String query, String placeholder, List<String> aliases, int inExprLimit) {
+		final StringBuilder buf = new StringBuilder( query.length() + aliases.size() * 16 );
+		final Matcher matcher = IN_PREDICATE_PATTERN.matcher( query );
+		int copied = 0;
+		int loc = query.indexOf( placeholder );
+		while ( loc >= 0 ) {
+			int end = loc + placeholder.length();
+			if ( end < query.length() && Character.isJavaIdentifierPart( query.charAt( end ) ) ) {
+				// another parameter whose name starts with this one
+				loc = query.indexOf( placeholder, end );
+				continue;
+			}
+			matcher.region( copied, loc );
+			if ( !matcher.find() || !isPredicateStart( query.substring( copied, matcher.start() ) ) ) {
+				return null;
+			}
+			if ( matcher.group( 3 ) != null ) {
+				end = query.indexOf( ')', end );
+				if ( end < 0 || query.substring( loc + placeholder.length(), end ).trim().length() > 0 ) {
+					return null;
+				}
+				end++;
+			}
+			final String operand = matcher.group( 1 );
+			final boolean negated = matcher.group( 2 ) != null;
+
+			buf.append( query, copied, matcher.start() ).append( '(' );
+			for ( int from = 0; from < aliases.size(); from += inExprLimit ) {
+				if ( from > 0 ) {
+					buf.append( negated ? " and " : " or " );
+				}
+				buf.append( operand ).append( negated ? " not in (" : " in (" )
+						.append( renderParameterList( aliases, from, Math.min( from + inExprLimit, aliases.size() ) ) )
+						.append( ')' );
+			}
+			buf.append( ')' );
+			copied = end;
+			loc = query.indexOf( placeholder, end );
+		}
+		return buf.append( query, copied, query.length() ).toString();
+	}
+
+	/**
+	 * Is each use of the placeholder the only element of the IN list of a {@code path [not] in (placeholder)}
+	 * predicate?
+	 */
+	private static boolean isInListOperand(String query, String placeholder) {
+		final Matcher matcher = IN_PREDICATE_PATTERN.matcher( query );
+		int loc = query.indexOf( placeholder );
+		while ( loc >= 0 ) {
+			final int end = loc + placeholder.length();
+			if ( end < query.length() && Character.isJavaIdentifierPart( query.charAt( end ) ) ) {
+				// another parameter whose name starts with this one
+				loc = query.indexOf( placeholder, end );
+				continue;
+			}
+			matcher.region( 0, loc );
+			if ( !matcher.find() ) {
+				return false;
+			}
+			final char next = StringHelper.getFirstNonWhitespaceCharacter( query.substring( end ) );
+			if ( matcher.group( 3 ) != null ? next != ')' : next == ',' ) {
+				return false;
+			}
+			loc = query.indexOf( placeholder, end );
+		}
+		return true;
+	}
+
+	/**
+	 * Does the translation of this query support parameter lists bound as a single array parameter?
+	 * <p/>
+	 * For HQL only the AST based translator does; the classic translator keeps the expanded parameter lists.
+	 *
+	 * @return {@code true} if parameter lists may be bound as a single array parameter
+	 */
+	protected boolean supportsArrayParameterList() {
+		return session.getFactory().getSettings().getQueryTranslatorFactory() instanceof ASTQueryTranslatorFactory;
+	}
+
+	/**
+	 * Render the IN list element standing for the values of a parameter list bound as a single array parameter.
+	 * <p/>
+	 * For HQL this is the parameter itself; the translator replaces it by the sub-select selecting the array
+	 * elements (see {@link org.hibernate.hql.internal.ast.tree.InLogicOperatorNode}).
+	 *
+	 * @param alias The name of the array parameter
+	 * @param arrayType The type of the array parameter
+	 *
+	 * @return The IN list element
+	 */
+	protected String renderArrayParameterList(String alias, InListArrayType arrayType) {
+		return ParserHelper.HQL_VARIABLE_PREFIX + alias;
+	}
+
+	private static boolean isPredicateStart(String beforeOperand) {
+		final char last = StringHelper.getLastNonWhitespaceCharacter( beforeOperand );
+		if ( last == '\0' || last == '(' ) {
+			return true;
+		}
+		final String trimmed = beforeOperand.trim();
+		int wordStart = trimmed.length();
+		while ( wordStart > 0 && Character.isLetter( trimmed.charAt( wordStart - 1 ) ) ) {
+			wordStart--;
+		}
+		return PREDICATE_KEYWORDS.contains( trimmed.substring( wordStart ).toLowerCase( Locale.ROOT ) );
+	}
+
 	public Query setParameterList(String name, Collection vals) throws HibernateException {
 		if ( vals == null ) {
 			throw new QueryException( "Collection must be not null!" );
@@ -1702,4 +1702,21 @@ public interface CoreMessageLogger extends BasicLogger {
 
 	@Message(value = "The ClassLoaderService can not be reused. This instance was stopped already.", id = 469)
 	HibernateException usingStoppedClassLoaderService();
+
+	@LogMessage(level = INFO)
+	@Message(value = "JDBC batches executed: %s", id = 470)
+	void jdbcBatchesExecuted(long jdbcBatchExecutionCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Statements executed in JDBC batches: %s", id = 471)
+	void jdbcBatchedStatements(long jdbcBatchedStatementCount);
+
+	@LogMessage(level = WARN)
+	@Message(value = "Pooled connection in use for %sms, possibly leaked", id = 472)
+	void possibleConnectionLeak(long timeInUse, @Cause Throwable borrowedFrom);
+
+	@LogMessage(level = INFO)
+	@Message(value = "Connection pool: %s of %s connections in use, %s acquired, %s created, %s retired, %s timed out, %s possibly leaked, max wait time: %sms", id = 473)
+	void connectionPoolStatistics(int activeCount, int totalCount, long acquireCount, long createCount, long retireCount,
+			long timeoutCount, long leakCount, long maxWaitTime);
 }
@@ -51,7 +51,9 @@ import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.engine.spi.NamedSQLQueryDefinition;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.classic.ParserHelper;
 import org.hibernate.internal.util.StringHelper;
+import org.hibernate.type.InListArrayType;
 import org.hibernate.type.Type;
 
 /**
@@ -153,6 +155,19 @@ public class SQLQueryImpl extends AbstractQueryImpl implements SQLQuery {
 		);
 	}
 
+	@Override
+	protected boolean supportsArrayParameterList() {
+		return true;
+	}
+
+	@Override
+	protected String renderArrayParameterList(String alias, InListArrayType arrayType) {
+		// native SQL is not translated, so render the sub-select selecting the array elements right away
+		final String subselect = getSession().getFactory().getDialect()
+				.getArrayElementsSubselect( arrayType.getElementSqlType() );
+		return StringHelper.replace( subselect, "?", ParserHelper.HQL_VARIABLE_PREFIX + alias );
+	}
+
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException {
 		verifyParameters();
 		before();
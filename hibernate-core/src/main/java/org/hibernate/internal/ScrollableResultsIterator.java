@@ -0,0 +1,197 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.hibernate.JDBCException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.HibernateIterator;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.internal.util.collections.IdentitySet;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+/**
+ * An iterator over the rows of {@link ScrollableResults}, as the base for streaming query results.  Like
+ * {@link org.hibernate.Query#list()}, single column rows are returned as the row's only element, other rows as
+ * arrays.
+ * <p/>
+ * If requested, the entities of a row are evicted from the persistence context once the iterator advances past
+ * that row (or is closed), so that the persistence context does not grow with the number of rows iterated.  Such
+ * entities are detached when the next row is obtained, and so is any entity to which eviction cascades.  Only the
+ * entities loaded by the iteration are evicted, and only while unmodified: entities already managed before the
+ * iteration started, and entities with changes not yet flushed, remain managed.
+ */
+public final class ScrollableResultsIterator implements HibernateIterator {
+	private final ScrollableResults scrollableResults;
+	private final IdentitySet managedBeforeIteration;
+
+	private boolean closed;
+	private Boolean hasNext;
+	private Object[] currentRow;
+
+	/**
+	 * Constructs a ScrollableResultsIterator
+	 *
+	 * @param scrollableResults The (forward-only) results to iterate
+	 * @param evictRows Whether to evict the entities of a row once advancing past it
+	 */
+	public ScrollableResultsIterator(ScrollableResults scrollableResults, boolean evictRows) {
+		this.scrollableResults = scrollableResults;
+		this.managedBeforeIteration = evictRows ? getManagedEntities( scrollableResults ) : null;
+	}
+
+	private static IdentitySet getManagedEntities(ScrollableResults scrollableResults) {
+		if ( !( scrollableResults instanceof AbstractScrollableResults ) ) {
+			return null;
+		}
+		final SessionImplementor session = ( (AbstractScrollableResults) scrollableResults ).getSession();
+		if ( !( session instanceof EventSource ) ) {
+			// a stateless session has no persistence context to evict from
+			return null;
+		}
+		final Map.Entry<Object, EntityEntry>[] entityEntries = session.getPersistenceContext().reentrantSafeEntityEntries();
+		final IdentitySet managedEntities = new IdentitySet( entityEntries.length );
+		for ( Map.Entry<Object, EntityEntry> entityEntry : entityEntries ) {
+			managedEntities.add( entityEntry.getKey() );
+		}
+		return managedEntities;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( closed ) {
+			return false;
+		}
+		if ( hasNext == null ) {
+			evictCurrentRow();
+			hasNext = scrollableResults.next();
+			if ( !hasNext ) {
+				close();
+			}
+		}
+		return hasNext;
+	}
+
+	@Override
+	public Object next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException( "No more results" );
+		}
+		hasNext = null;
+		currentRow = scrollableResults.get();
+		return currentRow.length == 1 ? currentRow[0] : currentRow;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException( "Removal is not supported" );
+	}
+
+	@Override
+	public void close() throws JDBCException {
+		if ( !closed ) {
+			closed = true;
+			try {
+				evictCurrentRow();
+			}
+			finally {
+				scrollableResults.close();
+			}
+		}
+	}
+
+	private void evictCurrentRow() {
+		final Object[] row = currentRow;
+		currentRow = null;
+		if ( row == null || managedBeforeIteration == null ) {
+			return;
+		}
+		final SessionImplementor session = ( (AbstractScrollableResults) scrollableResults ).getSession();
+		if ( session.isClosed() ) {
+			return;
+		}
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		for ( Object element : row ) {
+			if ( element == null ) {
+				continue;
+			}
+			final Object entity;
+			if ( element instanceof HibernateProxy ) {
+				// uninitialized proxies cannot be told apart from the ones obtained before, and hold no state anyway
+				final LazyInitializer lazyInitializer = ( (HibernateProxy) element ).getHibernateLazyInitializer();
+				if ( lazyInitializer.isUninitialized() || !persistenceContext.containsProxy( element ) ) {
+					continue;
+				}
+				entity = lazyInitializer.getImplementation();
+			}
+			else {
+				entity = element;
+			}
+			// checked per element, as evicting an element may cascade to the others
+			if ( isEvictable( entity, persistenceContext, session ) ) {
+				( (EventSource) session ).evict( element );
+			}
+		}
+	}
+
+	/**
+	 * Only entities the iteration loaded, and which have not been changed since, may be evicted; evicting others
+	 * would discard the entities the application already works with, or their unflushed changes.
+	 */
+	private boolean isEvictable(Object entity, PersistenceContext persistenceContext, SessionImplementor session) {
+		if ( managedBeforeIteration.contains( entity ) ) {
+			return false;
+		}
+		final EntityEntry entry = persistenceContext.getEntry( entity );
+		if ( entry == null || entry.getStatus() != Status.MANAGED ) {
+			return false;
+		}
+		if ( entity instanceof SelfDirtinessTracker ) {
+			return !( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+		}
+		final Object[] loadedState = entry.getLoadedState();
+		if ( loadedState == null ) {
+			// read-only, and so never updated
+			return true;
+		}
+		final EntityPersister persister = entry.getPersister();
+		final Object[] values = persister.getPropertyValues( entity );
+		for ( Object value : values ) {
+			if ( value instanceof PersistentCollection && ( (PersistentCollection) value ).isDirty() ) {
+				return false;
+			}
+		}
+		return persister.findDirty( values, loadedState, entity, session ) == null;
+	}
+}
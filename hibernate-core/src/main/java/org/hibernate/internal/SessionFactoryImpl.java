@@ -39,8 +39,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.naming.Reference;
 import javax.naming.StringRefAddr;
 
@@ -103,6 +112,7 @@ import org.hibernate.engine.profile.FetchProfile;
 import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.query.spi.ReturnMetadata;
 import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.AdaptiveBatchSizes;
 import org.hibernate.engine.spi.CacheImplementor;
 import org.hibernate.engine.spi.FilterDefinition;
 import org.hibernate.engine.spi.NamedQueryDefinition;
@@ -209,6 +219,7 @@ public final class SessionFactoryImpl
 	private final transient SessionFactoryObserverChain observer = new SessionFactoryObserverChain();
 	private final transient ConcurrentMap<EntityNameResolver,Object> entityNameResolvers = new ConcurrentHashMap<EntityNameResolver, Object>();
 	private final transient QueryPlanCache queryPlanCache;
+	private final transient AdaptiveBatchSizes adaptiveBatchSizes = new AdaptiveBatchSizes();
 	private final transient CacheImplementor cacheAccess;
 	private transient boolean isClosed;
 	private final transient TypeResolver typeResolver;
@@ -336,6 +347,8 @@ public final class SessionFactoryImpl
 		this.entityPersisters = new HashMap<String,EntityPersister>();
 		Map cacheAccessStrategiesMap = new HashMap();
 		Map<String,ClassMetadata> inFlightClassMetadataMap = new HashMap<String,ClassMetadata>();
+		// the persisters of supertypes complete their instantiation before those of their subtypes
+		final Map<String,Integer> entityHierarchyDepths = new HashMap<String,Integer>();
 		for ( final PersistentClass model : metadata.getEntityBindings() ) {
 			model.prepareTemporaryTables( metadata, getDialect() );
 			final String cacheRegionName = cacheRegionPrefix + model.getRootClass().getCacheRegionName();
@@ -354,6 +367,8 @@ public final class SessionFactoryImpl
 					model
 			);
 
+			// the persisters are constructed by this thread only: constructing them reads the mapping model, which
+			// resolves its types lazily, and generates the proxy factories
 			final EntityPersister cp = persisterFactory.createEntityPersister(
 					model,
 					accessStrategy,
@@ -362,6 +377,7 @@ public final class SessionFactoryImpl
 			);
 			entityPersisters.put( model.getEntityName(), cp );
 			inFlightClassMetadataMap.put( model.getEntityName(), cp.getClassMetadata() );
+			entityHierarchyDepths.put( model.getEntityName(), getHierarchyDepth( model ) );
 		}
 		this.classMetadata = Collections.unmodifiableMap( inFlightClassMetadataMap );
 
@@ -432,13 +448,40 @@ public final class SessionFactoryImpl
 			persister.generateEntityDefinition();
 		}
 
+		// generating the SQL and loaders only reads the persisters, not the mapping model, so it may run in parallel
+		final List<Callable<Void>> entityPostInstantiations = new ArrayList<Callable<Void>>();
+		final int[] entityPostInstantiationPhases = new int[entityPersisters.size()];
+		for ( final EntityPersister persister : entityPersisters.values() ) {
+			entityPostInstantiationPhases[entityPostInstantiations.size()] =
+					entityHierarchyDepths.get( persister.getEntityName() );
+			entityPostInstantiations.add(
+					new Callable<Void>() {
+						@Override
+						public Void call() {
+							persister.postInstantiate();
+							return null;
+						}
+					}
+			);
+		}
+		executeAll( entityPostInstantiations, entityPostInstantiationPhases );
 		for ( EntityPersister persister : entityPersisters.values() ) {
-			persister.postInstantiate();
 			registerEntityNameResolvers( persister );
 		}
-		for ( CollectionPersister persister : collectionPersisters.values() ) {
-			persister.postInstantiate();
+		final List<Callable<Void>> collectionPostInstantiations = new ArrayList<Callable<Void>>();
+		for ( final CollectionPersister persister : collectionPersisters.values() ) {
+			collectionPostInstantiations.add(
+					new Callable<Void>() {
+						@Override
+						public Void call() {
+							persister.postInstantiate();
+							return null;
+						}
+					}
+			);
 		}
+		// after all the entity persisters (the owners and elements of collections) completed theirs
+		executeAll( collectionPostInstantiations, null );
 
 		LOG.debug( "Instantiated session factory" );
 
@@ -706,6 +749,101 @@ public final class SessionFactoryImpl
 		return typeResolver;
 	}
 
+	/**
+	 * Performs the given persister post-instantiation tasks, in parallel if so configured (see
+	 * {@link org.hibernate.cfg.AvailableSettings#PERSISTER_INSTANTIATION_THREADS}).  The tasks are performed phase
+	 * by phase, in ascending order: the tasks of a phase only start once those of all earlier phases completed, and
+	 * only the tasks of the same phase run concurrently.
+	 *
+	 * @param tasks The tasks
+	 * @param phases The phase of each task, or {@code null} to perform all the tasks in a single phase
+	 *
+	 * @return The task results, in the order of the tasks
+	 */
+	private <T> List<T> executeAll(List<Callable<T>> tasks, int[] phases) {
+		final SortedMap<Integer,List<Integer>> taskIndexesByPhase = new TreeMap<Integer,List<Integer>>();
+		for ( int i = 0; i < tasks.size(); i++ ) {
+			final Integer phase = phases == null ? 0 : phases[i];
+			List<Integer> taskIndexes = taskIndexesByPhase.get( phase );
+			if ( taskIndexes == null ) {
+				taskIndexes = new ArrayList<Integer>();
+				taskIndexesByPhase.put( phase, taskIndexes );
+			}
+			taskIndexes.add( i );
+		}
+
+		final List<T> results = new ArrayList<T>( Collections.<T>nCopies( tasks.size(), null ) );
+		final int threads = Math.min( sessionFactoryOptions.getPersisterInstantiationThreads(), tasks.size() );
+		if ( threads <= 1 ) {
+			for ( List<Integer> taskIndexes : taskIndexesByPhase.values() ) {
+				for ( Integer taskIndex : taskIndexes ) {
+					try {
+						results.set( taskIndex, tasks.get( taskIndex ).call() );
+					}
+					catch ( RuntimeException e ) {
+						throw e;
+					}
+					catch ( Exception e ) {
+						throw new HibernateException( "Unable to instantiate persister", e );
+					}
+				}
+			}
+			return results;
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				threads,
+				new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable runnable) {
+						final Thread thread = new Thread( runnable, "hibernate-persister-instantiation-" + count.incrementAndGet() );
+						thread.setDaemon( true );
+						return thread;
+					}
+				}
+		);
+		try {
+			for ( List<Integer> taskIndexes : taskIndexesByPhase.values() ) {
+				final List<Callable<T>> phaseTasks = new ArrayList<Callable<T>>( taskIndexes.size() );
+				for ( Integer taskIndex : taskIndexes ) {
+					phaseTasks.add( tasks.get( taskIndex ) );
+				}
+				final List<Future<T>> futures = executor.invokeAll( phaseTasks );
+				for ( int i = 0; i < futures.size(); i++ ) {
+					results.set( taskIndexes.get( i ), futures.get( i ).get() );
+				}
+			}
+			return results;
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while instantiating persisters", e );
+		}
+		catch ( ExecutionException e ) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new HibernateException( "Unable to instantiate persister", cause );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static int getHierarchyDepth(PersistentClass model) {
+		int depth = 0;
+		for ( PersistentClass superclass = model.getSuperclass(); superclass != null; superclass = superclass.getSuperclass() ) {
+			depth++;
+		}
+		return depth;
+	}
+
 	private void registerEntityNameResolvers(EntityPersister persister) {
 		if ( persister.getEntityMetamodel() == null || persister.getEntityMetamodel().getTuplizer() == null ) {
 			return;
@@ -735,6 +873,11 @@ public final class SessionFactoryImpl
 		return entityNameResolvers.keySet();
 	}
 
+	@Override
+	public AdaptiveBatchSizes getAdaptiveBatchSizes() {
+		return adaptiveBatchSizes;
+	}
+
 	public QueryPlanCache getQueryPlanCache() {
 		return queryPlanCache;
 	}
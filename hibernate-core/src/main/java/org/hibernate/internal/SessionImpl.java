@@ -34,11 +34,13 @@ import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.NClob;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -59,6 +61,7 @@ import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.MappingException;
+import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.ObjectDeletedException;
 import org.hibernate.ObjectNotFoundException;
@@ -149,6 +152,7 @@ import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.MultiLoadOptions;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.procedure.ProcedureCall;
@@ -1085,6 +1089,16 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return new IdentifierLoadAccessImpl( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccessImpl byMultipleIds(Class entityClass) {
+		return new MultiIdentifierLoadAccessImpl( locateEntityPersister( entityClass.getName() ) );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccessImpl byMultipleIds(String entityName) {
+		return new MultiIdentifierLoadAccessImpl( locateEntityPersister( entityName ) );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return new NaturalIdLoadAccessImpl( entityName );
@@ -2603,6 +2617,163 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		}
 	}
 
+	private class MultiIdentifierLoadAccessImpl implements MultiIdentifierLoadAccess, MultiLoadOptions {
+		private final EntityPersister entityPersister;
+		private LockOptions lockOptions;
+		private CacheMode cacheMode;
+		private int batchSize;
+		private boolean sessionCheckingEnabled = true;
+		private boolean returnOfDeletedEntitiesEnabled;
+		private boolean orderedReturnEnabled = true;
+
+		private MultiIdentifierLoadAccessImpl(EntityPersister entityPersister) {
+			this.entityPersister = entityPersister;
+		}
+
+		@Override
+		public LockOptions getLockOptions() {
+			return lockOptions == null ? LockOptions.NONE : lockOptions;
+		}
+
+		@Override
+		public int getBatchSize() {
+			return batchSize;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccessImpl with(LockOptions lockOptions) {
+			this.lockOptions = lockOptions;
+			return this;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccessImpl with(CacheMode cacheMode) {
+			this.cacheMode = cacheMode;
+			return this;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccessImpl withBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccessImpl enableSessionCheck(boolean enabled) {
+			this.sessionCheckingEnabled = enabled;
+			return this;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccessImpl enableReturnOfDeletedEntities(boolean enabled) {
+			this.returnOfDeletedEntitiesEnabled = enabled;
+			return this;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccessImpl enableOrderedReturn(boolean enabled) {
+			this.orderedReturnEnabled = enabled;
+			return this;
+		}
+
+		@Override
+		public List multiLoad(Serializable... ids) {
+			return doMultiLoad( ids );
+		}
+
+		@Override
+		public List multiLoad(List<? extends Serializable> ids) {
+			return doMultiLoad( ids.toArray( new Serializable[ids.size()] ) );
+		}
+
+		private List doMultiLoad(Serializable[] ids) {
+			errorIfClosed();
+			checkTransactionSynchStatus();
+
+			final CacheMode sessionCacheMode = getCacheMode();
+			final boolean cacheModeChanged = cacheMode != null && cacheMode != sessionCacheMode;
+			if ( cacheModeChanged ) {
+				setCacheMode( cacheMode );
+			}
+
+			boolean success = false;
+			try {
+				final List result = performMultiLoad( ids );
+				success = true;
+				return result;
+			}
+			finally {
+				if ( cacheModeChanged ) {
+					setCacheMode( sessionCacheMode );
+				}
+				afterOperation( success );
+			}
+		}
+
+		private List performMultiLoad(Serializable[] ids) {
+			final boolean checkSecondLevelCache = sessionCheckingEnabled
+					&& entityPersister.hasCache()
+					&& getCacheMode().isGetEnabled()
+					&& getLockOptions().getLockMode().lessThan( LockMode.READ );
+
+			// first, resolve whatever we can from the persistence context and the second-level cache
+			final EntityKey[] entityKeys = new EntityKey[ids.length];
+			final Set<EntityKey> keysToLoad = new LinkedHashSet<EntityKey>();
+			for ( int i = 0; i < ids.length; i++ ) {
+				final EntityKey entityKey = generateEntityKey( ids[i], entityPersister );
+				entityKeys[i] = entityKey;
+
+				if ( sessionCheckingEnabled ) {
+					if ( persistenceContext.containsEntity( entityKey ) ) {
+						continue;
+					}
+					if ( checkSecondLevelCache && !keysToLoad.contains( entityKey ) ) {
+						final LoadEvent event = new LoadEvent(
+								ids[i],
+								entityPersister.getEntityName(),
+								getLockOptions(),
+								SessionImpl.this
+						);
+						fireLoad( event, LoadEventListener.CACHE_ONLY );
+						if ( event.getResult() != null ) {
+							continue;
+						}
+					}
+				}
+				keysToLoad.add( entityKey );
+			}
+
+			// then load all of the remaining ones from the database in as few round trips as possible
+			if ( !keysToLoad.isEmpty() ) {
+				final Serializable[] idsToLoad = new Serializable[keysToLoad.size()];
+				int position = 0;
+				for ( EntityKey entityKey : keysToLoad ) {
+					idsToLoad[position++] = entityKey.getIdentifier();
+				}
+				entityPersister.multiLoad( idsToLoad, SessionImpl.this, this );
+			}
+
+			// everything found is now managed by the persistence context; assemble the result from there
+			final List result = new ArrayList( ids.length );
+			for ( EntityKey entityKey : entityKeys ) {
+				Object entity = persistenceContext.getEntity( entityKey );
+				if ( entity != null && !entityPersister.isInstance( entity ) ) {
+					entity = null;
+				}
+				if ( entity != null && !returnOfDeletedEntitiesEnabled ) {
+					final Status status = persistenceContext.getEntry( entity ).getStatus();
+					if ( status == Status.DELETED || status == Status.GONE ) {
+						entity = null;
+					}
+				}
+				if ( entity != null || orderedReturnEnabled ) {
+					result.add( entity );
+				}
+			}
+			return result;
+		}
+	}
+
 	private EntityPersister locateEntityPersister(String entityName) {
 		final EntityPersister entityPersister = factory.getEntityPersister( entityName );
 		if ( entityPersister == null ) {
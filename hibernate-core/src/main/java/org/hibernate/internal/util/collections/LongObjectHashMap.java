@@ -0,0 +1,283 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A map keyed by primitive {@code long} values, using open addressing (linear probing) over parallel key and
+ * value arrays.  Compared to a {@link java.util.HashMap} neither the keys are boxed, nor is an entry object
+ * allocated per mapping.
+ * <p/>
+ * {@code null} values are not supported.  This class is not thread-safe.
+ *
+ * @param <V> The type of the mapped values
+ */
+public final class LongObjectHashMap<V> {
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private long[] keys;
+	private Object[] values;
+	private int mask;
+	private int size;
+	private int resizeThreshold;
+	private int modCount;
+
+	/**
+	 * Create a map with the default initial capacity.
+	 */
+	public LongObjectHashMap() {
+		this( DEFAULT_CAPACITY );
+	}
+
+	/**
+	 * Create a map sized to hold the given number of mappings without resizing.
+	 *
+	 * @param expectedSize The expected number of mappings
+	 */
+	public LongObjectHashMap(int expectedSize) {
+		allocate( tableSizeFor( expectedSize ) );
+	}
+
+	private static int tableSizeFor(int expectedSize) {
+		// keep the load factor at or below .5
+		int capacity = DEFAULT_CAPACITY;
+		while ( capacity < expectedSize * 2 ) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		resizeThreshold = capacity / 2;
+	}
+
+	private static int hash(long key) {
+		final int h = (int) ( key ^ ( key >>> 32 ) ) * 0x9E3779B9;
+		return h ^ ( h >>> 16 );
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Get the value mapped to the given key.
+	 *
+	 * @param key The key
+	 *
+	 * @return The mapped value, or {@code null} if none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int index = hash( key ) & mask;
+		Object value;
+		while ( ( value = values[index] ) != null ) {
+			if ( keys[index] == key ) {
+				return (V) value;
+			}
+			index = ( index + 1 ) & mask;
+		}
+		return null;
+	}
+
+	public boolean containsKey(long key) {
+		return get( key ) != null;
+	}
+
+	/**
+	 * Map the given value to the given key.
+	 *
+	 * @param key The key
+	 * @param value The value; may not be {@code null}
+	 *
+	 * @return The value previously mapped to the key, or {@code null} if none
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if ( value == null ) {
+			throw new IllegalArgumentException( "null values are not supported" );
+		}
+		int index = hash( key ) & mask;
+		Object existing;
+		while ( ( existing = values[index] ) != null ) {
+			if ( keys[index] == key ) {
+				values[index] = value;
+				return (V) existing;
+			}
+			index = ( index + 1 ) & mask;
+		}
+		keys[index] = key;
+		values[index] = value;
+		modCount++;
+		if ( ++size > resizeThreshold ) {
+			resize( values.length << 1 );
+		}
+		return null;
+	}
+
+	/**
+	 * Remove the mapping of the given key.
+	 *
+	 * @param key The key
+	 *
+	 * @return The value mapped to the key, or {@code null} if none
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		int index = hash( key ) & mask;
+		Object value;
+		while ( ( value = values[index] ) != null ) {
+			if ( keys[index] == key ) {
+				removeAt( index );
+				return (V) value;
+			}
+			index = ( index + 1 ) & mask;
+		}
+		return null;
+	}
+
+	private void removeAt(int index) {
+		// shift back the following entries of the probe sequence which would become unreachable
+		int gap = index;
+		int next = ( index + 1 ) & mask;
+		while ( values[next] != null ) {
+			final int home = hash( keys[next] ) & mask;
+			// move the entry into the gap unless its home slot lies cyclically within (gap, next]
+			if ( ( next > gap ) ? ( home <= gap || home > next ) : ( home <= gap && home > next ) ) {
+				keys[gap] = keys[next];
+				values[gap] = values[next];
+				gap = next;
+			}
+			next = ( next + 1 ) & mask;
+		}
+		values[gap] = null;
+		size--;
+		modCount++;
+	}
+
+	public void clear() {
+		if ( size > 0 ) {
+			Arrays.fill( values, null );
+			size = 0;
+			modCount++;
+		}
+	}
+
+	private void resize(int capacity) {
+		final long[] oldKeys = keys;
+		final Object[] oldValues = values;
+		allocate( capacity );
+		for ( int i = 0; i < oldValues.length; i++ ) {
+			final Object value = oldValues[i];
+			if ( value != null ) {
+				int index = hash( oldKeys[i] ) & mask;
+				while ( values[index] != null ) {
+					index = ( index + 1 ) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = value;
+			}
+		}
+	}
+
+	/**
+	 * Iterate the mappings of this map.  The iterator does not support removal; the returned cursor is re-used
+	 * for all mappings.
+	 *
+	 * @return The iterator
+	 */
+	public Iterator<Cursor<V>> iterator() {
+		return new CursorIterator();
+	}
+
+	/**
+	 * A (re-used) view of the current mapping during iteration.
+	 *
+	 * @param <V> The type of the mapped values
+	 */
+	public interface Cursor<V> {
+		public long getKey();
+
+		public V getValue();
+	}
+
+	private class CursorIterator implements Iterator<Cursor<V>>, Cursor<V> {
+		private final int expectedModCount = modCount;
+		private int next = advance( 0 );
+		private int current = -1;
+
+		private int advance(int from) {
+			int index = from;
+			while ( index < values.length && values[index] == null ) {
+				index++;
+			}
+			return index;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < values.length;
+		}
+
+		@Override
+		public Cursor<V> next() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			current = next;
+			next = advance( next + 1 );
+			return this;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long getKey() {
+			return keys[current];
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V getValue() {
+			return (V) values[current];
+		}
+	}
+}
@@ -190,6 +190,30 @@ public class Expectations {
 		}
 	}
 
+	/**
+	 * Get the expectation for a statement affecting the given number of rows at once, such as a statement naming
+	 * several rows in an {@code IN} list.
+	 *
+	 * @param style The check style
+	 * @param expectedRowCount The number of rows the statement affects
+	 *
+	 * @return The expectation
+	 */
+	public static Expectation appropriateExpectation(ExecuteUpdateResultCheckStyle style, int expectedRowCount) {
+		if ( expectedRowCount == USUAL_EXPECTED_COUNT || style == ExecuteUpdateResultCheckStyle.NONE ) {
+			return appropriateExpectation( style );
+		}
+		else if ( style == ExecuteUpdateResultCheckStyle.COUNT ) {
+			return new BasicExpectation( expectedRowCount );
+		}
+		else if ( style == ExecuteUpdateResultCheckStyle.PARAM ) {
+			return new BasicParamExpectation( expectedRowCount, USUAL_PARAM_POSITION );
+		}
+		else {
+			throw new HibernateException( "unknown check style : " + style );
+		}
+	}
+
 	private Expectations() {
 	}
 }
@@ -61,6 +61,7 @@ import org.hibernate.dialect.pagination.LimitHandler;
 import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.dialect.pagination.NoopLimitHandler;
 import org.hibernate.engine.internal.CacheHelper;
+import org.hibernate.engine.internal.CachePutBatch;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.engine.jdbc.ColumnNameCache;
 import org.hibernate.engine.spi.EntityEntry;
@@ -770,7 +771,7 @@ public abstract class Loader {
 		final int numberOfPersistersToProcess;
 		final Serializable optionalId = queryParameters.getOptionalId();
 		if ( isSingleRowLoader() && optionalId != null ) {
-			keys[ entitySpan - 1 ] = session.generateEntityKey( optionalId, persisters[ entitySpan - 1 ] );
+			keys[ entitySpan - 1 ] = session.getPersistenceContext().resolveEntityKey( optionalId, persisters[ entitySpan - 1 ] );
 			// skip the last persister below...
 			numberOfPersistersToProcess = entitySpan - 1;
 		}
@@ -802,7 +803,7 @@ public abstract class Loader {
 									null
 							);
 							// todo : need a way to signal that this key is resolved and its data resolved
-							keys[targetIndex] = session.generateEntityKey( targetId, persisters[targetIndex] );
+							keys[targetIndex] = session.getPersistenceContext().resolveEntityKey( targetId, persisters[targetIndex] );
 						}
 
 						// this part copied from #getRow, this section could be refactored out
@@ -837,7 +838,10 @@ public abstract class Loader {
 				}
 			}
 			final Serializable resolvedId = (Serializable) idType.resolve( hydratedKeyState[i], session, null );
-			keys[i] = resolvedId == null ? null : session.generateEntityKey( resolvedId, persisters[i] );
+			// only entities not yet in the persistence context get a new key
+			keys[i] = resolvedId == null
+					? null
+					: session.getPersistenceContext().resolveEntityKey( resolvedId, persisters[i] );
 		}
 	}
 
@@ -1111,8 +1115,13 @@ public abstract class Loader {
 		if ( hydratedObjects!=null ) {
 			int hydratedObjectsSize = hydratedObjects.size();
 			LOG.tracev( "Total objects hydrated: {0}", hydratedObjectsSize );
+			// put the entities into the second-level cache together, allowing a single operation per region
+			final CachePutBatch cachePuts = hydratedObjectsSize > 1 ? new CachePutBatch( session ) : null;
 			for ( int i = 0; i < hydratedObjectsSize; i++ ) {
-				TwoPhaseLoad.initializeEntity( hydratedObjects.get(i), readOnly, session, pre );
+				TwoPhaseLoad.initializeEntity( hydratedObjects.get(i), readOnly, session, pre, cachePuts );
+			}
+			if ( cachePuts != null ) {
+				cachePuts.execute();
 			}
 		}
 
@@ -1424,7 +1433,7 @@ public abstract class Loader {
 			if ( idIsResultId ) resultId = id; //use the id passed in
 		}
 
-		return resultId == null ? null : session.generateEntityKey( resultId, persister );
+		return resultId == null ? null : session.getPersistenceContext().resolveEntityKey( resultId, persister );
 	}
 
 	/**
@@ -2108,7 +2117,7 @@ public abstract class Loader {
 			//there is no need for a synchronized second check, as in worst case
 			//we'll have allocated an unnecessary ColumnNameCache
 			LOG.trace( "Building columnName -> columnIndex cache" );
-			columnNameCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+			columnNameCache = new ColumnNameCache( rs.getMetaData() );
 			return columnNameCache;
 		}
 		else {
@@ -2547,7 +2556,12 @@ public abstract class Loader {
 		long startTime = 0;
 		if ( stats ) startTime = System.nanoTime();
 
-		List result;
+		final String queryIdentifier = getQueryIdentifier();
+		if ( queryIdentifier != null ) {
+			session.getEventListenerManager().queryExecutionStart( queryIdentifier );
+		}
+
+		List result = null;
 		try {
 			result = doQueryAndInitializeNonLazyCollections( session, queryParameters, true, forcedResultTransformer );
 		}
@@ -2558,6 +2572,15 @@ public abstract class Loader {
 					getSQLString()
 				);
 		}
+		finally {
+			if ( queryIdentifier != null ) {
+				session.getEventListenerManager().queryExecutionEnd(
+						queryIdentifier,
+						result == null ? 0 : result.size(),
+						result != null
+				);
+			}
+		}
 
 		if ( stats ) {
 			final long endTime = System.nanoTime();
@@ -2619,10 +2642,23 @@ public abstract class Loader {
 		long startTime = 0;
 		if ( stats ) startTime = System.nanoTime();
 
+		final String queryIdentifier = getQueryIdentifier();
+		if ( queryIdentifier != null ) {
+			session.getEventListenerManager().queryExecutionStart( queryIdentifier );
+		}
+
 		try {
 			// Don't use Collections#emptyList() here -- follow on locking potentially adds AfterLoadActions,
 			// so the list cannot be immutable.
-			final SqlStatementWrapper wrapper = executeQueryStatement( queryParameters, true, new ArrayList<AfterLoadAction>(), session );
+			SqlStatementWrapper wrapper = null;
+			try {
+				wrapper = executeQueryStatement( queryParameters, true, new ArrayList<AfterLoadAction>(), session );
+			}
+			finally {
+				if ( queryIdentifier != null ) {
+					session.getEventListenerManager().queryExecutionEnd( queryIdentifier, 0, wrapper != null );
+				}
+			}
 			final ResultSet rs = wrapper.getResultSet();
 			final PreparedStatement st = (PreparedStatement) wrapper.getStatement();
 
@@ -46,6 +46,7 @@ import org.hibernate.loader.Loader;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.collection.QueryableCollection;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.type.InListArrayType;
 import org.hibernate.type.Type;
 
 /**
@@ -132,6 +133,8 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 
 		private final String sqlTemplate;
 		private final String alias;
+		private final InListArrayType keyArrayType;
+		private final String arraySql;
 
 		public DynamicBatchingCollectionLoader(
 				QueryableCollection collectionPersister,
@@ -145,6 +148,22 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 			this.alias = StringHelper.generateAlias( collectionPersister.getRole(), 0 );
 			postInstantiate();
 
+			// with a single-column key of a suitable type, the keys can be bound as an array using the same SQL
+			// for any number of keys
+			if ( collectionPersister.getKeyColumnNames().length == 1
+					&& InListArrayType.isApplicable( collectionPersister.getKeyType(), factory ) ) {
+				this.keyArrayType = new InListArrayType( collectionPersister.getKeyType(), factory );
+				this.arraySql = StringHelper.replace(
+						sqlTemplate,
+						StringHelper.BATCH_ID_PLACEHOLDER,
+						factory.getDialect().getArrayElementsSubselect( keyArrayType.getElementSqlType() )
+				);
+			}
+			else {
+				this.keyArrayType = null;
+				this.arraySql = null;
+			}
+
 			if ( LOG.isDebugEnabled() ) {
 				LOG.debugf(
 						"SQL-template for dynamic collection [%s] batch-fetching : %s",
@@ -194,17 +213,25 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 				LOG.debugf( "Batch loading collection: %s",
 							MessageHelper.collectionInfoString( getCollectionPersisters()[0], ids, getFactory() ) );
 
-			final Type[] idTypes = new Type[ids.length];
-			Arrays.fill( idTypes, type );
-			final QueryParameters queryParameters = new QueryParameters( idTypes, ids, ids );
-
-			final String sql = StringHelper.expandBatchIdPlaceholder(
-					sqlTemplate,
-					ids,
-					alias,
-					collectionPersister().getKeyColumnNames(),
-					getFactory().getDialect()
-			);
+			final QueryParameters queryParameters;
+			final String sql;
+			if ( keyArrayType != null ) {
+				queryParameters = new QueryParameters( new Type[] { keyArrayType }, new Object[] { ids }, ids );
+				sql = arraySql;
+			}
+			else {
+				final Type[] idTypes = new Type[ids.length];
+				Arrays.fill( idTypes, type );
+				queryParameters = new QueryParameters( idTypes, ids, ids );
+
+				sql = StringHelper.expandBatchIdPlaceholder(
+						sqlTemplate,
+						ids,
+						alias,
+						collectionPersister().getKeyColumnNames(),
+						getFactory().getDialect()
+				);
+			}
 
 			try {
 				final PersistenceContext persistenceContext = session.getPersistenceContext();
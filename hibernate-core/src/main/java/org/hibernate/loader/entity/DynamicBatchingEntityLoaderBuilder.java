@@ -28,6 +28,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.hibernate.LockMode;
@@ -42,8 +43,11 @@ import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.loader.spi.AfterLoadAction;
+import org.hibernate.persister.entity.MultiLoadOptions;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.type.InListArrayType;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -58,6 +62,93 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 
 	public static final DynamicBatchingEntityLoaderBuilder INSTANCE = new DynamicBatchingEntityLoaderBuilder();
 
+	/**
+	 * The number of ids loaded per SELECT by {@link #multiLoad} when neither the load options nor the Dialect
+	 * define a limit.
+	 */
+	public static final int DEFAULT_MULTI_LOAD_BATCH_SIZE = 1000;
+
+	/**
+	 * Builds the loader used by {@link #multiLoad}.  Its SQL is a template expanded for each batch of ids, so one
+	 * loader serves any number of ids and can be cached by the persister.
+	 *
+	 * @param persister The persister for the entities to load
+	 * @param lockMode The lock mode to apply to the loaded rows
+	 * @param factory The session factory
+	 * @param influencers The influencers applied to the SQL
+	 *
+	 * @return The loader
+	 */
+	public DynamicEntityLoader buildMultiLoader(
+			OuterJoinLoadable persister,
+			LockMode lockMode,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		return new DynamicEntityLoader( persister, -1, lockMode, factory, influencers );
+	}
+
+	/**
+	 * Loads all of the given ids, splitting them into as few IN-list SELECT statements as the batch size
+	 * allows.  The batch size is taken from the load options if specified, otherwise from
+	 * {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit()}.
+	 *
+	 * @param persister The persister for the entities to load
+	 * @param batchingLoader The loader built by {@link #buildMultiLoader} for the lock mode of the load options
+	 * @param ids The ids to load; these are expected to be distinct
+	 * @param session The session
+	 * @param loadOptions The options for the load
+	 *
+	 * @return The loaded entities, in no particular order
+	 */
+	public List multiLoad(
+			OuterJoinLoadable persister,
+			DynamicEntityLoader batchingLoader,
+			Serializable[] ids,
+			SessionImplementor session,
+			MultiLoadOptions loadOptions) {
+		final List result = new ArrayList( ids.length );
+		if ( ids.length == 0 ) {
+			return result;
+		}
+
+		final LockOptions lockOptions = loadOptions.getLockOptions() == null
+				? new LockOptions( LockMode.NONE )
+				: loadOptions.getLockOptions();
+		final int maxBatchSize = determineMultiLoadBatchSize( loadOptions, session.getFactory() );
+
+		int position = 0;
+		while ( position < ids.length ) {
+			final int numberOfIds = Math.min( maxBatchSize, ids.length - position );
+			final Serializable[] idsInBatch = new Serializable[numberOfIds];
+			System.arraycopy( ids, position, idsInBatch, 0, numberOfIds );
+			position += numberOfIds;
+
+			if ( log.isDebugEnabled() ) {
+				log.debugf( "Multi-loading entity batch: %s", MessageHelper.infoString( persister, idsInBatch, session.getFactory() ) );
+			}
+
+			final Type[] types = new Type[numberOfIds];
+			Arrays.fill( types, persister.getIdentifierType() );
+
+			final QueryParameters qp = new QueryParameters();
+			qp.setPositionalParameterTypes( types );
+			qp.setPositionalParameterValues( idsInBatch );
+			qp.setLockOptions( lockOptions );
+
+			result.addAll( batchingLoader.doEntityBatchFetch( session, qp, idsInBatch ) );
+		}
+
+		return result;
+	}
+
+	private static int determineMultiLoadBatchSize(MultiLoadOptions loadOptions, SessionFactoryImplementor factory) {
+		if ( loadOptions.getBatchSize() > 0 ) {
+			return loadOptions.getBatchSize();
+		}
+		final int inExpressionCountLimit = factory.getDialect().getInExpressionCountLimit();
+		return inExpressionCountLimit > 0 ? inExpressionCountLimit : DEFAULT_MULTI_LOAD_BATCH_SIZE;
+	}
+
 	@Override
 	protected UniqueEntityLoader buildBatchingLoader(
 			OuterJoinLoadable persister,
@@ -136,11 +227,13 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 	}
 
 
-	private static class DynamicEntityLoader extends EntityLoader {
+	public static class DynamicEntityLoader extends EntityLoader {
 		// todo : see the discussion on org.hibernate.loader.collection.DynamicBatchingCollectionInitializerBuilder.DynamicBatchingCollectionLoader
 
 		private final String sqlTemplate;
 		private final String alias;
+		private final InListArrayType idArrayType;
+		private final String arraySql;
 
 		public DynamicEntityLoader(
 				OuterJoinLoadable persister,
@@ -178,6 +271,22 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 			this.alias = walker.getAlias();
 			postInstantiate();
 
+			// with a single-column id of a suitable type, the ids can be bound as an array using the same SQL
+			// for any number of ids
+			if ( persister.getIdentifierColumnNames().length == 1
+					&& InListArrayType.isApplicable( persister.getIdentifierType(), factory ) ) {
+				this.idArrayType = new InListArrayType( persister.getIdentifierType(), factory );
+				this.arraySql = StringHelper.replace(
+						sqlTemplate,
+						StringHelper.BATCH_ID_PLACEHOLDER,
+						factory.getDialect().getArrayElementsSubselect( idArrayType.getElementSqlType() )
+				);
+			}
+			else {
+				this.idArrayType = null;
+				this.arraySql = null;
+			}
+
 			if ( LOG.isDebugEnabled() ) {
 				LOG.debugf(
 						"SQL-template for dynamic entity [%s] batch-fetching [%s] : %s",
@@ -197,13 +306,21 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 				SessionImplementor session,
 				QueryParameters queryParameters,
 				Serializable[] ids) {
-			final String sql = StringHelper.expandBatchIdPlaceholder(
-					sqlTemplate,
-					ids,
-					alias,
-					persister.getKeyColumnNames(),
-					getFactory().getDialect()
-			);
+			final String sql;
+			if ( idArrayType != null ) {
+				sql = arraySql;
+				queryParameters.setPositionalParameterTypes( new Type[] { idArrayType } );
+				queryParameters.setPositionalParameterValues( new Object[] { ids } );
+			}
+			else {
+				sql = StringHelper.expandBatchIdPlaceholder(
+						sqlTemplate,
+						ids,
+						alias,
+						persister.getKeyColumnNames(),
+						getFactory().getDialect()
+				);
+			}
 
 			try {
 				final PersistenceContext persistenceContext = session.getPersistenceContext();
@@ -517,7 +517,15 @@ public class QueryLoader extends BasicLoader {
 			if ( queryParameters.isCallable() ) {
 				throw new QueryException("iterate() not supported for callable statements");
 			}
-			final SqlStatementWrapper wrapper = executeQueryStatement( queryParameters, false, Collections.<AfterLoadAction>emptyList(), session );
+			final String queryIdentifier = getQueryIdentifier();
+			session.getEventListenerManager().queryExecutionStart( queryIdentifier );
+			SqlStatementWrapper wrapper = null;
+			try {
+				wrapper = executeQueryStatement( queryParameters, false, Collections.<AfterLoadAction>emptyList(), session );
+			}
+			finally {
+				session.getEventListenerManager().queryExecutionEnd( queryIdentifier, 0, wrapper != null );
+			}
 			final ResultSet rs = wrapper.getResultSet();
 			final PreparedStatement st = (PreparedStatement) wrapper.getStatement();
 			final Iterator result = new IteratorImpl(
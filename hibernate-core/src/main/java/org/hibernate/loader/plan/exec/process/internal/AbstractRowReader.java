@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.hibernate.engine.internal.CachePutBatch;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.PostLoadEvent;
@@ -240,14 +241,20 @@ public abstract class AbstractRowReader implements RowReader {
 			return;
 		}
 
+		// put the entities into the second-level cache together, allowing a single operation per region
+		final CachePutBatch cachePuts = numberOfHydratedObjects > 1 ? new CachePutBatch( context.getSession() ) : null;
 		for ( HydratedEntityRegistration registration : hydratedEntityRegistrations ) {
 			TwoPhaseLoad.initializeEntity(
 					registration.getInstance(),
 					context.isReadOnly(),
 					context.getSession(),
-					preLoadEvent
+					preLoadEvent,
+					cachePuts
 			);
 		}
+		if ( cachePuts != null ) {
+			cachePuts.execute();
+		}
 	}
 
 	private void finishLoadingCollections(ResultSetProcessingContextImpl context) {
@@ -162,7 +162,10 @@ public class EntityReferenceInitializerImpl implements EntityReferenceInitialize
 		);
 		if ( resolvedId != null ) {
 			processingState.registerEntityKey(
-					context.getSession().generateEntityKey( resolvedId, entityReference.getEntityPersister() )
+					context.getSession().getPersistenceContext().resolveEntityKey(
+							resolvedId,
+							entityReference.getEntityPersister()
+					)
 			);
 		}
 	}
@@ -252,6 +252,13 @@ public class SimpleValue implements KeyValue {
 				AvailableSettings.PREFER_POOLED_VALUES_LO,
 				cs.getSetting( AvailableSettings.PREFER_POOLED_VALUES_LO, StandardConverters.BOOLEAN, false )
 		);
+		final String preferredPooledOptimizer = cs.getSetting(
+				AvailableSettings.PREFERRED_POOLED_OPTIMIZER,
+				StandardConverters.STRING
+		);
+		if ( preferredPooledOptimizer != null ) {
+			params.put( AvailableSettings.PREFERRED_POOLED_OPTIMIZER, preferredPooledOptimizer );
+		}
 
 		identifierGeneratorFactory.setDialect( dialect );
 		return identifierGeneratorFactory.createIdentifierGenerator( identifierGeneratorStrategy, getType(), params );
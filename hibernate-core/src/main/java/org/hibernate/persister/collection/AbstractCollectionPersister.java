@@ -27,11 +27,13 @@ import java.io.Serializable;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.FetchMode;
@@ -48,6 +50,7 @@ import org.hibernate.cache.spi.entry.UnstructuredCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.ExecuteUpdateResultCheckStyle;
@@ -138,6 +141,13 @@ public abstract class AbstractCollectionPersister
 	private final String sqlDetectRowByIndexString;
 	private final String sqlDetectRowByElementString;
 
+	// removal of several rows by a single statement naming them in an IN list (see #deleteRows): the column
+	// identifying the rows besides the collection key, or null if rows are removed one by one
+	private final String multiRowDeleteColumnName;
+	private final String multiRowDeleteValueExpression;
+	private final int multiRowDeleteSize;
+	private final ConcurrentHashMap<Integer,String> sqlMultiRowDeleteStrings = new ConcurrentHashMap<Integer,String>();
+
 	protected final boolean hasWhere;
 	protected final String sqlWhereString;
 	private final String sqlWhereStringTemplate;
@@ -524,6 +534,33 @@ public abstract class AbstractCollectionPersister
 			deleteAllCheckStyle = ExecuteUpdateResultCheckStyle.NONE;
 		}
 
+		String multiRowDeleteColumnName = null;
+		String multiRowDeleteValueExpression = "?";
+		int multiRowDeleteSize = factory.getSettings().getMultiRowDeleteSize();
+		if ( dialect.getInExpressionCountLimit() > 0 ) {
+			multiRowDeleteSize = Math.min( multiRowDeleteSize, dialect.getInExpressionCountLimit() );
+		}
+		if ( multiRowDeleteSize > 1 && collectionBinding.getCustomSQLDelete() == null ) {
+			// the rows must be identified by a single column, as by the row delete SQL
+			if ( hasIdentifier ) {
+				multiRowDeleteColumnName = identifierColumnName;
+			}
+			else if ( !isOneToMany() && hasIndex && !indexContainsFormula ) {
+				if ( indexColumnNames.length == 1 ) {
+					multiRowDeleteColumnName = indexColumnNames[0];
+				}
+			}
+			else if ( !elementIsPureFormula && elementColumnNames.length == 1 ) {
+				multiRowDeleteColumnName = elementColumnNames[0];
+				multiRowDeleteValueExpression = elementColumnWriters[0];
+			}
+		}
+		this.multiRowDeleteColumnName = multiRowDeleteColumnName;
+		this.multiRowDeleteValueExpression = multiRowDeleteValueExpression;
+		this.multiRowDeleteSize = multiRowDeleteColumnName != null && getSQLMultiRowDeleteString( 1 ) != null
+				? multiRowDeleteSize
+				: 0;
+
 		sqlSelectSizeString = generateSelectSizeString( collectionBinding.isIndexed() && !collectionBinding.isMap() );
 		sqlDetectRowByIndexString = generateDetectRowByIndexString();
 		sqlDetectRowByElementString = generateDetectRowByElementString();
@@ -1391,6 +1428,17 @@ public abstract class AbstractCollectionPersister
 		try {
 			// delete all the deleted entries
 			Iterator deletes = collection.getDeletes( this, !deleteByIndex );
+			if ( multiRowDeleteSize > 1 && deletes.hasNext() ) {
+				final ArrayList rows = new ArrayList();
+				while ( deletes.hasNext() ) {
+					rows.add( deletes.next() );
+				}
+				if ( rows.size() > 1 ) {
+					deleteMultipleRows( rows, id, deleteByIndex, session );
+					return;
+				}
+				deletes = rows.iterator();
+			}
 			if ( deletes.hasNext() ) {
 				int offset = 1;
 				int count = 0;
@@ -1477,6 +1525,49 @@ public abstract class AbstractCollectionPersister
 		}
 	}
 
+	/**
+	 * Removes the given rows using statements naming several rows each.  The rows are removed in statements of the
+	 * maximum size, and the remainder in statements of decreasing powers of two, which keeps the number of distinct
+	 * statements low.  These statements are not batched, each of them already removes several rows.
+	 */
+	private void deleteMultipleRows(ArrayList rows, Serializable id, boolean deleteByIndex, SessionImplementor session)
+			throws SQLException {
+		final JdbcCoordinator jdbcCoordinator = session.getTransactionCoordinator().getJdbcCoordinator();
+		int position = 0;
+		while ( position < rows.size() ) {
+			final int remaining = rows.size() - position;
+			final int rowCount = remaining >= multiRowDeleteSize ? multiRowDeleteSize : Integer.highestOneBit( remaining );
+			final Expectation expectation = Expectations.appropriateExpectation( getDeleteCheckStyle(), rowCount );
+			final PreparedStatement st = jdbcCoordinator.getStatementPreparer()
+					.prepareStatement( getSQLMultiRowDeleteString( rowCount ), false );
+			try {
+				int loc = 1 + expectation.prepare( st );
+				if ( !hasIdentifier ) {
+					loc = writeKey( st, id, loc, session );
+				}
+				for ( int i = position; i < position + rowCount; i++ ) {
+					final Object entry = rows.get( i );
+					if ( hasIdentifier ) {
+						loc = writeIdentifier( st, entry, loc, session );
+					}
+					else if ( deleteByIndex ) {
+						loc = writeIndexToWhere( st, entry, loc, session );
+					}
+					else {
+						loc = writeElementToWhere( st, entry, loc, session );
+					}
+				}
+				expectation.verifyOutcome( jdbcCoordinator.getResultSetReturn().executeUpdate( st ), st, -1 );
+			}
+			finally {
+				jdbcCoordinator.release( st );
+			}
+			position += rowCount;
+		}
+
+		LOG.debugf( "Done deleting collection rows: %s deleted", rows.size() );
+	}
+
 	protected boolean isRowInsertEnabled() {
 		return true;
 	}
@@ -1699,6 +1790,41 @@ public abstract class AbstractCollectionPersister
 
 	protected abstract String generateDeleteRowString();
 
+	/**
+	 * Generate the SQL removing several rows of this collection at once.  Like {@link #generateDeleteRowString()},
+	 * but with the rows selected by the given condition in addition to the given key columns.
+	 *
+	 * @param keyColumnNames The collection key columns to restrict by, possibly none
+	 * @param rowSelectCondition The condition selecting the rows, naming them in an {@code IN} list
+	 *
+	 * @return The SQL, or {@code null} if this collection does not support removing several rows at once
+	 */
+	protected String generateMultiRowDeleteString(String[] keyColumnNames, String rowSelectCondition) {
+		return null;
+	}
+
+	private String getSQLMultiRowDeleteString(int rowCount) {
+		String sql = sqlMultiRowDeleteStrings.get( rowCount );
+		if ( sql == null ) {
+			final StringBuilder condition = new StringBuilder( multiRowDeleteColumnName ).append( " in (" );
+			for ( int i = 0; i < rowCount; i++ ) {
+				if ( i > 0 ) {
+					condition.append( ", " );
+				}
+				condition.append( multiRowDeleteValueExpression );
+			}
+			condition.append( ')' );
+			sql = generateMultiRowDeleteString(
+					hasIdentifier ? ArrayHelper.EMPTY_STRING_ARRAY : keyColumnNames,
+					condition.toString()
+			);
+			if ( sql != null ) {
+				sqlMultiRowDeleteStrings.put( rowCount, sql );
+			}
+		}
+		return sql;
+	}
+
 	protected abstract String generateUpdateRowString();
 
 	protected abstract String generateInsertRowString();
@@ -185,6 +185,20 @@ public class BasicCollectionPersister extends AbstractCollectionPersister {
 		return delete.toStatementString();
 	}
 
+	@Override
+	protected String generateMultiRowDeleteString(String[] keyColumnNames, String rowSelectCondition) {
+		Delete delete = new Delete()
+			.setTableName( qualifiedTableName )
+			.addPrimaryKeyColumns( keyColumnNames )
+			.setWhere( rowSelectCondition );
+
+		if ( getFactory().getSettings().isCommentsEnabled() ) {
+			delete.setComment( "delete collection rows " + getRole() );
+		}
+
+		return delete.toStatementString();
+	}
+
 	public boolean consumesEntityAlias() {
 		return false;
 	}
@@ -175,6 +175,25 @@ public class OneToManyPersister extends AbstractCollectionPersister {
 		return update.addPrimaryKeyColumns( rowSelectColumnNames )
 				.toStatementString();
 	}
+
+	@Override
+	protected String generateMultiRowDeleteString(String[] keyColumnNames, String rowSelectCondition) {
+		Update update = new Update( getDialect() )
+				.setTableName( qualifiedTableName )
+				.addColumns( keyColumnNames, "null" );
+
+		if ( hasIndex && !indexContainsFormula ) {
+			update.addColumns( indexColumnNames, "null" );
+		}
+
+		if ( getFactory().getSettings().isCommentsEnabled() ) {
+			update.setComment( "delete one-to-many rows " + getRole() );
+		}
+
+		return update.addPrimaryKeyColumns( keyColumnNames )
+				.setWhere( rowSelectCondition )
+				.toStatementString();
+	}
 	
 	@Override
 	public void recreate(PersistentCollection collection, Serializable id, SessionImplementor session)
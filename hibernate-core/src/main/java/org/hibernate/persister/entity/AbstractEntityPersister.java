@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -38,6 +39,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.EntityMode;
@@ -96,6 +99,8 @@ import org.hibernate.jdbc.Expectations;
 import org.hibernate.jdbc.TooManyRowsAffectedException;
 import org.hibernate.loader.entity.BatchingEntityLoaderBuilder;
 import org.hibernate.loader.entity.CascadeEntityLoader;
+import org.hibernate.loader.entity.DynamicBatchingEntityLoaderBuilder;
+import org.hibernate.loader.entity.DynamicBatchingEntityLoaderBuilder.DynamicEntityLoader;
 import org.hibernate.loader.entity.EntityLoader;
 import org.hibernate.loader.entity.UniqueEntityLoader;
 import org.hibernate.mapping.Column;
@@ -234,6 +239,10 @@ public abstract class AbstractEntityPersister
 	private final Map uniqueKeyLoaders = new HashMap();
 	private final Map lockers = new HashMap();
 	private final Map loaders = new HashMap();
+	// the lock mode loaders built on first use, possibly concurrently (see AvailableSettings#LAZY_LOCK_MODE_LOADERS)
+	private final ConcurrentMap<LockMode, UniqueEntityLoader> lazyLockModeLoaders =
+			new ConcurrentHashMap<LockMode, UniqueEntityLoader>();
+	private final Map<LockMode, DynamicEntityLoader> multiLoaders = new ConcurrentHashMap<LockMode, DynamicEntityLoader>();
 
 	// SQL strings
 	private String sqlVersionSelectString;
@@ -317,6 +326,19 @@ public abstract class AbstractEntityPersister
 
 	private static final String DISCRIMINATOR_ALIAS = "clazz_";
 
+	// the lock modes whose loaders lock the loaded rows (or verify/increment their version)
+	private static final Set<LockMode> LOCKING_LOADER_LOCK_MODES = EnumSet.of(
+			LockMode.UPGRADE,
+			LockMode.UPGRADE_NOWAIT,
+			LockMode.UPGRADE_SKIPLOCKED,
+			LockMode.FORCE,
+			LockMode.PESSIMISTIC_READ,
+			LockMode.PESSIMISTIC_WRITE,
+			LockMode.PESSIMISTIC_FORCE_INCREMENT,
+			LockMode.OPTIMISTIC,
+			LockMode.OPTIMISTIC_FORCE_INCREMENT
+	);
+
 	public String getDiscriminatorColumnName() {
 		return DISCRIMINATOR_ALIAS;
 	}
@@ -1035,6 +1057,10 @@ public abstract class AbstractEntityPersister
 		return batchSize > 1;
 	}
 
+	public int getBatchSize() {
+		return batchSize;
+	}
+
 	public String[] getIdentifierColumnNames() {
 		return rootTableKeyColumnNames;
 	}
@@ -3630,55 +3656,11 @@ public abstract class AbstractEntityPersister
 		UniqueEntityLoader readLoader = createEntityLoader( LockMode.READ );
 		loaders.put( LockMode.READ, readLoader );
 
-		//TODO: inexact, what we really need to know is: are any outer joins used?
-		boolean disableForUpdate = getSubclassTableSpan() > 1 &&
-				hasSubclasses() &&
-				!getFactory().getDialect().supportsOuterJoinForUpdate();
-
-		loaders.put(
-				LockMode.UPGRADE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE )
-			);
-		loaders.put(
-				LockMode.UPGRADE_NOWAIT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE_NOWAIT )
-			);
-		loaders.put(
-				LockMode.UPGRADE_SKIPLOCKED,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.UPGRADE_SKIPLOCKED )
-			);
-		loaders.put(
-				LockMode.FORCE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.FORCE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_READ,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_READ )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_WRITE,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_WRITE )
-			);
-		loaders.put(
-				LockMode.PESSIMISTIC_FORCE_INCREMENT,
-				disableForUpdate ?
-						readLoader :
-						createEntityLoader( LockMode.PESSIMISTIC_FORCE_INCREMENT )
-			);
-		loaders.put( LockMode.OPTIMISTIC, createEntityLoader( LockMode.OPTIMISTIC) );
-		loaders.put( LockMode.OPTIMISTIC_FORCE_INCREMENT, createEntityLoader(LockMode.OPTIMISTIC_FORCE_INCREMENT) );
+		if ( !getFactory().getSettings().isLazyLockModeLoadersEnabled() ) {
+			for ( LockMode lockMode : LOCKING_LOADER_LOCK_MODES ) {
+				loaders.put( lockMode, createLockingLoader( lockMode ) );
+			}
+		}
 
 		loaders.put(
 				"merge",
@@ -3690,6 +3672,37 @@ public abstract class AbstractEntityPersister
 			);
 	}
 
+	private UniqueEntityLoader createLockingLoader(LockMode lockMode) {
+		if ( lockMode == LockMode.OPTIMISTIC || lockMode == LockMode.OPTIMISTIC_FORCE_INCREMENT ) {
+			return createEntityLoader( lockMode );
+		}
+
+		//TODO: inexact, what we really need to know is: are any outer joins used?
+		boolean disableForUpdate = getSubclassTableSpan() > 1 &&
+				hasSubclasses() &&
+				!getFactory().getDialect().supportsOuterJoinForUpdate();
+
+		return disableForUpdate ?
+				(UniqueEntityLoader) getLoaders().get( LockMode.READ ) :
+				createEntityLoader( lockMode );
+	}
+
+	private UniqueEntityLoader getLockModeLoader(LockMode lockMode) {
+		UniqueEntityLoader loader = (UniqueEntityLoader) getLoaders().get( lockMode );
+		if ( loader == null && LOCKING_LOADER_LOCK_MODES.contains( lockMode ) ) {
+			loader = lazyLockModeLoaders.get( lockMode );
+			if ( loader == null ) {
+				// in case of a race, both loaders are equivalent
+				final UniqueEntityLoader created = createLockingLoader( lockMode );
+				loader = lazyLockModeLoaders.putIfAbsent( lockMode, created );
+				if ( loader == null ) {
+					loader = created;
+				}
+			}
+		}
+		return loader;
+	}
+
 	protected void createQueryLoader() {
 		if ( loaderName != null ) {
 			queryLoader = new NamedQueryLoader( loaderName, this );
@@ -3719,6 +3732,48 @@ public abstract class AbstractEntityPersister
 		return loader.load( id, optionalObject, session, lockOptions );
 	}
 
+	@Override
+	public List multiLoad(Serializable[] ids, SessionImplementor session, MultiLoadOptions loadOptions) {
+		final LockMode lockMode = loadOptions.getLockOptions() == null
+				? LockMode.NONE
+				: loadOptions.getLockOptions().getLockMode();
+		return DynamicBatchingEntityLoaderBuilder.INSTANCE.multiLoad(
+				this,
+				getMultiLoader( lockMode, session ),
+				ids,
+				session,
+				loadOptions
+		);
+	}
+
+	private DynamicEntityLoader getMultiLoader(LockMode lockMode, SessionImplementor session) {
+		if ( isAffectedByEnabledFilters( session )
+				|| session.getLoadQueryInfluencers().getInternalFetchProfile() != null
+				|| isAffectedByEnabledFetchProfiles( session )
+				|| isAffectedByEntityGraph( session ) ) {
+			// the influencers change the SQL, so the loader cannot be shared
+			return DynamicBatchingEntityLoaderBuilder.INSTANCE.buildMultiLoader(
+					this,
+					lockMode,
+					getFactory(),
+					session.getLoadQueryInfluencers()
+			);
+		}
+
+		DynamicEntityLoader loader = multiLoaders.get( lockMode );
+		if ( loader == null ) {
+			// in case of a race, both loaders are equivalent
+			loader = DynamicBatchingEntityLoaderBuilder.INSTANCE.buildMultiLoader(
+					this,
+					lockMode,
+					getFactory(),
+					LoadQueryInfluencers.NONE
+			);
+			multiLoaders.put( lockMode, loader );
+		}
+		return loader;
+	}
+
 	public void registerAffectingFetchProfile(String fetchProfileName) {
 		affectingFetchProfileNames.add( fetchProfileName );
 	}
@@ -3771,7 +3826,7 @@ public abstract class AbstractEntityPersister
 			return createEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
 		}
 		else {
-			return ( UniqueEntityLoader ) getLoaders().get( lockOptions.getLockMode() );
+			return getLockModeLoader( lockOptions.getLockMode() );
 		}
 	}
 
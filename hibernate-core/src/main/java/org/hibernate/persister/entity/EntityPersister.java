@@ -24,6 +24,7 @@
 package org.hibernate.persister.entity;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -381,6 +382,13 @@ public interface EntityPersister extends OptimisticCacheSource, EntityDefinition
 	public Object load(Serializable id, Object optionalObject, LockOptions lockOptions, SessionImplementor session)
 	throws HibernateException;
 
+	/**
+	 * Load multiple instances of the persistent class from the database, issuing as few SELECT statements as
+	 * allowed by the batch size given in the load options.  The returned List contains the loaded instances in
+	 * no particular order; ids for which no row exists are simply not represented.
+	 */
+	public List multiLoad(Serializable[] ids, SessionImplementor session, MultiLoadOptions loadOptions);
+
 	/**
 	 * Do a version check (optional operation)
 	 */
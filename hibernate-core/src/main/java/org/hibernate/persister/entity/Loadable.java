@@ -112,6 +112,11 @@ public interface Loadable extends EntityPersister {
 
 	public boolean isAbstract();
 
+	/**
+	 * Get the maximum number of entities loaded at once when batch loading
+	 */
+	public int getBatchSize();
+
 	/**
 	 * Register the name of a fetch profile determined to have an affect on the
 	 * underlying loadable in regards to the fact that the underlying load SQL
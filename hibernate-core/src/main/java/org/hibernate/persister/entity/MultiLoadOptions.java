@@ -0,0 +1,47 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+
+import org.hibernate.LockOptions;
+
+/**
+ * Encapsulation of the options for performing a load by multiple identifiers.
+ *
+ * @see EntityPersister#multiLoad
+ */
+public interface MultiLoadOptions {
+	/**
+	 * The lock options to apply to the loaded entities.
+	 *
+	 * @return The lock options; never {@code null}
+	 */
+	public LockOptions getLockOptions();
+
+	/**
+	 * The maximum number of ids to be loaded per SELECT statement.
+	 *
+	 * @return The batch size; a value less than 1 indicates the persister should decide.
+	 */
+	public int getBatchSize();
+}
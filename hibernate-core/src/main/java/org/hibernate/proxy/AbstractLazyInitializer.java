@@ -295,8 +295,11 @@ public abstract class AbstractLazyInitializer implements LazyInitializer {
 
 	@Override
 	public final Object getImplementation(SessionImplementor s) throws HibernateException {
-		final EntityKey entityKey = generateEntityKeyOrNull( getIdentifier(), s, getEntityName() );
-		return (entityKey == null ? null : s.getPersistenceContext().getEntity( entityKey ));
+		final Serializable id = getIdentifier();
+		if ( id == null || s == null || entityName == null ) {
+			return null;
+		}
+		return s.getPersistenceContext().getEntity( id, s.getFactory().getEntityPersister( entityName ) );
 	}
 
 	/**
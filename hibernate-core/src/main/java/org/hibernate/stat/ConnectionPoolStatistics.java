@@ -0,0 +1,90 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+/**
+ * Statistics of the connection pool used by a {@link org.hibernate.SessionFactory}, when its
+ * {@link org.hibernate.engine.jdbc.connections.spi.ConnectionProvider} pools connections itself (the Hibernate
+ * built-in connection pool for example).
+ * <p/>
+ * The counts are gauges of the current state of the pool, the other values accumulate over the lifetime of the
+ * pool (they are not reset by {@link Statistics#clear()}).
+ */
+public interface ConnectionPoolStatistics {
+	/**
+	 * @return The maximum number of connections of the pool
+	 */
+	int getMaxSize();
+
+	/**
+	 * @return The number of connections currently held by the pool, either in use or idle
+	 */
+	int getTotalCount();
+
+	/**
+	 * @return The number of connections currently in use
+	 */
+	int getActiveCount();
+
+	/**
+	 * @return The number of idle connections
+	 */
+	int getIdleCount();
+
+	/**
+	 * @return The number of threads currently waiting for a connection
+	 */
+	int getWaitingThreadCount();
+
+	/**
+	 * @return The number of connections handed out by the pool
+	 */
+	long getAcquireCount();
+
+	/**
+	 * @return The number of physical connections opened by the pool
+	 */
+	long getCreateCount();
+
+	/**
+	 * @return The number of physical connections closed by the pool, because they exceeded their maximum lifetime
+	 * or failed validation
+	 */
+	long getRetireCount();
+
+	/**
+	 * @return The number of requests for a connection which timed out waiting for one
+	 */
+	long getTimeoutCount();
+
+	/**
+	 * @return The number of connections reported as possibly leaked
+	 */
+	long getLeakCount();
+
+	/**
+	 * @return The longest time (in milliseconds) a request had to wait for a connection
+	 */
+	long getMaxWaitTime();
+}
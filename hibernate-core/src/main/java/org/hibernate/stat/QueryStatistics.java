@@ -48,4 +48,9 @@ public interface QueryStatistics extends Serializable {
 	long getExecutionMaxTime();
 
 	long getExecutionMinTime();
+
+	/**
+	 * @return The distribution of the times (in milliseconds) taken by the executions of the query
+	 */
+	TimeHistogram getExecutionTimeHistogram();
 }
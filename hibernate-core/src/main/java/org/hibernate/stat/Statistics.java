@@ -75,6 +75,14 @@ public interface Statistics {
 	 */
 	public QueryStatistics getQueryStatistics(String queryString);
 
+	/**
+	 * Connection pool statistics, if the connections are pooled by the
+	 * {@link org.hibernate.engine.jdbc.connections.spi.ConnectionProvider} in use
+	 *
+	 * @return ConnectionPoolStatistics, or {@code null} if the connection provider does not expose any
+	 */
+	public ConnectionPoolStatistics getConnectionPoolStatistics();
+
     /**
      * Get global number of entity deletes
 	 * @return entity deletion count
@@ -114,6 +122,10 @@ public interface Statistics {
      * Get the time in milliseconds of the slowest query.
      */
 	public long getQueryExecutionMaxTime();
+	/**
+	 * Get the distribution of the times in milliseconds taken by query executions.
+	 */
+	public TimeHistogram getQueryExecutionTimeHistogram();
 	/**
 	 * Get the query string for the slowest query.
 	 */
@@ -171,6 +183,11 @@ public interface Statistics {
      * Get the global number of flush executed by sessions (either implicit or explicit)
      */
 	public long getFlushCount();
+	/**
+	 * Get the distribution of the times in microseconds taken by flushes (either implicit or explicit); most flushes
+	 * complete within a millisecond, so a coarser unit would leave them all in the first bucket
+	 */
+	public TimeHistogram getFlushTimeHistogram();
 	/**
 	 * Get the global number of connections asked by the sessions
      * (the actual number of connections used may be much smaller depending
@@ -267,6 +284,18 @@ public interface Statistics {
 	 * The number of prepared statements that were released
 	 */
 	public long getCloseStatementCount();
+	/**
+	 * The number of JDBC batches that were executed
+	 */
+	public long getJdbcBatchExecutionCount();
+	/**
+	 * The number of statements that were executed as part of a JDBC batch
+	 */
+	public long getJdbcBatchedStatementCount();
+	/**
+	 * The average number of statements per executed JDBC batch
+	 */
+	public double getJdbcBatchAverageSize();
 	/**
 	 * The number of <tt>StaleObjectStateException</tt>s 
 	 * that occurred
@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * The distribution of the times taken by some operation, such as the execution of queries or flushes.  The unit of
+ * the times is documented by the provider of the histogram.
+ * <p/>
+ * Times are recorded with a precision of about 12.5% (exact up to 7 units), so that the time reported for a
+ * percentile may exceed the actual time by that much.
+ */
+public interface TimeHistogram extends Serializable {
+	/**
+	 * @return The number of recorded times
+	 */
+	long getCount();
+
+	/**
+	 * @return The maximum recorded time, or 0 if none was recorded
+	 */
+	long getMaxTime();
+
+	/**
+	 * Get the time which the given percentage of the recorded times does not exceed; {@code getTimeAtPercentile( 99 )}
+	 * for example returns the 99th percentile.
+	 *
+	 * @param percentile The percentile, between 0 and 100
+	 *
+	 * @return The time at that percentile, or 0 if no time was recorded
+	 */
+	long getTimeAtPercentile(double percentile);
+}
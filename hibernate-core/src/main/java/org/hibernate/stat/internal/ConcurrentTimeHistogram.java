@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.hibernate.stat.TimeHistogram;
+
+/**
+ * A {@link TimeHistogram} counting the recorded times in buckets of exponentially growing width: the buckets of times
+ * between {@code 2^n} and {@code 2^(n+1)} split this range in {@value #SUB_BUCKET_COUNT} equal parts.  Recording a
+ * time is a single atomic increment (plus updating the maximum, in the rare case it grows), and no allocation.
+ */
+public class ConcurrentTimeHistogram implements TimeHistogram {
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	// times beyond ~35 years are recorded as such
+	private static final int MAX_EXPONENT = 40;
+	private static final long MAX_TIME = ( 1L << MAX_EXPONENT ) - 1;
+	private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + ( MAX_EXPONENT - SUB_BUCKET_BITS ) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray( BUCKET_COUNT );
+	private final AtomicLong maxTime = new AtomicLong();
+
+	void record(long time) {
+		final long value = time < 0 ? 0 : Math.min( time, MAX_TIME );
+		counts.incrementAndGet( bucketIndex( value ) );
+		for ( long old = maxTime.get(); value > old && !maxTime.compareAndSet( old, value ); old = maxTime.get() ) {
+			// retry until either updated, or a greater time was recorded concurrently
+		}
+	}
+
+	static int bucketIndex(long value) {
+		if ( value < SUB_BUCKET_COUNT ) {
+			return (int) value;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros( value );
+		final int shift = exponent - SUB_BUCKET_BITS;
+		final int subBucket = (int) ( value >>> shift ) & ( SUB_BUCKET_COUNT - 1 );
+		return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	static long highestValueOfBucket(int index) {
+		if ( index < SUB_BUCKET_COUNT ) {
+			return index;
+		}
+		final int shift = ( index - SUB_BUCKET_COUNT ) / SUB_BUCKET_COUNT;
+		final int subBucket = ( index - SUB_BUCKET_COUNT ) % SUB_BUCKET_COUNT;
+		final long lowestValue = (long) ( SUB_BUCKET_COUNT + subBucket ) << shift;
+		return lowestValue + ( 1L << shift ) - 1;
+	}
+
+	@Override
+	public long getCount() {
+		long count = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			count += counts.get( i );
+		}
+		return count;
+	}
+
+	@Override
+	public long getMaxTime() {
+		return maxTime.get();
+	}
+
+	@Override
+	public long getTimeAtPercentile(double percentile) {
+		if ( percentile < 0 || percentile > 100 ) {
+			throw new IllegalArgumentException( "Percentile must be between 0 and 100 : " + percentile );
+		}
+		final long[] snapshot = new long[BUCKET_COUNT];
+		long count = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			snapshot[i] = counts.get( i );
+			count += snapshot[i];
+		}
+		if ( count == 0 ) {
+			return 0;
+		}
+
+		final long rank = Math.max( 1L, (long) Math.ceil( percentile / 100 * count ) );
+		long cumulativeCount = 0;
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			cumulativeCount += snapshot[i];
+			if ( cumulativeCount >= rank ) {
+				return Math.min( highestValueOfBucket( i ), getMaxTime() );
+			}
+		}
+		return getMaxTime();
+	}
+
+	void reset() {
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			counts.set( i, 0 );
+		}
+		maxTime.set( 0 );
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder()
+				.append( "TimeHistogram" )
+				.append( "[count=" ).append( getCount() )
+				.append( ",p50=" ).append( getTimeAtPercentile( 50 ) )
+				.append( ",p99=" ).append( getTimeAtPercentile( 99 ) )
+				.append( ",max=" ).append( getMaxTime() )
+				.append( ']' )
+				.toString();
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.stat.TimeHistogram;
+import org.hibernate.stat.spi.MetricsRecorder;
+
+/**
+ * A dependency-free {@link MetricsRecorder} keeping the distribution of the recorded times in memory: per operation,
+ * and per query.  The recorded metrics are meant to be read (scraped) periodically by the application.
+ * <p/>
+ * All times are recorded in microseconds.  The metrics of a bounded number of queries are kept; those of the
+ * queries executed least (in the manner of the query plan cache) make room for the metrics of other queries.
+ */
+public class InMemoryMetricsRecorder implements MetricsRecorder {
+	/**
+	 * The default maximum number of queries whose metrics are kept.
+	 */
+	public static final int DEFAULT_MAX_QUERY_COUNT = 2048;
+
+	private final ConcurrentTimeHistogram[] operationTimes;
+	private final BoundedConcurrentHashMap<String, QueryMetrics> queryMetrics;
+
+	public InMemoryMetricsRecorder() {
+		this( DEFAULT_MAX_QUERY_COUNT );
+	}
+
+	/**
+	 * Constructs a recorder keeping the metrics of the given number of queries at most.
+	 *
+	 * @param maxQueryCount The maximum number of queries whose metrics are kept
+	 */
+	public InMemoryMetricsRecorder(int maxQueryCount) {
+		queryMetrics = new BoundedConcurrentHashMap<String, QueryMetrics>(
+				maxQueryCount,
+				20,
+				BoundedConcurrentHashMap.Eviction.LIRS
+		);
+		operationTimes = new ConcurrentTimeHistogram[Operation.values().length];
+		for ( int i = 0; i < operationTimes.length; i++ ) {
+			operationTimes[i] = new ConcurrentTimeHistogram();
+		}
+	}
+
+	/**
+	 * The metrics of a single query.
+	 */
+	public static class QueryMetrics {
+		private final String query;
+		private final StripedCounter rowCount = new StripedCounter();
+		private final ConcurrentTimeHistogram executionTimes = new ConcurrentTimeHistogram();
+		private final ConcurrentTimeHistogram jdbcExecuteStatementTimes = new ConcurrentTimeHistogram();
+
+		private QueryMetrics(String query) {
+			this.query = query;
+		}
+
+		public String getQuery() {
+			return query;
+		}
+
+		/**
+		 * @return The number of executions of the query
+		 */
+		public long getExecutionCount() {
+			return executionTimes.getCount();
+		}
+
+		/**
+		 * @return The number of rows returned by all executions of the query (scrolled or iterated results excepted)
+		 */
+		public long getRowCount() {
+			return rowCount.get();
+		}
+
+		/**
+		 * @return The distribution of the times (in microseconds) taken by the executions of the query
+		 */
+		public TimeHistogram getExecutionTimeHistogram() {
+			return executionTimes;
+		}
+
+		/**
+		 * @return The distribution of the times (in microseconds) taken by the JDBC statements executed on behalf of
+		 * the query; these include the statements loading the associations fetched by subsequent selects
+		 */
+		public TimeHistogram getJdbcExecuteStatementTimeHistogram() {
+			return jdbcExecuteStatementTimes;
+		}
+
+		@Override
+		public String toString() {
+			return new StringBuilder()
+					.append( "QueryMetrics" )
+					.append( "[query=" ).append( query )
+					.append( ",executionCount=" ).append( getExecutionCount() )
+					.append( ",rowCount=" ).append( rowCount )
+					.append( ",p50=" ).append( executionTimes.getTimeAtPercentile( 50 ) )
+					.append( ",p99=" ).append( executionTimes.getTimeAtPercentile( 99 ) )
+					.append( ",max=" ).append( executionTimes.getMaxTime() )
+					.append( ']' )
+					.toString();
+		}
+	}
+
+	private static long toMicroseconds(long nanoseconds) {
+		return TimeUnit.MICROSECONDS.convert( nanoseconds, TimeUnit.NANOSECONDS );
+	}
+
+	private QueryMetrics locateQueryMetrics(String query) {
+		QueryMetrics metrics = queryMetrics.get( query );
+		if ( metrics == null ) {
+			metrics = new QueryMetrics( query );
+			final QueryMetrics previous = queryMetrics.putIfAbsent( query, metrics );
+			if ( previous != null ) {
+				metrics = previous;
+			}
+		}
+		return metrics;
+	}
+
+	@Override
+	public void recordOperation(Operation operation, String query, long nanoseconds) {
+		final long time = toMicroseconds( nanoseconds );
+		operationTimes[operation.ordinal()].record( time );
+		if ( query != null && operation == Operation.JDBC_EXECUTE_STATEMENT ) {
+			locateQueryMetrics( query ).jdbcExecuteStatementTimes.record( time );
+		}
+	}
+
+	@Override
+	public void recordQueryExecution(String query, int rows, long nanoseconds) {
+		if ( query == null ) {
+			return;
+		}
+		final QueryMetrics metrics = locateQueryMetrics( query );
+		metrics.rowCount.add( rows );
+		metrics.executionTimes.record( toMicroseconds( nanoseconds ) );
+	}
+
+	/**
+	 * Get the distribution of the times (in microseconds) taken by an operation.
+	 *
+	 * @param operation The operation
+	 *
+	 * @return The time histogram
+	 */
+	public TimeHistogram getOperationTimeHistogram(Operation operation) {
+		return operationTimes[operation.ordinal()];
+	}
+
+	/**
+	 * @return The query strings (HQL or SQL) of the recorded queries whose metrics are kept
+	 */
+	public Set<String> getQueries() {
+		return Collections.unmodifiableSet( queryMetrics.keySet() );
+	}
+
+	/**
+	 * Get the metrics of a query.
+	 *
+	 * @param query The query string (HQL or SQL)
+	 *
+	 * @return The query metrics, or {@code null} if the query was not recorded (or its metrics were discarded)
+	 */
+	public QueryMetrics getQueryMetrics(String query) {
+		return queryMetrics.get( query );
+	}
+
+	/**
+	 * Discard all recorded metrics
+	 */
+	public void clear() {
+		for ( ConcurrentTimeHistogram histogram : operationTimes ) {
+			histogram.reset();
+		}
+		queryMetrics.clear();
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which, once updated concurrently, spreads its updates over several cells (one per thread, ideally) and
+ * only sums these up when read.  Unlike a single {@link AtomicLong} which all threads update, frequent updates from
+ * many threads do not contend with each other.  Reads are comparatively expensive, and do not reflect the updates
+ * made at that very moment.
+ * <p/>
+ * Until a first contended update, the counter only consists of an {@link AtomicLong}; the cells are not allocated for
+ * counters which are never updated concurrently.
+ */
+final class StripedCounter implements Serializable {
+	// the cells are this many longs apart, so that distinct cells (most likely) do not share a cache line
+	private static final int CELL_SPACING = 8;
+	private static final int CELL_COUNT = determineCellCount();
+
+	private final AtomicLong base = new AtomicLong();
+	private volatile AtomicLongArray cells;
+
+	private static int determineCellCount() {
+		final int processors = Runtime.getRuntime().availableProcessors();
+		int cellCount = 2;
+		while ( cellCount < processors && cellCount < 32 ) {
+			cellCount <<= 1;
+		}
+		return cellCount;
+	}
+
+	void increment() {
+		add( 1 );
+	}
+
+	void add(long delta) {
+		AtomicLongArray cells = this.cells;
+		if ( cells == null ) {
+			final long value = base.get();
+			if ( base.compareAndSet( value, value + delta ) ) {
+				return;
+			}
+			cells = createCells();
+		}
+		cells.addAndGet( cellIndex(), delta );
+	}
+
+	private synchronized AtomicLongArray createCells() {
+		if ( cells == null ) {
+			cells = new AtomicLongArray( CELL_COUNT * CELL_SPACING );
+		}
+		return cells;
+	}
+
+	private static int cellIndex() {
+		// thread ids are usually handed out sequentially, so that concurrently running threads use distinct cells
+		return (int) ( Thread.currentThread().getId() & ( CELL_COUNT - 1 ) ) * CELL_SPACING;
+	}
+
+	long get() {
+		long sum = base.get();
+		final AtomicLongArray cells = this.cells;
+		if ( cells != null ) {
+			for ( int i = 0; i < cells.length(); i += CELL_SPACING ) {
+				sum += cells.get( i );
+			}
+		}
+		return sum;
+	}
+
+	void reset() {
+		base.set( 0 );
+		final AtomicLongArray cells = this.cells;
+		if ( cells != null ) {
+			for ( int i = 0; i < cells.length(); i += CELL_SPACING ) {
+				cells.set( i, 0 );
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString( get() );
+	}
+}
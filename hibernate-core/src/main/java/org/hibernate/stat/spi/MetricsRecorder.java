@@ -0,0 +1,70 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.spi;
+
+/**
+ * Receives the times taken by the operations the sessions of a SessionFactory perform, as notified to their
+ * {@link org.hibernate.SessionEventListener}s.  Unlike {@link StatisticsImplementor}, which accumulates totals, this
+ * contract receives every single timing, allowing to feed a metrics library (or a
+ * {@link org.hibernate.stat.internal.InMemoryMetricsRecorder}).
+ * <p/>
+ * Implementations are called concurrently by all sessions, and must be thread-safe.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#METRICS_RECORDER
+ */
+public interface MetricsRecorder {
+	/**
+	 * The timed operations
+	 */
+	public static enum Operation {
+		JDBC_CONNECTION_ACQUISITION,
+		JDBC_PREPARE_STATEMENT,
+		JDBC_EXECUTE_STATEMENT,
+		JDBC_EXECUTE_BATCH,
+		CACHE_PUT,
+		CACHE_HIT,
+		CACHE_MISS,
+		FLUSH,
+		PARTIAL_FLUSH
+	}
+
+	/**
+	 * Record the time taken by an operation.
+	 *
+	 * @param operation The operation
+	 * @param query The query (HQL or SQL) on behalf of which the operation was performed, or {@code null} if it was
+	 * not performed while executing a query
+	 * @param nanoseconds The time taken, in nanoseconds
+	 */
+	public void recordOperation(Operation operation, String query, long nanoseconds);
+
+	/**
+	 * Record the execution of a query.
+	 *
+	 * @param query The query string (HQL or SQL)
+	 * @param rows The number of rows returned; 0 for scrolled or iterated results, whose rows are not known yet
+	 * @param nanoseconds The time taken, in nanoseconds
+	 */
+	public void recordQueryExecution(String query, int rows, long nanoseconds);
+}
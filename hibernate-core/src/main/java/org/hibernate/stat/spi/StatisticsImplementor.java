@@ -48,6 +48,13 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void flush();
 
+	/**
+	 * Callback about a flush having occurred
+	 *
+	 * @param time The time taken by the flush, in microseconds
+	 */
+	public void flush(long time);
+
 	/**
 	 * Callback about a connection being obtained from {@link org.hibernate.engine.jdbc.connections.spi.ConnectionProvider}
 	 */
@@ -63,6 +70,13 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void closeStatement();
 
+	/**
+	 * Callback about a JDBC batch being executed.
+	 *
+	 * @param numberOfStatements The number of statements contained in the executed batch
+	 */
+	public void jdbcBatchExecuted(int numberOfStatements);
+
 	/**
 	 * Callback about a transaction completing.
 	 *
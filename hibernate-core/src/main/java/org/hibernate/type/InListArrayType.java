@@ -0,0 +1,237 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.type;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.jdbc.Size;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.dom4j.Node;
+
+/**
+ * Binds the values of an {@code IN} list as a single array parameter, for use with the sub-select returned by
+ * {@link org.hibernate.dialect.Dialect#getArrayElementsSubselect(int)}.  The value is an {@code Object[]} of
+ * values of the element type.
+ * <p/>
+ * Only used for binding query parameters; the type cannot be mapped.
+ */
+public class InListArrayType extends AbstractType {
+	/**
+	 * The suffix of the names under which query parameter lists are bound as arrays.  The HQL translator renders
+	 * the sub-select selecting the array elements for an {@code IN} list consisting of such a parameter.
+	 */
+	public static final String PARAMETER_NAME_SUFFIX = "_array_";
+
+	private static final Map<Integer, Class> JDBC_CLASSES = new HashMap<Integer, Class>();
+
+	static {
+		JDBC_CLASSES.put( Types.BIGINT, Long.class );
+		JDBC_CLASSES.put( Types.INTEGER, Integer.class );
+		JDBC_CLASSES.put( Types.SMALLINT, Short.class );
+		JDBC_CLASSES.put( Types.NUMERIC, BigDecimal.class );
+		JDBC_CLASSES.put( Types.VARCHAR, String.class );
+	}
+
+	private final Type elementType;
+	private final int elementSqlType;
+
+	/**
+	 * Constructs an InListArrayType.
+	 *
+	 * @param elementType The type of the values; see {@link #isApplicable}
+	 * @param mapping The mapping, used to determine the JDBC type of the values
+	 */
+	public InListArrayType(Type elementType, Mapping mapping) {
+		this.elementType = elementType;
+		this.elementSqlType = elementType.sqlTypes( mapping )[0];
+	}
+
+	/**
+	 * Should the values of an {@code IN} list of the given type be bound as a single array parameter?  That is the
+	 * case if enabled by {@link org.hibernate.cfg.AvailableSettings#IN_CLAUSE_ARRAY_BINDING}, supported by the
+	 * dialect, and if the values are of a single-column basic type whose Java type is the one the JDBC driver uses
+	 * for the column, so that they can be put into the array unconverted.
+	 *
+	 * @param elementType The type of the values
+	 * @param factory The session factory
+	 *
+	 * @return {@code true} if the values should be bound as an array
+	 */
+	public static boolean isApplicable(Type elementType, SessionFactoryImplementor factory) {
+		if ( !factory.getSettings().isInClauseArrayBindingEnabled() || !factory.getDialect().supportsArrayInList() ) {
+			return false;
+		}
+		if ( !( elementType instanceof AbstractStandardBasicType ) ) {
+			return false;
+		}
+		final int[] sqlTypes = elementType.sqlTypes( factory );
+		return sqlTypes.length == 1 && JDBC_CLASSES.get( sqlTypes[0] ) == elementType.getReturnedClass();
+	}
+
+	public Type getElementType() {
+		return elementType;
+	}
+
+	/**
+	 * The JDBC type code of the array elements, as expected by
+	 * {@link org.hibernate.dialect.Dialect#getArrayElementsSubselect(int)}.
+	 *
+	 * @return The JDBC type code
+	 */
+	public int getElementSqlType() {
+		return elementSqlType;
+	}
+
+	@Override
+	public int[] sqlTypes(Mapping mapping) throws MappingException {
+		return new int[] { Types.ARRAY };
+	}
+
+	@Override
+	public Size[] dictatedSizes(Mapping mapping) throws MappingException {
+		return new Size[] { LEGACY_DICTATED_SIZE };
+	}
+
+	@Override
+	public Size[] defaultSizes(Mapping mapping) throws MappingException {
+		return new Size[] { LEGACY_DEFAULT_SIZE };
+	}
+
+	@Override
+	public int getColumnSpan(Mapping mapping) throws MappingException {
+		return 1;
+	}
+
+	@Override
+	public Class getReturnedClass() {
+		return Object[].class;
+	}
+
+	@Override
+	public boolean isEqual(Object x, Object y) {
+		return Arrays.equals( (Object[]) x, (Object[]) y );
+	}
+
+	@Override
+	public int getHashCode(Object x) {
+		return Arrays.hashCode( (Object[]) x );
+	}
+
+	@Override
+	public boolean isDirty(Object old, Object current, boolean[] checkable, SessionImplementor session)
+			throws HibernateException {
+		return checkable[0] && !isEqual( old, current );
+	}
+
+	@Override
+	public Object nullSafeGet(ResultSet rs, String[] names, SessionImplementor session, Object owner)
+			throws HibernateException, SQLException {
+		throw new UnsupportedOperationException( "InListArrayType is only used for binding parameters" );
+	}
+
+	@Override
+	public Object nullSafeGet(ResultSet rs, String name, SessionImplementor session, Object owner)
+			throws HibernateException, SQLException {
+		throw new UnsupportedOperationException( "InListArrayType is only used for binding parameters" );
+	}
+
+	@Override
+	public void nullSafeSet(PreparedStatement st, Object value, int index, boolean[] settable, SessionImplementor session)
+			throws HibernateException, SQLException {
+		if ( settable[0] ) {
+			nullSafeSet( st, value, index, session );
+		}
+	}
+
+	@Override
+	public void nullSafeSet(PreparedStatement st, Object value, int index, SessionImplementor session)
+			throws HibernateException, SQLException {
+		final Object[] values = value == null ? new Object[0] : (Object[]) value;
+		session.getFactory().getDialect().bindArray( st, index, elementSqlType, values );
+	}
+
+	@Override
+	public String toLoggableString(Object value, SessionFactoryImplementor factory) throws HibernateException {
+		if ( value == null ) {
+			return "null";
+		}
+		final Object[] values = (Object[]) value;
+		final StringBuilder buf = new StringBuilder( "[" );
+		for ( int i = 0; i < values.length; i++ ) {
+			if ( i > 0 ) {
+				buf.append( ", " );
+			}
+			buf.append( values[i] == null ? "null" : elementType.toLoggableString( values[i], factory ) );
+		}
+		return buf.append( ']' ).toString();
+	}
+
+	@Override
+	public void setToXMLNode(Node node, Object value, SessionFactoryImplementor factory) throws HibernateException {
+		throw new UnsupportedOperationException( "InListArrayType is only used for binding parameters" );
+	}
+
+	@Override
+	public Object fromXMLNode(Node xml, Mapping factory) throws HibernateException {
+		throw new UnsupportedOperationException( "InListArrayType is only used for binding parameters" );
+	}
+
+	@Override
+	public String getName() {
+		return elementType.getName() + "[]";
+	}
+
+	@Override
+	public Object deepCopy(Object value, SessionFactoryImplementor factory) throws HibernateException {
+		return value == null ? null : ( (Object[]) value ).clone();
+	}
+
+	@Override
+	public boolean isMutable() {
+		return true;
+	}
+
+	@Override
+	public Object replace(Object original, Object target, SessionImplementor session, Object owner, Map copyCache)
+			throws HibernateException {
+		return original;
+	}
+
+	@Override
+	public boolean[] toColumnNullness(Object value, Mapping mapping) {
+		return new boolean[] { value != null };
+	}
+}
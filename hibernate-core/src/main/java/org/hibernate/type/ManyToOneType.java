@@ -213,8 +213,8 @@ public class ManyToOneType extends EntityType {
 		if ( uniqueKeyPropertyName == null && id != null ) {
 			final EntityPersister persister = getAssociatedEntityPersister( session.getFactory() );
 			if ( persister.isBatchLoadable() ) {
-				final EntityKey entityKey = session.generateEntityKey( id, persister );
-				if ( !session.getPersistenceContext().containsEntity( entityKey ) ) {
+				if ( !session.getPersistenceContext().containsEntity( id, persister ) ) {
+					final EntityKey entityKey = session.generateEntityKey( id, persister );
 					session.getPersistenceContext().getBatchFetchQueue().addBatchLoadableEntityKey( entityKey );
 				}
 			}
@@ -23,6 +23,12 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.junit.Test;
 
 import org.hibernate.id.IdentifierGeneratorHelper;
@@ -254,6 +260,70 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		assertEquals( 4, sequence.getCurrentValue() );
 	}
 
+	@Test
+	public void testBasicPooledLoThreadLocalOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1, 3 );
+		final Optimizer optimizer = buildPooledLoThreadLocalOptimizer( 1, 3 );
+
+		assertEquals( 0, sequence.getTimesCalled() );
+		assertEquals( -1, sequence.getCurrentValue() );
+
+		Long next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 1, next.intValue() );
+		assertEquals( 1, sequence.getTimesCalled() );
+		assertEquals( 1, sequence.getCurrentValue() );
+
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 2, next.intValue() );
+		assertEquals( 1, sequence.getTimesCalled() );
+
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 3, next.intValue() );
+		assertEquals( 1, sequence.getTimesCalled() );
+
+		// force a "clock over"
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 4, next.intValue() );
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( (1+3), sequence.getCurrentValue() );
+		assertEquals( (1+3), optimizer.getLastSourceValue().makeValue().intValue() );
+	}
+
+	@Test
+	public void testPooledLoThreadLocalOptimizerUsageFromMultipleThreads() throws Exception {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final Optimizer optimizer = buildPooledLoThreadLocalOptimizer( 1, 10 );
+
+		final int numberOfThreads = 4;
+		final int valuesPerThread = 100;
+		final Set<Long> values = Collections.synchronizedSet( new HashSet<Long>() );
+		final List<Thread> threads = new ArrayList<Thread>();
+		for ( int i = 0; i < numberOfThreads; i++ ) {
+			threads.add(
+					new Thread() {
+						@Override
+						public void run() {
+							for ( int j = 0; j < valuesPerThread; j++ ) {
+								values.add( (Long) optimizer.generate( sequence ) );
+							}
+						}
+					}
+			);
+		}
+		for ( Thread thread : threads ) {
+			thread.start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+
+		// all values are distinct, and each thread used up all the blocks it obtained
+		assertEquals( numberOfThreads * valuesPerThread, values.size() );
+		assertEquals( numberOfThreads * valuesPerThread / 10, sequence.getTimesCalled() );
+		assertEquals( 1, Collections.min( values ).intValue() );
+		assertEquals( numberOfThreads * valuesPerThread, Collections.max( values ).intValue() );
+	}
+
 	private static Optimizer buildNoneOptimizer(long initial, int increment) {
 		return buildOptimizer( StandardOptimizerDescriptor.NONE, initial, increment );
 	}
@@ -270,6 +340,10 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		return buildOptimizer( StandardOptimizerDescriptor.POOLED_LO, initial, increment );
 	}
 
+	private static Optimizer buildPooledLoThreadLocalOptimizer(long initial, int increment) {
+		return buildOptimizer( StandardOptimizerDescriptor.POOLED_LOTL, initial, increment );
+	}
+
 	private static Optimizer buildOptimizer(
 			StandardOptimizerDescriptor descriptor,
 			long initial,
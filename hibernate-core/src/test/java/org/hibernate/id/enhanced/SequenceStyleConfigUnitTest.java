@@ -275,6 +275,34 @@ public class SequenceStyleConfigUnitTest extends BaseUnitTestCase {
 		}
 	}
 
+	@Test
+	public void testPreferredPooledOptimizerSettingHonored() {
+		StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.DIALECT, PooledSequenceDialect.class.getName() )
+				.build();
+
+		try {
+			Properties props = buildGeneratorPropertiesBase( serviceRegistry );
+			props.setProperty( SequenceStyleGenerator.INCREMENT_PARAM, "20" );
+			props.setProperty( Environment.PREFER_POOLED_VALUES_LO, "true" );
+			props.setProperty( AvailableSettings.PREFERRED_POOLED_OPTIMIZER, StandardOptimizerDescriptor.POOLED_LOTL.getExternalName() );
+			SequenceStyleGenerator generator = new SequenceStyleGenerator();
+			generator.configure( StandardBasicTypes.LONG, props, serviceRegistry.getService( JdbcEnvironment.class ) );
+			assertClassAssignability( SequenceStructure.class, generator.getDatabaseStructure().getClass() );
+			assertClassAssignability( PooledLoThreadLocalOptimizer.class, generator.getOptimizer().getClass() );
+			assertEquals( 20, generator.getOptimizer().getIncrementSize() );
+
+			// an increment size of 1 still means no optimization
+			props.setProperty( SequenceStyleGenerator.INCREMENT_PARAM, "1" );
+			generator = new SequenceStyleGenerator();
+			generator.configure( StandardBasicTypes.LONG, props, serviceRegistry.getService( JdbcEnvironment.class ) );
+			assertClassAssignability( NoopOptimizer.class, generator.getOptimizer().getClass() );
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( serviceRegistry );
+		}
+	}
+
 	public static class TableDialect extends Dialect {
 		public boolean supportsSequences() {
 			return false;
@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the building blocks of {@link ConcurrentStatisticsImpl}.
+ */
+public class ConcurrentStatisticsPrimitivesTest extends BaseUnitTestCase {
+	@Test
+	public void testBucketBoundaries() {
+		for ( long value = 0; value < 100000; value++ ) {
+			final int index = ConcurrentTimeHistogram.bucketIndex( value );
+			final long highestValue = ConcurrentTimeHistogram.highestValueOfBucket( index );
+			assertTrue( value <= highestValue );
+			// the width of a bucket is at most 1/8th of its lowest value
+			assertTrue( highestValue - value <= Math.max( 0, value / 8 ) );
+			assertEquals( index, ConcurrentTimeHistogram.bucketIndex( highestValue ) );
+		}
+		final long maxTime = ( 1L << 40 ) - 1;
+		assertEquals(
+				maxTime,
+				ConcurrentTimeHistogram.highestValueOfBucket( ConcurrentTimeHistogram.bucketIndex( maxTime ) )
+		);
+	}
+
+	@Test
+	public void testPercentiles() {
+		final ConcurrentTimeHistogram histogram = new ConcurrentTimeHistogram();
+		assertEquals( 0, histogram.getTimeAtPercentile( 99 ) );
+
+		for ( int time = 1; time <= 1000; time++ ) {
+			histogram.record( time );
+		}
+		assertEquals( 1000, histogram.getCount() );
+		assertEquals( 1000, histogram.getMaxTime() );
+		assertEquals( 1, histogram.getTimeAtPercentile( 0 ) );
+		assertEquals( 1000, histogram.getTimeAtPercentile( 100 ) );
+
+		final long median = histogram.getTimeAtPercentile( 50 );
+		assertTrue( median >= 500 && median <= 500 + 500 / 8 );
+		final long p99 = histogram.getTimeAtPercentile( 99 );
+		assertTrue( p99 >= 990 && p99 <= 1000 );
+
+		histogram.reset();
+		assertEquals( 0, histogram.getCount() );
+		assertEquals( 0, histogram.getMaxTime() );
+	}
+
+	@Test
+	public void testConcurrentCounting() throws Exception {
+		final StripedCounter counter = new StripedCounter();
+		final int threadCount = 8;
+		final int incrementsPerThread = 100000;
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final Thread[] threads = new Thread[threadCount];
+		for ( int i = 0; i < threadCount; i++ ) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					}
+					catch (InterruptedException e) {
+						return;
+					}
+					for ( int j = 0; j < incrementsPerThread; j++ ) {
+						counter.increment();
+					}
+				}
+			};
+			threads[i].start();
+		}
+		start.countDown();
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertEquals( (long) threadCount * incrementsPerThread, counter.get() );
+		assertEquals( Long.toString( counter.get() ), counter.toString() );
+
+		counter.add( 5 );
+		counter.reset();
+		assertEquals( 0, counter.get() );
+	}
+}
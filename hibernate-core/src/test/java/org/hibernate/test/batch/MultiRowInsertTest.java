@@ -0,0 +1,192 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batch;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests combining batched inserts into multi-row inserts.
+ */
+@RequiresDialect(H2Dialect.class)
+public class MultiRowInsertTest extends BaseNonConfigCoreFunctionalTestCase {
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Reading.class, ThresholdReading.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "20" );
+		settings.put( AvailableSettings.MULTI_ROW_INSERT, "true" );
+	}
+
+	@After
+	public void deleteReadings() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( Object reading : s.createQuery( "from Reading" ).list() ) {
+			s.delete( reading );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testInsertsCombined() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 50; i++ ) {
+			s.persist( new Reading( "reading " + i, i ) );
+		}
+		sessionFactory().getStatistics().clear();
+		s.flush();
+		// the single-row insert, then statements of 20, 20, 8 and 2 rows
+		assertEquals( 5, sessionFactory().getStatistics().getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertReadings( Reading.class, 50 );
+	}
+
+	@Test
+	public void testJoinedInsertsCombined() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 25; i++ ) {
+			s.persist( new ThresholdReading( "reading " + i, i, i * 2 ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertReadings( ThresholdReading.class, 25 );
+		s = openSession();
+		s.beginTransaction();
+		final List<ThresholdReading> readings = s.createQuery( "from ThresholdReading r order by r.value" ).list();
+		for ( int i = 0; i < readings.size(); i++ ) {
+			assertEquals( i * 2, readings.get( i ).getThreshold() );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSingleInsert() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Reading( "reading 0", 0 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		assertReadings( Reading.class, 1 );
+	}
+
+	private void assertReadings(Class readingClass, int expected) {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Reading> readings = s.createQuery( "from " + readingClass.getName() + " r order by r.value" ).list();
+		assertEquals( expected, readings.size() );
+		for ( int i = 0; i < expected; i++ ) {
+			assertEquals( "reading " + i, readings.get( i ).getName() );
+			assertEquals( i, readings.get( i ).getValue() );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Reading")
+	@Inheritance(strategy = InheritanceType.JOINED)
+	public static class Reading {
+		@Id
+		@GeneratedValue(generator = "pooled")
+		@GenericGenerator(
+				name = "pooled",
+				strategy = "enhanced-sequence",
+				parameters = {
+						@Parameter(name = "increment_size", value = "10"),
+						@Parameter(name = "optimizer", value = "pooled")
+				}
+		)
+		private Long id;
+		private String name;
+		private int value;
+
+		public Reading() {
+		}
+
+		public Reading(String name, int value) {
+			this.name = name;
+			this.value = value;
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getValue() {
+			return value;
+		}
+	}
+
+	@Entity(name = "ThresholdReading")
+	public static class ThresholdReading extends Reading {
+		private int threshold;
+
+		public ThresholdReading() {
+		}
+
+		public ThresholdReading(String name, int value, int threshold) {
+			super( name, value );
+			this.threshold = threshold;
+		}
+
+		public int getThreshold() {
+			return threshold;
+		}
+	}
+}
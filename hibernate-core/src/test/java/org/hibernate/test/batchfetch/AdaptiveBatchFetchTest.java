@@ -0,0 +1,253 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests batch sizes adapting to the use of the batch fetched entities and collections.
+ */
+public class AdaptiveBatchFetchTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int SIZE = 64;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Author.class, Book.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, "16" );
+		settings.put( AvailableSettings.ADAPTIVE_BATCH_FETCH, "true" );
+	}
+
+	@Before
+	public void createAuthors() {
+		// the batch sizes adapted by the other tests would carry over
+		sessionFactory().getAdaptiveBatchSizes().clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 0; i < SIZE; i++ ) {
+			final Author author = new Author( i, "author " + i );
+			s.persist( author );
+			s.persist( new Book( i, author ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@After
+	public void deleteAuthors() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Book" ).executeUpdate();
+		s.createQuery( "delete Author" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testBatchSizeKeptWhileBatchFetchedEntitiesAreAccessed() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Book> books = s.createQuery( "from Book b order by b.id" ).list();
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		for ( Book book : books ) {
+			book.getAuthor().getName();
+		}
+		assertEquals( SIZE / 16, statistics.getPrepareStatementCount() );
+		assertEquals( SIZE, statistics.getEntityLoadCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testBatchSizeAdaptsToAccessedEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Book> books = s.createQuery( "from Book b order by b.id" ).list();
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		// none of the authors batch fetched along with these is accessed, so the batch size halves
+		books.get( 0 ).getAuthor().getName();
+		books.get( 16 ).getAuthor().getName();
+		assertEquals( 16 + 8, statistics.getEntityLoadCount() );
+
+		// batches of 4, 8 and 16 authors as the batch fetched authors get accessed, then the remaining 12 authors
+		// in the legacy batches of 10 and 2
+		statistics.clear();
+		for ( Book book : books.subList( 24, SIZE ) ) {
+			book.getAuthor().getName();
+		}
+		assertEquals( 5, statistics.getPrepareStatementCount() );
+		assertEquals( SIZE - 24, statistics.getEntityLoadCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testBatchSizeSharedBySessions() {
+		Session s = openSession();
+		s.beginTransaction();
+		List<Book> books = s.createQuery( "from Book b order by b.id" ).list();
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		// none of the authors batch fetched along with these is accessed, so the batch size halves
+		books.get( 0 ).getAuthor().getName();
+		books.get( 16 ).getAuthor().getName();
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		books = s.createQuery( "from Book b order by b.id" ).list();
+		statistics.clear();
+
+		// the next session starts out with the batch size of 8 the previous one settled on
+		books.get( 32 ).getAuthor().getName();
+		assertEquals( 8, statistics.getEntityLoadCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testBatchSizeAdaptedPerSession() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session accessingAll = openSession();
+		accessingAll.beginTransaction();
+		final List<Book> allBooks = accessingAll.createQuery( "from Book b order by b.id" ).list();
+		allBooks.get( 0 ).getAuthor().getName();
+
+		Session accessingFew = openSession();
+		accessingFew.beginTransaction();
+		final List<Book> fewBooks = accessingFew.createQuery( "from Book b order by b.id" ).list();
+		statistics.clear();
+
+		// batches of 16, 8 and 4 authors, as none of the batch fetched authors is accessed
+		fewBooks.get( 0 ).getAuthor().getName();
+		fewBooks.get( 16 ).getAuthor().getName();
+		fewBooks.get( 32 ).getAuthor().getName();
+		assertEquals( 16 + 8 + 4, statistics.getEntityLoadCount() );
+		accessingFew.getTransaction().commit();
+		accessingFew.close();
+
+		// the other session keeps its own batch size of 16, all the authors it batch fetches are accessed
+		statistics.clear();
+		for ( Book book : allBooks.subList( 1, SIZE ) ) {
+			book.getAuthor().getName();
+		}
+		assertEquals( SIZE / 16 - 1, statistics.getPrepareStatementCount() );
+		assertEquals( SIZE - 16, statistics.getEntityLoadCount() );
+		accessingAll.getTransaction().commit();
+		accessingAll.close();
+	}
+
+	@Test
+	public void testBatchSizeAdaptsToAccessedCollections() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Author> authors = s.createQuery( "from Author a order by a.id" ).list();
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		// batches of 16, 8, 4 and 2 collections, as none of the batch fetched collections is accessed
+		for ( int i = 0; i < SIZE; i += 16 ) {
+			assertEquals( 1, authors.get( i ).getBooks().size() );
+		}
+		assertEquals( 16 + 8 + 4 + 2, statistics.getCollectionLoadCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		private Long id;
+		private String name;
+		@OneToMany(mappedBy = "author")
+		private Set<Book> books = new HashSet<Book>();
+
+		public Author() {
+		}
+
+		public Author(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Set<Book> getBooks() {
+			return books;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Long id;
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Long id, Author author) {
+			this.id = id;
+			this.author = author;
+		}
+
+		public Author getAuthor() {
+			return author;
+		}
+	}
+}
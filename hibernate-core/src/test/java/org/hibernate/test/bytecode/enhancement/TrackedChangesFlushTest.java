@@ -0,0 +1,159 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.enhancement;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.hibernate.test.bytecode.enhancement.entity.DirtyTrackedEntity;
+import org.hibernate.test.bytecode.enhancement.entity.LegacyDirtyTrackedEntity;
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests flushing only the tracked changes of entities enhanced for dirty tracking.
+ */
+public class TrackedChangesFlushTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { DirtyTrackedEntity.class, LegacyDirtyTrackedEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.FLUSH_TRACKED_CHANGES_ONLY, "true" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testOnlyModifiedEntitiesAreFlushed() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= 10; i++ ) {
+			s.save( new DirtyTrackedEntity( i, "entity " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		assertEquals( 10, s.createQuery( "from DirtyTrackedEntity" ).list().size() );
+		assertEquals( 0, persistenceContext.reentrantSafeEntityEntriesToFlush().length );
+		assertEquals( 0, persistenceContext.reentrantSafeEntityEntriesToCascadeOnFlush().length );
+
+		final DirtyTrackedEntity modified = (DirtyTrackedEntity) s.get( DirtyTrackedEntity.class, 3L );
+		modified.setName( "modified" );
+		assertEquals( 1, persistenceContext.reentrantSafeEntityEntriesToFlush().length );
+		assertSame( modified, persistenceContext.reentrantSafeEntityEntriesToFlush()[0].getKey() );
+		assertEquals( 1, persistenceContext.reentrantSafeEntityEntriesToCascadeOnFlush().length );
+
+		sessionFactory().getStatistics().clear();
+		s.flush();
+		assertEquals( 1, sessionFactory().getStatistics().getEntityUpdateCount() );
+		assertEquals( 0, persistenceContext.reentrantSafeEntityEntriesToFlush().length );
+
+		s.delete( s.get( DirtyTrackedEntity.class, 5L ) );
+		assertEquals( 1, persistenceContext.reentrantSafeEntityEntriesToFlush().length );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "modified", ( (DirtyTrackedEntity) s.get( DirtyTrackedEntity.class, 3L ) ).getName() );
+		assertNull( s.get( DirtyTrackedEntity.class, 5L ) );
+		s.createQuery( "delete DirtyTrackedEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCascadeFromModifiedEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= 10; i++ ) {
+			s.save( new DirtyTrackedEntity( i, "entity " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		assertEquals( 10, s.createQuery( "from DirtyTrackedEntity" ).list().size() );
+		final DirtyTrackedEntity modified = (DirtyTrackedEntity) s.get( DirtyTrackedEntity.class, 3L );
+		modified.setRelated( new DirtyTrackedEntity( 11L, "related" ) );
+		// the flush-time cascades start from the modified entity only, and reach the new one
+		assertEquals( 1, persistenceContext.reentrantSafeEntityEntriesToCascadeOnFlush().length );
+		s.flush();
+		assertEquals( 11, persistenceContext.getNumberOfManagedEntities() );
+		assertEquals( 0, persistenceContext.reentrantSafeEntityEntriesToCascadeOnFlush().length );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final DirtyTrackedEntity entity = (DirtyTrackedEntity) s.get( DirtyTrackedEntity.class, 3L );
+		assertEquals( "related", entity.getRelated().getName() );
+		entity.setRelated( null );
+		s.flush();
+		s.createQuery( "delete DirtyTrackedEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testEntitiesNotNotifyingChangesAreFlushed() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new LegacyDirtyTrackedEntity( 1L, "legacy" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		final LegacyDirtyTrackedEntity entity = (LegacyDirtyTrackedEntity) s.get( LegacyDirtyTrackedEntity.class, 1L );
+		assertEquals( 1, persistenceContext.reentrantSafeEntityEntriesToFlush().length );
+		entity.setName( "modified" );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "modified", ( (LegacyDirtyTrackedEntity) s.get( LegacyDirtyTrackedEntity.class, 1L ) ).getName() );
+		s.createQuery( "delete LegacyDirtyTrackedEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
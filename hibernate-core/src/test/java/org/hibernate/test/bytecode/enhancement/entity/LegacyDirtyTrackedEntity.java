@@ -0,0 +1,137 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.enhancement.entity;
+
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Transient;
+
+import org.hibernate.bytecode.enhance.internal.tracker.SimpleDirtyTracker;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+
+/**
+ * An entity written the way earlier versions of the enhancer generate dirty tracking, which does not notify the
+ * session of changes.
+ */
+@Entity
+public class LegacyDirtyTrackedEntity implements ManagedEntity, SelfDirtinessTracker {
+	@Transient
+	private transient EntityEntry entityEntry;
+	@Transient
+	private transient ManagedEntity previous;
+	@Transient
+	private transient ManagedEntity next;
+	@Transient
+	private transient SimpleDirtyTracker tracker;
+
+	@Id
+	private Long id;
+	private String name;
+
+	public LegacyDirtyTrackedEntity() {
+	}
+
+	public LegacyDirtyTrackedEntity(Long id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		trackChange( "name" );
+		this.name = name;
+	}
+
+	private void trackChange(String attributeName) {
+		if ( tracker == null ) {
+			tracker = new SimpleDirtyTracker();
+		}
+		tracker.add( attributeName );
+	}
+
+	@Override
+	public boolean $$_hibernate_hasDirtyAttributes() {
+		return tracker != null && !tracker.isEmpty();
+	}
+
+	@Override
+	public Set<String> $$_hibernate_getDirtyAttributes() {
+		if ( tracker == null ) {
+			tracker = new SimpleDirtyTracker();
+		}
+		return tracker.asSet();
+	}
+
+	@Override
+	public void $$_hibernate_clearDirtyAttributes() {
+		if ( tracker != null ) {
+			tracker.clear();
+		}
+	}
+
+	@Override
+	public Object $$_hibernate_getEntityInstance() {
+		return this;
+	}
+
+	@Override
+	public EntityEntry $$_hibernate_getEntityEntry() {
+		return entityEntry;
+	}
+
+	@Override
+	public void $$_hibernate_setEntityEntry(EntityEntry entityEntry) {
+		this.entityEntry = entityEntry;
+	}
+
+	@Override
+	public ManagedEntity $$_hibernate_getNextManagedEntity() {
+		return next;
+	}
+
+	@Override
+	public void $$_hibernate_setNextManagedEntity(ManagedEntity next) {
+		this.next = next;
+	}
+
+	@Override
+	public ManagedEntity $$_hibernate_getPreviousManagedEntity() {
+		return previous;
+	}
+
+	@Override
+	public void $$_hibernate_setPreviousManagedEntity(ManagedEntity previous) {
+		this.previous = previous;
+	}
+}
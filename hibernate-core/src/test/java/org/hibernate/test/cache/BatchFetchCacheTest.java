@@ -0,0 +1,198 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests batch fetching of cached entities, which accesses the cache in bulk.
+ */
+public class BatchFetchCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { BatchedItem.class };
+	}
+
+	@Test
+	public void testBatchFetchSkipsCachedEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 10; i++ ) {
+			s.save( new BatchedItem( i, "item " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntityRegion( BatchedItem.class );
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		// the entities loaded by the query are all put into the cache
+		s = openSession();
+		s.beginTransaction();
+		List items = s.createQuery( "from BatchedItem" ).list();
+		assertEquals( 10, items.size() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 10, statistics.getSecondLevelCachePutCount() );
+
+		for ( int i = 1; i <= 5; i++ ) {
+			sessionFactory().getCache().evictEntity( BatchedItem.class, i );
+		}
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		final BatchedItem[] proxies = new BatchedItem[10];
+		for ( int i = 1; i <= 10; i++ ) {
+			proxies[i - 1] = (BatchedItem) s.load( BatchedItem.class, i );
+		}
+		Hibernate.initialize( proxies[0] );
+		// only the entities not cached are batch fetched
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( 5, statistics.getEntityLoadCount() );
+		for ( int i = 1; i < 10; i++ ) {
+			assertEquals( "item " + ( i + 1 ), proxies[i].getName() );
+		}
+		// the others are resolved from the cache
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertEquals( 5, statistics.getEntityLoadCount() );
+		assertEquals( 5, statistics.getSecondLevelCacheHitCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete BatchedItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCachedEntitiesReadInBulkOnLoad() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 10; i++ ) {
+			s.save( new BatchedItem( i, "item " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		// all the entities are cached
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 10, s.createQuery( "from BatchedItem" ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final CacheGetCounter cacheGets = new CacheGetCounter();
+
+		s = sessionFactory().withOptions().eventListeners( cacheGets ).openSession();
+		s.beginTransaction();
+		final BatchedItem[] proxies = new BatchedItem[10];
+		for ( int i = 1; i <= 10; i++ ) {
+			proxies[i - 1] = (BatchedItem) s.load( BatchedItem.class, i );
+		}
+		Hibernate.initialize( proxies[0] );
+		// the entries of the queued entities are read along with the entry of the entity loaded
+		assertEquals( 1, cacheGets.count );
+		for ( int i = 0; i < 10; i++ ) {
+			assertEquals( "item " + ( i + 1 ), proxies[i].getName() );
+		}
+		// and serve the load of these entities
+		assertEquals( 1, cacheGets.count );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		assertEquals( 10, statistics.getSecondLevelCacheHitCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete BatchedItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static class CacheGetCounter extends BaseSessionEventListener {
+		private int count;
+
+		@Override
+		public void cacheGetStart() {
+			count++;
+		}
+	}
+
+	@Entity( name = "BatchedItem" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE )
+	@BatchSize( size = 10 )
+	public static class BatchedItem {
+		@Id
+		private Integer id;
+		private String name;
+
+		public BatchedItem() {
+		}
+
+		public BatchedItem(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
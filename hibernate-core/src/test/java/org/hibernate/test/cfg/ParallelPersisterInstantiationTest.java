@@ -0,0 +1,258 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.ElementCollection;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests building SessionFactories whose persisters are instantiated by several threads, for a model whose entities
+ * share components and are associated with each other.
+ */
+public class ParallelPersisterInstantiationTest extends BaseUnitTestCase {
+	private static final int BUILDS = 10;
+
+	@Test
+	public void testParallelInstantiation() {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.disableAutoClose()
+				.applySetting( AvailableSettings.PERSISTER_INSTANTIATION_THREADS, "8" )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.build();
+		try {
+			// a new mapping model for every build, so that none of its types is resolved yet
+			for ( int i = 0; i < BUILDS; i++ ) {
+				final SessionFactory sf = new MetadataSources( ssr )
+						.addAnnotatedClass( Party.class )
+						.addAnnotatedClass( Person.class )
+						.addAnnotatedClass( Company.class )
+						.addAnnotatedClass( Employee.class )
+						.addAnnotatedClass( Supplier.class )
+						.addAnnotatedClass( PurchaseOrder.class )
+						.buildMetadata()
+						.buildSessionFactory();
+				try {
+					assertEquals( 6, sf.getAllClassMetadata().size() );
+					verifyRoundTrip( sf );
+				}
+				finally {
+					sf.close();
+				}
+			}
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+
+	private void verifyRoundTrip(SessionFactory sf) {
+		Session s = sf.openSession();
+		s.beginTransaction();
+		final Company company = new Company( 1L, "Acme", new Address( "Main Street", "Springfield" ) );
+		s.persist( company );
+		final Employee employee = new Employee( 2L, "Wile", new Address( "Desert Road", "Nowhere" ), company );
+		employee.getPreviousAddresses().add( new Address( "Canyon Lane", "Nowhere" ) );
+		s.persist( employee );
+		final Supplier supplier = new Supplier( 3L, new Address( "Dock Street", "Shelbyville" ) );
+		supplier.customers.add( company );
+		s.persist( supplier );
+		s.persist( new PurchaseOrder( 4L, supplier, company, new Address( "Main Street", "Springfield" ) ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = sf.openSession();
+		s.beginTransaction();
+		final PurchaseOrder order = (PurchaseOrder) s.get( PurchaseOrder.class, 4L );
+		assertFalse( Hibernate.isInitialized( order.supplier ) );
+		assertEquals( "Shelbyville", order.supplier.getAddress().city );
+		assertEquals( "Acme", order.buyer.getName() );
+		assertEquals( 1, order.buyer.employees.size() );
+		final List<Employee> employees = s.createQuery(
+				"from Employee e join fetch e.employer where e.address.city = :city"
+		).setParameter( "city", "Nowhere" ).list();
+		assertEquals( 1, employees.size() );
+		assertEquals( 1, employees.get( 0 ).getPreviousAddresses().size() );
+		assertNotNull( s.get( Party.class, 1L ) );
+		s.createQuery( "delete PurchaseOrder" ).executeUpdate();
+		s.delete( s.get( Supplier.class, 3L ) );
+		s.delete( s.get( Employee.class, 2L ) );
+		s.delete( s.get( Company.class, 1L ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Embeddable
+	public static class Address {
+		private String street;
+		private String city;
+
+		public Address() {
+		}
+
+		public Address(String street, String city) {
+			this.street = street;
+			this.city = city;
+		}
+	}
+
+	@Entity(name = "Party")
+	@Inheritance(strategy = InheritanceType.JOINED)
+	public static class Party {
+		@Id
+		private Long id;
+		private String name;
+		@Embedded
+		private Address address;
+
+		public Party() {
+		}
+
+		public Party(Long id, String name, Address address) {
+			this.id = id;
+			this.name = name;
+			this.address = address;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@Entity(name = "Person")
+	public static class Person extends Party {
+		@ElementCollection
+		private Set<Address> previousAddresses = new HashSet<Address>();
+
+		public Person() {
+		}
+
+		public Person(Long id, String name, Address address) {
+			super( id, name, address );
+		}
+
+		public Set<Address> getPreviousAddresses() {
+			return previousAddresses;
+		}
+	}
+
+	@Entity(name = "Company")
+	public static class Company extends Party {
+		@OneToMany(mappedBy = "employer")
+		private Set<Employee> employees = new HashSet<Employee>();
+
+		public Company() {
+		}
+
+		public Company(Long id, String name, Address address) {
+			super( id, name, address );
+		}
+	}
+
+	@Entity(name = "Employee")
+	public static class Employee extends Person {
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Company employer;
+
+		public Employee() {
+		}
+
+		public Employee(Long id, String name, Address address, Company employer) {
+			super( id, name, address );
+			this.employer = employer;
+		}
+	}
+
+	@Entity(name = "Supplier")
+	public static class Supplier {
+		@Id
+		private Long id;
+		@Embedded
+		private Address address;
+		@ManyToMany
+		private Set<Company> customers = new HashSet<Company>();
+
+		public Supplier() {
+		}
+
+		public Supplier(Long id, Address address) {
+			this.id = id;
+			this.address = address;
+		}
+
+		public Address getAddress() {
+			return address;
+		}
+	}
+
+	@Entity(name = "PurchaseOrder")
+	@Table(name = "PURCHASE_ORDER")
+	public static class PurchaseOrder {
+		@Id
+		private Long id;
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Supplier supplier;
+		@ManyToOne
+		private Company buyer;
+		@Embedded
+		private Address shippingAddress;
+
+		public PurchaseOrder() {
+		}
+
+		public PurchaseOrder(Long id, Supplier supplier, Company buyer, Address shippingAddress) {
+			this.id = id;
+			this.supplier = supplier;
+			this.buyer = buyer;
+			this.shippingAddress = shippingAddress;
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.collection.multirow;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests removing several collection rows per statement.
+ */
+public class MultiRowDeleteTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int SIZE = 50;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Owner.class, Item.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.MULTI_ROW_DELETE_SIZE, "16" );
+	}
+
+	@Before
+	public void createOwner() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = new Owner( 1L );
+		for ( int i = 0; i < SIZE; i++ ) {
+			owner.getTags().add( "tag " + i );
+			owner.getLines().add( "line " + i );
+			owner.getCodes().add( "code " + i );
+			owner.getItems().add( new Item( (long) i, "item " + i ) );
+		}
+		s.persist( owner );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@After
+	public void deleteOwner() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( Owner.class, 1L ) );
+		s.createQuery( "delete Item" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testElementsRemovedBySeveralRowsPerStatement() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = (Owner) s.get( Owner.class, 1L );
+		final int removed = removeSome( owner.getTags().iterator() );
+		assertStatementsOnFlush( s, 4 );
+		s.getTransaction().commit();
+		s.close();
+
+		assertSize( "tags", SIZE - removed );
+	}
+
+	@Test
+	public void testIndexesRemovedBySeveralRowsPerStatement() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = (Owner) s.get( Owner.class, 1L );
+		owner.getLines().subList( 30, SIZE ).clear();
+		// 20 trailing indexes, in statements of 16 and 4 rows
+		assertStatementsOnFlush( s, 2 );
+		s.getTransaction().commit();
+		s.close();
+
+		assertSize( "lines", 30 );
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "line 29", ( (Owner) s.get( Owner.class, 1L ) ).getLines().get( 29 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testIdentifiedRowsRemovedBySeveralRowsPerStatement() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = (Owner) s.get( Owner.class, 1L );
+		// by index, which unlike the iterator keeps the identifiers of the remaining elements in place
+		for ( int i = 0; i < 37; i++ ) {
+			owner.getCodes().remove( 0 );
+		}
+		assertStatementsOnFlush( s, 4 );
+		s.getTransaction().commit();
+		s.close();
+
+		assertSize( "codes", SIZE - 37 );
+	}
+
+	@Test
+	public void testOneToManyRowsRemovedBySeveralRowsPerStatement() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = (Owner) s.get( Owner.class, 1L );
+		final int removed = removeSome( owner.getItems().iterator() );
+		assertStatementsOnFlush( s, 4 );
+		s.getTransaction().commit();
+		s.close();
+
+		assertSize( "items", SIZE - removed );
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( (long) SIZE, s.createQuery( "select count(*) from Item" ).uniqueResult() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	/**
+	 * Removes 37 elements, which takes statements of 16, 16, 4 and 1 rows.
+	 */
+	private int removeSome(Iterator iterator) {
+		int removed = 0;
+		while ( removed < 37 ) {
+			iterator.next();
+			iterator.remove();
+			removed++;
+		}
+		return removed;
+	}
+
+	private void assertStatementsOnFlush(Session s, int expected) {
+		sessionFactory().getStatistics().clear();
+		s.flush();
+		assertEquals( expected, sessionFactory().getStatistics().getPrepareStatementCount() );
+	}
+
+	private void assertSize(String role, int expected) {
+		Session s = openSession();
+		s.beginTransaction();
+		assertEquals(
+				expected,
+				( (Number) s.createQuery( "select size(o." + role + ") from Owner o" ).uniqueResult() ).intValue()
+		);
+		s.getTransaction().commit();
+		s.close();
+	}
+}
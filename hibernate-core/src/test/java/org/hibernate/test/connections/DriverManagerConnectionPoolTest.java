@@ -0,0 +1,143 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.connections;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+import org.hibernate.stat.ConnectionPoolStatistics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.testing.env.ConnectionProviderBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the connection pool of {@link DriverManagerConnectionProviderImpl}.
+ */
+public class DriverManagerConnectionPoolTest extends BaseUnitTestCase {
+	private DriverManagerConnectionProviderImpl connectionProvider;
+	private ConnectionPoolStatistics statistics;
+
+	@Before
+	public void setUp() {
+		Properties properties = ConnectionProviderBuilder.getConnectionProviderProperties();
+		properties.put( AvailableSettings.POOL_SIZE, "2" );
+		properties.put( DriverManagerConnectionProviderImpl.INITIAL_SIZE, "0" );
+		properties.put( DriverManagerConnectionProviderImpl.ACQUIRE_TIMEOUT, "200" );
+		properties.put( DriverManagerConnectionProviderImpl.VALIDATE_ON_BORROW, "true" );
+		connectionProvider = new DriverManagerConnectionProviderImpl();
+		connectionProvider.configure( properties );
+		assertTrue( connectionProvider.isUnwrappableAs( ConnectionPoolStatistics.class ) );
+		statistics = connectionProvider.unwrap( ConnectionPoolStatistics.class );
+	}
+
+	@After
+	public void tearDown() {
+		connectionProvider.stop();
+	}
+
+	@Test
+	public void testPoolIsBounded() throws Exception {
+		Connection first = connectionProvider.getConnection();
+		Connection second = connectionProvider.getConnection();
+		assertEquals( 2, statistics.getActiveCount() );
+		try {
+			connectionProvider.getConnection();
+			fail( "Expected the exhausted pool to time out" );
+		}
+		catch ( SQLException expected ) {
+		}
+		assertEquals( 1, statistics.getTimeoutCount() );
+
+		connectionProvider.closeConnection( first );
+		assertEquals( 1, statistics.getActiveCount() );
+		assertEquals( 1, statistics.getIdleCount() );
+		assertSame( first, connectionProvider.getConnection() );
+
+		connectionProvider.closeConnection( first );
+		connectionProvider.closeConnection( second );
+		assertEquals( 0, statistics.getActiveCount() );
+		assertEquals( 2, statistics.getCreateCount() );
+		assertEquals( 3, statistics.getAcquireCount() );
+	}
+
+	@Test
+	public void testWaitingThreadGetsReleasedConnection() throws Exception {
+		final Connection first = connectionProvider.getConnection();
+		final Connection second = connectionProvider.getConnection();
+		final CountDownLatch waiting = new CountDownLatch( 1 );
+		Thread releasing = new Thread() {
+			@Override
+			public void run() {
+				try {
+					waiting.await( 10, TimeUnit.SECONDS );
+					Thread.sleep( 50 );
+					connectionProvider.closeConnection( second );
+				}
+				catch ( Exception e ) {
+					throw new RuntimeException( e );
+				}
+			}
+		};
+		releasing.start();
+		waiting.countDown();
+		Connection third = connectionProvider.getConnection();
+		assertSame( second, third );
+		releasing.join();
+
+		connectionProvider.closeConnection( first );
+		connectionProvider.closeConnection( third );
+		assertEquals( 0, statistics.getTimeoutCount() );
+	}
+
+	@Test
+	public void testInvalidConnectionIsRetired() throws Exception {
+		Connection connection = connectionProvider.getConnection();
+		connectionProvider.closeConnection( connection );
+		// the physical connection went away while idle
+		connection.close();
+
+		Connection replacement = connectionProvider.getConnection();
+		assertNotSame( connection, replacement );
+		assertFalse( replacement.isClosed() );
+		assertEquals( 1, statistics.getRetireCount() );
+		assertEquals( 1, statistics.getTotalCount() );
+		connectionProvider.closeConnection( replacement );
+	}
+}
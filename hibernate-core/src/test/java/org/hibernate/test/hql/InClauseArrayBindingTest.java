@@ -0,0 +1,226 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.hql;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.loader.BatchFetchStyle;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests binding the values of IN lists as a single array parameter.
+ */
+@RequiresDialect(H2Dialect.class)
+public class InClauseArrayBindingTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int SIZE = 20;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Owner.class, Pet.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.IN_CLAUSE_ARRAY_BINDING, "true" );
+		settings.put( AvailableSettings.BATCH_FETCH_STYLE, BatchFetchStyle.DYNAMIC.name() );
+		settings.put( AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, "8" );
+	}
+
+	@Before
+	public void createOwners() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 0; i < SIZE; i++ ) {
+			final Owner owner = new Owner( i, "owner " + i );
+			s.persist( owner );
+			s.persist( new Pet( i, owner ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@After
+	public void deleteOwners() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Pet" ).executeUpdate();
+		s.createQuery( "delete Owner" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testHqlParameterList() {
+		sessionFactory().getStatistics().clear();
+		Session s = openSession();
+		s.beginTransaction();
+		assertEquals( 3, s.createQuery( "from Owner o where o.id in (:ids)" ).setParameterList( "ids", ids( 3 ) ).list().size() );
+		assertEquals( 7, s.createQuery( "from Owner o where o.id in (:ids)" ).setParameterList( "ids", ids( 7 ) ).list().size() );
+		final Number count = (Number) s.createQuery( "select count(*) from Owner o where o.name not in :names" )
+				.setParameterList( "names", names( 5 ) )
+				.uniqueResult();
+		assertEquals( SIZE - 5, count.intValue() );
+		s.getTransaction().commit();
+		s.close();
+
+		final String[] queries = sessionFactory().getStatistics().getQueries();
+		assertEquals( 2, queries.length );
+		for ( String query : queries ) {
+			assertTrue( query.contains( "_array_" ) );
+		}
+	}
+
+	@Test
+	public void testNativeParameterList() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List result = s.createSQLQuery( "select name from Owner where id in (:ids) order by id" )
+				.setParameterList( "ids", ids( 4 ) )
+				.list();
+		assertEquals( names( 4 ), result );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCriteriaIn() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Number count = (Number) s.createCriteria( Owner.class )
+				.add( Restrictions.in( "name", names( 6 ) ) )
+				.setProjection( Projections.rowCount() )
+				.uniqueResult();
+		assertEquals( 6, count.intValue() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testBatchFetching() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Pet> pets = s.createQuery( "from Pet p order by p.id" ).list();
+		sessionFactory().getStatistics().clear();
+
+		// the owners are loaded in batches of 8, 8 and 4, all by the same statement
+		for ( Pet pet : pets ) {
+			Hibernate.initialize( pet.getOwner() );
+		}
+		assertEquals( 3, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertEquals( SIZE, sessionFactory().getStatistics().getEntityLoadCount() );
+
+		sessionFactory().getStatistics().clear();
+		for ( Pet pet : pets ) {
+			assertFalse( Hibernate.isInitialized( pet.getOwner().getPets() ) );
+		}
+		assertEquals( 1, pets.get( 0 ).getOwner().getPets().size() );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertEquals( 8, sessionFactory().getStatistics().getCollectionLoadCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static List<Long> ids(int count) {
+		final List<Long> ids = new ArrayList<Long>( count );
+		for ( long i = 0; i < count; i++ ) {
+			ids.add( i );
+		}
+		return ids;
+	}
+
+	private static List<String> names(int count) {
+		final List<String> names = new ArrayList<String>( count );
+		for ( int i = 0; i < count; i++ ) {
+			names.add( "owner " + i );
+		}
+		return names;
+	}
+
+	@Entity(name = "Owner")
+	public static class Owner {
+		@Id
+		private Long id;
+		private String name;
+		@OneToMany(mappedBy = "owner")
+		private Set<Pet> pets = new HashSet<Pet>();
+
+		public Owner() {
+		}
+
+		public Owner(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public Set<Pet> getPets() {
+			return pets;
+		}
+	}
+
+	@Entity(name = "Pet")
+	public static class Pet {
+		@Id
+		private Long id;
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Owner owner;
+
+		public Pet() {
+		}
+
+		public Pet(Long id, Owner owner) {
+			this.id = id;
+			this.owner = owner;
+		}
+
+		public Owner getOwner() {
+			return owner;
+		}
+	}
+}
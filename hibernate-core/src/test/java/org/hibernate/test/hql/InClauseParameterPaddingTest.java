@@ -0,0 +1,183 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.hql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests padding parameter lists, and splitting them into several IN lists above the dialect's limit.
+ */
+@RequiresDialect(H2Dialect.class)
+public class InClauseParameterPaddingTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int SIZE = 30;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Ticket.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.DIALECT, InLimitedH2Dialect.class.getName() );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, "true" );
+		settings.put( AvailableSettings.IN_CLAUSE_ARRAY_BINDING, "false" );
+	}
+
+	@Before
+	public void createTickets() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < SIZE; i++ ) {
+			s.persist( new Ticket( i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@After
+	public void deleteTickets() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Ticket" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testListsOfSimilarSizeShareTheQuery() {
+		sessionFactory().getStatistics().clear();
+		assertEquals( 3, countIn( ids( 3 ) ) );
+		assertEquals( 4, countIn( ids( 4 ) ) );
+		assertEquals( 1, sessionFactory().getStatistics().getQueries().length );
+		assertTrue( sessionFactory().getStatistics().getQueries()[0].contains( ":ids_3_" ) );
+
+		assertEquals( 5, countIn( ids( 5 ) ) );
+		assertEquals( 2, sessionFactory().getStatistics().getQueries().length );
+	}
+
+	@Test
+	public void testPaddingIsCappedByTheInListLimit() {
+		sessionFactory().getStatistics().clear();
+		assertEquals( 9, countIn( ids( 9 ) ) );
+		final String query = sessionFactory().getStatistics().getQueries()[0];
+		assertTrue( query.contains( ":ids_9_" ) );
+		assertTrue( !query.contains( ":ids_10_" ) );
+	}
+
+	@Test
+	public void testLongListSplitIntoSeveralInLists() {
+		sessionFactory().getStatistics().clear();
+		assertEquals( 25, countIn( ids( 25 ) ) );
+		assertEquals( 27, countIn( ids( 27 ) ) );
+		// two full lists of 10 values, and a padded one of 8
+		assertEquals( 1, sessionFactory().getStatistics().getQueries().length );
+		final String query = sessionFactory().getStatistics().getQueries()[0];
+		assertTrue( query.contains( "t.id in (:ids_20_" ) );
+		assertTrue( query.contains( ":ids_27_)" ) );
+
+		Session s = openSession();
+		s.beginTransaction();
+		final Number count = (Number) s.createQuery( "select count(*) from Ticket t where t.id not in :ids" )
+				.setParameterList( "ids", ids( 25 ) )
+				.uniqueResult();
+		assertEquals( SIZE - 25, count.intValue() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testLongListUsedTwice() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Integer> ids = ids( 15 );
+		final List result = s.createQuery(
+				"select t.id from Ticket t where (t.id in (:ids) and t.number in (:ids)) or t.id = -1 order by t.id"
+		)
+				.setParameterList( "ids", ids )
+				.list();
+		assertEquals( ids, result );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private int countIn(List<Integer> ids) {
+		Session s = openSession();
+		s.beginTransaction();
+		final Number count = (Number) s.createQuery( "select count(*) from Ticket t where t.id in (:ids)" )
+				.setParameterList( "ids", ids )
+				.uniqueResult();
+		s.getTransaction().commit();
+		s.close();
+		return count.intValue();
+	}
+
+	private static List<Integer> ids(int count) {
+		final List<Integer> ids = new ArrayList<Integer>( count );
+		for ( int i = 0; i < count; i++ ) {
+			ids.add( i );
+		}
+		return ids;
+	}
+
+	public static class InLimitedH2Dialect extends H2Dialect {
+		@Override
+		public int getInExpressionCountLimit() {
+			return 10;
+		}
+	}
+
+	@Entity(name = "Ticket")
+	public static class Ticket {
+		@Id
+		private Integer id;
+		private int number;
+
+		public Ticket() {
+		}
+
+		public Ticket(int id) {
+			this.id = id;
+			this.number = id;
+		}
+	}
+}
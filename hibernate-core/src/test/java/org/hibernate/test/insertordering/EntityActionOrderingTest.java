@@ -0,0 +1,396 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.insertordering;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.CascadeType;
+import javax.persistence.Embeddable;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.ManyToOne;
+import javax.persistence.MapsId;
+import javax.persistence.OneToMany;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the grouping of inserts and deletes of multi-level (and self-referencing) entity graphs into as few JDBC
+ * batches as the foreign keys allow.
+ */
+public class EntityActionOrderingTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] {
+				Root.class, Branch.class, Leaf.class, Node.class, Category.class, Product.class, Part.class, Detail.class, Piece.class
+		};
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.ORDER_INSERTS, "true" );
+		configuration.setProperty( AvailableSettings.ORDER_DELETES, "true" );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testMultiLevelGraph() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			final Root root = new Root();
+			for ( int j = 0; j < 2; j++ ) {
+				final Branch branch = new Branch();
+				branch.root = root;
+				root.branches.add( branch );
+				for ( int k = 0; k < 2; k++ ) {
+					final Leaf leaf = new Leaf();
+					leaf.branch = branch;
+					branch.leaves.add( leaf );
+				}
+			}
+			s.persist( root );
+		}
+		statistics.clear();
+		s.getTransaction().commit();
+		s.close();
+
+		// 5 roots, 10 branches and 20 leaves
+		assertEquals( 3, statistics.getJdbcBatchExecutionCount() );
+		assertEquals( 35, statistics.getJdbcBatchedStatementCount() );
+		assertEquals( 35d / 3, statistics.getJdbcBatchAverageSize(), 0.001 );
+
+		s = openSession();
+		s.beginTransaction();
+		final List roots = s.createQuery( "from Root" ).list();
+		statistics.clear();
+		for ( Object root : roots ) {
+			s.delete( root );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 3, statistics.getJdbcBatchExecutionCount() );
+		assertEquals( 35, statistics.getJdbcBatchedStatementCount() );
+	}
+
+	@Test
+	public void testSelfReferencingGraph() {
+		final Statistics statistics = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		final Node top = new Node();
+		for ( int i = 0; i < 3; i++ ) {
+			final Node child = new Node();
+			child.parent = top;
+			top.children.add( child );
+			for ( int j = 0; j < 3; j++ ) {
+				final Node grandChild = new Node();
+				grandChild.parent = child;
+				child.children.add( grandChild );
+			}
+		}
+		s.persist( top );
+		statistics.clear();
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, statistics.getJdbcBatchExecutionCount() );
+		assertEquals( 13, statistics.getJdbcBatchedStatementCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( Node.class, top.id ) );
+		statistics.clear();
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, statistics.getJdbcBatchExecutionCount() );
+		assertEquals( 13, statistics.getJdbcBatchedStatementCount() );
+	}
+
+	@Test
+	public void testForeignKeysInIdentifiers() {
+		// the parts and details of the second product are grouped with those of the first one, although the second
+		// product can only be inserted after the category it references
+		Session s = openSession();
+		s.beginTransaction();
+		final Product first = new Product( 1L, null );
+		first.addPart( "a" );
+		first.addDetail( "a" );
+		first.addPiece( "a" );
+		s.persist( first );
+		final Category category = new Category();
+		category.id = 1L;
+		s.persist( category );
+		final Product second = new Product( 2L, category );
+		second.addPart( "a" );
+		second.addDetail( "a" );
+		second.addPiece( "a" );
+		s.persist( second );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 2L, s.createQuery( "select count(*) from Part" ).uniqueResult() );
+		assertEquals( 2L, s.createQuery( "select count(*) from Detail" ).uniqueResult() );
+		assertEquals( 2L, s.createQuery( "select count(*) from Piece" ).uniqueResult() );
+		for ( Object product : s.createQuery( "from Product" ).list() ) {
+			s.delete( product );
+		}
+		s.delete( s.get( Category.class, 1L ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity( name = "Root" )
+	public static class Root {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		@OneToMany( mappedBy = "root", cascade = CascadeType.ALL )
+		List<Branch> branches = new ArrayList<Branch>();
+	}
+
+	@Entity( name = "Branch" )
+	public static class Branch {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		@ManyToOne
+		Root root;
+
+		@OneToMany( mappedBy = "branch", cascade = CascadeType.ALL )
+		List<Leaf> leaves = new ArrayList<Leaf>();
+	}
+
+	@Entity( name = "Leaf" )
+	public static class Leaf {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		@ManyToOne
+		Branch branch;
+	}
+
+	@Entity( name = "Node" )
+	public static class Node {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		@ManyToOne
+		Node parent;
+
+		@OneToMany( mappedBy = "parent", cascade = CascadeType.ALL )
+		List<Node> children = new ArrayList<Node>();
+	}
+
+	@Entity( name = "Category" )
+	public static class Category {
+		@Id
+		Long id;
+	}
+
+	@Entity( name = "Product" )
+	public static class Product {
+		@Id
+		Long id;
+
+		@ManyToOne
+		Category category;
+
+		@OneToMany( mappedBy = "product", cascade = CascadeType.ALL )
+		List<Part> parts = new ArrayList<Part>();
+
+		@OneToMany( mappedBy = "product", cascade = CascadeType.ALL )
+		List<Detail> details = new ArrayList<Detail>();
+
+		@OneToMany( mappedBy = "id.product", cascade = CascadeType.ALL )
+		List<Piece> pieces = new ArrayList<Piece>();
+
+		Product() {
+		}
+
+		Product(Long id, Category category) {
+			this.id = id;
+			this.category = category;
+		}
+
+		void addPart(String name) {
+			final Part part = new Part();
+			part.id = new PartId( id, name );
+			part.product = this;
+			parts.add( part );
+		}
+
+		void addDetail(String name) {
+			final Detail detail = new Detail();
+			detail.product = this;
+			detail.name = name;
+			details.add( detail );
+		}
+
+		void addPiece(String name) {
+			final Piece piece = new Piece();
+			piece.id = new PieceId( this, name );
+			pieces.add( piece );
+		}
+	}
+
+	@Embeddable
+	public static class PartId implements Serializable {
+		Long productId;
+		String name;
+
+		PartId() {
+		}
+
+		PartId(Long productId, String name) {
+			this.productId = productId;
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof PartId ) ) {
+				return false;
+			}
+			final PartId other = (PartId) o;
+			return productId.equals( other.productId ) && name.equals( other.name );
+		}
+
+		@Override
+		public int hashCode() {
+			return productId.hashCode() * 31 + name.hashCode();
+		}
+	}
+
+	/**
+	 * Derived identifier, including the identifier of the product
+	 */
+	@Entity( name = "Part" )
+	public static class Part {
+		@EmbeddedId
+		PartId id;
+
+		@MapsId( "productId" )
+		@ManyToOne
+		Product product;
+	}
+
+	public static class DetailId implements Serializable {
+		Long product;
+		String name;
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof DetailId ) ) {
+				return false;
+			}
+			final DetailId other = (DetailId) o;
+			return product.equals( other.product ) && name.equals( other.name );
+		}
+
+		@Override
+		public int hashCode() {
+			return product.hashCode() * 31 + name.hashCode();
+		}
+	}
+
+	/**
+	 * Identifier including an association to the product
+	 */
+	@Entity( name = "Detail" )
+	@IdClass( DetailId.class )
+	public static class Detail {
+		@Id
+		@ManyToOne
+		Product product;
+
+		@Id
+		String name;
+	}
+
+	@Embeddable
+	public static class PieceId implements Serializable {
+		@ManyToOne
+		Product product;
+
+		String name;
+
+		PieceId() {
+		}
+
+		PieceId(Product product, String name) {
+			this.product = product;
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof PieceId ) ) {
+				return false;
+			}
+			final PieceId other = (PieceId) o;
+			return product.id.equals( other.product.id ) && name.equals( other.name );
+		}
+
+		@Override
+		public int hashCode() {
+			return product.id.hashCode() * 31 + name.hashCode();
+		}
+	}
+
+	/**
+	 * Identifier including an association to the product, which only the identifier maps
+	 */
+	@Entity( name = "Piece" )
+	public static class Piece {
+		@EmbeddedId
+		PieceId id;
+	}
+}
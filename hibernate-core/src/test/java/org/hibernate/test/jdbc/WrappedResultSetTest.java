@@ -0,0 +1,185 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.ColumnNameCache;
+import org.hibernate.engine.jdbc.ResultSetWrapperProxy;
+import org.hibernate.jdbc.Work;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests loading through ResultSets wrapped to resolve column labels into column indexes.
+ */
+public class WrappedResultSetTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String getBaseForMappings() {
+		return "org/hibernate/test/jdbc/";
+	}
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "Mappings.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.WRAP_RESULT_SETS, "true" );
+	}
+
+	@Test
+	public void testLoadingThroughWrappedResultSets() {
+		Session session = openSession();
+		session.beginTransaction();
+		Person driver = new Person( "Steve", "Ebersole" );
+		session.save( driver );
+		Boat boat = new Boat();
+		boat.setTag( "tag" );
+		boat.setDriver( driver );
+		session.save( boat );
+		session.getTransaction().commit();
+		session.close();
+
+		for ( int i = 0; i < 2; i++ ) {
+			session = openSession();
+			session.beginTransaction();
+			Boat loaded = (Boat) session.get( Boat.class, boat.getId() );
+			assertEquals( "tag", loaded.getTag() );
+			assertEquals( "Ebersole", loaded.getDriver().getLastName() );
+
+			List people = session.createQuery( "from Person p where p.firstName = 'Steve'" ).list();
+			assertEquals( 1, people.size() );
+
+			ScrollableResults results = session.createQuery( "select p.lastName, p.firstName from Person p" ).scroll();
+			assertTrue( results.next() );
+			assertEquals( "Ebersole", results.get( 0 ) );
+			assertEquals( "Steve", results.get( 1 ) );
+			assertFalse( results.next() );
+			results.close();
+			session.getTransaction().commit();
+			session.close();
+		}
+
+		session = openSession();
+		session.beginTransaction();
+		session.delete( session.get( Boat.class, boat.getId() ) );
+		session.delete( session.get( Person.class, driver.getId() ) );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	public void testColumnIndexesArePrecomputed() {
+		Session session = openSession();
+		session.beginTransaction();
+		session.save( new Person( "Steve", "Ebersole" ) );
+		session.flush();
+		session.doWork(
+				new Work() {
+					@Override
+					public void execute(Connection connection) throws SQLException {
+						final Statement statement = connection.createStatement();
+						try {
+							final ResultSet resultSet = statement.executeQuery(
+									"select p.firstName as first_name, p.lastName as last_name from T_JDBC_PERSON p"
+							);
+							final FindColumnCounter counter = new FindColumnCounter( resultSet );
+							final ResultSet counted = (ResultSet) Proxy.newProxyInstance(
+									getClass().getClassLoader(),
+									new Class[] { ResultSet.class },
+									counter
+							);
+							final ColumnNameCache cache = new ColumnNameCache( resultSet.getMetaData() );
+							final ResultSet wrapped = ResultSetWrapperProxy.generateProxy( counted, cache );
+							assertTrue( wrapped.next() );
+							assertEquals( "Ebersole", wrapped.getString( "last_name" ) );
+							assertEquals( "Steve", wrapped.getString( "FIRST_NAME" ) );
+							assertEquals( 2, wrapped.findColumn( "last_name" ) );
+							assertEquals( 0, counter.findColumnCount );
+
+							// labels not known up front are resolved through the driver only once
+							assertEquals( "Steve", wrapped.getString( "First_Name" ) );
+							assertEquals( "Steve", wrapped.getString( "First_Name" ) );
+							assertEquals( 1, counter.findColumnCount );
+
+							// the columns themselves are only ever read by index
+							assertEquals( 0, counter.columnLabelReadCount );
+							resultSet.close();
+						}
+						finally {
+							statement.close();
+						}
+					}
+				}
+		);
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	private static class FindColumnCounter implements InvocationHandler {
+		private final ResultSet resultSet;
+		private int findColumnCount;
+		private int columnLabelReadCount;
+
+		private FindColumnCounter(ResultSet resultSet) {
+			this.resultSet = resultSet;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if ( "findColumn".equals( method.getName() ) ) {
+				findColumnCount++;
+			}
+			else if ( args != null && args.length > 0 && args[0] instanceof String ) {
+				columnLabelReadCount++;
+			}
+			try {
+				return method.invoke( resultSet, args );
+			}
+			catch ( InvocationTargetException e ) {
+				throw e.getTargetException();
+			}
+		}
+	}
+}
@@ -27,15 +27,22 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.lang.reflect.Proxy;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Collections;
 
+import org.hibernate.JDBCException;
 import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
 import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
 import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
 import org.hibernate.engine.jdbc.batch.internal.NonBatchingBatch;
+import org.hibernate.engine.jdbc.batch.internal.PipelinedBatchingBatch;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
@@ -205,4 +212,80 @@ public class BatchingTest extends BaseCoreFunctionalTestCase implements BatchKey
 		session.close();
 	}
 
+	@Test
+	public void testPipelinedBatchingUsage() throws Exception {
+		Session session = openSession();
+		SessionImplementor sessionImpl = (SessionImplementor) session;
+
+		TransactionCoordinator transactionCoordinator = sessionImpl.getTransactionCoordinator();
+		final JdbcCoordinator jdbcCoordinator = transactionCoordinator.getJdbcCoordinator();
+
+		// set up some tables to use
+		Statement statement = jdbcCoordinator.getStatementPreparer().createStatement();
+		String dropSql = getDialect().getDropTableString( "SANDBOX_JDBC_TST" );
+		try {
+			jdbcCoordinator.getResultSetReturn().execute( statement, dropSql );
+		}
+		catch ( Exception e ) {
+			// ignore if the DB doesn't support "if exists" and the table doesn't exist
+		}
+		jdbcCoordinator.getResultSetReturn().execute( statement, "create table SANDBOX_JDBC_TST ( ID integer primary key, NAME varchar(100) )" );
+		jdbcCoordinator.release( statement );
+
+		TransactionImplementor txn = transactionCoordinator.getTransaction();
+		txn.begin();
+
+		final BatchBuilderImpl batchBuilder = new BatchBuilderImpl( 2 );
+		batchBuilder.configure( Collections.singletonMap( AvailableSettings.STATEMENT_BATCH_PIPELINED, "true" ) );
+		final BatchKey batchKey = new BasicBatchKey( "this", Expectations.BASIC );
+		Batch insertBatch = batchBuilder.buildBatch( batchKey, jdbcCoordinator );
+		assertTrue( "unexpected Batch impl", PipelinedBatchingBatch.class.isInstance( insertBatch ) );
+
+		final JournalingBatchObserver batchObserver = new JournalingBatchObserver();
+		insertBatch.addObserver( batchObserver );
+
+		final String insertSql = "insert into SANDBOX_JDBC_TST( ID, NAME ) values ( ?, ? )";
+		for ( int i = 1; i <= 5; i++ ) {
+			PreparedStatement insert = insertBatch.getBatchStatement( insertSql, false );
+			// only records the bindings, the actual statement may be in use by the in-flight batch
+			assertTrue( Proxy.isProxyClass( insert.getClass() ) );
+			insert.setLong( 1, i );
+			insert.setString( 2, "name #" + i );
+			insertBatch.addToBatch();
+		}
+		assertEquals( 2, batchObserver.getImplicitExecutionCount() );
+
+		// the Connection is not used for anything else before the in-flight batch completes
+		Statement query = jdbcCoordinator.getStatementPreparer().createStatement();
+		ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract( query, "select count(*) from SANDBOX_JDBC_TST" );
+		assertTrue( resultSet.next() );
+		assertEquals( 4, resultSet.getInt( 1 ) );
+		jdbcCoordinator.release( query );
+
+		insertBatch.execute();
+		assertEquals( 1, batchObserver.getExplicitExecutionCount() );
+		assertFalse( jdbcCoordinator.hasRegisteredResources() );
+		insertBatch.release();
+
+		// failures of an in-flight batch surface no later than the explicit execution
+		insertBatch = batchBuilder.buildBatch( batchKey, jdbcCoordinator );
+		for ( int i = 5; i <= 6; i++ ) {
+			PreparedStatement insert = insertBatch.getBatchStatement( insertSql, false );
+			insert.setLong( 1, i );
+			insert.setString( 2, "name #" + i );
+			insertBatch.addToBatch();
+		}
+		try {
+			insertBatch.execute();
+			fail( "Expecting constraint violation" );
+		}
+		catch (JDBCException expected) {
+		}
+		insertBatch.release();
+		assertFalse( jdbcCoordinator.hasRegisteredResources() );
+
+		txn.rollback();
+		session.close();
+	}
+
 }
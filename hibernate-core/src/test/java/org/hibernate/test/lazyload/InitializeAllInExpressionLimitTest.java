@@ -0,0 +1,103 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.lazyload;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.stat.Statistics;
+import org.hibernate.test.lazyload.InitializeAllTest.Customer;
+import org.hibernate.test.lazyload.InitializeAllTest.OrderLine;
+import org.hibernate.test.lazyload.InitializeAllTest.PurchaseOrder;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that initializing the lazy associations of many entities at once respects the dialect's limit on the
+ * number of elements of an {@code IN} predicate.
+ */
+@RequiresDialect( H2Dialect.class )
+public class InitializeAllInExpressionLimitTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int CUSTOMERS = 10;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Customer.class, PurchaseOrder.class, OrderLine.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.DIALECT, InExpressionLimitedDialect.class.getName() );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testOwnersSplitIntoChunks() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 0; i < CUSTOMERS; i++ ) {
+			final Customer customer = new Customer( i, "customer " + i );
+			customer.getTags().add( "tag " + i );
+			s.persist( customer );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final List<Customer> customers = s.createQuery( "from Customer" ).list();
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Hibernate.initializeAll( s, customers, "tags" );
+		// 10 owners in chunks of at most 4
+		assertEquals( 3, statistics.getPrepareStatementCount() );
+		for ( Customer customer : customers ) {
+			assertTrue( Hibernate.isInitialized( customer.getTags() ) );
+			assertEquals( 1, customer.getTags().size() );
+		}
+		for ( Customer customer : customers ) {
+			s.delete( customer );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	public static class InExpressionLimitedDialect extends H2Dialect {
+		@Override
+		public int getInExpressionCountLimit() {
+			return 4;
+		}
+	}
+}
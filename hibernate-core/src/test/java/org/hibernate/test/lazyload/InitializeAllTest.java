@@ -0,0 +1,233 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.lazyload;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.hibernate.Hibernate;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests initializing the lazy associations along property paths of many entities at once.
+ */
+public class InitializeAllTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int CUSTOMERS = 10;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Customer.class, PurchaseOrder.class, OrderLine.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void createCustomers() {
+		Session s = openSession();
+		s.beginTransaction();
+		long id = 0;
+		for ( int i = 0; i < CUSTOMERS; i++ ) {
+			final Customer customer = new Customer( id++, "customer " + i );
+			customer.getTags().add( "tag " + i );
+			s.persist( customer );
+			for ( int j = 0; j < 3; j++ ) {
+				final PurchaseOrder order = new PurchaseOrder( id++, customer );
+				s.persist( order );
+				s.persist( new OrderLine( id++, order ) );
+				s.persist( new OrderLine( id++, order ) );
+			}
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@After
+	public void deleteCustomers() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete OrderLine" ).executeUpdate();
+		s.createQuery( "delete PurchaseOrder" ).executeUpdate();
+		for ( Object customer : s.createQuery( "from Customer" ).list() ) {
+			s.delete( customer );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCollectionsInitializedByOneQueryPerPathStep() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Customer> customers = s.createQuery( "from Customer" ).list();
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Hibernate.initializeAll( s, customers, "orders.lines", "tags" );
+		assertEquals( 3, statistics.getPrepareStatementCount() );
+
+		statistics.clear();
+		for ( Customer customer : customers ) {
+			assertTrue( Hibernate.isInitialized( customer.getTags() ) );
+			assertEquals( 1, customer.getTags().size() );
+			assertEquals( 3, customer.getOrders().size() );
+			for ( PurchaseOrder order : customer.getOrders() ) {
+				assertEquals( 2, order.getLines().size() );
+			}
+		}
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testProxiesInitializedByOneQuery() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<PurchaseOrder> orders = s.createQuery( "from PurchaseOrder" ).list();
+		final Statistics statistics = sessionFactory().getStatistics();
+		for ( PurchaseOrder order : orders ) {
+			assertFalse( Hibernate.isInitialized( order.getCustomer() ) );
+		}
+		statistics.clear();
+
+		Hibernate.initializeAll( s, orders, "customer.tags" );
+		assertEquals( 2, statistics.getPrepareStatementCount() );
+		for ( PurchaseOrder order : orders ) {
+			assertTrue( Hibernate.isInitialized( order.getCustomer() ) );
+			assertTrue( Hibernate.isInitialized( order.getCustomer().getTags() ) );
+			assertFalse( Hibernate.isInitialized( order.getCustomer().getOrders() ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testPathOfNonAssociation() {
+		Session s = openSession();
+		s.beginTransaction();
+		final List<Customer> customers = s.createQuery( "from Customer" ).list();
+		try {
+			Hibernate.initializeAll( s, customers, "name" );
+			fail( "expecting the path to be rejected" );
+		}
+		catch (HibernateException expected) {
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Customer")
+	public static class Customer {
+		@Id
+		private Long id;
+		private String name;
+		@OneToMany(mappedBy = "customer")
+		private Set<PurchaseOrder> orders = new HashSet<PurchaseOrder>();
+		@ElementCollection
+		private Set<String> tags = new HashSet<String>();
+
+		public Customer() {
+		}
+
+		public Customer(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public Set<PurchaseOrder> getOrders() {
+			return orders;
+		}
+
+		public Set<String> getTags() {
+			return tags;
+		}
+	}
+
+	@Entity(name = "PurchaseOrder")
+	public static class PurchaseOrder {
+		@Id
+		private Long id;
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Customer customer;
+		@OneToMany(mappedBy = "order")
+		private Set<OrderLine> lines = new HashSet<OrderLine>();
+
+		public PurchaseOrder() {
+		}
+
+		public PurchaseOrder(Long id, Customer customer) {
+			this.id = id;
+			this.customer = customer;
+		}
+
+		public Customer getCustomer() {
+			return customer;
+		}
+
+		public Set<OrderLine> getLines() {
+			return lines;
+		}
+	}
+
+	@Entity(name = "OrderLine")
+	public static class OrderLine {
+		@Id
+		private Long id;
+		@ManyToOne(fetch = FetchType.LAZY)
+		private PurchaseOrder order;
+
+		public OrderLine() {
+		}
+
+		public OrderLine(Long id, PurchaseOrder order) {
+			this.id = id;
+			this.order = order;
+		}
+	}
+}
@@ -1,8 +1,10 @@
 package org.hibernate.test.legacy;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -37,6 +39,7 @@ import org.hibernate.internal.util.compare.EqualsHelper;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.metadata.ClassMetadata;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.MultiLoadOptions;
 import org.hibernate.persister.spi.PersisterCreationContext;
 import org.hibernate.persister.walking.spi.AttributeDefinition;
 import org.hibernate.persister.walking.spi.EntityIdentifierDefinition;
@@ -298,6 +301,18 @@ public class CustomPersister implements EntityPersister {
 		return load(id, optionalObject, lockOptions.getLockMode(), session);
 	}
 
+	@Override
+	public List multiLoad(Serializable[] ids, SessionImplementor session, MultiLoadOptions loadOptions) {
+		final List result = new ArrayList();
+		for ( Serializable id : ids ) {
+			final Object entity = load( id, null, loadOptions.getLockOptions(), session );
+			if ( entity != null ) {
+				result.add( entity );
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * @see EntityPersister#load(Serializable, Object, LockMode, SessionImplementor)
 	 */
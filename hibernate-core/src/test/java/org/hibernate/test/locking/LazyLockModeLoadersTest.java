@@ -0,0 +1,98 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.locking;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests loading with lock modes when the locking loaders are created on first use, by a SessionFactory whose
+ * persisters are instantiated in parallel.
+ */
+public class LazyLockModeLoadersTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { A.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.LAZY_LOCK_MODE_LOADERS, "true" );
+		configuration.setProperty( AvailableSettings.PERSISTER_INSTANTIATION_THREADS, "4" );
+	}
+
+	@Test
+	public void testSettings() {
+		assertTrue( sessionFactory().getSessionFactoryOptions().isLazyLockModeLoadersEnabled() );
+		assertEquals( 4, sessionFactory().getSessionFactoryOptions().getPersisterInstantiationThreads() );
+		assertNotNull( sessionFactory().getEntityPersister( A.class.getName() ) );
+	}
+
+	@Test
+	public void testLoadingWithLockModes() {
+		Session s = openSession();
+		s.beginTransaction();
+		Long id = (Long) s.save( new A( "it" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		LockMode[] lockModes = new LockMode[] {
+				LockMode.PESSIMISTIC_WRITE,
+				LockMode.PESSIMISTIC_READ,
+				LockMode.UPGRADE_NOWAIT,
+				LockMode.UPGRADE
+		};
+		for ( LockMode lockMode : lockModes ) {
+			// twice, to go through both the creation and the re-use of the loader
+			for ( int i = 0; i < 2; i++ ) {
+				s = openSession();
+				s.beginTransaction();
+				A a = (A) s.get( A.class, id, new LockOptions( lockMode ) );
+				assertNotNull( a );
+				assertEquals( "it", a.getValue() );
+				assertEquals( lockMode, s.getCurrentLockMode( a ) );
+				s.getTransaction().commit();
+				s.close();
+			}
+		}
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( A.class, id ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,236 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.ops.multiload;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link org.hibernate.Session#byMultipleIds}
+ */
+public class MultiLoadTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SimpleEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session session = openSession();
+		session.getTransaction().begin();
+		for ( int i = 1; i <= 60; i++ ) {
+			session.save( new SimpleEntity( i, "Entity #" + i ) );
+		}
+		session.getTransaction().commit();
+		session.close();
+		sessionFactory().getCache().evictEntityRegions();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session session = openSession();
+		session.getTransaction().begin();
+		session.createQuery( "delete SimpleEntity" ).executeUpdate();
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return false;
+	}
+
+	@Test
+	public void testBasicMultiLoad() {
+		Session session = openSession();
+		session.getTransaction().begin();
+		sessionFactory().getStatistics().clear();
+		List<SimpleEntity> list = session.byMultipleIds( SimpleEntity.class ).multiLoad( ids( 56 ) );
+		assertEquals( 56, list.size() );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	public void testMultiLoadIsChunkedByBatchSize() {
+		Session session = openSession();
+		session.getTransaction().begin();
+		sessionFactory().getStatistics().clear();
+		List<SimpleEntity> list = session.byMultipleIds( SimpleEntity.class )
+				.withBatchSize( 15 )
+				.multiLoad( ids( 56 ) );
+		assertEquals( 56, list.size() );
+		assertEquals( 4, sessionFactory().getStatistics().getPrepareStatementCount() );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	public void testOrderedReturnWithUnknownIds() {
+		Session session = openSession();
+		session.getTransaction().begin();
+		List<SimpleEntity> list = session.byMultipleIds( SimpleEntity.class ).multiLoad( 3, 100, 1, 2 );
+		assertEquals( 4, list.size() );
+		assertEquals( 3, list.get( 0 ).getId().intValue() );
+		assertNull( list.get( 1 ) );
+		assertEquals( 1, list.get( 2 ).getId().intValue() );
+		assertEquals( 2, list.get( 3 ).getId().intValue() );
+
+		list = session.byMultipleIds( SimpleEntity.class ).enableOrderedReturn( false ).multiLoad( 3, 100, 1, 2 );
+		assertEquals( 3, list.size() );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	public void testSessionCheck() {
+		Session session = openSession();
+		session.getTransaction().begin();
+		SimpleEntity first = (SimpleEntity) session.get( SimpleEntity.class, 1 );
+		sessionFactory().getStatistics().clear();
+		List<SimpleEntity> list = session.byMultipleIds( SimpleEntity.class ).multiLoad( 1 );
+		assertSame( first, list.get( 0 ) );
+		assertEquals( 0, sessionFactory().getStatistics().getPrepareStatementCount() );
+
+		list = session.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2 );
+		assertSame( first, list.get( 0 ) );
+		assertNotNull( list.get( 1 ) );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	@Test
+	public void testDeletedEntities() {
+		Session session = openSession();
+		session.getTransaction().begin();
+		SimpleEntity first = (SimpleEntity) session.get( SimpleEntity.class, 1 );
+		session.delete( first );
+
+		List<SimpleEntity> list = session.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2 );
+		assertNull( list.get( 0 ) );
+		assertNotNull( list.get( 1 ) );
+
+		list = session.byMultipleIds( SimpleEntity.class ).enableReturnOfDeletedEntities( true ).multiLoad( 1, 2 );
+		assertSame( first, list.get( 0 ) );
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@Test
+	public void testSecondLevelCacheCheck() {
+		Session session = openSession();
+		session.getTransaction().begin();
+		session.byMultipleIds( SimpleEntity.class ).multiLoad( ids( 10 ) );
+		session.getTransaction().commit();
+		session.close();
+
+		session = openSession();
+		session.getTransaction().begin();
+		sessionFactory().getStatistics().clear();
+		List<SimpleEntity> list = session.byMultipleIds( SimpleEntity.class ).multiLoad( ids( 20 ) );
+		assertEquals( 20, list.size() );
+		assertEquals( 10, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		session.getTransaction().commit();
+		session.close();
+
+		session = openSession();
+		session.getTransaction().begin();
+		sessionFactory().getStatistics().clear();
+		list = session.byMultipleIds( SimpleEntity.class ).with( CacheMode.IGNORE ).multiLoad( ids( 20 ) );
+		assertEquals( 20, list.size() );
+		assertEquals( 0, sessionFactory().getStatistics().getSecondLevelCacheHitCount() );
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	private static List<Integer> ids(int count) {
+		final List<Integer> ids = new ArrayList<Integer>( count );
+		for ( int i = 1; i <= count; i++ ) {
+			ids.add( i );
+		}
+		return ids;
+	}
+
+	@Entity( name = "SimpleEntity" )
+	@Table( name = "SimpleEntity" )
+	@Cache( usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE )
+	public static class SimpleEntity implements Serializable {
+		private Integer id;
+		private String text;
+
+		public SimpleEntity() {
+		}
+
+		public SimpleEntity(Integer id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+
+		@Id
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getText() {
+			return text;
+		}
+
+		public void setText(String text) {
+			this.text = text;
+		}
+	}
+}
@@ -36,8 +36,12 @@ import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.SessionImpl;
 import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.proxy.HibernateProxy;
 
 import org.hibernate.testing.FailureExpected;
@@ -93,6 +97,40 @@ public class ProxyTest extends BaseCoreFunctionalTestCase {
 
 	}
 
+	@Test
+	public void testEntityKeysReusedByQueries() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		DataPoint dp = new DataPoint();
+		dp.setDescription("a data point");
+		dp.setX( new BigDecimal(1.0) );
+		dp.setY( new BigDecimal(2.0) );
+		s.persist(dp);
+		s.flush();
+		s.clear();
+
+		final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		final EntityPersister persister = ( (SessionImplementor) s ).getFactory().getEntityPersister( DataPoint.class.getName() );
+		final Long id = dp.getId();
+		final EntityKey key = new EntityKey( id, persister );
+
+		dp = (DataPoint) s.load( DataPoint.class, id );
+		assertFalse( Hibernate.isInitialized( dp ) );
+		assertSame( dp, persistenceContext.getProxy( key ) );
+		assertTrue( persistenceContext.containsProxy( dp ) );
+
+		DataPoint loaded = (DataPoint) s.createQuery( "from DataPoint" ).uniqueResult();
+		assertSame( dp, loaded );
+		final EntityKey loadedKey = persistenceContext.getEntry( ( (HibernateProxy) dp ).getHibernateLazyInitializer().getImplementation() ).getEntityKey();
+		// the key of the loaded entity is reused, rather than a new one created
+		assertSame( loadedKey, persistenceContext.resolveEntityKey( id, persister ) );
+		assertSame( dp, s.createQuery( "from DataPoint" ).uniqueResult() );
+
+		s.delete( dp );
+		t.commit();
+		s.close();
+	}
+
 	@Test
 	public void testProxyException() {
 		Session s = openSession();
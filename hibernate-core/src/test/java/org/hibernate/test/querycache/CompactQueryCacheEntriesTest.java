@@ -0,0 +1,93 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.querycache;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.hibernate.cache.internal.QueryResultsCacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Runs the {@link QueryCacheTest} tests with the results cached as {@link QueryResultsCacheEntry}s.
+ */
+public class CompactQueryCacheEntriesTest extends QueryCacheTest {
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.USE_COMPACT_QUERY_CACHE_ENTRIES, "true" );
+	}
+
+	@Test
+	public void testDisassembledRows() {
+		final Type[] types = new Type[] { LongType.INSTANCE, IntegerType.INSTANCE, StringType.INSTANCE };
+		final QueryResultsCacheEntry entry = QueryResultsCacheEntry.disassemble(
+				42L,
+				Arrays.asList(
+						new Object[] { 1L, 10, "a" },
+						new Object[] { null, 20, null },
+						new Object[] { 3L, null, "c" }
+				),
+				types,
+				null
+		);
+
+		final QueryResultsCacheEntry copy = (QueryResultsCacheEntry) SerializationHelper.clone( entry );
+		assertEquals( 42L, copy.getTimestamp() );
+		assertEquals( 3, copy.getRowCount() );
+
+		final Serializable[] buffer = new Serializable[types.length];
+		assertArrayEquals( new Serializable[] { 1L, 10, "a" }, (Serializable[]) copy.getDisassembledRow( 0, buffer ) );
+		assertArrayEquals( new Serializable[] { null, 20, null }, (Serializable[]) copy.getDisassembledRow( 1, buffer ) );
+		assertArrayEquals( new Serializable[] { 3L, null, "c" }, (Serializable[]) copy.getDisassembledRow( 2, buffer ) );
+	}
+
+	@Test
+	public void testDisassembledSingleValues() {
+		final QueryResultsCacheEntry entry = QueryResultsCacheEntry.disassemble(
+				1L,
+				Arrays.asList( 5L, null, 7L ),
+				new Type[] { LongType.INSTANCE },
+				null
+		);
+
+		assertEquals( 3, entry.getRowCount() );
+		assertEquals( 5L, entry.getDisassembledRow( 0, null ) );
+		assertNull( entry.getDisassembledRow( 1, null ) );
+		assertEquals( 7L, entry.getDisassembledRow( 2, null ) );
+	}
+}
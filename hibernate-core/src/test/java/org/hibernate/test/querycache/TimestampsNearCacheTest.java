@@ -0,0 +1,161 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.querycache;
+
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cfg.AvailableSettings;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the up-to-date checks of cached query results when the update timestamps are kept in a near cache.
+ */
+public class TimestampsNearCacheTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final String COUNT_ITEMS = "select count(*) from Item";
+
+	@Override
+	public String[] getMappings() {
+		return new String[] { "querycache/Item.hbm.xml" };
+	}
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { CompositeKey.class, EntityWithCompositeKey.class };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.USE_TIMESTAMPS_NEAR_CACHE, "true" );
+	}
+
+	@Test
+	public void testInvalidationSeenWithoutRegion() {
+		sessionFactory().getCache().evictQueryRegions();
+		sessionFactory().getStatistics().clear();
+
+		persistItem( "a" );
+		assertEquals( 1, countItems() );
+		assertEquals( 1, countItems() );
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+
+		persistItem( "b" );
+		// the timestamps region loses its content; the near cache still knows the Items table was updated
+		sessionFactory().getUpdateTimestampsCache().getRegion().evictAll();
+		assertEquals( 2, countItems() );
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+		assertEquals( 2, countItems() );
+		assertEquals( 2, sessionFactory().getStatistics().getQueryCacheHitCount() );
+
+		deleteItems();
+	}
+
+	@Test
+	public void testQueryOverSeveralSpaces() {
+		sessionFactory().getCache().evictQueryRegions();
+		sessionFactory().getStatistics().clear();
+
+		persistItem( "a" );
+		final String queryString = "select count(*) from Item i, EntityWithCompositeKey e";
+		Session s = openSession();
+		s.beginTransaction();
+		assertEquals( 0, ( (Number) s.createQuery( queryString ).setCacheable( true ).uniqueResult() ).intValue() );
+		assertEquals( 0, ( (Number) s.createQuery( queryString ).setCacheable( true ).uniqueResult() ).intValue() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		EntityWithCompositeKey entity = new EntityWithCompositeKey( new CompositeKey( 1, 2 ) );
+		s.persist( entity );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 1, ( (Number) s.createQuery( queryString ).setCacheable( true ).uniqueResult() ).intValue() );
+		s.delete( s.get( EntityWithCompositeKey.class, new CompositeKey( 1, 2 ) ) );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+
+		deleteItems();
+	}
+
+	@Test
+	public void testUpdateBySomeoneElseSeenForSpaceNotInvalidatedLocally() {
+		sessionFactory().getCache().evictQueryRegions();
+		sessionFactory().getUpdateTimestampsCache().clear();
+		sessionFactory().getStatistics().clear();
+
+		assertEquals( 0, countItems() );
+		assertEquals( 0, countItems() );
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+
+		// another SessionFactory updates the Items table; having only read its timestamp, this one must read it again
+		final TimestampsRegion region = sessionFactory().getUpdateTimestampsCache().getRegion();
+		region.put( "Items", region.nextTimestamp() );
+		assertEquals( 0, countItems() );
+		assertEquals( 1, sessionFactory().getStatistics().getQueryCacheHitCount() );
+	}
+
+	private void persistItem(String name) {
+		Session s = openSession();
+		s.beginTransaction();
+		Item item = new Item();
+		item.setName( name );
+		item.setDescription( name );
+		s.persist( item );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private int countItems() {
+		Session s = openSession();
+		s.beginTransaction();
+		Number count = (Number) s.createQuery( COUNT_ITEMS ).setCacheable( true ).uniqueResult();
+		s.getTransaction().commit();
+		s.close();
+		return count.intValue();
+	}
+
+	private void deleteItems() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete from Item" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
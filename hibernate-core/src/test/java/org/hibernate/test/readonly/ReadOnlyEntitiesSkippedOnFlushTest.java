@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.readonly;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Runs the read-only session tests with flushes skipping read-only entities, and checks which entities are skipped.
+ */
+public class ReadOnlyEntitiesSkippedOnFlushTest extends ReadOnlySessionTest {
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.FLUSH_SKIP_READ_ONLY_ENTITIES, "true" );
+	}
+
+	@Test
+	public void testReadOnlyEntitiesAreSkippedOnFlush() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 10; i++ ) {
+			s.save( new DataPoint( new BigDecimal( i ), new BigDecimal( i ), "original" ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		s.setDefaultReadOnly( true );
+		final List list = s.createQuery( "from DataPoint dp order by dp.x asc" ).list();
+		s.setDefaultReadOnly( false );
+		assertEquals( 10, list.size() );
+		assertEquals( 0, persistenceContext.reentrantSafeEntityEntriesToFlush().length );
+		for ( Object dp : list ) {
+			assertNull( persistenceContext.getEntry( dp ).getLoadedState() );
+			( (DataPoint) dp ).setDescription( "changed" );
+		}
+
+		final DataPoint modifiable = (DataPoint) list.get( 3 );
+		s.setReadOnly( modifiable, false );
+		assertEquals( 1, persistenceContext.reentrantSafeEntityEntriesToFlush().length );
+		assertSame( modifiable, persistenceContext.reentrantSafeEntityEntriesToFlush()[0].getKey() );
+
+		clearCounts();
+		s.flush();
+		assertUpdateCount( 0 );
+		modifiable.setDescription( "modified" );
+		s.flush();
+		assertUpdateCount( 1 );
+
+		s.delete( list.get( 5 ) );
+		assertEquals( 2, persistenceContext.reentrantSafeEntityEntriesToFlush().length );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 8, s.createQuery( "from DataPoint where description = 'original'" ).list().size() );
+		assertEquals( "modified", ( (DataPoint) s.get( DataPoint.class, modifiable.getId() ) ).getDescription() );
+		s.createQuery( "delete from DataPoint" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stats;
+
+import java.util.HashSet;
+import java.util.Map;
+
+import org.hibernate.JDBCException;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.internal.InMemoryMetricsRecorder;
+import org.hibernate.stat.spi.MetricsRecorder.Operation;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the timings reported to a {@link org.hibernate.stat.spi.MetricsRecorder}.
+ */
+public class MetricsRecorderTest extends BaseNonConfigCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "stats/Continent.hbm.xml" };
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.METRICS_RECORDER, InMemoryMetricsRecorder.class.getName() );
+	}
+
+	@Test
+	public void testOperationsAndQueriesRecorded() {
+		final InMemoryMetricsRecorder recorder =
+				(InMemoryMetricsRecorder) sessionFactory().getSessionFactoryOptions().getMetricsRecorder();
+		assertNotNull( recorder );
+		recorder.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Continent europe = new Continent();
+		europe.setName( "Europe" );
+		europe.setCountries( new HashSet() );
+		Country france = new Country();
+		france.setName( "France" );
+		europe.getCountries().add( france );
+		s.persist( france );
+		s.persist( europe );
+		s.getTransaction().commit();
+		s.close();
+
+		assertTrue( recorder.getOperationTimeHistogram( Operation.FLUSH ).getCount() >= 1 );
+		assertTrue( recorder.getOperationTimeHistogram( Operation.JDBC_PREPARE_STATEMENT ).getCount() >= 2 );
+		assertTrue( recorder.getOperationTimeHistogram( Operation.JDBC_EXECUTE_STATEMENT ).getCount() >= 2 );
+		assertEquals( 0, recorder.getQueries().size() );
+
+		final String continents = "from Continent";
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 1, s.createQuery( continents ).list().size() );
+		assertEquals( 1, s.createQuery( continents ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		final InMemoryMetricsRecorder.QueryMetrics metrics = recorder.getQueryMetrics( continents );
+		assertNotNull( metrics );
+		assertEquals( 2, metrics.getExecutionCount() );
+		assertEquals( 2, metrics.getRowCount() );
+		assertTrue( metrics.getJdbcExecuteStatementTimeHistogram().getCount() >= 2 );
+		assertTrue(
+				metrics.getExecutionTimeHistogram().getTimeAtPercentile( 50 )
+						<= metrics.getExecutionTimeHistogram().getMaxTime()
+		);
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( Continent.class, europe.getId() ) );
+		s.delete( s.get( Country.class, france.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testQueryMetricsBounded() {
+		final InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder( 64 );
+		for ( int i = 0; i < 1000; i++ ) {
+			recorder.recordQueryExecution( "select c from Continent c where c.id = " + i, 1, 1000 );
+		}
+		assertTrue( recorder.getQueries().size() <= 64 );
+		assertNotNull( recorder.getQueryMetrics( "select c from Continent c where c.id = 999" ) );
+	}
+
+	@Test
+	public void testFailedQueryEnded() {
+		final InMemoryMetricsRecorder recorder =
+				(InMemoryMetricsRecorder) sessionFactory().getSessionFactoryOptions().getMetricsRecorder();
+		recorder.clear();
+
+		final String failing = "select * from no_such_table";
+		Session s = openSession();
+		s.beginTransaction();
+		try {
+			s.createSQLQuery( failing ).list();
+			fail( "query should have failed" );
+		}
+		catch (JDBCException expected) {
+		}
+		final InMemoryMetricsRecorder.QueryMetrics metrics = recorder.getQueryMetrics( failing );
+		final long failedStatements = metrics == null ? 0 : metrics.getJdbcExecuteStatementTimeHistogram().getCount();
+		assertTrue( metrics == null || metrics.getExecutionCount() == 0 );
+
+		// the operations performed afterwards are no longer attributed to the failed query
+		Continent europe = new Continent();
+		europe.setName( "Europe" );
+		s.persist( europe );
+		s.flush();
+		assertEquals( 1, s.createQuery( "from Continent" ).list().size() );
+		assertTrue(
+				recorder.getQueryMetrics( failing ) == null
+						|| recorder.getQueryMetrics( failing ).getJdbcExecuteStatementTimeHistogram().getCount() == failedStatements
+		);
+		s.delete( europe );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -41,6 +41,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Show the difference between fetch and load
@@ -171,6 +172,9 @@ public class StatsTest extends BaseUnitTestCase {
 		fillDb(s);
 		tx.commit();
 		s.close();
+		assertEquals( sf.getStatistics().getFlushCount(), sf.getStatistics().getFlushTimeHistogram().getCount() );
+		// flush times are recorded in microseconds, so that even a fast flush is not rounded down to zero
+		assertTrue( sf.getStatistics().getFlushTimeHistogram().getMaxTime() > 0 );
 
 		s = sf.openSession();
 		tx = s.beginTransaction();
@@ -195,6 +199,8 @@ public class StatsTest extends BaseUnitTestCase {
 		// same deal with scroll()...
 		assertEquals( "unexpected execution count", 3, continentStats.getExecutionCount() );
 		assertEquals( "unexpected row count", results, continentStats.getExecutionRowCount() );
+		assertEquals( 3, continentStats.getExecutionTimeHistogram().getCount() );
+		assertEquals( 3, sf.getStatistics().getQueryExecutionTimeHistogram().getCount() );
 		// scroll through data because SybaseASE15Dialect throws NullPointerException
 		// if data is not read before closing the ResultSet
 		while ( scrollableResults.next() ) {
@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.collections.LongObjectHashMap;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LongObjectHashMapTest extends BaseUnitTestCase {
+	@Test
+	public void testBasicOperations() {
+		final LongObjectHashMap<String> map = new LongObjectHashMap<String>();
+		assertTrue( map.isEmpty() );
+		assertNull( map.put( 1L, "one" ) );
+		assertNull( map.put( -1L, "minus one" ) );
+		assertNull( map.put( Long.MAX_VALUE, "max" ) );
+		assertEquals( "one", map.put( 1L, "uno" ) );
+		assertEquals( 3, map.size() );
+		assertEquals( "uno", map.get( 1L ) );
+		assertEquals( "minus one", map.get( -1L ) );
+		assertEquals( "max", map.get( Long.MAX_VALUE ) );
+		assertFalse( map.containsKey( 0L ) );
+
+		assertEquals( "minus one", map.remove( -1L ) );
+		assertNull( map.remove( -1L ) );
+		assertEquals( 2, map.size() );
+
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertNull( map.get( 1L ) );
+	}
+
+	@Test
+	public void testAgainstHashMap() {
+		// a small key range, forcing lots of collisions, removals within probe sequences and resizes
+		final Random random = new Random( 42 );
+		final LongObjectHashMap<Long> map = new LongObjectHashMap<Long>( 4 );
+		final Map<Long, Long> expected = new HashMap<Long, Long>();
+		for ( int i = 0; i < 100000; i++ ) {
+			final long key = random.nextInt( 2000 ) * 1024L;
+			final int operation = random.nextInt( 3 );
+			if ( operation == 0 ) {
+				assertEquals( expected.remove( key ), map.remove( key ) );
+			}
+			else if ( operation == 1 ) {
+				assertEquals( expected.put( key, (long) i ), map.put( key, (long) i ) );
+			}
+			else {
+				assertEquals( expected.get( key ), map.get( key ) );
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+
+		int iterated = 0;
+		final Iterator<LongObjectHashMap.Cursor<Long>> iterator = map.iterator();
+		while ( iterator.hasNext() ) {
+			final LongObjectHashMap.Cursor<Long> cursor = iterator.next();
+			assertEquals( expected.get( cursor.getKey() ), cursor.getValue() );
+			iterated++;
+		}
+		assertEquals( expected.size(), iterated );
+	}
+}
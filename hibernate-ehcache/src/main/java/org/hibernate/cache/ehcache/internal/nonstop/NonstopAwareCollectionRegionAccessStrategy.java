@@ -27,6 +27,7 @@ import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 
@@ -37,7 +38,7 @@ import org.hibernate.cache.spi.access.SoftLock;
  * @author Abhishek Sanoujam
  * @author Alex Snaps
  */
-public class NonstopAwareCollectionRegionAccessStrategy implements CollectionRegionAccessStrategy {
+public class NonstopAwareCollectionRegionAccessStrategy implements CollectionRegionAccessStrategy, BulkRegionAccessStrategy {
 	private final CollectionRegionAccessStrategy actualStrategy;
 	private final HibernateNonstopCacheExceptionHandler hibernateNonstopExceptionHandler;
 
@@ -135,6 +136,53 @@ public class NonstopAwareCollectionRegionAccessStrategy implements CollectionReg
 		}
 	}
 
+	@Override
+	public Object[] getAll(Object[] keys, long txTimestamp) throws CacheException {
+		try {
+			if ( actualStrategy instanceof BulkRegionAccessStrategy ) {
+				return ( (BulkRegionAccessStrategy) actualStrategy ).getAll( keys, txTimestamp );
+			}
+			final Object[] values = new Object[keys.length];
+			for ( int i = 0; i < keys.length; i++ ) {
+				values[i] = actualStrategy.get( keys[i], txTimestamp );
+			}
+			return values;
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return new Object[keys.length];
+		}
+	}
+
+	@Override
+	public boolean[] putFromLoadAll(
+			Object[] keys,
+			Object[] values,
+			long txTimestamp,
+			Object[] versions,
+			boolean minimalPutOverride) throws CacheException {
+		try {
+			if ( actualStrategy instanceof BulkRegionAccessStrategy ) {
+				return ( (BulkRegionAccessStrategy) actualStrategy ).putFromLoadAll(
+						keys,
+						values,
+						txTimestamp,
+						versions,
+						minimalPutOverride
+				);
+			}
+			final boolean[] cached = new boolean[keys.length];
+			for ( int i = 0; i < keys.length; i++ ) {
+				cached[i] = actualStrategy.putFromLoad( keys[i], values[i], txTimestamp, versions[i], minimalPutOverride );
+			}
+			return cached;
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return new boolean[keys.length];
+		}
+	}
+
 	@Override
 	public void remove(Object key) throws CacheException {
 		try {
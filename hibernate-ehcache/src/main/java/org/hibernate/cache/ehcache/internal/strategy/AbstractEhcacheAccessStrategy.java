@@ -65,6 +65,48 @@ abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataR
 		return settings;
 	}
 
+	/**
+	 * This method is a placeholder for method signatures supplied by interfaces pulled in further down the class
+	 * hierarchy.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#get(java.lang.Object, long)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#get(java.lang.Object, long)
+	 */
+	public abstract Object get(Object key, long txTimestamp) throws CacheException;
+
+	/**
+	 * Get multiple items in a single call.  Ehcache 2.4 has no bulk read of its own, so the items are read one
+	 * after the other, each as {@link #get(Object, long)} would.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#getAll(java.lang.Object[], long)
+	 */
+	public Object[] getAll(Object[] keys, long txTimestamp) throws CacheException {
+		final Object[] values = new Object[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			values[i] = get( keys[i], txTimestamp );
+		}
+		return values;
+	}
+
+	/**
+	 * Put multiple items after loading them, in a single call.  The items are put one after the other, each as
+	 * {@link #putFromLoad(Object, Object, long, Object, boolean)} would.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#putFromLoadAll(java.lang.Object[], java.lang.Object[], long, java.lang.Object[], boolean)
+	 */
+	public boolean[] putFromLoadAll(
+			Object[] keys,
+			Object[] values,
+			long txTimestamp,
+			Object[] versions,
+			boolean minimalPutOverride) throws CacheException {
+		final boolean[] puts = new boolean[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			puts[i] = putFromLoad( keys[i], values[i], txTimestamp, versions[i], minimalPutOverride );
+		}
+		return puts;
+	}
+
 	/**
 	 * This method is a placeholder for method signatures supplied by interfaces pulled in further down the class
 	 * hierarchy.
@@ -25,6 +25,7 @@ package org.hibernate.cache.ehcache.internal.strategy;
 
 import org.hibernate.cache.ehcache.internal.regions.EhcacheCollectionRegion;
 import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
 import org.hibernate.cfg.Settings;
 
@@ -36,7 +37,7 @@ import org.hibernate.cfg.Settings;
  */
 public class ReadWriteEhcacheCollectionRegionAccessStrategy
 		extends AbstractReadWriteEhcacheAccessStrategy<EhcacheCollectionRegion>
-		implements CollectionRegionAccessStrategy {
+		implements CollectionRegionAccessStrategy, BulkRegionAccessStrategy {
 
 	/**
 	 * Create a read/write access strategy accessing the given collection region.
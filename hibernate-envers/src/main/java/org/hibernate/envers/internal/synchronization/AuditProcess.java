@@ -23,8 +23,11 @@
  */
 package org.hibernate.envers.internal.synchronization;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 
@@ -35,6 +38,7 @@ import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.internal.revisioninfo.RevisionInfoGenerator;
 import org.hibernate.envers.internal.synchronization.work.AuditWorkUnit;
+import org.hibernate.envers.internal.synchronization.work.PersistentCollectionChangeWorkUnit;
 import org.hibernate.envers.tools.Pair;
 
 /**
@@ -115,10 +119,42 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 			vwu.undo( session );
 		}
 
+		// Then performing the work units grouped by the audit table they write to, so that the rows inserted
+		// into the same table are adjacent and can be sent in a single JDBC batch
+		final List<AuditWorkUnit> changed = new ArrayList<AuditWorkUnit>( workUnits.size() );
+		final Map<Pair<String, String>, List<AuditWorkUnit>> workUnitsByTable = new LinkedHashMap<Pair<String, String>, List<AuditWorkUnit>>();
 		while ( (vwu = workUnits.poll()) != null ) {
-			vwu.perform( session, revisionData );
-			entityChangeNotifier.entityChanged( session, currentRevisionData, vwu );
+			final Pair<String, String> tableKey = getAuditTableKey( vwu );
+			List<AuditWorkUnit> tableWorkUnits = workUnitsByTable.get( tableKey );
+			if ( tableWorkUnits == null ) {
+				tableWorkUnits = new ArrayList<AuditWorkUnit>();
+				workUnitsByTable.put( tableKey, tableWorkUnits );
+			}
+			tableWorkUnits.add( vwu );
+			changed.add( vwu );
+		}
+
+		for ( List<AuditWorkUnit> tableWorkUnits : workUnitsByTable.values() ) {
+			for ( AuditWorkUnit tableWorkUnit : tableWorkUnits ) {
+				tableWorkUnit.perform( session, revisionData );
+			}
+		}
+
+		// Notifying about the changes in the order they were made
+		for ( AuditWorkUnit changedWorkUnit : changed ) {
+			entityChangeNotifier.entityChanged( session, currentRevisionData, changedWorkUnit );
+		}
+	}
+
+	private static Pair<String, String> getAuditTableKey(AuditWorkUnit vwu) {
+		if ( vwu instanceof PersistentCollectionChangeWorkUnit ) {
+			// Collection changes are written to the middle table of the collection, not to the owner's audit table
+			return Pair.make(
+					vwu.getEntityName(),
+					( (PersistentCollectionChangeWorkUnit) vwu ).getReferencingPropertyName()
+			);
 		}
+		return Pair.make( vwu.getEntityName(), (String) null );
 	}
 
 	public Object getCurrentRevisionData(Session session, boolean persist) {
@@ -1,30 +1,45 @@
 package org.hibernate.envers.strategy;
 
 import java.io.Serializable;
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.LockOptions;
 import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.ExecuteUpdateResultCheckStyle;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.RevisionType;
 import org.hibernate.envers.boot.internal.EnversService;
 import org.hibernate.envers.configuration.internal.AuditEntitiesConfiguration;
 import org.hibernate.envers.configuration.internal.GlobalConfiguration;
+import org.hibernate.envers.exception.AuditException;
 import org.hibernate.envers.internal.entities.mapper.PersistentCollectionChangeData;
 import org.hibernate.envers.internal.entities.mapper.relation.MiddleComponentData;
 import org.hibernate.envers.internal.entities.mapper.relation.MiddleIdData;
 import org.hibernate.envers.internal.synchronization.SessionCacheCleaner;
 import org.hibernate.envers.internal.tools.query.Parameters;
 import org.hibernate.envers.internal.tools.query.QueryBuilder;
+import org.hibernate.envers.tools.Pair;
 import org.hibernate.event.spi.EventSource;
-import org.hibernate.jdbc.ReturningWork;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.jdbc.Expectation;
+import org.hibernate.jdbc.Expectations;
 import org.hibernate.persister.entity.Queryable;
 import org.hibernate.persister.entity.UnionSubclassEntityPersister;
 import org.hibernate.property.Getter;
@@ -60,6 +75,11 @@ import static org.hibernate.envers.internal.entities.mapper.relation.query.Query
  * @author Lukasz Antoniak (lukasz dot antoniak at gmail dot com)
  */
 public class ValidityAuditStrategy implements AuditStrategy {
+	/**
+	 * Upper bound of the identifiers restricted by a single end revision update, when the dialect sets no lower limit
+	 */
+	private static final int MAX_IDS_PER_UPDATE = 1000;
+
 	/**
 	 * getter for the revision entity field annotated with @RevisionTimestamp
 	 */
@@ -67,6 +87,11 @@ public class ValidityAuditStrategy implements AuditStrategy {
 
 	private final SessionCacheCleaner sessionCacheCleaner;
 
+	/**
+	 * The end revision updates not yet executed, by session
+	 */
+	private final Map<Session, RevisionEndUpdates> revisionEndUpdates = new ConcurrentHashMap<Session, RevisionEndUpdates>();
+
 	public ValidityAuditStrategy() {
 		sessionCacheCleaner = new SessionCacheCleaner();
 	}
@@ -81,7 +106,6 @@ public class ValidityAuditStrategy implements AuditStrategy {
 			final Object revision) {
 		final AuditEntitiesConfiguration audEntitiesCfg = enversService.getAuditEntitiesConfiguration();
 		final String auditedEntityName = audEntitiesCfg.getAuditEntityName( entityName );
-		final String revisionInfoEntityName = enversService.getAuditEntitiesConfiguration().getRevisionInfoEntityName();
 
 		// Save the audit data
 		session.save( auditedEntityName, data );
@@ -94,129 +118,49 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		// reused, this guarantees correct strategy behavior: exactly one row with
 		// null end date exists for each identifier.
 		final boolean reuseEntityIdentifier = enversService.getGlobalConfiguration().isAllowIdentifierReuse();
-		if ( reuseEntityIdentifier || getRevisionType( enversService, data ) != RevisionType.ADD ) {
-			// Register transaction completion process to guarantee execution of UPDATE statement after INSERT.
-			( (EventSource) session ).getActionQueue().registerProcess( new BeforeTransactionCompletionProcess() {
-				@Override
-				public void doBeforeTransactionCompletion(final SessionImplementor sessionImplementor) {
-					final Queryable productionEntityQueryable = getQueryable( entityName, sessionImplementor );
-					final Queryable rootProductionEntityQueryable = getQueryable(
-							productionEntityQueryable.getRootEntityName(), sessionImplementor
-					);
-					final Queryable auditedEntityQueryable = getQueryable( auditedEntityName, sessionImplementor );
-					final Queryable rootAuditedEntityQueryable = getQueryable(
-							auditedEntityQueryable.getRootEntityName(), sessionImplementor
-					);
-
-					final String updateTableName;
-					if ( UnionSubclassEntityPersister.class.isInstance( rootProductionEntityQueryable ) ) {
-						// this is the condition causing all the problems in terms of the generated SQL UPDATE
-						// the problem being that we currently try to update the in-line view made up of the union query
-						//
-						// this is extremely hacky means to get the root table name for the union subclass style entities.
-						// hacky because it relies on internal behavior of UnionSubclassEntityPersister
-						// !!!!!! NOTICE - using subclass persister, not root !!!!!!
-						updateTableName = auditedEntityQueryable.getSubclassTableName( 0 );
-					}
-					else {
-						updateTableName = rootAuditedEntityQueryable.getTableName();
-					}
-
-					final Type revisionInfoIdType = sessionImplementor.getFactory().getEntityPersister( revisionInfoEntityName ).getIdentifierType();
-					final String revEndColumnName = rootAuditedEntityQueryable.toColumns( enversService.getAuditEntitiesConfiguration().getRevisionEndFieldName() )[0];
-
-					final boolean isRevisionEndTimestampEnabled = enversService.getAuditEntitiesConfiguration().isRevisionEndTimestampEnabled();
-
-					// update audit_ent set REVEND = ? [, REVEND_TSTMP = ?] where (prod_ent_id) = ? and REV <> ? and REVEND is null
-					final Update update = new Update( sessionImplementor.getFactory().getDialect() ).setTableName( updateTableName );
-					// set REVEND = ?
-					update.addColumn( revEndColumnName );
-					// set [, REVEND_TSTMP = ?]
-					if ( isRevisionEndTimestampEnabled ) {
-						update.addColumn(
-								rootAuditedEntityQueryable.toColumns( enversService.getAuditEntitiesConfiguration().getRevisionEndTimestampFieldName() )[0]
-						);
-					}
+		final RevisionType revisionType = getRevisionType( enversService, data );
+		if ( reuseEntityIdentifier || revisionType != RevisionType.ADD ) {
+			getRevisionEndUpdates( session, enversService ).add(
+					entityName, auditedEntityName, id, revision, revisionType != RevisionType.ADD
+			);
+		}
+		sessionCacheCleaner.scheduleAuditDataRemoval( session, data );
+	}
 
-					// where (prod_ent_id) = ?
-					update.addPrimaryKeyColumns( rootProductionEntityQueryable.getIdentifierColumnNames() );
-					// where REV <> ?
-					update.addWhereColumn(
-							rootAuditedEntityQueryable.toColumns( enversService.getAuditEntitiesConfiguration().getRevisionNumberPath() )[0], "<> ?"
-					);
-					// where REVEND is null
-					update.addWhereColumn( revEndColumnName, " is null" );
-
-					// Now lets execute the sql...
-					final String updateSql = update.toStatementString();
-
-					int rowCount = ( (Session) sessionImplementor ).doReturningWork(
-							new ReturningWork<Integer>() {
-								@Override
-								public Integer execute(Connection connection) throws SQLException {
-									PreparedStatement preparedStatement = sessionImplementor.getTransactionCoordinator()
-											.getJdbcCoordinator().getStatementPreparer().prepareStatement( updateSql );
-
-									try {
-										int index = 1;
-
-										// set REVEND = ?
-										final Number revisionNumber = enversService.getRevisionInfoNumberReader().getRevisionNumber(
-												revision
-										);
-										revisionInfoIdType.nullSafeSet(
-												preparedStatement, revisionNumber, index, sessionImplementor
-										);
-										index += revisionInfoIdType.getColumnSpan( sessionImplementor.getFactory() );
-
-										// set [, REVEND_TSTMP = ?]
-										if ( isRevisionEndTimestampEnabled ) {
-											final Object revEndTimestampObj = revisionTimestampGetter.get( revision );
-											final Date revisionEndTimestamp = convertRevEndTimestampToDate( revEndTimestampObj );
-											final Type revEndTsType = rootAuditedEntityQueryable.getPropertyType(
-													enversService.getAuditEntitiesConfiguration().getRevisionEndTimestampFieldName()
-											);
-											revEndTsType.nullSafeSet(
-													preparedStatement, revisionEndTimestamp, index, sessionImplementor
-											);
-											index += revEndTsType.getColumnSpan( sessionImplementor.getFactory() );
-										}
-
-										// where (prod_ent_id) = ?
-										final Type idType = rootProductionEntityQueryable.getIdentifierType();
-										idType.nullSafeSet( preparedStatement, id, index, sessionImplementor );
-										index += idType.getColumnSpan( sessionImplementor.getFactory() );
-
-										// where REV <> ?
-										final Type revType = rootAuditedEntityQueryable.getPropertyType(
-												enversService.getAuditEntitiesConfiguration().getRevisionNumberPath()
-										);
-										revType.nullSafeSet( preparedStatement, revisionNumber, index, sessionImplementor );
-
-										// where REVEND is null
-										// 		nothing to bind....
-
-										return sessionImplementor.getTransactionCoordinator()
-												.getJdbcCoordinator().getResultSetReturn().executeUpdate( preparedStatement );
-									}
-									finally {
-										sessionImplementor.getTransactionCoordinator().getJdbcCoordinator().release(
-												preparedStatement
-										);
-									}
-								}
+	/**
+	 * Returns the end revision updates collected for the given session, registering their execution on the first
+	 * call. The updates of all the audited entities are executed together in a single transaction completion
+	 * process, which guarantees their execution after the INSERT statements.
+	 */
+	private RevisionEndUpdates getRevisionEndUpdates(final Session session, EnversService enversService) {
+		RevisionEndUpdates updates = revisionEndUpdates.get( session );
+		if ( updates == null ) {
+			updates = new RevisionEndUpdates( enversService );
+			revisionEndUpdates.put( session, updates );
+
+			final ActionQueue actionQueue = ( (EventSource) session ).getActionQueue();
+			actionQueue.registerProcess(
+					new BeforeTransactionCompletionProcess() {
+						@Override
+						public void doBeforeTransactionCompletion(SessionImplementor sessionImplementor) {
+							final RevisionEndUpdates sessionUpdates = revisionEndUpdates.remove( session );
+							if ( sessionUpdates != null ) {
+								sessionUpdates.execute( sessionImplementor );
 							}
-					);
-
-					if ( rowCount != 1 && ( !reuseEntityIdentifier || ( getRevisionType( enversService, data ) != RevisionType.ADD ) ) ) {
-						throw new RuntimeException(
-								"Cannot update previous revision for entity " + auditedEntityName + " and id " + id
-						);
+						}
 					}
-				}
-			});
+			);
+			actionQueue.registerProcess(
+					new AfterTransactionCompletionProcess() {
+						@Override
+						public void doAfterTransactionCompletion(boolean success, SessionImplementor sessionImplementor) {
+							// the updates are left behind when the transaction fails before their execution
+							revisionEndUpdates.remove( session );
+						}
+					}
+			);
 		}
-		sessionCacheCleaner.scheduleAuditDataRemoval( session, data );
+		return updates;
 	}
 
 	private Queryable getQueryable(String entityName, SessionImplementor sessionImplementor) {
@@ -365,4 +309,280 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		}
 		return new Date( (Long) revEndTimestampObj );
 	}
-}
\ No newline at end of file
+
+	/**
+	 * The end revision updates of one session, grouped by audited entity and revision.
+	 */
+	private final class RevisionEndUpdates {
+		private final EnversService enversService;
+		private final Map<Pair<String, Number>, RevisionEndUpdate> updates = new LinkedHashMap<Pair<String, Number>, RevisionEndUpdate>();
+
+		private RevisionEndUpdates(EnversService enversService) {
+			this.enversService = enversService;
+		}
+
+		private void add(
+				String entityName,
+				String auditedEntityName,
+				Serializable id,
+				Object revision,
+				boolean previousRowExpected) {
+			final Pair<String, Number> key = Pair.make(
+					auditedEntityName, enversService.getRevisionInfoNumberReader().getRevisionNumber( revision )
+			);
+			RevisionEndUpdate update = updates.get( key );
+			if ( update == null ) {
+				update = new RevisionEndUpdate( enversService, entityName, auditedEntityName, revision );
+				updates.put( key, update );
+			}
+			if ( previousRowExpected ) {
+				update.ids.add( id );
+			}
+			else {
+				update.optionalIds.add( id );
+			}
+		}
+
+		private void execute(SessionImplementor sessionImplementor) {
+			for ( RevisionEndUpdate update : updates.values() ) {
+				update.execute( sessionImplementor );
+			}
+		}
+	}
+
+	/**
+	 * Sets the end revision of the previous rows of several entities of one audited entity, with a single
+	 * {@code UPDATE ... WHERE id IN (...)} per chunk of identifiers. The statements are sent through the JDBC batch
+	 * of the session, so the chunks of the same size share a single batched statement.
+	 */
+	private final class RevisionEndUpdate {
+		private final EnversService enversService;
+		private final String entityName;
+		private final String auditedEntityName;
+		private final Object revision;
+
+		/**
+		 * Identifiers whose previous row must exist
+		 */
+		private final List<Serializable> ids = new ArrayList<Serializable>();
+
+		/**
+		 * Identifiers of added entities, whose previous row exists only when the identifier of a removed entity is
+		 * reused
+		 */
+		private final List<Serializable> optionalIds = new ArrayList<Serializable>();
+
+		private RevisionEndUpdate(EnversService enversService, String entityName, String auditedEntityName, Object revision) {
+			this.enversService = enversService;
+			this.entityName = entityName;
+			this.auditedEntityName = auditedEntityName;
+			this.revision = revision;
+		}
+
+		private void execute(SessionImplementor sessionImplementor) {
+			final AuditEntitiesConfiguration audEntitiesCfg = enversService.getAuditEntitiesConfiguration();
+			final Queryable productionEntityQueryable = getQueryable( entityName, sessionImplementor );
+			final Queryable rootProductionEntityQueryable = getQueryable(
+					productionEntityQueryable.getRootEntityName(), sessionImplementor
+			);
+			final Queryable auditedEntityQueryable = getQueryable( auditedEntityName, sessionImplementor );
+			final Queryable rootAuditedEntityQueryable = getQueryable(
+					auditedEntityQueryable.getRootEntityName(), sessionImplementor
+			);
+
+			final String updateTableName;
+			if ( UnionSubclassEntityPersister.class.isInstance( rootProductionEntityQueryable ) ) {
+				// this is the condition causing all the problems in terms of the generated SQL UPDATE
+				// the problem being that we currently try to update the in-line view made up of the union query
+				//
+				// this is extremely hacky means to get the root table name for the union subclass style entities.
+				// hacky because it relies on internal behavior of UnionSubclassEntityPersister
+				// !!!!!! NOTICE - using subclass persister, not root !!!!!!
+				updateTableName = auditedEntityQueryable.getSubclassTableName( 0 );
+			}
+			else {
+				updateTableName = rootAuditedEntityQueryable.getTableName();
+			}
+
+			final String[] idColumnNames = rootProductionEntityQueryable.getIdentifierColumnNames();
+			final int limit = sessionImplementor.getFactory().getDialect().getInExpressionCountLimit();
+			// composite identifiers are restricted one entity per statement, not every database supports
+			// row value constructors in IN lists
+			final int chunkSize = idColumnNames.length > 1
+					? 1
+					: limit > 0 ? Math.min( limit, MAX_IDS_PER_UPDATE ) : MAX_IDS_PER_UPDATE;
+
+			final Update update = new Update( sessionImplementor.getFactory().getDialect() ).setTableName( updateTableName );
+			// set REVEND = ?
+			final String revEndColumnName = rootAuditedEntityQueryable.toColumns( audEntitiesCfg.getRevisionEndFieldName() )[0];
+			update.addColumn( revEndColumnName );
+			// set [, REVEND_TSTMP = ?]
+			if ( audEntitiesCfg.isRevisionEndTimestampEnabled() ) {
+				update.addColumn(
+						rootAuditedEntityQueryable.toColumns( audEntitiesCfg.getRevisionEndTimestampFieldName() )[0]
+				);
+			}
+			// where REV <> ?
+			update.addWhereColumn(
+					rootAuditedEntityQueryable.toColumns( audEntitiesCfg.getRevisionNumberPath() )[0], "<> ?"
+			);
+			// where REVEND is null
+			update.addWhereColumn( revEndColumnName, " is null" );
+
+			final JdbcCoordinator jdbcCoordinator = sessionImplementor.getTransactionCoordinator().getJdbcCoordinator();
+			try {
+				execute( update, idColumnNames, ids, chunkSize, true, rootAuditedEntityQueryable, rootProductionEntityQueryable, sessionImplementor );
+				execute( update, idColumnNames, optionalIds, chunkSize, false, rootAuditedEntityQueryable, rootProductionEntityQueryable, sessionImplementor );
+				jdbcCoordinator.executeBatch();
+			}
+			catch ( StaleStateException e ) {
+				jdbcCoordinator.abortBatch();
+				// the message names the identifiers of the failing chunk, see ChunkExpectation
+				throw new AuditException(
+						"Cannot update previous revision for entity " + auditedEntityName + ": " + e.getMessage(), e
+				);
+			}
+		}
+
+		private void execute(
+				Update update,
+				String[] idColumnNames,
+				List<Serializable> updateIds,
+				int chunkSize,
+				boolean previousRowExpected,
+				Queryable rootAuditedEntityQueryable,
+				Queryable rootProductionEntityQueryable,
+				SessionImplementor sessionImplementor) {
+			ChunkExpectation expectation = null;
+			BatchKey batchKey = null;
+			for ( int i = 0; i < updateIds.size(); i += chunkSize ) {
+				final List<Serializable> chunk = updateIds.subList( i, Math.min( i + chunkSize, updateIds.size() ) );
+
+				if ( chunk.size() == 1 ) {
+					// where (prod_ent_id) = ?
+					update.setPrimaryKeyColumnNames( idColumnNames );
+					update.setWhere( null );
+				}
+				else {
+					// where prod_ent_id in (?, ...)
+					update.setPrimaryKeyColumnNames( new String[0] );
+					update.setWhere( idColumnNames[0] + " in (" + StringHelper.repeat( "?", chunk.size(), ", " ) + ")" );
+				}
+				final String updateSql = update.toStatementString();
+				if ( batchKey == null || expectation.chunkSize != chunk.size() ) {
+					// only the last chunk differs in size
+					expectation = new ChunkExpectation(
+							chunk.size(),
+							previousRowExpected
+									? Expectations.appropriateExpectation( ExecuteUpdateResultCheckStyle.COUNT, chunk.size() )
+									: Expectations.NONE
+					);
+					batchKey = new BasicBatchKey(
+							auditedEntityName + "#REVEND#" + chunk.size() + ( previousRowExpected ? "" : "#OPTIONAL" ),
+							expectation
+					);
+				}
+
+				final Batch batch = sessionImplementor.getTransactionCoordinator().getJdbcCoordinator().getBatch( batchKey );
+				final PreparedStatement preparedStatement = batch.getBatchStatement( updateSql, false );
+				try {
+					bind( preparedStatement, chunk, rootAuditedEntityQueryable, rootProductionEntityQueryable, sessionImplementor );
+				}
+				catch ( SQLException e ) {
+					sessionImplementor.getTransactionCoordinator().getJdbcCoordinator().abortBatch();
+					throw sessionImplementor.getFactory().getSQLExceptionHelper().convert(
+							e, "could not update previous revision of entity " + auditedEntityName, updateSql
+					);
+				}
+				expectation.add( chunk );
+				batch.addToBatch();
+			}
+		}
+
+		private void bind(
+				PreparedStatement preparedStatement,
+				List<Serializable> chunk,
+				Queryable rootAuditedEntityQueryable,
+				Queryable rootProductionEntityQueryable,
+				SessionImplementor sessionImplementor) throws SQLException {
+			final AuditEntitiesConfiguration audEntitiesCfg = enversService.getAuditEntitiesConfiguration();
+			final SessionFactoryImplementor factory = sessionImplementor.getFactory();
+			final String revisionInfoEntityName = audEntitiesCfg.getRevisionInfoEntityName();
+			int index = 1;
+
+			// set REVEND = ?
+			final Type revisionInfoIdType = factory.getEntityPersister( revisionInfoEntityName ).getIdentifierType();
+			final Number revisionNumber = enversService.getRevisionInfoNumberReader().getRevisionNumber( revision );
+			revisionInfoIdType.nullSafeSet( preparedStatement, revisionNumber, index, sessionImplementor );
+			index += revisionInfoIdType.getColumnSpan( factory );
+
+			// set [, REVEND_TSTMP = ?]
+			if ( audEntitiesCfg.isRevisionEndTimestampEnabled() ) {
+				final Object revEndTimestampObj = revisionTimestampGetter.get( revision );
+				final Date revisionEndTimestamp = convertRevEndTimestampToDate( revEndTimestampObj );
+				final Type revEndTsType = rootAuditedEntityQueryable.getPropertyType(
+						audEntitiesCfg.getRevisionEndTimestampFieldName()
+				);
+				revEndTsType.nullSafeSet( preparedStatement, revisionEndTimestamp, index, sessionImplementor );
+				index += revEndTsType.getColumnSpan( factory );
+			}
+
+			// where (prod_ent_id) = ? or prod_ent_id in (?, ...)
+			final Type idType = rootProductionEntityQueryable.getIdentifierType();
+			for ( Serializable id : chunk ) {
+				idType.nullSafeSet( preparedStatement, id, index, sessionImplementor );
+				index += idType.getColumnSpan( factory );
+			}
+
+			// where REV <> ?
+			final Type revType = rootAuditedEntityQueryable.getPropertyType( audEntitiesCfg.getRevisionNumberPath() );
+			revType.nullSafeSet( preparedStatement, revisionNumber, index, sessionImplementor );
+
+			// where REVEND is null
+			// 		nothing to bind....
+		}
+	}
+
+	/**
+	 * Verifies the row counts of the end revision updates sent through one batch, which restrict chunks of
+	 * identifiers of the same size, and names the identifiers of the chunk whose previous rows were not all found.
+	 * The row counts are verified in the order the chunks were added to the batch (possibly by the thread executing
+	 * the batch in the background).
+	 */
+	private static final class ChunkExpectation implements Expectation {
+		private final int chunkSize;
+		private final Expectation expectation;
+		private final LinkedList<List<Serializable>> chunks = new LinkedList<List<Serializable>>();
+
+		private ChunkExpectation(int chunkSize, Expectation expectation) {
+			this.chunkSize = chunkSize;
+			this.expectation = expectation;
+		}
+
+		private synchronized void add(List<Serializable> chunk) {
+			chunks.add( chunk );
+		}
+
+		@Override
+		public synchronized void verifyOutcome(int rowCount, PreparedStatement statement, int batchPosition)
+				throws SQLException {
+			final List<Serializable> chunk = chunks.poll();
+			try {
+				expectation.verifyOutcome( rowCount, statement, batchPosition );
+			}
+			catch ( StaleStateException e ) {
+				throw new StaleStateException( "previous revision missing for some of the ids " + chunk + "; " + e.getMessage() );
+			}
+		}
+
+		@Override
+		public int prepare(PreparedStatement statement) throws SQLException {
+			return expectation.prepare( statement );
+		}
+
+		@Override
+		public boolean canBeBatched() {
+			return expectation.canBeBatched();
+		}
+	}
+}
@@ -0,0 +1,282 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.EntityManager;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.exception.AuditException;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.IntNoAutoIdTestEntity;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the ValidityAuditStrategy ending the previous revisions of many entities changed in one transaction,
+ * which are updated together through a JDBC batch.
+ */
+public class ValidityAuditStrategyBatchedRevEndTest extends BaseEnversJPAFunctionalTestCase {
+	private static final int SIZE = 25;
+	private static final int REUSED_SIZE = 5;
+
+	private final List<Integer> ids = new ArrayList<Integer>();
+	private final RevisionEndUpdateRecorder revisionEndUpdates = new RevisionEndUpdateRecorder();
+
+	/**
+	 * The end revision updates prepared for each revision, in revision order
+	 */
+	private final List<List<String>> revisionEndUpdatesByRevision = new ArrayList<List<String>>();
+
+	private long revision2PrepareStatementCount;
+	private long revision2JdbcBatchExecutionCount;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { StrTestEntity.class, IntNoAutoIdTestEntity.class };
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		options.put( EnversSettings.AUDIT_STRATEGY, "org.hibernate.envers.strategy.ValidityAuditStrategy" );
+		options.put( EnversSettings.ALLOW_IDENTIFIER_REUSE, "true" );
+		options.put( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		options.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		options.put( org.hibernate.jpa.AvailableSettings.INTERCEPTOR, revisionEndUpdates );
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		final EntityManager em = getEntityManager();
+		final Statistics statistics = em.unwrap( Session.class ).getSessionFactory().getStatistics();
+
+		// Revision 1
+		em.getTransaction().begin();
+		for ( int i = 0; i < SIZE; i++ ) {
+			final StrTestEntity entity = new StrTestEntity( "x" + i );
+			em.persist( entity );
+			ids.add( entity.getId() );
+		}
+		commit( em );
+
+		// Revision 2
+		em.getTransaction().begin();
+		for ( Integer id : ids ) {
+			final StrTestEntity entity = em.find( StrTestEntity.class, id );
+			entity.setStr( entity.getStr() + "y" );
+		}
+		statistics.clear();
+		commit( em );
+		revision2PrepareStatementCount = statistics.getPrepareStatementCount();
+		revision2JdbcBatchExecutionCount = statistics.getJdbcBatchExecutionCount();
+
+		// Revision 3
+		em.getTransaction().begin();
+		for ( int i = 0; i < SIZE; i++ ) {
+			final StrTestEntity entity = em.find( StrTestEntity.class, ids.get( i ) );
+			if ( i % 2 == 0 ) {
+				em.remove( entity );
+			}
+			else {
+				entity.setStr( entity.getStr() + "z" );
+			}
+		}
+		commit( em );
+
+		// Revision 4
+		em.getTransaction().begin();
+		for ( int id = 1; id <= REUSED_SIZE; id++ ) {
+			em.persist( new IntNoAutoIdTestEntity( 0, id ) );
+		}
+		commit( em );
+
+		// Revision 5
+		em.getTransaction().begin();
+		for ( int id = 1; id <= REUSED_SIZE; id++ ) {
+			em.remove( em.find( IntNoAutoIdTestEntity.class, id ) );
+		}
+		commit( em );
+
+		// Revision 6, reusing the identifiers of the removed entities
+		em.getTransaction().begin();
+		for ( int id = 1; id <= REUSED_SIZE; id++ ) {
+			em.persist( new IntNoAutoIdTestEntity( 1, id ) );
+		}
+		commit( em );
+	}
+
+	private void commit(EntityManager em) {
+		revisionEndUpdates.sql.clear();
+		em.getTransaction().commit();
+		revisionEndUpdatesByRevision.add( new ArrayList<String>( revisionEndUpdates.sql ) );
+	}
+
+	@Test
+	public void testRevisionsCounts() {
+		for ( Integer id : ids ) {
+			assertEquals( Arrays.asList( 1, 2, 3 ), getAuditReader().getRevisions( StrTestEntity.class, id ) );
+		}
+		for ( int id = 1; id <= REUSED_SIZE; id++ ) {
+			assertEquals( Arrays.asList( 4, 5, 6 ), getAuditReader().getRevisions( IntNoAutoIdTestEntity.class, id ) );
+		}
+	}
+
+	@Test
+	public void testHistory() {
+		for ( int i = 0; i < SIZE; i++ ) {
+			final Integer id = ids.get( i );
+			assertEquals( new StrTestEntity( "x" + i, id ), getAuditReader().find( StrTestEntity.class, id, 1 ) );
+			assertEquals( new StrTestEntity( "x" + i + "y", id ), getAuditReader().find( StrTestEntity.class, id, 2 ) );
+			if ( i % 2 == 0 ) {
+				assertNull( getAuditReader().find( StrTestEntity.class, id, 3 ) );
+			}
+			else {
+				assertEquals( new StrTestEntity( "x" + i + "yz", id ), getAuditReader().find( StrTestEntity.class, id, 3 ) );
+			}
+		}
+		for ( int id = 1; id <= REUSED_SIZE; id++ ) {
+			assertEquals( new IntNoAutoIdTestEntity( 0, id ), getAuditReader().find( IntNoAutoIdTestEntity.class, id, 4 ) );
+			assertNull( getAuditReader().find( IntNoAutoIdTestEntity.class, id, 5 ) );
+			assertEquals( new IntNoAutoIdTestEntity( 1, id ), getAuditReader().find( IntNoAutoIdTestEntity.class, id, 6 ) );
+		}
+	}
+
+	@Test
+	public void testOneOpenRowPerEntity() {
+		final Number openRows = (Number) getEntityManager()
+				.createNativeQuery( "select count(*) from STR_TEST_AUD where REVEND is null and id in (:ids)" )
+				.setParameter( "ids", ids )
+				.getSingleResult();
+		assertEquals( SIZE, openRows.intValue() );
+
+		// the end revision of the rows of the removed entities is set when their identifiers are reused
+		final Number reusedOpenRows = (Number) getEntityManager()
+				.createNativeQuery( "select count(*) from IntNoAutoIdTestEntity_AUD where REVEND is null" )
+				.getSingleResult();
+		assertEquals( REUSED_SIZE, reusedOpenRows.intValue() );
+	}
+
+	@Test
+	public void testOneRevisionEndUpdatePerEntityAndRevision() {
+		assertEquals( 6, revisionEndUpdatesByRevision.size() );
+		for ( List<String> updates : revisionEndUpdatesByRevision ) {
+			// a single statement restricting the identifiers of all the entities of the revision
+			assertEquals( 1, updates.size() );
+			assertTrue( updates.get( 0 ), updates.get( 0 ).contains( " in (" ) );
+		}
+		assertTrue( revisionEndUpdatesByRevision.get( 1 ).get( 0 ).startsWith( "update STR_TEST_AUD" ) );
+		assertTrue( revisionEndUpdatesByRevision.get( 5 ).get( 0 ).startsWith( "update IntNoAutoIdTestEntity_AUD" ) );
+	}
+
+	@Test
+	public void testRevisionEndUpdateBatched() {
+		// the entity updates, the revision number (from a sequence), the revision, the audit rows and their end
+		// revision update are prepared once each
+		assertEquals( 5, revision2PrepareStatementCount );
+		// the entity updates and the audit rows take 3 batches of 10 each, the revision and the end revision
+		// update a single one each
+		assertEquals( 3 + 1 + 3 + 1, revision2JdbcBatchExecutionCount );
+	}
+
+	@Test
+	public void testMissingPreviousRevisionReported() {
+		final List<Integer> changedIds = Arrays.asList( ids.get( 1 ), ids.get( 3 ), ids.get( 5 ) );
+		final EntityManager em = createIsolatedEntityManager();
+		try {
+			em.getTransaction().begin();
+			for ( Integer id : changedIds ) {
+				final StrTestEntity entity = em.find( StrTestEntity.class, id );
+				entity.setStr( entity.getStr() + "w" );
+			}
+			// the previous revision of one of the entities ends behind the back of Envers
+			em.createNativeQuery( "update STR_TEST_AUD set REVEND = REV where id = :id and REVEND is null" )
+					.setParameter( "id", changedIds.get( 1 ) )
+					.executeUpdate();
+			try {
+				em.getTransaction().commit();
+				fail( "Expected the end revision update to fail" );
+			}
+			catch (RuntimeException e) {
+				final AuditException auditException = findAuditException( e );
+				assertTrue( auditException.getCause() instanceof StaleStateException );
+				// the identifiers of the failing chunk are reported
+				final String message = auditException.getMessage();
+				final int start = message.indexOf( "ids [" ) + "ids [".length();
+				assertTrue( message, start > "ids [".length() );
+				final Set<String> reportedIds = new HashSet<String>(
+						Arrays.asList( message.substring( start, message.indexOf( ']', start ) ).split( ", " ) )
+				);
+				assertEquals( changedIds.size(), reportedIds.size() );
+				for ( Integer id : changedIds ) {
+					assertTrue( message, reportedIds.contains( id.toString() ) );
+				}
+			}
+		}
+		finally {
+			if ( em.getTransaction().isActive() ) {
+				em.getTransaction().rollback();
+			}
+			em.close();
+		}
+	}
+
+	private static AuditException findAuditException(Throwable throwable) {
+		for ( Throwable cause = throwable; cause != null; cause = cause.getCause() ) {
+			if ( cause instanceof AuditException ) {
+				return (AuditException) cause;
+			}
+		}
+		throw new AssertionError( throwable );
+	}
+
+	private static class RevisionEndUpdateRecorder extends EmptyInterceptor {
+		private final List<String> sql = new ArrayList<String>();
+
+		@Override
+		public String onPrepareStatement(String sql) {
+			if ( sql.startsWith( "update" ) && sql.contains( "REVEND" ) ) {
+				this.sql.add( sql );
+			}
+			return sql;
+		}
+	}
+}
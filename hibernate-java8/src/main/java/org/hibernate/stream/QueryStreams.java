@@ -0,0 +1,141 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stream;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.Criteria;
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.internal.ScrollableResultsIterator;
+
+/**
+ * Exposes the results of a {@link Query} or {@link Criteria} as a {@link Stream}, lazily fetched from a
+ * forward-only cursor.
+ * <p/>
+ * Elements are single objects for single column results, and arrays otherwise (like {@link Query#list()}).
+ * By default, the entities loaded by the stream stay in the persistence context like those of any other query.
+ * If requested, the entities of the previous row are instead evicted from the persistence context as the stream
+ * advances, so that the memory needed does not grow with the number of rows; those elements are therefore
+ * detached once the stream has moved on.  Entities which were already managed before the stream was created, and
+ * entities modified but not yet flushed, are never evicted (see {@link ScrollableResultsIterator}).
+ * <p/>
+ * The underlying JDBC resources are released once the stream is exhausted, or when it is closed; so streams
+ * which might not be fully consumed should be closed, using try-with-resources for example.
+ */
+public final class QueryStreams {
+	private QueryStreams() {
+	}
+
+	/**
+	 * Stream the results of the given query, using its configured (or the default) JDBC fetch size.
+	 *
+	 * @param query The query
+	 * @param <R> The type of the elements
+	 *
+	 * @return The stream of results
+	 */
+	public static <R> Stream<R> stream(Query query) {
+		return stream( query.scroll( ScrollMode.FORWARD_ONLY ), false );
+	}
+
+	/**
+	 * Stream the results of the given query, using the given JDBC fetch size.
+	 *
+	 * @param query The query
+	 * @param fetchSize The JDBC fetch size
+	 * @param <R> The type of the elements
+	 *
+	 * @return The stream of results
+	 */
+	public static <R> Stream<R> stream(Query query, int fetchSize) {
+		return stream( query, fetchSize, false );
+	}
+
+	/**
+	 * Stream the results of the given query, using the given JDBC fetch size, and optionally evicting the entities of
+	 * each row from the persistence context once the stream has advanced past it.
+	 *
+	 * @param query The query
+	 * @param fetchSize The JDBC fetch size
+	 * @param evictRows Whether to evict the entities loaded by the stream once it has advanced past their row
+	 * @param <R> The type of the elements
+	 *
+	 * @return The stream of results
+	 */
+	public static <R> Stream<R> stream(Query query, int fetchSize, boolean evictRows) {
+		return stream( query.setFetchSize( fetchSize ).scroll( ScrollMode.FORWARD_ONLY ), evictRows );
+	}
+
+	/**
+	 * Stream the results of the given criteria, using its configured (or the default) JDBC fetch size.
+	 *
+	 * @param criteria The criteria
+	 * @param <R> The type of the elements
+	 *
+	 * @return The stream of results
+	 */
+	public static <R> Stream<R> stream(Criteria criteria) {
+		return stream( criteria.scroll( ScrollMode.FORWARD_ONLY ), false );
+	}
+
+	/**
+	 * Stream the results of the given criteria, using the given JDBC fetch size.
+	 *
+	 * @param criteria The criteria
+	 * @param fetchSize The JDBC fetch size
+	 * @param <R> The type of the elements
+	 *
+	 * @return The stream of results
+	 */
+	public static <R> Stream<R> stream(Criteria criteria, int fetchSize) {
+		return stream( criteria, fetchSize, false );
+	}
+
+	/**
+	 * Stream the results of the given criteria, using the given JDBC fetch size, and optionally evicting the entities of
+	 * each row from the persistence context once the stream has advanced past it.
+	 *
+	 * @param criteria The criteria
+	 * @param fetchSize The JDBC fetch size
+	 * @param evictRows Whether to evict the entities loaded by the stream once it has advanced past their row
+	 * @param <R> The type of the elements
+	 *
+	 * @return The stream of results
+	 */
+	public static <R> Stream<R> stream(Criteria criteria, int fetchSize, boolean evictRows) {
+		return stream( criteria.setFetchSize( fetchSize ).scroll( ScrollMode.FORWARD_ONLY ), evictRows );
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <R> Stream<R> stream(ScrollableResults scrollableResults, boolean evictRows) {
+		final ScrollableResultsIterator iterator = new ScrollableResultsIterator( scrollableResults, evictRows );
+		final Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize( iterator, Spliterator.ORDERED );
+		return StreamSupport.stream( spliterator, false ).onClose( iterator::close );
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stream;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.Session;
+import org.hibernate.criterion.Order;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stream.QueryStreams;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QueryStreamsTest extends BaseNonConfigCoreFunctionalTestCase {
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Product.class };
+	}
+
+	@Test
+	public void testStreamingEvictsEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 10; i++ ) {
+			s.save( new Product( i, "product " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final Session session = s;
+		try ( Stream<Product> products = QueryStreams.stream( s.createQuery( "from Product p order by p.id" ), 2, true ) ) {
+			final int[] count = new int[1];
+			products.forEach(
+					product -> {
+						assertEquals( count[0]++, product.getId() );
+						// only the current row is managed
+						assertTrue( session.contains( product ) );
+						assertEquals( 1, ( (SessionImplementor) session ).getPersistenceContext().getNumberOfManagedEntities() );
+					}
+			);
+			assertEquals( 10, count[0] );
+		}
+		assertEquals( 0, ( (SessionImplementor) s ).getPersistenceContext().getNumberOfManagedEntities() );
+
+		try ( Stream<Object[]> rows = QueryStreams.stream( s.createQuery( "select p.id, p.name from Product p order by p.id" ) ) ) {
+			final List<String> names = rows.limit( 3 ).map( row -> (String) row[1] ).collect( Collectors.toList() );
+			assertEquals( 3, names.size() );
+			assertEquals( "product 2", names.get( 2 ) );
+		}
+
+		Stream<Product> products = QueryStreams.stream(
+				s.createCriteria( Product.class ).addOrder( Order.desc( "id" ) ),
+				10,
+				true
+		);
+		final Product first = products.findFirst().get();
+		assertEquals( 9, first.getId() );
+		products.close();
+		assertFalse( s.contains( first ) );
+
+		s.createQuery( "delete Product" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamingKeepsManagedAndModifiedEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			s.save( new Product( i, "product " + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		// without eviction requested, all the entities stay managed
+		try ( Stream<Product> products = QueryStreams.stream( s.createQuery( "from Product p order by p.id" ) ) ) {
+			assertEquals( 5, products.count() );
+		}
+		assertEquals( 5, ( (SessionImplementor) s ).getPersistenceContext().getNumberOfManagedEntities() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final Product managed = (Product) s.get( Product.class, 1 );
+		try ( Stream<Product> products = QueryStreams.stream( s.createQuery( "from Product p order by p.id" ), 2, true ) ) {
+			products.filter( product -> product.getId() == 3 ).forEach( product -> product.setName( "modified" ) );
+		}
+		// the entity managed before, and the modified one, are not evicted
+		assertTrue( s.contains( managed ) );
+		assertEquals( 2, ( (SessionImplementor) s ).getPersistenceContext().getNumberOfManagedEntities() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "modified", ( (Product) s.get( Product.class, 3 ) ).getName() );
+		s.createQuery( "delete Product" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Product")
+	@Table(name = "product")
+	public static class Product {
+		private int id;
+		private String name;
+
+		public Product() {
+		}
+
+		public Product(int id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		@Id
+		public int getId() {
+			return id;
+		}
+
+		public void setId(int id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap;
+
+import java.util.Properties;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.OffHeapMemory;
+import org.hibernate.cache.offheap.internal.OffHeapStore;
+import org.hibernate.cache.offheap.internal.Timestamper;
+import org.hibernate.cache.offheap.internal.regions.OffHeapCollectionRegion;
+import org.hibernate.cache.offheap.internal.regions.OffHeapEntityRegion;
+import org.hibernate.cache.offheap.internal.regions.OffHeapNaturalIdRegion;
+import org.hibernate.cache.offheap.internal.regions.OffHeapQueryResultsRegion;
+import org.hibernate.cache.offheap.internal.regions.OffHeapTimestampsRegion;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link RegionFactory} keeping the cached entity, collection, natural-id and query result data in off-heap
+ * memory, so that large caches neither require a large heap nor add to the work of the garbage collector.
+ * <p/>
+ * Values are stored in serialized form in direct {@link java.nio.ByteBuffer}s; only the keys and a small amount of
+ * bookkeeping per value remain on the heap.  All regions share the memory, up to the size configured by
+ * {@value #MAX_SIZE}.  Once that is reached the least recently used values of similar size are evicted.
+ * Note that the JVM limits direct memory by {@code -XX:MaxDirectMemorySize}, which must be raised accordingly.
+ * <p/>
+ * The read-only, nonstrict-read-write and read-write access types are supported.
+ */
+public class OffHeapRegionFactory implements RegionFactory {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			OffHeapRegionFactory.class.getName()
+	);
+
+	/**
+	 * The maximum number of bytes of off-heap memory used by the cache.  Defaults to 64MB.
+	 */
+	public static final String MAX_SIZE = "hibernate.cache.offheap.max_size";
+
+	/**
+	 * The number of bytes of off-heap memory allocated at once, which also limits the size of a single cached
+	 * (serialized) value.  Defaults to 1MB.
+	 */
+	public static final String SLAB_SIZE = "hibernate.cache.offheap.slab_size";
+
+	private static final int DEFAULT_MAX_SIZE = 64 * 1024 * 1024;
+	private static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+
+	private Settings settings;
+	private OffHeapMemory memory;
+
+	@Override
+	public void start(Settings settings, Properties properties) throws CacheException {
+		this.settings = settings;
+		final long maxSize = ConfigurationHelper.getLong( MAX_SIZE, properties, DEFAULT_MAX_SIZE );
+		final int slabSize = ConfigurationHelper.getInt( SLAB_SIZE, properties, DEFAULT_SLAB_SIZE );
+		try {
+			this.memory = new OffHeapMemory( maxSize, slabSize );
+		}
+		catch ( IllegalArgumentException e ) {
+			throw new CacheException( "Invalid off-heap cache configuration: " + e.getMessage() );
+		}
+		LOG.debugf( "Off-heap cache of %s bytes, allocated in slabs of %s bytes", maxSize, slabSize );
+	}
+
+	@Override
+	public void stop() {
+		// the slabs are released by the garbage collector
+		memory = null;
+	}
+
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		// puts are comparatively expensive, as the value has to be serialized
+		return true;
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new OffHeapEntityRegion( regionName, new OffHeapStore( memory ), metadata, settings );
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new OffHeapNaturalIdRegion( regionName, new OffHeapStore( memory ), metadata, settings );
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new OffHeapCollectionRegion( regionName, new OffHeapStore( memory ), metadata, settings );
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return new OffHeapQueryResultsRegion( regionName, new OffHeapStore( memory ) );
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		return new OffHeapTimestampsRegion( regionName );
+	}
+}
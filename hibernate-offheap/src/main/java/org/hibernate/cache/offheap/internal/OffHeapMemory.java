@@ -0,0 +1,396 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * The off-heap memory shared by the regions of an {@link org.hibernate.cache.offheap.OffHeapRegionFactory}.
+ * <p/>
+ * Memory is allocated as direct {@link ByteBuffer} slabs, on demand up to the configured maximum size.  Each slab is
+ * assigned to one of a number of size classes and carved into chunks of the size of that class (a slab allocator in
+ * the style of memcached); a value is stored in a single chunk of the smallest size class fitting it, so that neither
+ * compaction nor fragmentation are an issue.  Once the maximum size is reached, storing a value evicts the least
+ * recently used value of its size class; a size class without any slab yet takes one over from the size class
+ * holding the most slabs instead, evicting the values stored in it.
+ * <p/>
+ * Only the bookkeeping of a value (an {@link Entry}) is kept on the heap.
+ */
+public class OffHeapMemory {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			OffHeapMemory.class.getName()
+	);
+
+	private static final int MIN_CHUNK_SIZE = 64;
+	private static final double CHUNK_SIZE_GROWTH_FACTOR = 1.25;
+
+	private final int slabSize;
+	private final SizeClass[] sizeClasses;
+
+	// guarded by slabs
+	private final ByteBuffer[] slabs;
+	private int slabCount;
+	private int maxSlabCount;
+
+	/**
+	 * Constructs an OffHeapMemory.  No memory is allocated up front.
+	 *
+	 * @param maxSize The maximum number of bytes to allocate
+	 * @param slabSize The number of bytes allocated at once, which is the size limit of a single value as well
+	 */
+	public OffHeapMemory(long maxSize, int slabSize) {
+		if ( slabSize < MIN_CHUNK_SIZE ) {
+			throw new IllegalArgumentException( "Slab size must be at least " + MIN_CHUNK_SIZE + " bytes" );
+		}
+		if ( maxSize < slabSize || maxSize / slabSize > Integer.MAX_VALUE ) {
+			throw new IllegalArgumentException( "Maximum size must be between one and " + Integer.MAX_VALUE + " slabs" );
+		}
+		this.slabSize = slabSize;
+		this.maxSlabCount = (int) ( maxSize / slabSize );
+		this.slabs = new ByteBuffer[maxSlabCount];
+
+		final List<SizeClass> sizeClasses = new ArrayList<SizeClass>();
+		int chunkSize = MIN_CHUNK_SIZE;
+		while ( chunkSize < slabSize ) {
+			sizeClasses.add( new SizeClass( chunkSize ) );
+			// keep chunks 8-byte aligned
+			chunkSize = Math.max( chunkSize + 8, ( (int) ( chunkSize * CHUNK_SIZE_GROWTH_FACTOR ) + 7 ) & ~7 );
+		}
+		sizeClasses.add( new SizeClass( slabSize ) );
+		this.sizeClasses = sizeClasses.toArray( new SizeClass[sizeClasses.size()] );
+	}
+
+	/**
+	 * The number of bytes currently allocated.
+	 *
+	 * @return The allocated size
+	 */
+	public long getAllocatedSize() {
+		synchronized ( slabs ) {
+			return (long) slabCount * slabSize;
+		}
+	}
+
+	private SizeClass sizeClassFor(int length) {
+		if ( length > slabSize ) {
+			return null;
+		}
+		// binary search for the smallest chunk size fitting the value
+		int low = 0;
+		int high = sizeClasses.length - 1;
+		while ( low < high ) {
+			final int middle = ( low + high ) >>> 1;
+			if ( sizeClasses[middle].chunkSize < length ) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return sizeClasses[low];
+	}
+
+	/**
+	 * Stores the given value, evicting the least recently used value of the same size class if necessary.
+	 *
+	 * @param store The store the value belongs to
+	 * @param key The key of the value within the store
+	 * @param bytes The value
+	 *
+	 * @return The entry of the value, or {@code null} if the value could not be stored
+	 */
+	Entry store(OffHeapStore store, Object key, byte[] bytes) {
+		final SizeClass sizeClass = sizeClassFor( bytes.length );
+		if ( sizeClass == null ) {
+			return null;
+		}
+		sizeClass.lock.lock();
+		try {
+			final long chunk = sizeClass.allocateChunk();
+			if ( chunk < 0 ) {
+				return null;
+			}
+			final Entry entry = new Entry( store, key, sizeClass, (int) ( chunk >>> 32 ), (int) chunk, bytes.length );
+			final ByteBuffer slab = slabs[entry.slab].duplicate();
+			slab.position( entry.offset );
+			slab.put( bytes );
+			sizeClass.linkFirst( entry );
+			store.allocated( sizeClass.chunkSize );
+			return entry;
+		}
+		finally {
+			sizeClass.lock.unlock();
+		}
+	}
+
+	/**
+	 * Reads the value of the given entry, making it the most recently used value of its size class.
+	 *
+	 * @param entry The entry
+	 *
+	 * @return The value, or {@code null} if the entry has been evicted or freed in the meantime
+	 */
+	byte[] read(Entry entry) {
+		final SizeClass sizeClass = entry.sizeClass;
+		sizeClass.lock.lock();
+		try {
+			if ( !entry.live ) {
+				return null;
+			}
+			sizeClass.unlink( entry );
+			sizeClass.linkFirst( entry );
+			final byte[] bytes = new byte[entry.length];
+			final ByteBuffer slab = slabs[entry.slab].duplicate();
+			slab.position( entry.offset );
+			slab.get( bytes );
+			return bytes;
+		}
+		finally {
+			sizeClass.lock.unlock();
+		}
+	}
+
+	/**
+	 * Frees the chunk of the given entry, unless that already happened.
+	 *
+	 * @param entry The entry
+	 */
+	void free(Entry entry) {
+		final SizeClass sizeClass = entry.sizeClass;
+		sizeClass.lock.lock();
+		try {
+			if ( entry.live ) {
+				sizeClass.release( entry );
+				sizeClass.pushFreeChunk( entry.slab, entry.offset );
+			}
+		}
+		finally {
+			sizeClass.lock.unlock();
+		}
+	}
+
+	/**
+	 * @return The index of a newly allocated slab, or -1 if the maximum size has been reached
+	 */
+	private int allocateSlab() {
+		synchronized ( slabs ) {
+			if ( slabCount == maxSlabCount ) {
+				return -1;
+			}
+			try {
+				slabs[slabCount] = ByteBuffer.allocateDirect( slabSize );
+			}
+			catch ( OutOfMemoryError e ) {
+				LOG.warnf(
+						"Unable to allocate more than %s bytes of direct memory for the off-heap cache; raise -XX:MaxDirectMemorySize",
+						(long) slabCount * slabSize
+				);
+				maxSlabCount = slabCount;
+				return -1;
+			}
+			return slabCount++;
+		}
+	}
+
+	/**
+	 * Takes a slab over from the size class holding the most slabs, for a size class without any.
+	 *
+	 * @return The index of the slab, or -1 if none could be taken over
+	 */
+	private int reassignSlab(SizeClass recipient) {
+		SizeClass donor = null;
+		for ( SizeClass sizeClass : sizeClasses ) {
+			if ( sizeClass != recipient && ( donor == null || sizeClass.slabCount > donor.slabCount ) ) {
+				donor = sizeClass;
+			}
+		}
+		// never wait for another size class while holding the lock of the recipient
+		if ( donor == null || !donor.lock.tryLock() ) {
+			return -1;
+		}
+		try {
+			return donor.slabCount == 0 ? -1 : donor.giveUpSlab();
+		}
+		finally {
+			donor.lock.unlock();
+		}
+	}
+
+	/**
+	 * A value held in off-heap memory.  Entries are linked into the LRU list of their size class.
+	 */
+	static final class Entry {
+		private final OffHeapStore store;
+		private final Object key;
+		private final SizeClass sizeClass;
+		private final int slab;
+		private final int offset;
+		private final int length;
+
+		// guarded by the lock of the size class; the flag may be read without as a hint
+		private volatile boolean live = true;
+		private Entry previous;
+		private Entry next;
+
+		private Entry(OffHeapStore store, Object key, SizeClass sizeClass, int slab, int offset, int length) {
+			this.store = store;
+			this.key = key;
+			this.sizeClass = sizeClass;
+			this.slab = slab;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		boolean isLive() {
+			return live;
+		}
+	}
+
+	private final class SizeClass {
+		private final int chunkSize;
+		private final ReentrantLock lock = new ReentrantLock();
+
+		// the free chunks, by slab index (high int) and offset (low int)
+		private long[] freeChunks = new long[16];
+		private int freeChunkCount;
+
+		// the sentinel of the LRU list; next is the most, previous the least recently used entry
+		private final Entry lru = new Entry( null, null, this, -1, -1, 0 );
+
+		// guarded by the lock; may be read without as a hint
+		private volatile int slabCount;
+
+		private SizeClass(int chunkSize) {
+			this.chunkSize = chunkSize;
+			lru.previous = lru;
+			lru.next = lru;
+		}
+
+		/**
+		 * @return The allocated chunk, or -1 if none is available
+		 */
+		private long allocateChunk() {
+			if ( freeChunkCount > 0 ) {
+				return freeChunks[--freeChunkCount];
+			}
+
+			final int slab = allocateSlab();
+			if ( slab >= 0 ) {
+				slabCount++;
+				for ( int offset = chunkSize; offset + chunkSize <= slabSize; offset += chunkSize ) {
+					pushFreeChunk( slab, offset );
+				}
+				return (long) slab << 32;
+			}
+
+			final Entry victim = lru.previous;
+			if ( victim == lru ) {
+				// all memory went to other size classes
+				final int reassignedSlab = reassignSlab( this );
+				if ( reassignedSlab < 0 ) {
+					return -1;
+				}
+				slabCount++;
+				for ( int offset = chunkSize; offset + chunkSize <= slabSize; offset += chunkSize ) {
+					pushFreeChunk( reassignedSlab, offset );
+				}
+				return (long) reassignedSlab << 32;
+			}
+			release( victim );
+			victim.store.evicted( victim.key, victim );
+			return ( (long) victim.slab << 32 ) | victim.offset;
+		}
+
+		/**
+		 * Gives up the slab holding the least recently used entry (or a free slab), evicting all entries stored in it.
+		 *
+		 * @return The index of the slab given up
+		 */
+		private int giveUpSlab() {
+			final int slab;
+			if ( lru.previous != lru ) {
+				slab = lru.previous.slab;
+				Entry entry = lru.next;
+				while ( entry != lru ) {
+					final Entry next = entry.next;
+					if ( entry.slab == slab ) {
+						release( entry );
+						entry.store.evicted( entry.key, entry );
+					}
+					entry = next;
+				}
+			}
+			else {
+				slab = (int) ( freeChunks[freeChunkCount - 1] >>> 32 );
+			}
+
+			int retained = 0;
+			for ( int i = 0; i < freeChunkCount; i++ ) {
+				if ( (int) ( freeChunks[i] >>> 32 ) != slab ) {
+					freeChunks[retained++] = freeChunks[i];
+				}
+			}
+			freeChunkCount = retained;
+			slabCount--;
+			return slab;
+		}
+
+		private void pushFreeChunk(int slab, int offset) {
+			if ( freeChunkCount == freeChunks.length ) {
+				final long[] grown = new long[freeChunkCount * 2];
+				System.arraycopy( freeChunks, 0, grown, 0, freeChunkCount );
+				freeChunks = grown;
+			}
+			freeChunks[freeChunkCount++] = ( (long) slab << 32 ) | offset;
+		}
+
+		private void release(Entry entry) {
+			unlink( entry );
+			entry.live = false;
+			entry.store.allocated( -chunkSize );
+		}
+
+		private void linkFirst(Entry entry) {
+			entry.previous = lru;
+			entry.next = lru.next;
+			lru.next.previous = entry;
+			lru.next = entry;
+		}
+
+		private void unlink(Entry entry) {
+			entry.previous.next = entry.next;
+			entry.next.previous = entry.previous;
+			entry.previous = null;
+			entry.next = null;
+		}
+	}
+}
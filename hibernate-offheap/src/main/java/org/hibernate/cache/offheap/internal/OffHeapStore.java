@@ -0,0 +1,176 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.SerializationHelper;
+
+import org.jboss.logging.Logger;
+
+/**
+ * The values of a single region, stored in serialized form in {@link OffHeapMemory}.  The keys (and the on-heap
+ * bookkeeping of the values) are held in a {@link ConcurrentHashMap}.
+ * <p/>
+ * Values which are not {@link Serializable}, and values exceeding the slab size, are not cached.
+ */
+public class OffHeapStore {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			OffHeapStore.class.getName()
+	);
+
+	private final OffHeapMemory memory;
+	private final ConcurrentHashMap<Object,OffHeapMemory.Entry> entries = new ConcurrentHashMap<Object,OffHeapMemory.Entry>();
+	private final AtomicLong size = new AtomicLong();
+
+	/**
+	 * Constructs an OffHeapStore.
+	 *
+	 * @param memory The memory holding the values
+	 */
+	public OffHeapStore(OffHeapMemory memory) {
+		this.memory = memory;
+	}
+
+	/**
+	 * Get the value mapped to the given key.
+	 *
+	 * @param key The key
+	 *
+	 * @return The value, or {@code null} if none
+	 */
+	public Object get(Object key) {
+		final OffHeapMemory.Entry entry = entries.get( key );
+		if ( entry == null ) {
+			return null;
+		}
+		final byte[] bytes = memory.read( entry );
+		if ( bytes == null ) {
+			// evicted concurrently
+			entries.remove( key, entry );
+			return null;
+		}
+		try {
+			return SerializationHelper.deserialize( bytes, OffHeapStore.class.getClassLoader() );
+		}
+		catch ( RuntimeException e ) {
+			throw new CacheException( "Unable to deserialize cached value", e );
+		}
+	}
+
+	/**
+	 * Map the given value to the given key.  If the value cannot be stored, any value previously mapped to the key
+	 * is removed.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 */
+	public void put(Object key, Object value) {
+		OffHeapMemory.Entry entry = null;
+		if ( value instanceof Serializable ) {
+			entry = memory.store( this, key, SerializationHelper.serialize( (Serializable) value ) );
+			if ( entry == null ) {
+				LOG.debugf( "Unable to store the value of key [%s] in off-heap memory", key );
+			}
+		}
+		else {
+			LOG.debugf( "Not caching the value of key [%s] as it is not serializable", key );
+		}
+
+		final OffHeapMemory.Entry previous = entry == null ? entries.remove( key ) : entries.put( key, entry );
+		if ( previous != null ) {
+			memory.free( previous );
+		}
+	}
+
+	/**
+	 * Remove the value mapped to the given key.
+	 *
+	 * @param key The key
+	 */
+	public void remove(Object key) {
+		final OffHeapMemory.Entry entry = entries.remove( key );
+		if ( entry != null ) {
+			memory.free( entry );
+		}
+	}
+
+	/**
+	 * Remove all values.
+	 */
+	public void clear() {
+		for ( Object key : entries.keySet() ) {
+			remove( key );
+		}
+	}
+
+	public boolean contains(Object key) {
+		final OffHeapMemory.Entry entry = entries.get( key );
+		return entry != null && entry.isLive();
+	}
+
+	public long getCount() {
+		return entries.size();
+	}
+
+	/**
+	 * The number of bytes of off-heap memory used by this store; including the unused remainder of the chunks.
+	 *
+	 * @return The used size
+	 */
+	public long getSize() {
+		return size.get();
+	}
+
+	/**
+	 * Copy all values into a map.  Note that this deserializes all values.
+	 *
+	 * @return The map of all values, by key
+	 */
+	public Map toMap() {
+		final Map<Object,Object> map = new HashMap<Object,Object>();
+		for ( Object key : entries.keySet() ) {
+			final Object value = get( key );
+			if ( value != null ) {
+				map.put( key, value );
+			}
+		}
+		return map;
+	}
+
+	void allocated(int bytes) {
+		size.addAndGet( bytes );
+	}
+
+	void evicted(Object key, OffHeapMemory.Entry entry) {
+		entries.remove( key, entry );
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.regions;
+
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.OffHeapStore;
+import org.hibernate.cache.offheap.internal.Timestamper;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Basic off-heap region implementation, backed by an {@link OffHeapStore}.
+ */
+public abstract class OffHeapDataRegion implements Region {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			OffHeapDataRegion.class.getName()
+	);
+
+	private static final int TIMEOUT = Timestamper.ONE_MS * 60000;
+
+	private final String name;
+	private final OffHeapStore store;
+
+	OffHeapDataRegion(String name, OffHeapStore store) {
+		this.name = name;
+		this.store = store;
+	}
+
+	protected OffHeapStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Get the value mapped to the given key.
+	 *
+	 * @param key The key
+	 *
+	 * @return The value, or {@code null} if none
+	 */
+	public Object get(Object key) {
+		LOG.debugf( "Cache[%s] lookup : key[%s]", name, key );
+		return key == null ? null : store.get( key );
+	}
+
+	/**
+	 * Map the given value to the given key.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 */
+	public void put(Object key, Object value) {
+		LOG.debugf( "Caching[%s] : [%s]", name, key );
+		if ( key == null || value == null ) {
+			return;
+		}
+		store.put( key, value );
+	}
+
+	/**
+	 * Remove the value mapped to the given key.
+	 *
+	 * @param key The key
+	 */
+	public void remove(Object key) {
+		LOG.debugf( "Evicting[%s]: %s", name, key );
+		if ( key != null ) {
+			store.remove( key );
+		}
+	}
+
+	/**
+	 * Remove all values of this region.
+	 */
+	public void clear() {
+		LOG.debugf( "evict cache[%s]", name );
+		store.clear();
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		store.clear();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return key != null && store.contains( key );
+	}
+
+	@Override
+	public long getSizeInMemory() {
+		return store.getSize();
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return store.getCount();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	@Override
+	public Map toMap() {
+		return store.toMap();
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public int getTimeout() {
+		return TIMEOUT;
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.regions;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.OffHeapStore;
+import org.hibernate.cache.offheap.internal.strategy.NonStrictReadWriteOffHeapEntityRegionAccessStrategy;
+import org.hibernate.cache.offheap.internal.strategy.ReadOnlyOffHeapEntityRegionAccessStrategy;
+import org.hibernate.cache.offheap.internal.strategy.ReadWriteOffHeapEntityRegionAccessStrategy;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cfg.Settings;
+
+/**
+ * An off-heap region holding entity data.
+ */
+public class OffHeapEntityRegion extends OffHeapTransactionalDataRegion implements EntityRegion {
+	/**
+	 * Constructs an OffHeapEntityRegion
+	 *
+	 * @param name The region name
+	 * @param store The store holding the values of the region
+	 * @param metadata Information about the data cached in the region
+	 * @param settings The Hibernate settings
+	 */
+	public OffHeapEntityRegion(String name, OffHeapStore store, CacheDataDescription metadata, Settings settings) {
+		super( name, store, metadata, settings );
+	}
+
+	@Override
+	public EntityRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+		switch ( accessType ) {
+			case READ_ONLY:
+				return new ReadOnlyOffHeapEntityRegionAccessStrategy( this );
+			case NONSTRICT_READ_WRITE:
+				return new NonStrictReadWriteOffHeapEntityRegionAccessStrategy( this );
+			case READ_WRITE:
+				return new ReadWriteOffHeapEntityRegionAccessStrategy( this );
+			default:
+				throw new CacheException( "The off-heap cache does not support access type [" + accessType + "]" );
+		}
+	}
+}
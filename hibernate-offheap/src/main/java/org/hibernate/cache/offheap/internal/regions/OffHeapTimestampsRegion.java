@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.regions;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.Timestamper;
+import org.hibernate.cache.spi.TimestampsRegion;
+
+/**
+ * The region holding the update timestamps of the tables.  Unlike the other regions this one is kept on the heap:
+ * it is small, read by every cached query, and must never be subject to eviction (a missing timestamp lets the query
+ * cache consider results up-to-date).
+ */
+public class OffHeapTimestampsRegion implements TimestampsRegion {
+	private final String name;
+	private final ConcurrentHashMap<Object,Object> timestamps = new ConcurrentHashMap<Object,Object>();
+
+	/**
+	 * Constructs an OffHeapTimestampsRegion
+	 *
+	 * @param name The region name
+	 */
+	public OffHeapTimestampsRegion(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public Object get(Object key) throws CacheException {
+		return key == null ? null : timestamps.get( key );
+	}
+
+	@Override
+	public void put(Object key, Object value) throws CacheException {
+		if ( key != null && value != null ) {
+			timestamps.put( key, value );
+		}
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		if ( key != null ) {
+			timestamps.remove( key );
+		}
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		timestamps.clear();
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		timestamps.clear();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return key != null && timestamps.containsKey( key );
+	}
+
+	@Override
+	public long getSizeInMemory() {
+		return -1;
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return timestamps.size();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	@Override
+	public Map toMap() {
+		return Collections.unmodifiableMap( timestamps );
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public int getTimeout() {
+		return Timestamper.ONE_MS * 60000;
+	}
+}
@@ -0,0 +1,420 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.strategy;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.regions.OffHeapTransactionalDataRegion;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Superclass for all off-heap read/write access strategy implementations.
+ * <p/>
+ * The cached values are wrapped in {@link Item}s, which are stored off-heap like any other value.  Soft locks
+ * however are held on the heap, as they must not be subject to eviction, and are modified in place; they are
+ * discarded once they time out, at which point they are no different from a missing value, or along with the data
+ * of the region.
+ *
+ * @param <T> the type of the enclosed cache region
+ */
+abstract class AbstractReadWriteOffHeapAccessStrategy<T extends OffHeapTransactionalDataRegion>
+		extends AbstractOffHeapAccessStrategy<T> {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			AbstractReadWriteOffHeapAccessStrategy.class.getName()
+	);
+
+	private static final int STRIPES = 64;
+	private static final int LOCKS_PER_EXPIRY_CHECK = 1024;
+
+	private final UUID uuid = UUID.randomUUID();
+	private final AtomicLong nextLockId = new AtomicLong();
+
+	private final Comparator versionComparator;
+
+	private final ConcurrentHashMap<Object,Lock> locks = new ConcurrentHashMap<Object,Lock>();
+	// writes of a key are serialized by the stripe of the key
+	private final Object[] stripes = new Object[STRIPES];
+
+	/**
+	 * Creates a read/write cache access strategy around the given cache region.
+	 */
+	AbstractReadWriteOffHeapAccessStrategy(T region) {
+		super( region );
+		this.versionComparator = region.getCacheDataDescription().getVersionComparator();
+		for ( int i = 0; i < STRIPES; i++ ) {
+			stripes[i] = new Object();
+		}
+	}
+
+	protected Object stripe(Object key) {
+		final int hash = key.hashCode();
+		return stripes[( hash ^ ( hash >>> 16 ) ) & ( STRIPES - 1 )];
+	}
+
+	/**
+	 * The lock or item currently mapped to the given key.
+	 */
+	protected Lockable lockable(Object key) {
+		final Lock lock = locks.get( key );
+		return lock != null ? lock : (Lockable) region().get( key );
+	}
+
+	/**
+	 * Maps an item with the given value to the given key, replacing a lock.
+	 */
+	protected void putItem(Object key, Object value, Object version) {
+		region().put( key, new Item( value, version, region().nextTimestamp() ) );
+		locks.remove( key );
+	}
+
+	@Override
+	protected void clear() {
+		super.clear();
+		locks.clear();
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		super.evict( key );
+		locks.remove( key );
+	}
+
+	/**
+	 * Returns <code>null</code> if the item is not readable.  Locked items are not readable, nor are items created
+	 * after the start of this transaction.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#get(java.lang.Object, long)
+	 */
+	public final Object get(Object key, long txTimestamp) throws CacheException {
+		final Lockable item = lockable( key );
+		return item != null && item.isReadable( txTimestamp ) ? item.getValue() : null;
+	}
+
+	/**
+	 * Returns <code>false</code> and fails to put the value if there is an existing un-writeable item mapped to this
+	 * key.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+	 */
+	@Override
+	public final boolean putFromLoad(
+			Object key,
+			Object value,
+			long txTimestamp,
+			Object version,
+			boolean minimalPutOverride)
+			throws CacheException {
+		synchronized ( stripe( key ) ) {
+			final Lockable item = lockable( key );
+			final boolean writeable = item == null || item.isWriteable( txTimestamp, version, versionComparator );
+			if ( writeable ) {
+				putItem( key, value, version );
+				return true;
+			}
+			else {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Soft-lock a cache item.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+	 */
+	public final SoftLock lockItem(Object key, Object version) throws CacheException {
+		final long lockId = nextLockId();
+		final Lock lock;
+		synchronized ( stripe( key ) ) {
+			final Lockable item = lockable( key );
+			final long timeout = region().nextTimestamp() + region().getTimeout();
+			lock = item == null ? new Lock( timeout, uuid, lockId, version ) : item.lock( timeout, uuid, lockId );
+			locks.put( key, lock );
+			// the item is unreadable while locked, no sense in keeping it
+			region().remove( key );
+		}
+		if ( lockId % LOCKS_PER_EXPIRY_CHECK == 0 ) {
+			removeExpiredLocks();
+		}
+		return lock;
+	}
+
+	/**
+	 * Soft-unlock a cache item.
+	 *
+	 * @see org.hibernate.cache.spi.access.RegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.spi.access.SoftLock)
+	 */
+	public final void unlockItem(Object key, SoftLock lock) throws CacheException {
+		synchronized ( stripe( key ) ) {
+			final Lock item = locks.get( key );
+			if ( item != null && item.isUnlockable( lock ) ) {
+				decrementLock( key, item );
+			}
+			else {
+				handleLockExpiry( key, item );
+			}
+		}
+	}
+
+	private long nextLockId() {
+		return nextLockId.getAndIncrement();
+	}
+
+	/**
+	 * Unlock the given key, lock combination.
+	 */
+	protected void decrementLock(Object key, Lock lock) {
+		lock.unlock( region().nextTimestamp() );
+	}
+
+	/**
+	 * Handle the timeout of a previous lock mapped to this key
+	 */
+	protected void handleLockExpiry(Object key, Lockable lock) {
+		LOG.expired( key );
+		final long ts = region().nextTimestamp() + region().getTimeout();
+		// create new lock that times out immediately
+		final Lock newLock = new Lock( ts, uuid, nextLockId(), null );
+		newLock.unlock( ts );
+		locks.put( key, newLock );
+		region().remove( key );
+	}
+
+	private void removeExpiredLocks() {
+		final long timestamp = region().nextTimestamp();
+		for ( Map.Entry<Object,Lock> entry : locks.entrySet() ) {
+			if ( entry.getValue().isExpired( timestamp ) ) {
+				synchronized ( stripe( entry.getKey() ) ) {
+					// may have been re-locked in the meantime
+					if ( entry.getValue().isExpired( timestamp ) ) {
+						locks.remove( entry.getKey(), entry.getValue() );
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Interface type implemented by all wrapper objects in the cache.
+	 */
+	protected static interface Lockable {
+
+		/**
+		 * Returns <code>true</code> if the enclosed value can be read by a transaction started at the given time.
+		 */
+		public boolean isReadable(long txTimestamp);
+
+		/**
+		 * Returns <code>true</code> if the enclosed value can be replaced with one of the given version by a
+		 * transaction started at the given time.
+		 */
+		public boolean isWriteable(long txTimestamp, Object version, Comparator versionComparator);
+
+		/**
+		 * Returns the enclosed value.
+		 */
+		public Object getValue();
+
+		/**
+		 * Returns <code>true</code> if the given lock can be unlocked using the given SoftLock instance as a handle.
+		 */
+		public boolean isUnlockable(SoftLock lock);
+
+		/**
+		 * Locks this entry, stamping it with the UUID and lockId given, with the lock timeout occuring at the specified
+		 * time.  The returned Lock object can be used to unlock the entry in the future.
+		 */
+		public Lock lock(long timeout, UUID uuid, long lockId);
+	}
+
+	/**
+	 * Wrapper type representing unlocked items.
+	 */
+	protected static final class Item implements Serializable, Lockable {
+		private static final long serialVersionUID = 1L;
+		private final Object value;
+		private final Object version;
+		private final long timestamp;
+
+		/**
+		 * Creates an unlocked item wrapping the given value with a version and creation timestamp.
+		 */
+		Item(Object value, Object version, long timestamp) {
+			this.value = value;
+			this.version = version;
+			this.timestamp = timestamp;
+		}
+
+		@Override
+		public boolean isReadable(long txTimestamp) {
+			return txTimestamp > timestamp;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+			return version != null && versionComparator.compare( version, newVersion ) < 0;
+		}
+
+		@Override
+		public Object getValue() {
+			return value;
+		}
+
+		@Override
+		public boolean isUnlockable(SoftLock lock) {
+			return false;
+		}
+
+		@Override
+		public Lock lock(long timeout, UUID uuid, long lockId) {
+			return new Lock( timeout, uuid, lockId, version );
+		}
+	}
+
+	/**
+	 * Wrapper type representing locked items.
+	 */
+	protected static final class Lock implements Lockable, SoftLock {
+		private final UUID sourceUuid;
+		private final long lockId;
+		private final Object version;
+
+		private long timeout;
+		private boolean concurrent;
+		private int multiplicity = 1;
+		private long unlockTimestamp;
+
+		/**
+		 * Creates a locked item with the given identifiers and object version.
+		 */
+		Lock(long timeout, UUID sourceUuid, long lockId, Object version) {
+			this.timeout = timeout;
+			this.lockId = lockId;
+			this.version = version;
+			this.sourceUuid = sourceUuid;
+		}
+
+		@Override
+		public boolean isReadable(long txTimestamp) {
+			return false;
+		}
+
+		@Override
+		@SuppressWarnings({"SimplifiableIfStatement", "unchecked"})
+		public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+			if ( txTimestamp > timeout ) {
+				// if timedout then allow write
+				return true;
+			}
+			if ( multiplicity > 0 ) {
+				// if still locked then disallow write
+				return false;
+			}
+			return version == null
+					? txTimestamp > unlockTimestamp
+					: versionComparator.compare( version, newVersion ) < 0;
+		}
+
+		/**
+		 * Returns true if this Lock has timed out at the given time, from when on it allows any write.
+		 */
+		public boolean isExpired(long timestamp) {
+			return timestamp > timeout;
+		}
+
+		@Override
+		public Object getValue() {
+			return null;
+		}
+
+		@Override
+		public boolean isUnlockable(SoftLock lock) {
+			return equals( lock );
+		}
+
+		@Override
+		@SuppressWarnings("SimplifiableIfStatement")
+		public boolean equals(Object o) {
+			if ( o == this ) {
+				return true;
+			}
+			else if ( o instanceof Lock ) {
+				return (lockId == ((Lock) o).lockId) && sourceUuid.equals( ((Lock) o).sourceUuid );
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			final int hash = (sourceUuid != null ? sourceUuid.hashCode() : 0);
+			int temp = (int) lockId;
+			for ( int i = 1; i < Long.SIZE / Integer.SIZE; i++ ) {
+				temp ^= (lockId >>> (i * Integer.SIZE));
+			}
+			return hash + temp;
+		}
+
+		/**
+		 * Returns true if this Lock has been concurrently locked by more than one transaction.
+		 */
+		public boolean wasLockedConcurrently() {
+			return concurrent;
+		}
+
+		@Override
+		public Lock lock(long timeout, UUID uuid, long lockId) {
+			concurrent = true;
+			multiplicity++;
+			this.timeout = timeout;
+			return this;
+		}
+
+		/**
+		 * Unlocks this Lock, and timestamps the unlock event.
+		 */
+		public void unlock(long timestamp) {
+			if ( --multiplicity == 0 ) {
+				unlockTimestamp = timestamp;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Lock Source-UUID:" + sourceUuid + " Lock-ID:" + lockId;
+		}
+	}
+}
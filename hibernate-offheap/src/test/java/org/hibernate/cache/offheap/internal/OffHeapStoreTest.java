@@ -0,0 +1,127 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapStoreTest extends BaseUnitTestCase {
+	private static final int SLAB_SIZE = 4096;
+
+	@Test
+	public void testBasicOperations() {
+		final OffHeapMemory memory = new OffHeapMemory( 4 * SLAB_SIZE, SLAB_SIZE );
+		final OffHeapStore store = new OffHeapStore( memory );
+		assertEquals( 0, memory.getAllocatedSize() );
+
+		store.put( "one", "uno" );
+		store.put( 2, new Integer[] { 1, 2 } );
+		assertEquals( 2, store.getCount() );
+		// the values are of different size classes, and each size class allocates its own slab
+		assertEquals( 2 * SLAB_SIZE, memory.getAllocatedSize() );
+		assertEquals( "uno", store.get( "one" ) );
+		assertEquals( 2, ( (Integer[]) store.get( 2 ) )[1].intValue() );
+		assertTrue( store.contains( "one" ) );
+		assertFalse( store.contains( "two" ) );
+
+		store.remove( "one" );
+		assertNull( store.get( "one" ) );
+		assertEquals( 1, store.getCount() );
+
+		store.clear();
+		assertEquals( 0, store.getCount() );
+		assertEquals( 0, store.getSize() );
+	}
+
+	@Test
+	public void testReplacedValuesFreed() {
+		final OffHeapMemory memory = new OffHeapMemory( 4 * SLAB_SIZE, SLAB_SIZE );
+		final OffHeapStore store = new OffHeapStore( memory );
+		for ( int i = 0; i < 1000; i++ ) {
+			store.put( "key", "value " + i );
+		}
+		assertEquals( "value 999", store.get( "key" ) );
+		assertEquals( 1, store.getCount() );
+		assertEquals( SLAB_SIZE, memory.getAllocatedSize() );
+	}
+
+	@Test
+	public void testLeastRecentlyUsedValuesEvicted() {
+		final OffHeapMemory memory = new OffHeapMemory( SLAB_SIZE, SLAB_SIZE );
+		final OffHeapStore store = new OffHeapStore( memory );
+		final OffHeapStore otherStore = new OffHeapStore( memory );
+		store.put( 0, value( 0 ) );
+		for ( int i = 1; i < 100; i++ ) {
+			otherStore.put( i, value( i ) );
+			// keeps the first value the most recently used one
+			assertNotNull( store.get( 0 ) );
+		}
+		assertEquals( SLAB_SIZE, memory.getAllocatedSize() );
+		assertEquals( value( 0 ), store.get( 0 ) );
+		assertEquals( value( 99 ), otherStore.get( 99 ) );
+		assertNull( otherStore.get( 1 ) );
+		assertTrue( otherStore.getCount() < 99 );
+		assertTrue( store.getSize() + otherStore.getSize() <= SLAB_SIZE );
+	}
+
+	@Test
+	public void testSlabReassigned() {
+		final OffHeapMemory memory = new OffHeapMemory( SLAB_SIZE, SLAB_SIZE );
+		final OffHeapStore store = new OffHeapStore( memory );
+		store.put( 0, value( 0 ) );
+		store.put( 1, value( 1 ) );
+		// the single slab is in use by a size class of smaller values
+		final byte[] largeValue = new byte[SLAB_SIZE / 2];
+		store.put( 2, largeValue );
+		assertEquals( SLAB_SIZE / 2, ( (byte[]) store.get( 2 ) ).length );
+		assertNull( store.get( 0 ) );
+		assertNull( store.get( 1 ) );
+		assertEquals( 1, store.getCount() );
+	}
+
+	@Test
+	public void testOversizedValuesNotCached() {
+		final OffHeapMemory memory = new OffHeapMemory( 4 * SLAB_SIZE, SLAB_SIZE );
+		final OffHeapStore store = new OffHeapStore( memory );
+		store.put( "key", "value" );
+		store.put( "key", new byte[SLAB_SIZE] );
+		assertNull( store.get( "key" ) );
+		assertEquals( 0, store.getCount() );
+	}
+
+	private static String value(int i) {
+		final StringBuilder value = new StringBuilder( "value " ).append( i );
+		while ( value.length() < 200 ) {
+			value.append( '.' );
+		}
+		return value.toString();
+	}
+}
@@ -0,0 +1,265 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.offheap;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.Cacheable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Version;
+
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.cache.offheap.OffHeapRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests caching entity, collection, natural-id and query data in off-heap memory.
+ */
+public class OffHeapCacheTest extends BaseNonConfigCoreFunctionalTestCase {
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Country.class, Product.class, Customer.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, "offheap" );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( OffHeapRegionFactory.MAX_SIZE, String.valueOf( 4 * 1024 * 1024 ) );
+	}
+
+	@Before
+	public void createData() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Country( "CH", "Switzerland" ) );
+		s.persist( new Product( 1L, "Cheese", 12 ) );
+		final Customer customer = new Customer( 1L, "jane@example.org", "Jane" );
+		customer.getTags().add( "regular" );
+		customer.getTags().add( "newsletter" );
+		s.persist( customer );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@After
+	public void deleteData() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( Country.class, "CH" ) );
+		s.delete( s.get( Product.class, 1L ) );
+		s.delete( s.get( Customer.class, 1L ) );
+		s.getTransaction().commit();
+		s.close();
+		sessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testEntitiesAndCollectionsCached() {
+		// loading puts into the cache, as inserts are not cached by all access types
+		loadAll();
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		assertEquals( 2, loadAll().getTags().size() );
+		assertEquals( 4, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getSecondLevelCacheMissCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		assertTrue( sessionFactory().getCache().containsEntity( Customer.class, 1L ) );
+	}
+
+	@Test
+	public void testUpdatesCached() {
+		loadAll();
+		Session s = openSession();
+		s.beginTransaction();
+		( (Product) s.get( Product.class, 1L ) ).setPrice( 14 );
+		final Customer customer = (Customer) s.get( Customer.class, 1L );
+		customer.setName( "Janet" );
+		customer.getTags().remove( "newsletter" );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		s = openSession();
+		s.beginTransaction();
+		// read-write caches the update; nonstrict-read-write evicts the entity
+		final Customer updated = (Customer) s.get( Customer.class, 1L );
+		assertEquals( "Janet", updated.getName() );
+		assertEquals( 1, updated.getTags().size() );
+		assertEquals( 14, ( (Product) s.get( Product.class, 1L ) ).getPrice() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 2, statistics.getSecondLevelCacheMissCount() );
+	}
+
+	@Test
+	public void testNaturalIdResolutionCached() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.bySimpleNaturalId( Customer.class ).load( "jane@example.org" );
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "Jane", ( (Customer) s.bySimpleNaturalId( Customer.class ).load( "jane@example.org" ) ).getName() );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 1, statistics.getNaturalIdCacheHitCount() );
+	}
+
+	@Test
+	public void testQueryResultsCached() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		for ( int i = 0; i < 2; i++ ) {
+			Session s = openSession();
+			s.beginTransaction();
+			assertEquals( 1, s.createQuery( "from Product" ).setCacheable( true ).list().size() );
+			s.getTransaction().commit();
+			s.close();
+		}
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+	}
+
+	private Customer loadAll() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.get( Country.class, "CH" );
+		s.get( Product.class, 1L );
+		final Customer customer = (Customer) s.get( Customer.class, 1L );
+		customer.getTags().size();
+		s.getTransaction().commit();
+		s.close();
+		return customer;
+	}
+
+	@Entity(name = "Country")
+	@Immutable
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+	public static class Country {
+		@Id
+		private String code;
+		private String name;
+
+		public Country() {
+		}
+
+		public Country(String code, String name) {
+			this.code = code;
+			this.name = name;
+		}
+
+	}
+
+	@Entity(name = "Product")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+	public static class Product {
+		@Id
+		private Long id;
+		private String name;
+		private int price;
+
+		public Product() {
+		}
+
+		public Product(Long id, String name, int price) {
+			this.id = id;
+			this.name = name;
+			this.price = price;
+		}
+
+		public int getPrice() {
+			return price;
+		}
+
+		public void setPrice(int price) {
+			this.price = price;
+		}
+	}
+
+	@Entity(name = "Customer")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	@NaturalIdCache
+	public static class Customer {
+		@Id
+		private Long id;
+		@NaturalId
+		private String email;
+		private String name;
+		@Version
+		private int version;
+		@ElementCollection
+		@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+		private Set<String> tags = new HashSet<String>();
+
+		public Customer() {
+		}
+
+		public Customer(Long id, String email, String name) {
+			this.id = id;
+			this.email = email;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Set<String> getTags() {
+			return tags;
+		}
+	}
+}
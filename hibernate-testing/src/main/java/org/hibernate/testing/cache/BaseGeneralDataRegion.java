@@ -24,7 +24,7 @@
 package org.hibernate.testing.cache;
 
 import org.hibernate.cache.CacheException;
-import org.hibernate.cache.spi.GeneralDataRegion;
+import org.hibernate.cache.spi.BulkGeneralDataRegion;
 import org.hibernate.internal.CoreMessageLogger;
 
 import org.jboss.logging.Logger;
@@ -32,7 +32,7 @@ import org.jboss.logging.Logger;
 /**
  * @author Strong Liu
  */
-class BaseGeneralDataRegion extends BaseRegion implements GeneralDataRegion {
+class BaseGeneralDataRegion extends BaseRegion implements BulkGeneralDataRegion {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class, BaseGeneralDataRegion.class.getName()
 	);
@@ -54,6 +54,15 @@ class BaseGeneralDataRegion extends BaseRegion implements GeneralDataRegion {
 		return result;
 	}
 
+	@Override
+	public Object[] getAll(Object[] keys) throws CacheException {
+		final Object[] results = new Object[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			results[i] = get( keys[i] );
+		}
+		return results;
+	}
+
 	@Override
 	public void put(Object key, Object value) throws CacheException {
 		LOG.debugf( "Caching[%s] : [%s] -> [%s]",getName(), key, value );
@@ -24,7 +24,7 @@
 package org.hibernate.testing.cache;
 
 import org.hibernate.cache.CacheException;
-import org.hibernate.cache.spi.access.RegionAccessStrategy;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.internal.CoreMessageLogger;
 
@@ -33,7 +33,7 @@ import org.jboss.logging.Logger;
 /**
  * @author Strong Liu
  */
-abstract class BaseRegionAccessStrategy implements RegionAccessStrategy {
+abstract class BaseRegionAccessStrategy implements BulkRegionAccessStrategy {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class, BaseRegionAccessStrategy.class.getName()
 	);
@@ -69,6 +69,29 @@ abstract class BaseRegionAccessStrategy implements RegionAccessStrategy {
 
 	}
 
+	@Override
+	public Object[] getAll(Object[] keys, long txTimestamp) throws CacheException {
+		final Object[] values = new Object[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			values[i] = get( keys[i], txTimestamp );
+		}
+		return values;
+	}
+
+	@Override
+	public boolean[] putFromLoadAll(
+			Object[] keys,
+			Object[] values,
+			long txTimestamp,
+			Object[] versions,
+			boolean minimalPutOverride) throws CacheException {
+		final boolean[] put = new boolean[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			put[i] = putFromLoad( keys[i], values[i], txTimestamp, versions[i], minimalPutOverride );
+		}
+		return put;
+	}
+
 	/**
 	 * Region locks are not supported.
 	 *
@@ -166,7 +166,12 @@ public class JtaAwareConnectionProviderImpl implements ConnectionProvider, Confi
 
 	private void delist(Connection connection) {
 		// todo : verify the incoming connection is the currently enlisted one?
-		TestingJtaPlatformImpl.synchronizationRegistry().putResource( CONNECTION_KEY, null );
+		try {
+			// the transaction is completing, its resources can no longer be altered (and are discarded anyway)
+			TestingJtaPlatformImpl.synchronizationRegistry().putResource( CONNECTION_KEY, null );
+		}
+		catch (IllegalStateException ignore) {
+		}
 		try {
 			delegate.closeConnection( connection );
 		}